@@ -0,0 +1,56 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.codehaus.plexus.ContainerConfiguration;
+import org.codehaus.plexus.DefaultContainerConfiguration;
+import org.codehaus.plexus.DefaultPlexusContainer;
+import org.codehaus.plexus.PlexusConstants;
+import org.codehaus.plexus.PlexusContainer;
+import org.codehaus.plexus.PlexusContainerException;
+
+/**
+ * Creates the Sisu/Plexus container the benchmarks look their parsers and sink factories up from,
+ * the same way Maven wires Doxia at runtime.
+ *
+ * @since 2.0.0
+ */
+final class BenchmarkContainer
+{
+    private BenchmarkContainer()
+    {
+        // utility class
+    }
+
+    /**
+     * @return a new container indexing every Doxia component found on the class path.
+     * @throws PlexusContainerException if the container could not be created.
+     */
+    static PlexusContainer create()
+        throws PlexusContainerException
+    {
+        ContainerConfiguration configuration = new DefaultContainerConfiguration();
+        configuration.setClassPathScanning( PlexusConstants.SCANNING_INDEX );
+        configuration.setAutoWiring( true );
+        configuration.setName( "doxia-benchmarks" );
+
+        return new DefaultPlexusContainer( configuration );
+    }
+}
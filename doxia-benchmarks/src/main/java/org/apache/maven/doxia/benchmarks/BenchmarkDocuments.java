@@ -0,0 +1,272 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringReader;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
+import java.util.regex.Pattern;
+
+import org.apache.maven.doxia.parser.ParseException;
+import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkFactory;
+import org.apache.maven.doxia.sink.impl.SinkAdapter;
+import org.codehaus.plexus.PlexusContainer;
+import org.codehaus.plexus.util.FileUtils;
+import org.codehaus.plexus.util.IOUtil;
+import org.codehaus.plexus.util.xml.XmlStreamReader;
+
+/**
+ * Provides the source documents the benchmarks are fed with.
+ * <ul>
+ * <li><code>corpus</code>: the FML and xdoc documents shipped in <code>doxia-test-docs</code>.
+ * The apt, xhtml and xhtml5 flavours are produced once by rendering the xdoc documents through the
+ * corresponding sink; converted documents the target parser cannot read back (e.g. apt does not allow
+ * skipped section levels) are left out. Doxia has no Markdown sink, so the Markdown corpus is made of
+ * small synthetic documents.</li>
+ * <li><code>large</code>: a single synthetic document of about a megabyte, see {@link SyntheticDocuments}.</li>
+ * <li><code>tags</code>: a single synthetic document made almost only of short elements, for the XML based
+ * parsers.</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+final class BenchmarkDocuments
+{
+    /** The documents shipped in doxia-test-docs. */
+    static final String CORPUS = "corpus";
+
+    /** One large synthetic document. */
+    static final String LARGE = "large";
+
+    /** One synthetic document made almost only of markup. */
+    static final String TAGS = "tags";
+
+    /** A resource known to be shipped in doxia-test-docs, used to locate the other ones. */
+    private static final String ANCHOR_RESOURCE = "doxia-site/fml/faq.fml";
+
+    private static final Pattern FML_RESOURCE = Pattern.compile( "[^/]+/fml/[^/]+\\.fml" );
+
+    private static final Pattern XDOC_RESOURCE = Pattern.compile( "[^/]+/xdoc/.+\\.xml" );
+
+    private static final int CORPUS_SECTIONS = 5;
+
+    private static final int CORPUS_DOCUMENTS = 10;
+
+    private static final int LARGE_SECTIONS = 200;
+
+    private BenchmarkDocuments()
+    {
+        // utility class
+    }
+
+    /**
+     * @param parserId the id of the parser which will read the documents.
+     * @param documents {@link #CORPUS}, {@link #LARGE} or {@link #TAGS}.
+     * @param container the container to lookup sink factories and parsers from.
+     * @return the source documents, in the syntax of the given parser.
+     * @throws Exception if the documents could not be loaded or generated.
+     */
+    static List<String> load( String parserId, String documents, PlexusContainer container )
+        throws Exception
+    {
+        if ( CORPUS.equals( documents ) )
+        {
+            return corpus( parserId, container );
+        }
+        else if ( LARGE.equals( documents ) )
+        {
+            return Collections.singletonList( large( parserId, container ) );
+        }
+        else if ( TAGS.equals( documents ) )
+        {
+            return Collections.singletonList( tags( parserId, container ) );
+        }
+
+        throw new IllegalArgumentException( "Unknown documents: " + documents );
+    }
+
+    private static List<String> corpus( String parserId, PlexusContainer container )
+        throws Exception
+    {
+        switch ( parserId )
+        {
+            case "fml":
+                return testDocs( FML_RESOURCE );
+            case "xdoc":
+                return testDocs( XDOC_RESOURCE );
+            case "apt":
+            case "xhtml":
+            case "xhtml5":
+                Parser xdocParser = container.lookup( Parser.class, "xdoc" );
+                Parser targetParser = container.lookup( Parser.class, parserId );
+                SinkFactory sinkFactory = container.lookup( SinkFactory.class, parserId );
+
+                List<String> converted = new ArrayList<>();
+                for ( String xdoc : testDocs( XDOC_RESOURCE ) )
+                {
+                    ByteArrayOutputStream out = new ByteArrayOutputStream();
+                    Sink sink = sinkFactory.createSink( out );
+                    xdocParser.parse( new StringReader( xdoc ), sink );
+                    sink.close();
+
+                    String doc = new String( out.toByteArray(), StandardCharsets.UTF_8 );
+                    try
+                    {
+                        targetParser.parse( new StringReader( doc ), new SinkAdapter() );
+                        converted.add( doc );
+                    }
+                    catch ( ParseException e )
+                    {
+                        // not representable in the target syntax, leave it out
+                    }
+                }
+                return converted;
+            case "markdown":
+                List<String> markdown = new ArrayList<>();
+                for ( int i = 0; i < CORPUS_DOCUMENTS; i++ )
+                {
+                    markdown.add( SyntheticDocuments.markdown( CORPUS_SECTIONS ) );
+                }
+                return markdown;
+            default:
+                throw new IllegalArgumentException( "No corpus for parser: " + parserId );
+        }
+    }
+
+    private static String large( String parserId, PlexusContainer container )
+        throws Exception
+    {
+        switch ( parserId )
+        {
+            case "fml":
+                return SyntheticDocuments.fml( LARGE_SECTIONS );
+            case "markdown":
+                return SyntheticDocuments.markdown( LARGE_SECTIONS );
+            case "apt":
+            case "xdoc":
+            case "xhtml":
+            case "xhtml5":
+                SinkFactory sinkFactory = container.lookup( SinkFactory.class, parserId );
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                SyntheticDocuments.emit( sinkFactory.createSink( out ), LARGE_SECTIONS );
+                return new String( out.toByteArray(), StandardCharsets.UTF_8 );
+            default:
+                throw new IllegalArgumentException( "No synthetic document for parser: " + parserId );
+        }
+    }
+
+    private static String tags( String parserId, PlexusContainer container )
+        throws Exception
+    {
+        switch ( parserId )
+        {
+            case "fml":
+                return SyntheticDocuments.fmlTags( LARGE_SECTIONS );
+            case "xdoc":
+            case "xhtml":
+            case "xhtml5":
+                SinkFactory sinkFactory = container.lookup( SinkFactory.class, parserId );
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                SyntheticDocuments.emitTags( sinkFactory.createSink( out ), LARGE_SECTIONS );
+                return new String( out.toByteArray(), StandardCharsets.UTF_8 );
+            default:
+                throw new IllegalArgumentException( "No tag-heavy document for parser: " + parserId );
+        }
+    }
+
+    /**
+     * @param pattern the pattern the resource names should match.
+     * @return the content of the doxia-test-docs resources matching the given pattern, sorted by name.
+     * @throws IOException if a resource could not be read.
+     * @throws URISyntaxException if the location of doxia-test-docs is malformed.
+     */
+    private static List<String> testDocs( Pattern pattern )
+        throws IOException, URISyntaxException
+    {
+        URL anchor = BenchmarkDocuments.class.getClassLoader().getResource( ANCHOR_RESOURCE );
+
+        if ( anchor == null )
+        {
+            throw new IOException( "doxia-test-docs is not available on the class path" );
+        }
+
+        List<String> names = new ArrayList<>();
+
+        if ( "jar".equals( anchor.getProtocol() ) )
+        {
+            JarURLConnection connection = (JarURLConnection) anchor.openConnection();
+            connection.setUseCaches( false );
+
+            try ( JarFile jar = connection.getJarFile() )
+            {
+                Enumeration<JarEntry> entries = jar.entries();
+                while ( entries.hasMoreElements() )
+                {
+                    String name = entries.nextElement().getName();
+                    if ( pattern.matcher( name ).matches() )
+                    {
+                        names.add( name );
+                    }
+                }
+            }
+        }
+        else
+        {
+            String path = new File( anchor.toURI() ).getAbsolutePath().replace( '\\', '/' );
+            File root = new File( path.substring( 0, path.length() - ANCHOR_RESOURCE.length() ) );
+
+            for ( String name : FileUtils.getFileNames( root, "**/*", null, false ) )
+            {
+                name = name.replace( '\\', '/' );
+                if ( pattern.matcher( name ).matches() )
+                {
+                    names.add( name );
+                }
+            }
+        }
+
+        Collections.sort( names );
+
+        List<String> docs = new ArrayList<>( names.size() );
+        for ( String name : names )
+        {
+            try ( InputStream in = BenchmarkDocuments.class.getClassLoader().getResourceAsStream( name ) )
+            {
+                docs.add( IOUtil.toString( new XmlStreamReader( in ) ) );
+            }
+        }
+
+        return docs;
+    }
+}
@@ -0,0 +1,126 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.parser.ContentReader;
+import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkFactory;
+import org.codehaus.plexus.PlexusContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the capture of the source of a macro-free document streamed from a Reader, against the in-memory
+ * baseline of a document parsed from its String, which is not captured:
+ * <ul>
+ * <li><code>none</code>: the document is parsed from a String, nothing is captured,</li>
+ * <li><code>memory</code>: the document is streamed, and captured in memory with the default threshold,</li>
+ * <li><code>disk</code>: the document is streamed, and spilled to a temporary file past 8192 characters.</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class CaptureBenchmark
+{
+    private static final String THRESHOLD_PROPERTY = "doxia.capture.threshold";
+
+    @Param( { "apt", "xdoc" } )
+    private String parserId;
+
+    @Param( { "none", "memory", "disk" } )
+    private String capture;
+
+    private PlexusContainer container;
+
+    private Parser parser;
+
+    private SinkFactory sinkFactory;
+
+    private String source;
+
+    /**
+     * Looks up the parser and the sink factory, loads the document and sets the capture threshold.
+     *
+     * @throws Exception if anything goes wrong.
+     */
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        container = BenchmarkContainer.create();
+        parser = container.lookup( Parser.class, parserId );
+        sinkFactory = container.lookup( SinkFactory.class, "xhtml5" );
+        source = BenchmarkDocuments.load( parserId, BenchmarkDocuments.LARGE, container ).get( 0 );
+
+        if ( "disk".equals( capture ) )
+        {
+            System.setProperty( THRESHOLD_PROPERTY, "8192" );
+        }
+    }
+
+    /**
+     * Disposes the container and clears the capture threshold.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        container.dispose();
+        System.clearProperty( THRESHOLD_PROPERTY );
+    }
+
+    /**
+     * Parses and renders the document.
+     *
+     * @return the number of bytes written by the sink.
+     * @throws Exception if the document could not be parsed.
+     */
+    @Benchmark
+    public long parseAndRender()
+        throws Exception
+    {
+        ParserSinkBenchmark.CountingOutputStream out = new ParserSinkBenchmark.CountingOutputStream();
+
+        Sink sink = sinkFactory.createSink( out );
+        parser.parse( "none".equals( capture ) ? new ContentReader( source ) : new StringReader( source ), sink );
+        sink.close();
+
+        return out.getCount();
+    }
+}
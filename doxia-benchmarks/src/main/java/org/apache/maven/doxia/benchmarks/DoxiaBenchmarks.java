@@ -0,0 +1,61 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Entry point of the benchmarks jar. Accepts the usual JMH command line options and always
+ * attaches the GC profiler, so that every run reports the allocation rate
+ * (<code>gc.alloc.rate.norm</code>, in bytes per operation) next to the throughput and average time.
+ *
+ * @since 2.0.0
+ */
+public class DoxiaBenchmarks
+{
+    /**
+     * Runs the benchmarks.
+     *
+     * @param args JMH command line options, e.g. <code>ParserSinkBenchmark -p parserId=apt</code>.
+     * @throws Exception if the benchmarks could not be run.
+     */
+    public static void main( String[] args )
+        throws Exception
+    {
+        CommandLineOptions commandLine = new CommandLineOptions( args );
+
+        if ( commandLine.shouldHelp() )
+        {
+            commandLine.showHelp();
+            return;
+        }
+
+        Options options = new OptionsBuilder()
+            .parent( commandLine )
+            .addProfiler( GCProfiler.class )
+            .build();
+
+        new Runner( options ).run();
+    }
+}
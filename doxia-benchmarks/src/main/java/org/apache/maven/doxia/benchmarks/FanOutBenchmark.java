@@ -0,0 +1,134 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.StringReader;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.index.IndexEntry;
+import org.apache.maven.doxia.index.IndexingSink;
+import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkFactory;
+import org.apache.maven.doxia.sink.impl.FanOutSink;
+import org.apache.maven.doxia.sink.impl.PipelineSink;
+import org.codehaus.plexus.PlexusContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of sending the events of a page to two sinks: an HTML sink and an {@link IndexingSink},
+ * either through the reflective proxy that <code>PipelineSink.newInstance()</code> used to return, or through
+ * a {@link FanOutSink}.
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class FanOutBenchmark
+{
+    @Param( { "proxy", "fanout" } )
+    private String pipeline;
+
+    @Param( { "xdoc", "xhtml5" } )
+    private String parserId;
+
+    private PlexusContainer container;
+
+    private Parser parser;
+
+    private SinkFactory sinkFactory;
+
+    private List<String> sources;
+
+    /**
+     * Looks up the parser and the sink factory, and loads the documents.
+     *
+     * @throws Exception if anything goes wrong.
+     */
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        container = BenchmarkContainer.create();
+        parser = container.lookup( Parser.class, parserId );
+        sinkFactory = container.lookup( SinkFactory.class, "xhtml5" );
+        sources = BenchmarkDocuments.load( parserId, BenchmarkDocuments.LARGE, container );
+    }
+
+    /**
+     * Disposes the container.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        container.dispose();
+    }
+
+    /**
+     * Parses the documents into both sinks.
+     *
+     * @return the number of bytes written by the HTML sink.
+     * @throws Exception if a document could not be parsed.
+     */
+    @Benchmark
+    public long parseIntoTwoSinks()
+        throws Exception
+    {
+        ParserSinkBenchmark.CountingOutputStream out = new ParserSinkBenchmark.CountingOutputStream();
+
+        for ( String source : sources )
+        {
+            List<Sink> sinks =
+                Arrays.asList( sinkFactory.createSink( out ), new IndexingSink( new IndexEntry( "index" ) ) );
+            Sink sink;
+            if ( "proxy".equals( pipeline ) )
+            {
+                sink = (Sink) Proxy.newProxyInstance( PipelineSink.class.getClassLoader(),
+                                                      new Class<?>[] { Sink.class }, new PipelineSink( sinks ) );
+            }
+            else
+            {
+                sink = new FanOutSink( sinks );
+            }
+            parser.parse( new StringReader( source ), sink );
+            sink.close();
+        }
+
+        return out.getCount();
+    }
+}
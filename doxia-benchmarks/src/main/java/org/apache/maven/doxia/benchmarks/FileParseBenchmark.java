@@ -0,0 +1,139 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkFactory;
+import org.codehaus.plexus.PlexusContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the rendering of the large document from a file, read through a Reader or with
+ * {@link Parser#parse(File, String, Sink, String)}.
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class FileParseBenchmark
+{
+    @Param( { "apt", "xdoc", "markdown" } )
+    private String parserId;
+
+    private PlexusContainer container;
+
+    private Parser parser;
+
+    private SinkFactory sinkFactory;
+
+    private File source;
+
+    /**
+     * Looks up the parser and the sink factory, and writes the document to a temporary file.
+     *
+     * @throws Exception if anything goes wrong.
+     */
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        container = BenchmarkContainer.create();
+        parser = container.lookup( Parser.class, parserId );
+        sinkFactory = container.lookup( SinkFactory.class, "xhtml5" );
+
+        String document = BenchmarkDocuments.load( parserId, BenchmarkDocuments.LARGE, container ).get( 0 );
+        source = File.createTempFile( "doxia-benchmark", "." + parserId );
+        Files.write( source.toPath(), document.getBytes( StandardCharsets.UTF_8 ) );
+    }
+
+    /**
+     * Disposes the container and deletes the file.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        container.dispose();
+        source.delete();
+    }
+
+    /**
+     * Parses the file through a Reader, which the parser copies.
+     *
+     * @return the number of bytes written by the sink.
+     * @throws Exception if the document could not be parsed.
+     */
+    @Benchmark
+    public long parseReader()
+        throws Exception
+    {
+        ParserSinkBenchmark.CountingOutputStream out = new ParserSinkBenchmark.CountingOutputStream();
+
+        Sink sink = sinkFactory.createSink( out );
+        try ( Reader reader = new InputStreamReader( Files.newInputStream( source.toPath() ), StandardCharsets.UTF_8 ) )
+        {
+            parser.parse( reader, sink, source.getName() );
+        }
+        sink.close();
+
+        return out.getCount();
+    }
+
+    /**
+     * Parses the file, decoded once from its memory mapping.
+     *
+     * @return the number of bytes written by the sink.
+     * @throws Exception if the document could not be parsed.
+     */
+    @Benchmark
+    public long parseFile()
+        throws Exception
+    {
+        ParserSinkBenchmark.CountingOutputStream out = new ParserSinkBenchmark.CountingOutputStream();
+
+        Sink sink = sinkFactory.createSink( out );
+        parser.parse( source, "UTF-8", sink, source.getName() );
+        sink.close();
+
+        return out.getCount();
+    }
+}
@@ -0,0 +1,113 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import javax.imageio.ImageIO;
+import javax.swing.text.MutableAttributeSet;
+
+import org.apache.maven.doxia.util.DoxiaUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link DoxiaUtils#getImageAttributes(String)} on a screenshot sized image, as done for every page
+ * that references it.
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class ImageAttributesBenchmark
+{
+    private static final int WIDTH = 2560;
+
+    private static final int HEIGHT = 1600;
+
+    @Param( { "png", "jpg", "gif" } )
+    private String format;
+
+    private File image;
+
+    /**
+     * Writes the image to a temporary file.
+     *
+     * @throws IOException if the image cannot be written.
+     */
+    @Setup
+    public void setUp()
+        throws IOException
+    {
+        BufferedImage pixels = new BufferedImage( WIDTH, HEIGHT, BufferedImage.TYPE_INT_RGB );
+        for ( int y = 0; y < HEIGHT; y++ )
+        {
+            for ( int x = 0; x < WIDTH; x++ )
+            {
+                pixels.setRGB( x, y, ( x * 255 / WIDTH ) << 16 | ( y * 255 / HEIGHT ) << 8 | ( ( x ^ y ) & 0xFF ) );
+            }
+        }
+
+        image = File.createTempFile( "doxia-benchmark", "." + format );
+        if ( !ImageIO.write( pixels, format, image ) )
+        {
+            throw new IllegalStateException( "No writer for " + format );
+        }
+    }
+
+    /**
+     * Deletes the temporary file.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        image.delete();
+    }
+
+    /**
+     * Reads the dimensions of the image.
+     *
+     * @return the width and height attributes.
+     * @throws IOException if the image cannot be read.
+     */
+    @Benchmark
+    public MutableAttributeSet getImageAttributes()
+        throws IOException
+    {
+        return DoxiaUtils.getImageAttributes( image.getPath() );
+    }
+}
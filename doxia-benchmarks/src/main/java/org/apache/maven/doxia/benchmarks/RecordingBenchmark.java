@@ -0,0 +1,155 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkFactory;
+import org.apache.maven.doxia.sink.impl.SinkEventPlayer;
+import org.apache.maven.doxia.sink.impl.SinkEventRecorder;
+import org.codehaus.plexus.PlexusContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares rendering the documents by parsing them with rendering them from recordings of their Sink events,
+ * made once by a {@link SinkEventRecorder}.
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class RecordingBenchmark
+{
+    @Param( { "apt", "xdoc", "markdown", "xhtml5" } )
+    private String parserId;
+
+    @Param( { "xhtml5", "apt" } )
+    private String sinkId;
+
+    private PlexusContainer container;
+
+    private Parser parser;
+
+    private SinkFactory sinkFactory;
+
+    private List<String> sources;
+
+    private List<byte[]> recordings;
+
+    /**
+     * Looks up the parser and the sink factory, loads the documents and records them.
+     *
+     * @throws Exception if anything goes wrong.
+     */
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        container = BenchmarkContainer.create();
+        parser = container.lookup( Parser.class, parserId );
+        sinkFactory = container.lookup( SinkFactory.class, sinkId );
+        sources = BenchmarkDocuments.load( parserId, BenchmarkDocuments.LARGE, container );
+
+        recordings = new ArrayList<>();
+        for ( String source : sources )
+        {
+            ByteArrayOutputStream recording = new ByteArrayOutputStream();
+            Sink recorder = new SinkEventRecorder( recording );
+            parser.parse( new StringReader( source ), recorder );
+            recorder.close();
+            recordings.add( recording.toByteArray() );
+        }
+    }
+
+    /**
+     * Disposes the container.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        container.dispose();
+    }
+
+    /**
+     * Parses and renders the documents.
+     *
+     * @return the number of bytes written by the sinks.
+     * @throws Exception if a document could not be parsed.
+     */
+    @Benchmark
+    public long parseAndRender()
+        throws Exception
+    {
+        ParserSinkBenchmark.CountingOutputStream out = new ParserSinkBenchmark.CountingOutputStream();
+
+        for ( String source : sources )
+        {
+            Sink sink = sinkFactory.createSink( out );
+            parser.parse( new StringReader( source ), sink );
+            sink.close();
+        }
+
+        return out.getCount();
+    }
+
+    /**
+     * Renders the documents from their recordings.
+     *
+     * @return the number of bytes written by the sinks.
+     * @throws Exception if a recording could not be read.
+     */
+    @Benchmark
+    public long replayAndRender()
+        throws Exception
+    {
+        ParserSinkBenchmark.CountingOutputStream out = new ParserSinkBenchmark.CountingOutputStream();
+
+        for ( byte[] recording : recordings )
+        {
+            Sink sink = sinkFactory.createSink( out );
+            new SinkEventPlayer( new ByteArrayInputStream( recording ) ).play( sink );
+            sink.close();
+        }
+
+        return out.getCount();
+    }
+}
@@ -0,0 +1,132 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.macro.snippet.SnippetIndex;
+import org.apache.maven.doxia.macro.snippet.SnippetReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Measures taking twenty snippets from one large source file, reading the file for each snippet with
+ * {@link SnippetReader#readSnippet(String)} or once with {@link SnippetReader#readIndex()}.
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class SnippetBenchmark
+{
+    private static final int SNIPPETS = 20;
+
+    private static final int LINES_PER_SNIPPET = 250;
+
+    private File source;
+
+    private SnippetReader reader;
+
+    /**
+     * Writes the source file.
+     *
+     * @throws IOException if the file cannot be written.
+     */
+    @Setup
+    public void setUp()
+        throws IOException
+    {
+        StringBuilder content = new StringBuilder();
+        for ( int i = 0; i < SNIPPETS; i++ )
+        {
+            content.append( "    // START SNIPPET: snippet" ).append( i ).append( '\n' );
+            for ( int j = 0; j < LINES_PER_SNIPPET; j++ )
+            {
+                content.append( "    int value" ).append( j ).append( " = compute( " ).append( i ).append( ", " )
+                    .append( j ).append( " ); // the start of the end\n" );
+            }
+            content.append( "    // END SNIPPET: snippet" ).append( i ).append( '\n' );
+        }
+
+        source = File.createTempFile( "doxia-benchmark", ".java" );
+        Files.write( source.toPath(), content.toString().getBytes( StandardCharsets.UTF_8 ) );
+        reader = new SnippetReader( source.toURI().toURL(), "UTF-8" );
+    }
+
+    /**
+     * Deletes the source file.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        source.delete();
+    }
+
+    /**
+     * Reads the source once per snippet.
+     *
+     * @param blackhole consumes the snippets.
+     * @throws IOException if the source cannot be read.
+     */
+    @Benchmark
+    public void readEachSnippet( Blackhole blackhole )
+        throws IOException
+    {
+        for ( int i = 0; i < SNIPPETS; i++ )
+        {
+            blackhole.consume( reader.readSnippet( "snippet" + i ) );
+        }
+    }
+
+    /**
+     * Reads the source once, and takes all the snippets from its index.
+     *
+     * @param blackhole consumes the snippets.
+     * @throws IOException if the source cannot be read.
+     */
+    @Benchmark
+    public void readIndexOnce( Blackhole blackhole )
+        throws IOException
+    {
+        SnippetIndex index = reader.readIndex();
+        for ( int i = 0; i < SNIPPETS; i++ )
+        {
+            blackhole.consume( index.getSnippet( "snippet" + i ) );
+        }
+    }
+}
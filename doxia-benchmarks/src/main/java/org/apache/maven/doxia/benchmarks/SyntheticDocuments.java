@@ -0,0 +1,403 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
+
+/**
+ * Generates arbitrarily large documents for the benchmarks. The structure is the same for every
+ * markup: a head, then sections holding paragraphs with inline markup and links, bullet and numbered
+ * lists, a verbatim block, a table and a sub-section.
+ * Markups with a Doxia sink are generated by emitting the structure as Sink events,
+ * the others (fml, markdown) are written directly.
+ *
+ * @since 2.0.0
+ */
+final class SyntheticDocuments
+{
+    private static final int LIST_ITEMS = 5;
+
+    private static final int TABLE_ROWS = 10;
+
+    private static final int TABLE_COLUMNS = 4;
+
+    private static final String EOL = "\n";
+
+    private static final String LOREM = "Lorem ipsum dolor sit amet, consectetur adipiscing elit, sed do eiusmod "
+        + "tempor incididunt ut labore et dolore magna aliqua. Ut enim ad minim veniam, quis nostrud exercitation "
+        + "ullamco laboris nisi ut aliquip ex ea commodo consequat.";
+
+    private SyntheticDocuments()
+    {
+        // utility class
+    }
+
+    /**
+     * Emits a synthetic document into the given sink.
+     *
+     * @param sink the sink to receive the events, not null.
+     * @param sections the number of top level sections to generate.
+     */
+    static void emit( Sink sink, int sections )
+    {
+        sink.head();
+        sink.title();
+        sink.text( "Synthetic document" );
+        sink.title_();
+        sink.author();
+        sink.text( "Doxia benchmarks" );
+        sink.author_();
+        sink.head_();
+
+        sink.body();
+
+        for ( int i = 0; i < sections; i++ )
+        {
+            sink.section1();
+            sink.sectionTitle1();
+            sink.text( "Section " + i );
+            sink.sectionTitle1_();
+
+            sink.paragraph();
+            sink.text( LOREM + " " );
+            sink.bold();
+            sink.text( "Bold text" );
+            sink.bold_();
+            sink.text( ", " );
+            sink.italic();
+            sink.text( "italic text" );
+            sink.italic_();
+            sink.text( " and " );
+            sink.monospaced();
+            sink.text( "monospaced text" );
+            sink.monospaced_();
+            sink.text( ", see " );
+            sink.link( "https://maven.apache.org/doxia/section" + i + ".html" );
+            sink.text( "the reference" );
+            sink.link_();
+            sink.text( " & the <escaped> \"characters\"." );
+            sink.paragraph_();
+
+            sink.list();
+            for ( int j = 0; j < LIST_ITEMS; j++ )
+            {
+                sink.listItem();
+                sink.text( "Item " + j + " of section " + i );
+                sink.listItem_();
+            }
+            sink.list_();
+
+            sink.numberedList( Sink.NUMBERING_DECIMAL );
+            for ( int j = 0; j < LIST_ITEMS; j++ )
+            {
+                sink.numberedListItem();
+                sink.text( "Step " + j );
+                sink.numberedListItem_();
+            }
+            sink.numberedList_();
+
+            sink.verbatim( SinkEventAttributeSet.BOXED );
+            sink.text( "public class Section" + i + EOL + "{" + EOL + "    // code sample" + EOL + "}" );
+            sink.verbatim_();
+
+            sink.table();
+            sink.tableRows( null, false );
+            sink.tableRow();
+            for ( int c = 0; c < TABLE_COLUMNS; c++ )
+            {
+                sink.tableHeaderCell();
+                sink.text( "Column " + c );
+                sink.tableHeaderCell_();
+            }
+            sink.tableRow_();
+            for ( int r = 0; r < TABLE_ROWS; r++ )
+            {
+                sink.tableRow();
+                for ( int c = 0; c < TABLE_COLUMNS; c++ )
+                {
+                    sink.tableCell();
+                    sink.text( "Cell " + r + "." + c );
+                    sink.tableCell_();
+                }
+                sink.tableRow_();
+            }
+            sink.tableRows_();
+            sink.table_();
+
+            sink.section2();
+            sink.sectionTitle2();
+            sink.text( "Sub-section " + i );
+            sink.sectionTitle2_();
+            sink.paragraph();
+            sink.text( LOREM );
+            sink.paragraph_();
+            sink.section2_();
+
+            sink.section1_();
+        }
+
+        sink.body_();
+        sink.flush();
+        sink.close();
+    }
+
+    /**
+     * Emits a document made almost only of markup into the given sink: every section holds a table whose
+     * cells contain short inline elements, and a list of links.
+     *
+     * @param sink the sink to receive the events, not null.
+     * @param sections the number of sections to generate.
+     */
+    static void emitTags( Sink sink, int sections )
+    {
+        sink.head();
+        sink.title();
+        sink.text( "Tag-heavy document" );
+        sink.title_();
+        sink.head_();
+
+        sink.body();
+
+        for ( int i = 0; i < sections; i++ )
+        {
+            sink.section1();
+            sink.sectionTitle1();
+            sink.text( "Section " + i );
+            sink.sectionTitle1_();
+
+            sink.table();
+            sink.tableRows( null, false );
+            for ( int r = 0; r < TABLE_ROWS; r++ )
+            {
+                sink.tableRow();
+                for ( int c = 0; c < TABLE_COLUMNS; c++ )
+                {
+                    sink.tableCell();
+                    sink.bold();
+                    sink.text( "b" );
+                    sink.bold_();
+                    sink.italic();
+                    sink.text( "i" );
+                    sink.italic_();
+                    sink.monospaced();
+                    sink.text( "c" );
+                    sink.monospaced_();
+                    sink.lineBreak();
+                    sink.tableCell_();
+                }
+                sink.tableRow_();
+            }
+            sink.tableRows_();
+            sink.table_();
+
+            sink.list();
+            for ( int j = 0; j < LIST_ITEMS; j++ )
+            {
+                sink.listItem();
+                sink.link( "#s" + i + "-" + j );
+                sink.text( "l" );
+                sink.link_();
+                sink.listItem_();
+            }
+            sink.list_();
+
+            sink.section1_();
+        }
+
+        sink.body_();
+        sink.flush();
+        sink.close();
+    }
+
+    /**
+     * @param parts the number of FAQ parts to generate.
+     * @return a synthetic FML document made almost only of markup.
+     */
+    static String fmlTags( int parts )
+    {
+        StringBuilder fml = new StringBuilder( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" ).append( EOL );
+        fml.append( "<faqs title=\"Tag-heavy FAQ\">" ).append( EOL );
+
+        for ( int i = 0; i < parts; i++ )
+        {
+            fml.append( "  <part id=\"part" ).append( i ).append( "\">" ).append( EOL );
+            fml.append( "    <title>Part " ).append( i ).append( "</title>" ).append( EOL );
+            fml.append( "    <faq id=\"faq" ).append( i ).append( "\">" ).append( EOL );
+            fml.append( "      <question>Q<code>c</code>?</question>" ).append( EOL );
+            fml.append( "      <answer>" ).append( EOL );
+            fml.append( "        <table>" ).append( EOL );
+
+            for ( int r = 0; r < TABLE_ROWS; r++ )
+            {
+                fml.append( "          <tr>" );
+                for ( int c = 0; c < TABLE_COLUMNS; c++ )
+                {
+                    fml.append( "<td><b>b</b><i>i</i><code>c</code><br/></td>" );
+                }
+                fml.append( "</tr>" ).append( EOL );
+            }
+
+            fml.append( "        </table>" ).append( EOL );
+            fml.append( "        <ul>" );
+            for ( int j = 0; j < LIST_ITEMS; j++ )
+            {
+                fml.append( "<li><a href=\"#s" ).append( i ).append( '-' ).append( j ).append( "\">l</a></li>" );
+            }
+            fml.append( "</ul>" ).append( EOL );
+            fml.append( "      </answer>" ).append( EOL );
+            fml.append( "    </faq>" ).append( EOL );
+            fml.append( "  </part>" ).append( EOL );
+        }
+
+        return fml.append( "</faqs>" ).append( EOL ).toString();
+    }
+
+    /**
+     * @param parts the number of FAQ parts to generate.
+     * @return a synthetic FML document.
+     */
+    static String fml( int parts )
+    {
+        StringBuilder fml = new StringBuilder( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" ).append( EOL );
+        fml.append( "<faqs title=\"Synthetic FAQ\">" ).append( EOL );
+
+        for ( int i = 0; i < parts; i++ )
+        {
+            fml.append( "  <part id=\"part" ).append( i ).append( "\">" ).append( EOL );
+            fml.append( "    <title>Part " ).append( i ).append( "</title>" ).append( EOL );
+
+            for ( int j = 0; j < LIST_ITEMS; j++ )
+            {
+                fml.append( "    <faq id=\"faq" ).append( i ).append( '-' ).append( j ).append( "\">" ).append( EOL );
+                fml.append( "      <question>Question " ).append( j ).append( " with <code>code</code>?</question>" )
+                    .append( EOL );
+                fml.append( "      <answer>" ).append( EOL );
+                fml.append( "        <p>" ).append( LOREM ).append( " <b>Bold</b>, <i>italic</i> and " )
+                    .append( "<a href=\"https://maven.apache.org/\">a link</a>.</p>" ).append( EOL );
+                fml.append( "        <ul><li>First</li><li>Second</li></ul>" ).append( EOL );
+                fml.append( "        <source>mvn clean install</source>" ).append( EOL );
+                fml.append( "      </answer>" ).append( EOL );
+                fml.append( "    </faq>" ).append( EOL );
+            }
+
+            fml.append( "  </part>" ).append( EOL );
+        }
+
+        return fml.append( "</faqs>" ).append( EOL ).toString();
+    }
+
+    /**
+     * @param sections the number of top level sections to generate.
+     * @return a synthetic Markdown document.
+     */
+    static String markdown( int sections )
+    {
+        StringBuilder md = new StringBuilder( "---" ).append( EOL );
+        md.append( "title: Synthetic document" ).append( EOL );
+        md.append( "author: Doxia benchmarks" ).append( EOL );
+        md.append( "---" ).append( EOL ).append( EOL );
+
+        for ( int i = 0; i < sections; i++ )
+        {
+            md.append( "# Section " ).append( i ).append( EOL ).append( EOL );
+            md.append( LOREM ).append( " **Bold text**, _italic text_ and `monospaced text`, see " )
+                .append( "[the reference](https://maven.apache.org/doxia/section" ).append( i )
+                .append( ".html) & the \"quoted\" characters." ).append( EOL ).append( EOL );
+
+            for ( int j = 0; j < LIST_ITEMS; j++ )
+            {
+                md.append( "* Item " ).append( j ).append( " of section " ).append( i ).append( EOL );
+            }
+            md.append( EOL );
+
+            for ( int j = 0; j < LIST_ITEMS; j++ )
+            {
+                md.append( j + 1 ).append( ". Step " ).append( j ).append( EOL );
+            }
+            md.append( EOL );
+
+            md.append( "```java" ).append( EOL );
+            md.append( "public class Section" ).append( i ).append( EOL ).append( "{" ).append( EOL )
+                .append( "    // code sample" ).append( EOL ).append( "}" ).append( EOL );
+            md.append( "```" ).append( EOL ).append( EOL );
+
+            for ( int c = 0; c < TABLE_COLUMNS; c++ )
+            {
+                md.append( "| Column " ).append( c ).append( ' ' );
+            }
+            md.append( '|' ).append( EOL );
+            for ( int c = 0; c < TABLE_COLUMNS; c++ )
+            {
+                md.append( "|----------" );
+            }
+            md.append( '|' ).append( EOL );
+            for ( int r = 0; r < TABLE_ROWS; r++ )
+            {
+                for ( int c = 0; c < TABLE_COLUMNS; c++ )
+                {
+                    md.append( "| Cell " ).append( r ).append( '.' ).append( c ).append( ' ' );
+                }
+                md.append( '|' ).append( EOL );
+            }
+            md.append( EOL );
+
+            md.append( "## Sub-section " ).append( i ).append( EOL ).append( EOL );
+            md.append( LOREM ).append( EOL ).append( EOL );
+        }
+
+        return md.toString();
+    }
+
+    /**
+     * @param size the minimum number of characters of the document.
+     * @param lineSeparator the separator between the elements, e.g. an empty string for a document on a single line.
+     * @param schemaLocation the location of the XML Schema the document refers to, or <code>null</code> to declare a
+     * DTD in the internal subset instead.
+     * @return a synthetic XML document, valid against its DTD or XML Schema.
+     */
+    static String validXml( int size, String lineSeparator, String schemaLocation )
+    {
+        StringBuilder xml = new StringBuilder( "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" ).append( EOL );
+
+        if ( schemaLocation == null )
+        {
+            xml.append( "<!DOCTYPE body [" ).append( EOL );
+            xml.append( "  <!ELEMENT body (p*)>" ).append( EOL );
+            xml.append( "  <!ELEMENT p (#PCDATA|b)*>" ).append( EOL );
+            xml.append( "  <!ELEMENT b (#PCDATA)>" ).append( EOL );
+            xml.append( "]>" ).append( EOL );
+            xml.append( "<body>" ).append( lineSeparator );
+        }
+        else
+        {
+            xml.append( "<body xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"" )
+                .append( " xsi:noNamespaceSchemaLocation=\"" ).append( schemaLocation ).append( "\">" )
+                .append( lineSeparator );
+        }
+
+        while ( xml.length() < size )
+        {
+            xml.append( "<p>" ).append( LOREM ).append( " <b>Bold</b></p>" ).append( lineSeparator );
+        }
+
+        return xml.append( "</body>" ).append( EOL ).toString();
+    }
+}
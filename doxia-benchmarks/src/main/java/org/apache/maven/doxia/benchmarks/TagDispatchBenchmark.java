@@ -0,0 +1,102 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.StringReader;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.sink.impl.SinkAdapter;
+import org.codehaus.plexus.PlexusContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the XML based parsers on a document made almost only of short elements, rendered into a sink
+ * which ignores every event, so that the time is mostly spent reading tags and dispatching them.
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class TagDispatchBenchmark
+{
+    @Param( { "xdoc", "fml", "xhtml", "xhtml5" } )
+    private String parserId;
+
+    private PlexusContainer container;
+
+    private Parser parser;
+
+    private List<String> sources;
+
+    /**
+     * Looks up the parser and generates the document.
+     *
+     * @throws Exception if anything goes wrong.
+     */
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        container = BenchmarkContainer.create();
+        parser = container.lookup( Parser.class, parserId );
+        sources = BenchmarkDocuments.load( parserId, BenchmarkDocuments.TAGS, container );
+    }
+
+    /**
+     * Disposes the container.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        container.dispose();
+    }
+
+    /**
+     * Parses the document.
+     *
+     * @throws Exception if the document could not be parsed.
+     */
+    @Benchmark
+    public void parse()
+        throws Exception
+    {
+        for ( String source : sources )
+        {
+            parser.parse( new StringReader( source ), new SinkAdapter() );
+        }
+    }
+}
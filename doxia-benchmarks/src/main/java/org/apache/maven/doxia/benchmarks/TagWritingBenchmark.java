@@ -0,0 +1,159 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+import org.apache.maven.doxia.sink.SinkFactory;
+import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
+import org.codehaus.plexus.PlexusContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the cost of writing the markup of an element with the XML sinks. Each operation is one element:
+ * the paragraphs, bold runs and line breaks, or the table rows, cells and inline elements, are emitted without
+ * any text, so the reported <code>gc.alloc.rate.norm</code> is the number of bytes allocated per emitted element.
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.NANOSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class TagWritingBenchmark
+{
+    private static final int PARAGRAPHS = 1000;
+
+    /** A paragraph, a bold run and a line break. */
+    private static final int ELEMENTS = PARAGRAPHS * 3;
+
+    private static final int ROWS = 1000;
+
+    private static final int[] JUSTIFICATION = { Sink.JUSTIFY_LEFT, Sink.JUSTIFY_CENTER, Sink.JUSTIFY_RIGHT };
+
+    /** A row, and a cell holding an inline element for each of the 3 columns. */
+    private static final int TABLE_ELEMENTS = ROWS * ( 1 + 2 * 3 );
+
+    @Param( { "xhtml", "xhtml5", "xdoc" } )
+    private String sinkId;
+
+    private PlexusContainer container;
+
+    private SinkFactory sinkFactory;
+
+    private SinkEventAttributes attributes;
+
+    /**
+     * Looks up the sink factory.
+     *
+     * @throws Exception if anything goes wrong.
+     */
+    @Setup
+    public void setUp()
+        throws Exception
+    {
+        container = BenchmarkContainer.create();
+        sinkFactory = container.lookup( SinkFactory.class, sinkId );
+        attributes = new SinkEventAttributeSet( SinkEventAttributes.ID, "p", SinkEventAttributes.CLASS, "c" );
+    }
+
+    /**
+     * Disposes the container.
+     */
+    @TearDown
+    public void tearDown()
+    {
+        container.dispose();
+    }
+
+    /**
+     * Emits the elements into a fresh sink.
+     *
+     * @throws Exception if the sink could not be created.
+     */
+    @Benchmark
+    @OperationsPerInvocation( ELEMENTS )
+    public void writeElements()
+        throws Exception
+    {
+        Sink sink = sinkFactory.createSink( new ParserSinkBenchmark.CountingOutputStream() );
+
+        sink.body();
+        for ( int i = 0; i < PARAGRAPHS; i++ )
+        {
+            sink.paragraph( attributes );
+            sink.bold();
+            sink.bold_();
+            sink.lineBreak();
+            sink.paragraph_();
+        }
+        sink.body_();
+        sink.close();
+    }
+
+    /**
+     * Emits the rows of a justified table into a fresh sink.
+     *
+     * @throws Exception if the sink could not be created.
+     */
+    @Benchmark
+    @OperationsPerInvocation( TABLE_ELEMENTS )
+    public void writeTable()
+        throws Exception
+    {
+        Sink sink = sinkFactory.createSink( new ParserSinkBenchmark.CountingOutputStream() );
+
+        sink.body();
+        sink.table();
+        sink.tableRows( JUSTIFICATION, false );
+        for ( int i = 0; i < ROWS; i++ )
+        {
+            sink.tableRow();
+            for ( int j = 0; j < JUSTIFICATION.length; j++ )
+            {
+                sink.tableCell();
+                sink.inline( SinkEventAttributeSet.Semantics.STRONG );
+                sink.inline_();
+                sink.tableCell_();
+            }
+            sink.tableRow_();
+        }
+        sink.tableRows_();
+        sink.table_();
+        sink.body_();
+        sink.close();
+    }
+}
@@ -0,0 +1,106 @@
+package org.apache.maven.doxia.benchmarks;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.StringReader;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.util.XmlValidator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the validation of multi-megabyte XML documents with {@link XmlValidator}, from a String and from a
+ * Reader. Generated pages often come on a single line, which is the worst case for anything scanning the content
+ * line by line.
+ *
+ * @since 2.0.0
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class XmlValidatorBenchmark
+{
+    private static final int MEGABYTE = 1024 * 1024;
+
+    /** Resolved from the class path by the entity resolver of XmlValidator. */
+    private static final String SCHEMA_LOCATION = "file:/synthetic-document.xsd";
+
+    /** The size of the document, in megabytes. */
+    @Param( { "1", "4" } )
+    private int size;
+
+    /** <code>lines</code> for one element per line, <code>single</code> for the whole document on one line. */
+    @Param( { "lines", "single" } )
+    private String layout;
+
+    /** <code>dtd</code> for a DTD in the internal subset, <code>xsd</code> for an XML Schema without doctype. */
+    @Param( { "dtd", "xsd" } )
+    private String grammar;
+
+    private String content;
+
+    /**
+     * Generates the document.
+     */
+    @Setup
+    public void setUp()
+    {
+        content = SyntheticDocuments.validXml( size * MEGABYTE, "lines".equals( layout ) ? "\n" : "",
+                                               "xsd".equals( grammar ) ? SCHEMA_LOCATION : null );
+    }
+
+    /**
+     * Validates the document held in memory.
+     *
+     * @throws Exception if the document is not valid.
+     */
+    @Benchmark
+    public void validateString()
+        throws Exception
+    {
+        new XmlValidator().validate( content );
+    }
+
+    /**
+     * Validates the document read as a stream.
+     *
+     * @throws Exception if the document is not valid.
+     */
+    @Benchmark
+    public void validateReader()
+        throws Exception
+    {
+        new XmlValidator().validate( new StringReader( content ) );
+    }
+}
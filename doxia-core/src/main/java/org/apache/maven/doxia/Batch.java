@@ -0,0 +1,227 @@
+package org.apache.maven.doxia;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.doxia.parser.AbstractParser;
+import org.apache.maven.doxia.parser.ParseException;
+import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.parser.manager.ParserNotFoundException;
+import org.apache.maven.doxia.sink.Sink;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * A batch of documents rendered concurrently, see {@link Doxia#parse(List, Executor, int, BatchListener)}.
+ * It collects the outcome of the jobs, and notifies the listener in submission order.
+ *
+ * @since 2.0.0
+ */
+final class Batch
+{
+    private static final Logger LOGGER = LoggerFactory.getLogger( Batch.class );
+
+    private final List<BatchJob> jobs;
+
+    private final BatchListener listener;
+
+    private final Exception[] failures;
+
+    private final boolean[] completed;
+
+    private final CountDownLatch remaining;
+
+    /** The index of the next job the listener should be notified of. */
+    private int next;
+
+    /** True while a thread notifies the listener. */
+    private boolean notifying;
+
+    private Batch( List<BatchJob> jobs, BatchListener listener )
+    {
+        this.jobs = jobs;
+        this.listener = listener;
+        this.failures = new Exception[jobs.size()];
+        this.completed = new boolean[jobs.size()];
+        this.remaining = new CountDownLatch( jobs.size() );
+    }
+
+    /**
+     * Records the outcome of a job, then notifies the listener of the jobs which can be, outside of the lock
+     * of the batch. Only one thread notifies the listener at a time, the others leave their job to it.
+     */
+    private void complete( int index, Exception failure )
+    {
+        synchronized ( this )
+        {
+            failures[index] = failure;
+            completed[index] = true;
+
+            if ( notifying )
+            {
+                return;
+            }
+            notifying = true;
+        }
+
+        while ( true )
+        {
+            int notified;
+            synchronized ( this )
+            {
+                if ( next >= completed.length || !completed[next] )
+                {
+                    notifying = false;
+                    return;
+                }
+                notified = next++;
+            }
+
+            try
+            {
+                if ( listener != null )
+                {
+                    listener.jobCompleted( notified, jobs.get( notified ), failures[notified] );
+                }
+            }
+            catch ( RuntimeException e )
+            {
+                LOGGER.warn( "Batch listener failed for " + jobs.get( notified ).getReference(), e );
+            }
+            finally
+            {
+                remaining.countDown();
+            }
+        }
+    }
+
+    private BatchResult await()
+        throws InterruptedException
+    {
+        remaining.await();
+
+        synchronized ( this )
+        {
+            return new BatchResult( Arrays.asList( failures ) );
+        }
+    }
+
+    /**
+     * Renders a batch of documents, see {@link Doxia#parse(List, Executor, int, BatchListener)}.
+     *
+     * @param doxia the Doxia that provides a parser for each job.
+     * @param jobs the documents to render.
+     * @param executor the executor to run the jobs on.
+     * @param maxConcurrency the maximum number of documents being rendered at the same time.
+     * @param listener notified of the outcome of each job in submission order, may be null.
+     * @return the outcome of the batch, once every job has completed.
+     * @throws InterruptedException if the current thread was interrupted while waiting for the jobs.
+     */
+    static BatchResult parse( Doxia doxia, List<BatchJob> jobs, Executor executor, int maxConcurrency,
+                              BatchListener listener )
+        throws InterruptedException
+    {
+        if ( maxConcurrency < 1 )
+        {
+            throw new IllegalArgumentException( "maxConcurrency must be at least 1, was " + maxConcurrency );
+        }
+
+        final Batch batch = new Batch( jobs, listener );
+        final Semaphore slots = new Semaphore( maxConcurrency );
+
+        for ( int i = 0; i < jobs.size(); i++ )
+        {
+            final int index = i;
+            final BatchJob job = jobs.get( i );
+
+            slots.acquire();
+
+            try
+            {
+                executor.execute( () ->
+                {
+                    Exception failure = null;
+                    try
+                    {
+                        failure = render( doxia, job );
+                    }
+                    catch ( Error e )
+                    {
+                        failure = new IllegalStateException( "Error while rendering " + job.getReference(), e );
+                        throw e;
+                    }
+                    finally
+                    {
+                        slots.release();
+                        batch.complete( index, failure );
+                    }
+                } );
+            }
+            catch ( RejectedExecutionException e )
+            {
+                slots.release();
+                batch.complete( index, e );
+            }
+        }
+
+        return batch.await();
+    }
+
+    /**
+     * Renders one job of a batch.
+     *
+     * @param doxia the Doxia that provides the parser of the job.
+     * @param job the job to render.
+     * @return the exception which made the job fail, or null if it succeeded.
+     */
+    private static Exception render( Doxia doxia, BatchJob job )
+    {
+        try ( Reader source = job.openSource() )
+        {
+            Parser parser = doxia.getParser( job.getParserId() );
+            Sink sink = job.createSink();
+            try
+            {
+                parser.parse( source, sink, job.getReference() );
+            }
+            finally
+            {
+                sink.close();
+            }
+
+            job.rendered( parser instanceof AbstractParser
+                ? ( (AbstractParser) parser ).getMacroInputs() : Collections.<String>emptySet() );
+            return null;
+        }
+        catch ( IOException | ParserNotFoundException | ParseException | RuntimeException e )
+        {
+            return e;
+        }
+    }
+}
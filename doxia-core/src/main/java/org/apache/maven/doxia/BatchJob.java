@@ -0,0 +1,78 @@
+package org.apache.maven.doxia;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Set;
+
+import org.apache.maven.doxia.sink.Sink;
+
+/**
+ * A document to be rendered by {@link Doxia#parse(java.util.List, java.util.concurrent.Executor, int, BatchListener)}.
+ * Both the source and the sink are only created when the job runs, on the thread that renders it, so that
+ * a large batch does not hold every file open while it waits to be processed.
+ *
+ * @since 2.0.0
+ */
+public interface BatchJob
+{
+    /**
+     * @return the reference to the source document (e.g. filename), used in error messages. May be null.
+     */
+    String getReference();
+
+    /**
+     * @return the identifier of the parser to use for the source document.
+     */
+    String getParserId();
+
+    /**
+     * Opens the source document. The reader is closed once the document has been rendered.
+     *
+     * @return a new reader on the source document, not null.
+     * @throws IOException if the source could not be opened.
+     */
+    Reader openSource()
+        throws IOException;
+
+    /**
+     * Creates the sink receiving the parsed document, usually from a
+     * {@link org.apache.maven.doxia.sink.SinkFactory}. The sink is closed once the document has been rendered.
+     *
+     * @return a new sink, not null.
+     * @throws IOException if the sink could not be created.
+     */
+    Sink createSink()
+        throws IOException;
+
+    /**
+     * Called once the document has been rendered successfully, with the inputs that its macros read besides
+     * the source, see {@link org.apache.maven.doxia.parser.AbstractParser#getMacroInputs()}. Does nothing
+     * by default.
+     *
+     * @param macroInputs the URLs of the inputs, never null.
+     */
+    default void rendered( Set<String> macroInputs )
+    {
+        // nop
+    }
+}
@@ -0,0 +1,41 @@
+package org.apache.maven.doxia;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+/**
+ * Receives the outcome of the jobs of a batch, see
+ * {@link Doxia#parse(java.util.List, java.util.concurrent.Executor, int, BatchListener)}.
+ * Notifications are delivered in the order the jobs were submitted, one at a time, so implementations
+ * do not need to be thread-safe.
+ *
+ * @since 2.0.0
+ */
+public interface BatchListener
+{
+    /**
+     * Called once a job, and all the jobs submitted before it, have been rendered.
+     *
+     * @param index the index of the job in the batch.
+     * @param job the job.
+     * @param failure the exception which made the job fail, or null if the document was rendered successfully.
+     */
+    void jobCompleted( int index, BatchJob job, Exception failure );
+}
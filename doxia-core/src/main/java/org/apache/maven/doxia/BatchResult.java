@@ -0,0 +1,100 @@
+package org.apache.maven.doxia;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of a batch rendered by
+ * {@link Doxia#parse(java.util.List, java.util.concurrent.Executor, int, BatchListener)}. Failures are reported
+ * by the index of their job in the batch, so that jobs submitted twice, or which are equal, are told apart.
+ *
+ * @since 2.0.0
+ */
+public class BatchResult
+{
+    private final List<Exception> failures;
+
+    private final int failureCount;
+
+    /**
+     * @param failures the exception which made each job fail, or null for the jobs rendered successfully, in the
+     * order of the jobs.
+     */
+    BatchResult( List<Exception> failures )
+    {
+        this.failures = Collections.unmodifiableList( new ArrayList<>( failures ) );
+
+        int count = 0;
+        for ( Exception failure : failures )
+        {
+            if ( failure != null )
+            {
+                count++;
+            }
+        }
+        this.failureCount = count;
+    }
+
+    /**
+     * @return the number of jobs in the batch.
+     */
+    public int getJobCount()
+    {
+        return failures.size();
+    }
+
+    /**
+     * @return true if every document of the batch was rendered successfully.
+     */
+    public boolean isSuccessful()
+    {
+        return failureCount == 0;
+    }
+
+    /**
+     * @return the number of jobs which failed.
+     */
+    public int getFailureCount()
+    {
+        return failureCount;
+    }
+
+    /**
+     * @param index the index of a job in the batch.
+     * @return the exception which made the job fail, or null if it was rendered successfully.
+     */
+    public Exception getFailure( int index )
+    {
+        return failures.get( index );
+    }
+
+    /**
+     * @return the exception which made each job fail, or null for the jobs rendered successfully, in the order of
+     * the jobs. Never null.
+     */
+    public List<Exception> getFailures()
+    {
+        return failures;
+    }
+}
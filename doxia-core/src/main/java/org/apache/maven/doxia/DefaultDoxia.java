@@ -34,6 +34,7 @@ import java.io.Reader;
 /**
  * Simple implementation of the Doxia interface:
  * uses a ParserManager to lookup a parser.
+ * This component is thread-safe, as long as each thread uses its own sink.
  *
  * @author Jason van Zyl
  * @since 1.0
@@ -47,9 +48,9 @@ public class DefaultDoxia
     private ParserManager parserManager;
 
     // ----------------------------------------------------------------------
-    // This remains because the sinks are not threadsafe which they probably
-    // should be. In some places a constructor is used to initialize a sink
-    // which can probably be done away with.
+    // Parsers and sinks are not threadsafe: each parse() looks up a new parser
+    // instance, so that concurrent calls do not share any parsing state. Sinks
+    // are provided by the caller and must not be shared between threads.
     // ----------------------------------------------------------------------
 
     /** {@inheritDoc} */
@@ -24,7 +24,10 @@ import org.apache.maven.doxia.parser.Parser;
 import org.apache.maven.doxia.parser.manager.ParserNotFoundException;
 import org.apache.maven.doxia.sink.Sink;
 
+import java.io.File;
 import java.io.Reader;
+import java.util.List;
+import java.util.concurrent.Executor;
 
 /**
  * Basic interface of the Doxia framework.
@@ -62,11 +65,54 @@ public interface Doxia
     void parse( Reader source, String parserId, Sink sink, String reference )
         throws ParserNotFoundException, ParseException;
 
+    /**
+     * Parses the given file using a parser with given id, and emits Doxia events into the given sink.
+     * The file is decoded once, see {@link Parser#parse(File, String, Sink, String)}.
+     *
+     * @param source not null file of the source document
+     * @param encoding not null encoding of the file
+     * @param parserId identifier for the parser to use
+     * @param sink a sink that consumes the Doxia events
+     * @param reference string containing the reference to the source (e.g. filename)
+     * @throws ParserNotFoundException if no parser could be found for the given id
+     * @throws ParseException if the file could not be read or the model could not be parsed
+     * @since 2.0.0
+     */
+    default void parse( File source, String encoding, String parserId, Sink sink, String reference )
+        throws ParserNotFoundException, ParseException
+    {
+        getParser( parserId ).parse( source, encoding, sink, reference );
+    }
+
+    /**
+     * Renders a batch of documents concurrently: each job is parsed with its own parser instance into its own sink,
+     * on the given executor, e.g. a {@link java.util.concurrent.ForkJoinPool} or an executor creating a
+     * virtual thread per task. A failing document does not stop the batch: its exception is collected and
+     * the other jobs go on. Each job gets its parser from {@link #getParser(String)}.
+     *
+     * @param jobs the documents to render, not null.
+     * @param executor the executor to run the jobs on, not null.
+     * @param maxConcurrency the maximum number of documents being rendered at the same time, at least 1.
+     * Jobs are handed to the executor only when a slot is available.
+     * @param listener notified of the outcome of each job in submission order, may be null.
+     * @return the outcome of the batch, once every job has completed.
+     * @throws InterruptedException if the current thread was interrupted while waiting for the jobs.
+     * Jobs already handed to the executor keep running.
+     * @since 2.0.0
+     */
+    default BatchResult parse( List<BatchJob> jobs, Executor executor, int maxConcurrency, BatchListener listener )
+        throws InterruptedException
+    {
+        return Batch.parse( this, jobs, executor, maxConcurrency, listener );
+    }
+
     /**
      * Return a parser for the given <code>parserId</code>.
+     * Parsers are not thread-safe: a new instance is returned on each call, that should not be shared between
+     * threads.
      *
      * @param parserId identifier for the parser to use
-     * @return the parser identified by parserId
+     * @return a new instance of the parser identified by parserId
      * @throws ParserNotFoundException if no parser could be found for the given id
      */
     Parser getParser( String parserId )
@@ -0,0 +1,397 @@
+package org.apache.maven.doxia;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Reader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+import org.apache.maven.doxia.parser.AbstractParser;
+import org.apache.maven.doxia.parser.ContentReader;
+import org.apache.maven.doxia.sink.Sink;
+import org.codehaus.plexus.util.IOUtil;
+
+/**
+ * Renders a batch of documents with {@link Doxia#parse(List, Executor, int, BatchListener)}, but skips the
+ * documents whose inputs did not change since the previous run.
+ * <p>
+ * An index file keeps a fingerprint of each document, by reference: the hash of its source, the parser ID,
+ * the Doxia version, and the hash of every input that its macros read, e.g. snippet files, as reported by
+ * {@link BatchJob#rendered(Set)}. A document is rendered again if any of them changed, if it failed the previous
+ * time, or if one of its macro inputs is not a local file, as it cannot be checked. The index is written once
+ * the batch is complete, and only holds the documents of the last run.
+ * </p>
+ * <p>
+ * The inputs are hashed before the document is rendered, never after, so that an input changed while the
+ * document is rendered is not taken for the one that was read: the inputs of the previous run are hashed when
+ * the rendering starts, and an input that the document did not read before is only checked from its next
+ * rendering on, i.e. the document is rendered again once.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public class IncrementalRenderer
+{
+    /** The hash of a macro input that cannot be checked, which never matches. */
+    private static final String UNCHECKED = "";
+
+    /** The hash of a missing macro input. */
+    private static final String MISSING = "-";
+
+    private final Doxia doxia;
+
+    private final File indexFile;
+
+    /**
+     * Constructs an IncrementalRenderer.
+     *
+     * @param doxia the Doxia that renders the documents, not null.
+     * @param indexFile the file that keeps the fingerprints of the documents between runs, not null.
+     * It does not need to exist.
+     */
+    public IncrementalRenderer( Doxia doxia, File indexFile )
+    {
+        this.doxia = doxia;
+        this.indexFile = indexFile;
+    }
+
+    /**
+     * Renders the documents that changed since the previous run, concurrently, see
+     * {@link Doxia#parse(List, Executor, int, BatchListener)}.
+     *
+     * @param jobs the documents, not null. Each needs a reference that is unique in the batch, and stays the
+     * same between runs, e.g. the path of the source relative to the site directory.
+     * @param executor the executor to run the jobs on, not null.
+     * @param maxConcurrency the maximum number of documents being rendered at the same time, at least 1.
+     * @param listener notified of the outcome of each rendered job in submission order, may be null.
+     * Skipped jobs are not notified.
+     * @return the outcome of the batch, once every changed document has been rendered.
+     * @throws IOException if the index could not be read or written.
+     * @throws InterruptedException if the current thread was interrupted while waiting for the jobs.
+     * The index is then left as it was.
+     */
+    public IncrementalResult render( List<BatchJob> jobs, Executor executor, int maxConcurrency,
+                                     BatchListener listener )
+        throws IOException, InterruptedException
+    {
+        Properties previous = readIndex();
+        Properties next = new Properties();
+        Map<String, String> inputHashes = new ConcurrentHashMap<>();
+
+        Set<String> references = new HashSet<>();
+        List<BatchJob> skipped = new ArrayList<>();
+        List<TrackedJob> changed = new ArrayList<>();
+
+        for ( int i = 0; i < jobs.size(); i++ )
+        {
+            BatchJob job = jobs.get( i );
+            String reference = job.getReference();
+            if ( reference == null || !references.add( reference ) )
+            {
+                throw new IllegalArgumentException( "Every job needs a unique reference, found " + reference );
+            }
+
+            String fingerprint = previous.getProperty( reference );
+            if ( fingerprint != null && isUnchanged( fingerprint, job, inputHashes ) )
+            {
+                skipped.add( job );
+                next.setProperty( reference, fingerprint );
+            }
+            else
+            {
+                changed.add( new TrackedJob( i, job, inputHashes, fingerprint ) );
+            }
+        }
+
+        BatchResult result = doxia.parse( new ArrayList<BatchJob>( changed ), executor, maxConcurrency,
+            listener == null ? null : ( index, job, failure ) ->
+            {
+                TrackedJob tracked = (TrackedJob) job;
+                listener.jobCompleted( tracked.index, tracked.job, failure );
+            } );
+
+        List<BatchJob> rendered = new ArrayList<>();
+        Map<BatchJob, Exception> failures = new LinkedHashMap<>();
+        for ( int i = 0; i < changed.size(); i++ )
+        {
+            TrackedJob tracked = changed.get( i );
+            Exception failure = result.getFailure( i );
+            if ( failure != null )
+            {
+                failures.put( tracked.job, failure );
+            }
+            else
+            {
+                rendered.add( tracked.job );
+                if ( tracked.fingerprint != null )
+                {
+                    next.setProperty( tracked.job.getReference(), tracked.fingerprint );
+                }
+            }
+        }
+
+        Set<String> removed = new LinkedHashSet<>( previous.stringPropertyNames() );
+        removed.removeAll( references );
+
+        writeIndex( next );
+
+        return new IncrementalResult( rendered, skipped, failures, removed );
+    }
+
+    /**
+     * @param fingerprint the fingerprint of the previous run: the parser ID, the Doxia version and the hash
+     * of the source, then the hash and the URL of each macro input, one per line.
+     */
+    private static boolean isUnchanged( String fingerprint, BatchJob job, Map<String, String> inputHashes )
+    {
+        String[] lines = fingerprint.split( "\n" );
+        if ( lines.length < 3 || !lines[0].equals( job.getParserId() )
+            || !lines[1].equals( AbstractParser.doxiaVersion() ) )
+        {
+            return false;
+        }
+
+        for ( int i = 3; i < lines.length; i++ )
+        {
+            int space = lines[i].indexOf( ' ' );
+            String hash = lines[i].substring( 0, Math.max( space, 0 ) );
+            if ( space < 0 || UNCHECKED.equals( hash )
+                || !hash.equals( hashInput( lines[i].substring( space + 1 ), inputHashes ) ) )
+            {
+                return false;
+            }
+        }
+
+        try ( Reader source = job.openSource() )
+        {
+            return lines[2].equals( hash( IOUtil.toString( source ).getBytes( StandardCharsets.UTF_8 ) ) );
+        }
+        catch ( IOException e )
+        {
+            // let the batch report it
+            return false;
+        }
+    }
+
+    /**
+     * @param fingerprint a fingerprint of the previous run, may be null.
+     * @return the URLs of the macro inputs in the fingerprint.
+     */
+    private static List<String> inputsOf( String fingerprint )
+    {
+        List<String> inputs = new ArrayList<>();
+        if ( fingerprint != null )
+        {
+            String[] lines = fingerprint.split( "\n" );
+            for ( int i = 3; i < lines.length; i++ )
+            {
+                int space = lines[i].indexOf( ' ' );
+                if ( space >= 0 )
+                {
+                    inputs.add( lines[i].substring( space + 1 ) );
+                }
+            }
+        }
+        return inputs;
+    }
+
+    private static String hashInput( String input, Map<String, String> inputHashes )
+    {
+        return inputHashes.computeIfAbsent( input, url ->
+        {
+            try
+            {
+                URL u = new URL( url );
+                if ( !"file".equals( u.getProtocol() ) )
+                {
+                    return UNCHECKED;
+                }
+                return hash( Files.readAllBytes( Paths.get( u.toURI() ) ) );
+            }
+            catch ( NoSuchFileException e )
+            {
+                return MISSING;
+            }
+            catch ( Exception e )
+            {
+                return UNCHECKED;
+            }
+        } );
+    }
+
+    private static String hash( byte[] content )
+    {
+        try
+        {
+            byte[] digest = MessageDigest.getInstance( "SHA-256" ).digest( content );
+            StringBuilder sb = new StringBuilder( digest.length * 2 );
+            for ( byte b : digest )
+            {
+                sb.append( Character.forDigit( ( b >> 4 ) & 0xF, 16 ) ).append( Character.forDigit( b & 0xF, 16 ) );
+            }
+            return sb.toString();
+        }
+        catch ( NoSuchAlgorithmException e )
+        {
+            // every Java platform supports SHA-256
+            throw new IllegalStateException( e );
+        }
+    }
+
+    private Properties readIndex()
+        throws IOException
+    {
+        Properties index = new Properties();
+        if ( indexFile.isFile() )
+        {
+            try ( InputStream in = Files.newInputStream( indexFile.toPath() ) )
+            {
+                index.load( in );
+            }
+        }
+        return index;
+    }
+
+    private void writeIndex( Properties index )
+        throws IOException
+    {
+        File dir = indexFile.getAbsoluteFile().getParentFile();
+        Files.createDirectories( dir.toPath() );
+
+        File tmp = File.createTempFile( indexFile.getName(), ".tmp", dir );
+        try
+        {
+            try ( OutputStream out = Files.newOutputStream( tmp.toPath() ) )
+            {
+                index.store( out, "Doxia incremental rendering index" );
+            }
+            Files.move( tmp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING );
+        }
+        finally
+        {
+            Files.deleteIfExists( tmp.toPath() );
+        }
+    }
+
+    /**
+     * A changed job, which computes the fingerprint of the document while it is rendered. The inputs are hashed
+     * when the rendering starts: every hash of the shared cache was computed before then.
+     */
+    private static class TrackedJob
+        implements BatchJob
+    {
+        private final int index;
+
+        private final BatchJob job;
+
+        private final Map<String, String> inputHashes;
+
+        /** The macro inputs of the previous run. */
+        private final List<String> previousInputs;
+
+        /** The hashes of the macro inputs of the previous run, taken before the document is parsed. */
+        private final Map<String, String> readHashes = new HashMap<>();
+
+        private String sourceHash;
+
+        private String fingerprint;
+
+        TrackedJob( int index, BatchJob job, Map<String, String> inputHashes, String previousFingerprint )
+        {
+            this.index = index;
+            this.job = job;
+            this.inputHashes = inputHashes;
+            this.previousInputs = inputsOf( previousFingerprint );
+        }
+
+        @Override
+        public String getReference()
+        {
+            return job.getReference();
+        }
+
+        @Override
+        public String getParserId()
+        {
+            return job.getParserId();
+        }
+
+        @Override
+        public Reader openSource()
+            throws IOException
+        {
+            try ( Reader source = job.openSource() )
+            {
+                String content = IOUtil.toString( source );
+                sourceHash = hash( content.getBytes( StandardCharsets.UTF_8 ) );
+                for ( String input : previousInputs )
+                {
+                    readHashes.put( input, hashInput( input, inputHashes ) );
+                }
+                return new ContentReader( content );
+            }
+        }
+
+        @Override
+        public Sink createSink()
+            throws IOException
+        {
+            return job.createSink();
+        }
+
+        @Override
+        public void rendered( Set<String> macroInputs )
+        {
+            job.rendered( macroInputs );
+
+            StringBuilder sb = new StringBuilder();
+            sb.append( getParserId() ).append( '\n' ).append( AbstractParser.doxiaVersion() ).append( '\n' )
+                .append( sourceHash );
+            for ( String input : macroInputs )
+            {
+                // an input not hashed before the parse is left unchecked, so that it is checked next time
+                sb.append( '\n' ).append( readHashes.getOrDefault( input, UNCHECKED ) ).append( ' ' ).append( input );
+            }
+            fingerprint = sb.toString();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package org.apache.maven.doxia;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The outcome of a batch rendered by {@link IncrementalRenderer}: which documents changed and were rendered,
+ * which were skipped, which failed, and which disappeared since the previous run. Tools copying or publishing
+ * the output can restrict themselves to the rendered documents, and delete the output of the removed ones.
+ *
+ * @since 2.0.0
+ */
+public class IncrementalResult
+{
+    private final List<BatchJob> rendered;
+
+    private final List<BatchJob> skipped;
+
+    private final Map<BatchJob, Exception> failures;
+
+    private final Set<String> removedReferences;
+
+    IncrementalResult( List<BatchJob> rendered, List<BatchJob> skipped, Map<BatchJob, Exception> failures,
+                       Set<String> removedReferences )
+    {
+        this.rendered = Collections.unmodifiableList( new ArrayList<>( rendered ) );
+        this.skipped = Collections.unmodifiableList( new ArrayList<>( skipped ) );
+        this.failures = Collections.unmodifiableMap( new LinkedHashMap<>( failures ) );
+        this.removedReferences = Collections.unmodifiableSet( new LinkedHashSet<>( removedReferences ) );
+    }
+
+    /**
+     * @return the jobs whose inputs changed and which were rendered successfully, in submission order.
+     * Never null.
+     */
+    public List<BatchJob> getRendered()
+    {
+        return rendered;
+    }
+
+    /**
+     * @return the jobs whose inputs did not change since the previous run, and which were not rendered,
+     * in submission order. Never null.
+     */
+    public List<BatchJob> getSkipped()
+    {
+        return skipped;
+    }
+
+    /**
+     * @return the jobs which failed, in submission order, with the exception that made them fail. Never null.
+     */
+    public Map<BatchJob, Exception> getFailures()
+    {
+        return failures;
+    }
+
+    /**
+     * @return the references of the documents of the previous run that are not part of this one. Never null.
+     */
+    public Set<String> getRemovedReferences()
+    {
+        return removedReferences;
+    }
+
+    /**
+     * @return true if every changed document was rendered successfully.
+     */
+    public boolean isSuccessful()
+    {
+        return failures.isEmpty();
+    }
+}
@@ -0,0 +1,175 @@
+package org.apache.maven.doxia.index;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.FanOutSink;
+import org.apache.maven.doxia.sink.impl.SinkEventPlayer;
+import org.apache.maven.doxia.sink.impl.SinkEventRecorder;
+
+/**
+ * A Sink that indexes a document while it passes the events on, so that content depending on the whole
+ * document, like a table of contents, can be written before the sections it refers to, without parsing
+ * the document twice.
+ * <p>
+ * Such content is registered with {@link #defer(DeferredContent)}: the events that follow are recorded
+ * instead of being passed on, until the parser calls {@link #resolve()} at the end of the document, which writes
+ * the deferred content with the complete index, and then replays the recorded events.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public class DeferringSink
+    extends FanOutSink
+{
+    /**
+     * Content written once the whole document has been indexed.
+     */
+    public interface DeferredContent
+    {
+        /**
+         * Writes the content.
+         *
+         * @param sink the Sink to write the content to.
+         * @param index the index of the whole document.
+         */
+        void write( Sink sink, IndexEntry index );
+    }
+
+    /** The position of the Sink receiving the events, before the indexer. */
+    private static final int CURRENT = 0;
+
+    private final Sink sink;
+
+    private final IndexEntry index;
+
+    private final List<DeferredContent> deferred = new ArrayList<>();
+
+    private final List<ByteArrayOutputStream> recordings = new ArrayList<>();
+
+    /** The Sink receiving the events: the given Sink, or the recorder of the last deferred content. */
+    private Sink current;
+
+    /**
+     * Constructs a DeferringSink.
+     *
+     * @param sink the Sink that receives the events, not null.
+     */
+    public DeferringSink( Sink sink )
+    {
+        this( sink, new IndexEntry( "index" ) );
+    }
+
+    private DeferringSink( Sink sink, IndexEntry index )
+    {
+        super( sink, new IndexingSink( index ) );
+        this.sink = sink;
+        this.index = index;
+        this.current = sink;
+    }
+
+    /**
+     * Writes content at the current position, once the whole document has been indexed.
+     *
+     * @param content the content, not null.
+     */
+    public void defer( DeferredContent content )
+    {
+        if ( current != sink )
+        {
+            current.close();
+        }
+
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        deferred.add( content );
+        recordings.add( recording );
+        setCurrent( new SinkEventRecorder( recording ) );
+    }
+
+    /**
+     * Writes the deferred contents and the events recorded after them to the Sink. To be called once the
+     * whole document has been parsed.
+     */
+    public void resolve()
+    {
+        if ( current == sink )
+        {
+            return;
+        }
+
+        current.close();
+        setCurrent( sink );
+
+        try
+        {
+            for ( int i = 0; i < deferred.size(); i++ )
+            {
+                deferred.get( i ).write( sink, index );
+                new SinkEventPlayer( new ByteArrayInputStream( recordings.get( i ).toByteArray() ) ).play( sink );
+            }
+        }
+        catch ( IOException e )
+        {
+            // the recordings are in memory
+            throw new UncheckedIOException( e );
+        }
+
+        deferred.clear();
+        recordings.clear();
+    }
+
+    /**
+     * @return the index of the document parsed so far.
+     */
+    public IndexEntry getIndex()
+    {
+        return index;
+    }
+
+    private void setCurrent( Sink current )
+    {
+        this.current = current;
+        setSink( CURRENT, current );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void flush()
+    {
+        current.flush();
+    }
+
+    /**
+     * Resolves the deferred contents, then closes the Sink.
+     */
+    @Override
+    public void close()
+    {
+        resolve();
+        sink.close();
+    }
+}
@@ -20,6 +20,7 @@ package org.apache.maven.doxia.index;
  */
 
 import java.util.Stack;
+import java.util.regex.Pattern;
 
 import org.apache.maven.doxia.sink.impl.SinkAdapter;
 import org.apache.maven.doxia.util.HtmlTools;
@@ -60,6 +61,8 @@ public class IndexingSink
     /** Title. */
     private static final int TITLE = 9;
 
+    private static final Pattern EOLS = Pattern.compile( "[\\r\\n]+" );
+
     /** The current type. */
     private int type;
 
@@ -308,7 +311,10 @@ public class IndexingSink
                 IndexEntry entry = stack.lastElement();
 
                 String title = entry.getTitle() + text;
-                title = title.replaceAll( "[\\r\\n]+", "" );
+                if ( title.indexOf( '\r' ) >= 0 || title.indexOf( '\n' ) >= 0 )
+                {
+                    title = EOLS.matcher( title ).replaceAll( "" );
+                }
                 entry.setTitle( title );
 
                 entry.setId( HtmlTools.encodeId( title ) );
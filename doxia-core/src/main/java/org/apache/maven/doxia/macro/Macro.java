@@ -23,6 +23,11 @@ import org.apache.maven.doxia.sink.Sink;
 
 /**
  * Base interface of a macro.
+ * <p>
+ * A macro component is a singleton, executed by the parsers of documents parsed concurrently: it must be
+ * thread-safe, keeping the state of an execution in local variables rather than in fields, and guarding any cache
+ * it shares between executions.
+ * </p>
  *
  * @author <a href="mailto:jason@maven.org">Jason van Zyl</a>
  * @since 1.0
@@ -19,12 +19,21 @@ package org.apache.maven.doxia.macro;
  * under the License.
  */
 
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.Supplier;
 
 import org.apache.maven.doxia.parser.AbstractParser;
 import org.apache.maven.doxia.parser.Parser;
 
 import java.io.File;
+import java.net.URL;
 
 /**
  * <p>MacroRequest class.</p>
@@ -43,6 +52,12 @@ public class MacroRequest
     /** A map of parameters. */
     private Map<String, Object> parameters;
 
+    /** The source of the document, only read if a macro asks for it. */
+    private final Supplier<String> sourceContent;
+
+    /** The URLs of the inputs read by the macro. */
+    private final Set<String> inputs = new LinkedHashSet<>();
+
     /**
      * <p>Constructor for MacroRequest.</p>
      *
@@ -53,9 +68,26 @@ public class MacroRequest
      */
     public MacroRequest( String sourceContent, AbstractParser parser, Map<String, Object> param, File base )
     {
-        this.parameters = param;
-        this.basedir = base;
+        this( parser, () -> sourceContent, param, base );
         param.put( PARAM_SOURCE_CONTENT, sourceContent );
+    }
+
+    /**
+     * Creates a request whose source content is only taken from the parser when a macro asks for it with
+     * {@link #getSourceContent()}, or as the <code>sourceContent</code> parameter.
+     *
+     * @param parser the parser for the macro to parse content with.
+     * @param sourceContent the supplier of the source of the document, not null.
+     * @param param the parameters of the macro.
+     * @param base the current base directory.
+     * @since 2.0.0
+     */
+    public MacroRequest( AbstractParser parser, Supplier<String> sourceContent, Map<String, Object> param,
+                         File base )
+    {
+        this.sourceContent = sourceContent;
+        this.parameters = param.containsKey( PARAM_SOURCE_CONTENT ) ? param : new ParameterMap( param, sourceContent );
+        this.basedir = base;
         parser.setSecondParsing( true );
         param.put( PARAM_PARSER, parser );
     }
@@ -103,13 +135,15 @@ public class MacroRequest
     }
 
     /**
-     * <p>getSourceContent.</p>
+     * Returns the whole source of the document. A parser that reads its document as it parses it only puts the
+     * source together on the first call.
      *
-     * @return a {@link java.lang.String} object.
+     * @return the source of the document.
+     * @throws java.io.UncheckedIOException if the source cannot be read.
      */
     public String getSourceContent()
     {
-        return (String) getParameter( PARAM_SOURCE_CONTENT );
+        return sourceContent.get();
     }
 
     /**
@@ -122,6 +156,29 @@ public class MacroRequest
         return (Parser) getParameter( PARAM_PARSER );
     }
 
+    /**
+     * Records an input that the macro read besides the source document, e.g. the file of a snippet,
+     * so that the document can be rendered again when that input changes.
+     *
+     * @param input the URL of the input, not null.
+     * @since 2.0.0
+     */
+    public void addInput( URL input )
+    {
+        inputs.add( input.toExternalForm() );
+    }
+
+    /**
+     * Returns the inputs that the macro read.
+     *
+     * @return the URLs of the inputs, in the order they were added. Never null.
+     * @since 2.0.0
+     */
+    public Set<String> getInputs()
+    {
+        return Collections.unmodifiableSet( inputs );
+    }
+
     /**
      * <p>isInternalParameter.</p>
      *
@@ -132,4 +189,114 @@ public class MacroRequest
     {
         return PARAM_PARSER.equals( name ) || PARAM_SOURCE_CONTENT.equals( name );
     }
+
+    /**
+     * The parameters of a macro, with the source content that is only taken from the supplier when its value is
+     * asked for. Other changes go to the given parameters.
+     */
+    private static class ParameterMap
+        extends AbstractMap<String, Object>
+    {
+        private final Map<String, Object> parameters;
+
+        private final Supplier<String> sourceContent;
+
+        ParameterMap( Map<String, Object> parameters, Supplier<String> sourceContent )
+        {
+            this.parameters = parameters;
+            this.sourceContent = sourceContent;
+        }
+
+        @Override
+        public Object get( Object key )
+        {
+            if ( PARAM_SOURCE_CONTENT.equals( key ) && !parameters.containsKey( key ) )
+            {
+                return sourceContent.get();
+            }
+            return parameters.get( key );
+        }
+
+        @Override
+        public boolean containsKey( Object key )
+        {
+            return PARAM_SOURCE_CONTENT.equals( key ) || parameters.containsKey( key );
+        }
+
+        @Override
+        public Object put( String key, Object value )
+        {
+            return parameters.put( key, value );
+        }
+
+        @Override
+        public Object remove( Object key )
+        {
+            return parameters.remove( key );
+        }
+
+        @Override
+        public Set<Map.Entry<String, Object>> entrySet()
+        {
+            return new AbstractSet<Map.Entry<String, Object>>()
+            {
+                @Override
+                public int size()
+                {
+                    return parameters.size() + ( parameters.containsKey( PARAM_SOURCE_CONTENT ) ? 0 : 1 );
+                }
+
+                @Override
+                public Iterator<Map.Entry<String, Object>> iterator()
+                {
+                    Iterator<Map.Entry<String, Object>> entries = parameters.entrySet().iterator();
+                    return new Iterator<Map.Entry<String, Object>>()
+                    {
+                        private boolean sourceContentLeft = !parameters.containsKey( PARAM_SOURCE_CONTENT );
+
+                        private boolean sourceContentReturned;
+
+                        @Override
+                        public boolean hasNext()
+                        {
+                            return entries.hasNext() || sourceContentLeft;
+                        }
+
+                        @Override
+                        public Map.Entry<String, Object> next()
+                        {
+                            if ( entries.hasNext() )
+                            {
+                                return entries.next();
+                            }
+                            if ( !sourceContentLeft )
+                            {
+                                throw new NoSuchElementException();
+                            }
+                            sourceContentLeft = false;
+                            sourceContentReturned = true;
+                            return new SimpleEntry<String, Object>( PARAM_SOURCE_CONTENT, null )
+                            {
+                                @Override
+                                public Object getValue()
+                                {
+                                    return get( PARAM_SOURCE_CONTENT );
+                                }
+                            };
+                        }
+
+                        @Override
+                        public void remove()
+                        {
+                            if ( sourceContentReturned )
+                            {
+                                throw new UnsupportedOperationException( "The source content can't be removed" );
+                            }
+                            entries.remove();
+                        }
+                    };
+                }
+            };
+        }
+    }
 }
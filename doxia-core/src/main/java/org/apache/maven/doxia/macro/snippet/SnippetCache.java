@@ -0,0 +1,317 @@
+package org.apache.maven.doxia.macro.snippet;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A bounded cache of snippets, and of the sources they are taken from, shared by all snippet macros.
+ * The least recently used entries are evicted once the total weight of the cache, the number of characters of
+ * its keys, snippets and sources, exceeds the maximum.
+ * An entry for a <code>file:</code> URL is only served while the file has the same last modification time and
+ * size as when it was read, and any entry expires after the timeout given by the caller.
+ * All methods are thread safe.
+ *
+ * @since 2.0.0
+ */
+public class SnippetCache
+{
+    /** The default maximum weight, in characters. */
+    public static final long DEFAULT_MAX_WEIGHT = 4L * 1024 * 1024;
+
+    private final long maxWeight;
+
+    private final Map<Object, Entry> entries = new LinkedHashMap<>( 16, 0.75f, true );
+
+    private long weight;
+
+    private long hitCount;
+
+    private long missCount;
+
+    private long evictionCount;
+
+    /**
+     * Creates an empty cache.
+     *
+     * @param maxWeight the maximum number of characters of all keys and snippets together, positive.
+     */
+    public SnippetCache( long maxWeight )
+    {
+        if ( maxWeight <= 0 )
+        {
+            throw new IllegalArgumentException( "maxWeight must be positive: " + maxWeight );
+        }
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Returns a cached snippet, unless it has expired or its file has changed since it was read.
+     *
+     * @param key the key of the snippet.
+     * @param url the URL the snippet was read from.
+     * @param timeout the time in milliseconds after which a snippet expires.
+     * @return the snippet, or null if it is not cached.
+     */
+    String get( String key, URL url, long timeout )
+    {
+        return (String) lookup( key, url, timeout );
+    }
+
+    /**
+     * Returns the cached index of a source, unless it has expired or its file has changed since it was read.
+     *
+     * @param url the URL of the source.
+     * @param timeout the time in milliseconds after which an index expires.
+     * @return the index, or null if it is not cached.
+     */
+    SnippetIndex getIndex( URL url, long timeout )
+    {
+        return (SnippetIndex) lookup( new IndexKey( url ), url, timeout );
+    }
+
+    private Object lookup( Object key, URL url, long timeout )
+    {
+        long[] stamp = stamp( url );
+        long now = System.currentTimeMillis();
+
+        synchronized ( this )
+        {
+            Entry entry = entries.get( key );
+
+            if ( entry != null
+                && ( now - entry.cachedAt >= timeout || entry.lastModified != stamp[0] || entry.length != stamp[1] ) )
+            {
+                remove( key );
+                entry = null;
+            }
+
+            if ( entry == null )
+            {
+                missCount++;
+                return null;
+            }
+
+            hitCount++;
+            return entry.value;
+        }
+    }
+
+    /**
+     * Puts a snippet into the cache. A snippet heavier than the maximum weight is not cached.
+     *
+     * @param key the key of the snippet.
+     * @param stamp the last modification time and size of the file the snippet was read from,
+     *        as returned by {@link #stamp(URL)} before reading it.
+     * @param content the snippet.
+     */
+    void put( String key, long[] stamp, String content )
+    {
+        store( key, new Entry( content, key.length() + (long) content.length(), stamp ) );
+    }
+
+    /**
+     * Puts the index of a source into the cache. An index heavier than the maximum weight is not cached.
+     *
+     * @param url the URL of the source.
+     * @param stamp the last modification time and size of the file of the source,
+     *        as returned by {@link #stamp(URL)} before reading it.
+     * @param index the index.
+     */
+    void putIndex( URL url, long[] stamp, SnippetIndex index )
+    {
+        IndexKey key = new IndexKey( url );
+        store( key, new Entry( index, key.url.length() + index.getWeight(), stamp ) );
+    }
+
+    private void store( Object key, Entry entry )
+    {
+        synchronized ( this )
+        {
+            remove( key );
+
+            if ( entry.weight > maxWeight )
+            {
+                return;
+            }
+
+            entries.put( key, entry );
+            weight += entry.weight;
+
+            Iterator<Entry> eldest = entries.values().iterator();
+            while ( weight > maxWeight )
+            {
+                weight -= eldest.next().weight;
+                eldest.remove();
+                evictionCount++;
+            }
+        }
+    }
+
+    /**
+     * Returns the last modification time and size of the file of a <code>file:</code> URL,
+     * or <code>-1</code> for both for any other URL.
+     *
+     * @param url the URL.
+     * @return the last modification time and size.
+     */
+    static long[] stamp( URL url )
+    {
+        if ( !"file".equals( url.getProtocol() ) )
+        {
+            return new long[] { -1, -1 };
+        }
+
+        File file;
+        try
+        {
+            file = new File( url.toURI() );
+        }
+        catch ( URISyntaxException | IllegalArgumentException e )
+        {
+            file = new File( url.getPath() );
+        }
+
+        return new long[] { file.lastModified(), file.length() };
+    }
+
+    private void remove( Object key )
+    {
+        Entry removed = entries.remove( key );
+
+        if ( removed != null )
+        {
+            weight -= removed.weight;
+        }
+    }
+
+    /**
+     * Removes all snippets. The statistics are kept.
+     */
+    public synchronized void clear()
+    {
+        entries.clear();
+        weight = 0;
+    }
+
+    /**
+     * @return the number of cached snippets and sources.
+     */
+    public synchronized int size()
+    {
+        return entries.size();
+    }
+
+    /**
+     * @return the number of characters of all cached keys, snippets and sources.
+     */
+    public synchronized long getWeight()
+    {
+        return weight;
+    }
+
+    /**
+     * @return the maximum weight, in characters.
+     */
+    public long getMaxWeight()
+    {
+        return maxWeight;
+    }
+
+    /**
+     * @return the number of lookups that found a valid snippet or source.
+     */
+    public synchronized long getHitCount()
+    {
+        return hitCount;
+    }
+
+    /**
+     * @return the number of lookups that found no snippet or source, or an expired or changed one.
+     */
+    public synchronized long getMissCount()
+    {
+        return missCount;
+    }
+
+    /**
+     * @return the number of snippets and sources evicted to stay within the maximum weight.
+     */
+    public synchronized long getEvictionCount()
+    {
+        return evictionCount;
+    }
+
+    @Override
+    public synchronized String toString()
+    {
+        return "SnippetCache[size=" + entries.size() + ", weight=" + weight + ", hits=" + hitCount + ", misses="
+            + missCount + ", evictions=" + evictionCount + "]";
+    }
+
+    private static final class Entry
+    {
+        private final Object value;
+
+        private final long weight;
+
+        private final long cachedAt = System.currentTimeMillis();
+
+        private final long lastModified;
+
+        private final long length;
+
+        Entry( Object value, long weight, long[] stamp )
+        {
+            this.value = value;
+            this.weight = weight;
+            this.lastModified = stamp[0];
+            this.length = stamp[1];
+        }
+    }
+
+    /** The key of the index of a source, which never equals the key of a snippet. */
+    private static final class IndexKey
+    {
+        private final String url;
+
+        IndexKey( URL url )
+        {
+            this.url = url.toString();
+        }
+
+        @Override
+        public boolean equals( Object obj )
+        {
+            return obj instanceof IndexKey && url.equals( ( (IndexKey) obj ).url );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return url.hashCode();
+        }
+    }
+}
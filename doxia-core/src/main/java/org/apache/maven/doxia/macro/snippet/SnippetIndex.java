@@ -0,0 +1,157 @@
+package org.apache.maven.doxia.macro.snippet;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.codehaus.plexus.util.StringUtils;
+
+/**
+ * The lines of a source read once by {@link SnippetReader#readIndex()}, with the lines that may demarcate
+ * a snippet found up front. Any number of snippets can then be taken from it without reading the source again,
+ * and only the demarcator lines are searched for the id of each snippet.
+ *
+ * @since 2.0.0
+ */
+public class SnippetIndex
+{
+    private final URL source;
+
+    private final List<String> lines;
+
+    /** The line numbers of the lines that contain the word <code>snippet</code> and <code>start</code> or
+     * <code>end</code>, in ascending order. */
+    private final int[] demarcators;
+
+    /** Whether each of the demarcators is a start demarcator. */
+    private final boolean[] starts;
+
+    private final long weight;
+
+    SnippetIndex( URL source, List<String> lines )
+    {
+        this.source = source;
+        this.lines = lines;
+
+        int[] demarcatorLines = new int[16];
+        boolean[] startLines = new boolean[16];
+        int count = 0;
+        long chars = 0;
+
+        for ( int i = 0; i < lines.size(); i++ )
+        {
+            String line = lines.get( i );
+            chars += line.length() + 1;
+
+            if ( !SnippetReader.SNIPPET.matcher( line ).find() )
+            {
+                continue;
+            }
+
+            boolean start = SnippetReader.START.matcher( line ).find();
+            if ( start || SnippetReader.END.matcher( line ).find() )
+            {
+                if ( count == demarcatorLines.length )
+                {
+                    demarcatorLines = Arrays.copyOf( demarcatorLines, count * 2 );
+                    startLines = Arrays.copyOf( startLines, count * 2 );
+                }
+                demarcatorLines[count] = i;
+                startLines[count] = start;
+                count++;
+            }
+        }
+
+        this.demarcators = Arrays.copyOf( demarcatorLines, count );
+        this.starts = Arrays.copyOf( startLines, count );
+        this.weight = chars;
+    }
+
+    /**
+     * Returns the snippet with the given id, exactly as {@link SnippetReader#readSnippet(String)} would read it.
+     *
+     * @param snippetId The id of the snippet, or null or empty for the whole source.
+     * @return The snippet.
+     * @throws IOException if the start or the end of the snippet cannot be found.
+     */
+    public StringBuffer getSnippet( String snippetId )
+        throws IOException
+    {
+        if ( StringUtils.isEmpty( snippetId ) )
+        {
+            return SnippetReader.toSnippet( lines );
+        }
+
+        Pattern id = SnippetReader.idPattern( snippetId );
+        int first = -1;
+        List<String> snippet = new ArrayList<>();
+
+        for ( int i = 0; i < demarcators.length; i++ )
+        {
+            int line = demarcators[i];
+            if ( !id.matcher( lines.get( line ) ).find() )
+            {
+                continue;
+            }
+
+            if ( starts[i] )
+            {
+                if ( first < 0 )
+                {
+                    first = line;
+                }
+                else
+                {
+                    // a repeated start is dropped, as SnippetReader does
+                    snippet.addAll( lines.subList( first + 1, line ) );
+                    first = line;
+                }
+            }
+            else if ( first < 0 )
+            {
+                break;
+            }
+            else
+            {
+                snippet.addAll( lines.subList( first + 1, line ) );
+                return SnippetReader.toSnippet( snippet );
+            }
+        }
+
+        if ( first < 0 )
+        {
+            throw new IOException( "Failed to find START of snippet " + snippetId + " in file at URL: " + source );
+        }
+        throw new IOException( "Failed to find END of snippet " + snippetId + " in file at URL: " + source );
+    }
+
+    /**
+     * @return the number of characters of the source, counting one for each line break.
+     */
+    public long getWeight()
+    {
+        return weight;
+    }
+}
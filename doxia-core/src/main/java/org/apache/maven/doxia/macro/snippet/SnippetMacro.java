@@ -35,8 +35,6 @@ import java.io.File;
 import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * A macro that prints out the content of a file or a URL.
@@ -51,7 +49,7 @@ public class SnippetMacro
     /**
      * Holds the cache.
      */
-    private static Map<String, String> cache = new HashMap<>();
+    private static final SnippetCache CACHE = new SnippetCache( SnippetCache.DEFAULT_MAX_WEIGHT );
 
     private static final int HOUR = 60;
 
@@ -60,21 +58,6 @@ public class SnippetMacro
      */
     private long timeout = HOUR * HOUR * 1000;
 
-    /**
-     * Holds the time cache.
-     */
-    private static Map<String, Long> timeCached = new HashMap<>();
-
-    /**
-     * Debug.
-     */
-    private boolean debug = false;
-
-    /**
-     * in case of Exception during snippet download error will ignored and empty content returned.
-     */
-    private boolean ignoreDownloadError = true;
-
     /** {@inheritDoc} */
     public void execute( Sink sink, MacroRequest request )
         throws MacroExecutionException
@@ -87,17 +70,13 @@ public class SnippetMacro
 
         String debugParam = (String) request.getParameter( "debug" );
 
-        if ( debugParam != null )
-        {
-            this.debug = Boolean.parseBoolean( debugParam );
-        }
+        boolean debug = debugParam != null && Boolean.parseBoolean( debugParam );
 
         String ignoreDownloadErrorParam = (String) request.getParameter( "ignoreDownloadError" );
 
-        if ( ignoreDownloadErrorParam != null )
-        {
-            this.ignoreDownloadError = Boolean.parseBoolean( ignoreDownloadErrorParam );
-        }
+        // by default, a snippet that cannot be read is replaced by an error message
+        boolean ignoreDownloadError =
+            ignoreDownloadErrorParam == null || Boolean.parseBoolean( ignoreDownloadErrorParam );
 
         boolean verbatim = true;
 
@@ -146,11 +125,13 @@ public class SnippetMacro
             throw new IllegalArgumentException( "Either the 'url' or the 'file' param has to be given." );
         }
 
+        request.addInput( url );
+
         StringBuffer snippet;
 
         try
         {
-            snippet = getSnippet( url, encoding, id );
+            snippet = getSnippet( url, encoding, id, debug, ignoreDownloadError );
         }
         catch ( IOException e )
         {
@@ -177,15 +158,20 @@ public class SnippetMacro
      * @param url The URL to parse.
      * @param encoding The encoding of the URL to parse.
      * @param id  The id of the snippet.
+     * @param debug whether to tell where the snippet was served from.
+     * @param ignoreDownloadError whether to return an error message instead of failing.
      * @return The snippet.
      * @throws IOException if something goes wrong.
      */
-    private StringBuffer getSnippet( URL url, String encoding, String id )
+    private StringBuffer getSnippet( URL url, String encoding, String id, boolean debug,
+                                     boolean ignoreDownloadError )
         throws IOException
     {
         StringBuffer result;
 
-        String cachedSnippet = getCachedSnippet( url, id );
+        String globalId = globalSnippetId( url, id );
+
+        String cachedSnippet = CACHE.get( globalId, url, timeout );
 
         if ( cachedSnippet != null )
         {
@@ -200,11 +186,20 @@ public class SnippetMacro
         {
             try
             {
-                result = new SnippetReader( url, encoding ).readSnippet( id );
-                cacheSnippet( url, id, result.toString() );
+                // stamped before reading, so that a change while reading is seen by the next lookup
+                long[] stamp = SnippetCache.stamp( url );
+                SnippetIndex index = CACHE.getIndex( url, timeout );
+                if ( index == null )
+                {
+                    // read the source once for all the snippets taken from it
+                    index = new SnippetReader( url, encoding ).readIndex();
+                    CACHE.putIndex( url, stamp, index );
+                }
+                result = index.getSnippet( id );
+                CACHE.put( globalId, stamp, result.toString() );
                 if ( debug )
                 {
-                    result.append( "(Fetched from url, cache content " ).append( cache ).append( ")" );
+                    result.append( "(Fetched from url, " ).append( CACHE ).append( ")" );
                 }
             }
             catch ( IOException e )
@@ -224,76 +219,6 @@ public class SnippetMacro
         return result;
     }
 
-    /**
-     * Return a snippet from the cache.
-     *
-     * @param url The URL to parse.
-     * @param id  The id of the snippet.
-     * @return The snippet.
-     */
-    private String getCachedSnippet( URL url, String id )
-    {
-        if ( isCacheTimedout( url, id ) )
-        {
-            removeFromCache( url, id );
-        }
-        return cache.get( globalSnippetId( url, id ) );
-    }
-
-    /**
-     * Return true if the snippet has been cached longer than
-     * the current timeout.
-     *
-     * @param url The URL to parse.
-     * @param id  The id of the snippet.
-     * @return True if timeout exceeded.
-     */
-    boolean isCacheTimedout( URL url, String id )
-    {
-        return timeInCache( url, id ) >= timeout;
-    }
-
-    /**
-     * Return the time the snippet has been cached.
-     *
-     * @param url The URL to parse.
-     * @param id  The id of the snippet.
-     * @return The cache time.
-     */
-    long timeInCache( URL url, String id )
-    {
-        return System.currentTimeMillis() - getTimeCached( url, id );
-    }
-
-    /**
-     * Return the absolute value of when the snippet has been cached.
-     *
-     * @param url The URL to parse.
-     * @param id  The id of the snippet.
-     * @return The cache time.
-     */
-    long getTimeCached( URL url, String id )
-    {
-        String globalId = globalSnippetId( url, id );
-
-        return timeCached.containsKey( globalId ) ? timeCached.get( globalId ) : 0;
-    }
-
-    /**
-     * Removes the snippet from the cache.
-     *
-     * @param url The URL to parse.
-     * @param id  The id of the snippet.
-     */
-    private void removeFromCache( URL url, String id )
-    {
-        String globalId = globalSnippetId( url, id );
-
-        timeCached.remove( globalId );
-
-        cache.remove( globalId );
-    }
-
     /**
      * Return a global identifier for the snippet.
      *
@@ -321,9 +246,7 @@ public class SnippetMacro
      */
     public void cacheSnippet( URL url, String id, String content )
     {
-        cache.put( globalSnippetId( url, id ), content );
-
-        timeCached.put( globalSnippetId( url, id ), System.currentTimeMillis() );
+        CACHE.put( globalSnippetId( url, id ), SnippetCache.stamp( url ), content );
     }
 
     /**
@@ -335,4 +258,15 @@ public class SnippetMacro
     {
         this.timeout = time;
     }
+
+    /**
+     * Returns the cache shared by all snippet macros, for instance to read its statistics.
+     *
+     * @return the snippet cache.
+     * @since 2.0.0
+     */
+    public static SnippetCache getCache()
+    {
+        return CACHE;
+    }
 }
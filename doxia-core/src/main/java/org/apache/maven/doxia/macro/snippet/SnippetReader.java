@@ -38,6 +38,14 @@ public class SnippetReader
     /** System-dependent EOL. */
     private static final String EOL = System.getProperty( "line.separator" );
 
+    // SNIPPET and what are case insensitive
+    // SNIPPET and what can switch order
+    static final Pattern SNIPPET = demarcatorPattern( "(?i:SNIPPET)" );
+
+    static final Pattern START = demarcatorPattern( "(?i:START)" );
+
+    static final Pattern END = demarcatorPattern( "(?i:END)" );
+
     /** The source. */
     private URL source;
 
@@ -76,7 +84,30 @@ public class SnippetReader
     public StringBuffer readSnippet( String snippetId )
         throws IOException
     {
-        List<String> lines = readLines( snippetId );
+        return toSnippet( readLines( snippetId ) );
+    }
+
+    /**
+     * Reads the whole source once, so that any number of snippets can be taken from it.
+     *
+     * @return The index of the source.
+     * @throws java.io.IOException if something goes wrong.
+     * @since 2.0.0
+     */
+    public SnippetIndex readIndex()
+        throws IOException
+    {
+        return new SnippetIndex( source, readLines( null ) );
+    }
+
+    /**
+     * Joins the given lines, without their common indent.
+     *
+     * @param lines A List of lines.
+     * @return the snippet.
+     */
+    static StringBuffer toSnippet( List<String> lines )
+    {
         int minIndent = minIndent( lines );
         StringBuffer result = new StringBuffer();
         for ( String line : lines )
@@ -93,7 +124,7 @@ public class SnippetReader
      * @param lines A List of lines.
      * @return the minimal indent.
      */
-    int minIndent( List<String> lines )
+    static int minIndent( List<String> lines )
     {
         int minIndent = Integer.MAX_VALUE;
         for ( String line : lines )
@@ -109,7 +140,7 @@ public class SnippetReader
      * @param line A line.
      * @return the indent.
      */
-    int indent( String line )
+    static int indent( String line )
     {
         char[] chars = line.toCharArray();
         int indent = 0;
@@ -214,15 +245,40 @@ public class SnippetReader
      */
     protected static boolean isDemarcator( String snippetId, String what, String line )
     {
-        // SNIPPET and what are case insensitive
-        // SNIPPET and what can switch order
-        String snippetRegExp = "(^|\\W)(?i:SNIPPET)($|\\W)";
-        String snippetIdRegExp = "(^|\\W)" + snippetId + "($|\\W)";
-        String whatRegExp = "(^|\\W)(?i:" + what + ")($|\\W)";
-        
-        return Pattern.compile( snippetRegExp ).matcher( line ).find()
-            && Pattern.compile( whatRegExp ).matcher( line ).find()
-            && Pattern.compile( snippetIdRegExp ).matcher( line ).find();
+        Pattern whatPattern;
+        if ( "START".equals( what ) )
+        {
+            whatPattern = START;
+        }
+        else if ( "END".equals( what ) )
+        {
+            whatPattern = END;
+        }
+        else
+        {
+            whatPattern = demarcatorPattern( "(?i:" + what + ")" );
+        }
+
+        // the id is only compiled for the few lines that look like a demarcator
+        return SNIPPET.matcher( line ).find()
+            && whatPattern.matcher( line ).find()
+            && idPattern( snippetId ).matcher( line ).find();
+    }
+
+    /**
+     * Returns the pattern that finds the given snippet id in a demarcator.
+     *
+     * @param snippetId the id of the snippet, a regular expression.
+     * @return the pattern.
+     */
+    static Pattern idPattern( String snippetId )
+    {
+        return demarcatorPattern( snippetId );
+    }
+
+    private static Pattern demarcatorPattern( String word )
+    {
+        return Pattern.compile( "(^|\\W)" + word + "($|\\W)" );
     }
 
     /**
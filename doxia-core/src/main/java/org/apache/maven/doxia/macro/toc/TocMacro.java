@@ -23,7 +23,10 @@ import javax.inject.Named;
 import javax.inject.Singleton;
 
 import java.io.StringReader;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import org.apache.maven.doxia.index.DeferringSink;
 import org.apache.maven.doxia.index.IndexEntry;
 import org.apache.maven.doxia.index.IndexingSink;
 import org.apache.maven.doxia.macro.AbstractMacro;
@@ -33,6 +36,7 @@ import org.apache.maven.doxia.util.HtmlTools;
 import org.apache.maven.doxia.parser.ParseException;
 import org.apache.maven.doxia.parser.Parser;
 import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
 
 import org.codehaus.plexus.util.StringUtils;
 
@@ -74,6 +78,9 @@ import org.codehaus.plexus.util.StringUtils;
  *   &lt;param name="toDepth" value="2" /&gt;
  * &lt;/macro&gt;
  * </pre>
+ * The sections are taken from the document being parsed when the macro is given its
+ * {@link DeferringSink}, the TOC being written once the whole document is known.
+ * Otherwise the document is parsed a second time to find them.
  *
  * @author <a href="mailto:vincent.siveton@gmail.com">Vincent Siveton</a>
  */
@@ -82,15 +89,6 @@ import org.codehaus.plexus.util.StringUtils;
 public class TocMacro
     extends AbstractMacro
 {
-    /** The section to display. */
-    private int section;
-
-    /** Start depth. */
-    private int fromDepth;
-
-    /** End depth. */
-    private int toDepth;
-
     /** The default end depth. */
     private static final int DEFAULT_DEPTH = 5;
 
@@ -98,33 +96,65 @@ public class TocMacro
     public void execute( Sink sink, MacroRequest request )
         throws MacroExecutionException
     {
-        String source = request.getSourceContent();
         Parser parser = request.getParser();
 
-        section = getInt( request, "section", 0 );
-        fromDepth = getInt( request, "fromDepth", 0 );
-        toDepth = getInt( request, "toDepth", DEFAULT_DEPTH );
+        int section = getInt( request, "section", 0 );
+        int fromDepth = getInt( request, "fromDepth", 0 );
+        int toDepth = getInt( request, "toDepth", DEFAULT_DEPTH );
 
         if ( fromDepth > toDepth )
         {
             return;
         }
 
+        // the parser and the source of the document are no attributes of the list
+        Map<String, Object> listParameters = new LinkedHashMap<>();
+        for ( String key : request.getParameters().keySet() )
+        {
+            if ( !MacroRequest.isInternalParameter( key ) )
+            {
+                listParameters.put( key, request.getParameter( key ) );
+            }
+        }
+        SinkEventAttributes attributes = getAttributesFromMap( listParameters );
+
+        if ( sink instanceof DeferringSink )
+        {
+            // the sections are known once the whole document has been parsed
+            ( (DeferringSink) sink ).defer( ( target, index ) ->
+                writeToc( target, index, attributes, section, fromDepth, toDepth ) );
+            return;
+        }
+
         IndexEntry index = new IndexEntry( "index" );
         IndexingSink tocSink = new IndexingSink( index );
 
         try
         {
-            parser.parse( new StringReader( source ), tocSink );
+            parser.parse( new StringReader( request.getSourceContent() ), tocSink );
         }
         catch ( ParseException e )
         {
             throw new MacroExecutionException( e );
         }
 
+        writeToc( sink, index, attributes, section, fromDepth, toDepth );
+    }
+
+    /**
+     * @param sink The sink to write to.
+     * @param index The index of the document.
+     * @param attributes The attributes of the list.
+     * @param section The section to display the TOC of, or 0 for all.
+     * @param fromDepth The start depth.
+     * @param toDepth The end depth.
+     */
+    private void writeToc( Sink sink, IndexEntry index, SinkEventAttributes attributes, int section, int fromDepth,
+                           int toDepth )
+    {
         if ( index.getChildEntries().size() > 0 )
         {
-            sink.list( getAttributesFromMap( request.getParameters() ) );
+            sink.list( attributes );
 
             int i = 1;
 
@@ -132,7 +162,7 @@ public class TocMacro
             {
                 if ( ( i == section ) || ( section == 0 ) )
                 {
-                    writeSubSectionN( sink, sectionIndex, 1 );
+                    writeSubSectionN( sink, sectionIndex, 1, fromDepth, toDepth );
                 }
 
                 i++;
@@ -146,8 +176,10 @@ public class TocMacro
      * @param sink The sink to write to.
      * @param sectionIndex The section index.
      * @param n The toc depth.
+     * @param fromDepth The start depth.
+     * @param toDepth The end depth.
      */
-    private void writeSubSectionN( Sink sink, IndexEntry sectionIndex, int n )
+    private void writeSubSectionN( Sink sink, IndexEntry sectionIndex, int n, int fromDepth, int toDepth )
     {
         if ( fromDepth <= n )
         {
@@ -178,7 +210,7 @@ public class TocMacro
                     }
                     else
                     {
-                        writeSubSectionN( sink, subsectionIndex, n + 1 );
+                        writeSubSectionN( sink, subsectionIndex, n + 1, fromDepth, toDepth );
                     }
                 }
 
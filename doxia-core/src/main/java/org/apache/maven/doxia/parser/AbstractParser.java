@@ -25,16 +25,22 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
+import java.io.StringWriter;
 
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.Properties;
+import java.util.Set;
+import java.util.function.Supplier;
 
+import org.apache.maven.doxia.index.DeferringSink;
 import org.apache.maven.doxia.macro.Macro;
 import org.apache.maven.doxia.macro.MacroExecutionException;
 import org.apache.maven.doxia.macro.MacroRequest;
 import org.apache.maven.doxia.macro.manager.MacroManager;
 import org.apache.maven.doxia.macro.manager.MacroNotFoundException;
 import org.apache.maven.doxia.sink.Sink;
+import org.codehaus.plexus.util.IOUtil;
 
 /**
  * An abstract base class that defines some convenience methods for parsers.
@@ -57,6 +63,12 @@ public abstract class AbstractParser
      */
     private boolean emitComments = true;
 
+    /** The URLs of the inputs read by the macros of the parsed documents. */
+    private final Set<String> macroInputs = new LinkedHashSet<>();
+
+    /** The source of the document being parsed, kept for its macros, see {@link #captureSource(Reader)}. */
+    private Reader capturedSource;
+
     private static final String DOXIA_VERSION;
 
     static
@@ -137,6 +149,27 @@ public abstract class AbstractParser
         Macro macro = getMacroManager().getMacro( macroId );
 
         macro.execute( sink, request );
+
+        macroInputs.addAll( request.getInputs() );
+
+        // the content of the macro may have been parsed by another parser, with macros of its own
+        if ( request.getParser() instanceof AbstractParser && request.getParser() != this )
+        {
+            macroInputs.addAll( ( (AbstractParser) request.getParser() ).getMacroInputs() );
+        }
+    }
+
+    /**
+     * Returns the inputs that the macros read while this parser parsed the last document, e.g. the files of
+     * snippets, as recorded by {@link MacroRequest#addInput(java.net.URL)}. They are kept once the document is
+     * parsed, and forgotten when {@link #captureSource(Reader)} starts the next one.
+     *
+     * @return the URLs of the inputs, in the order they were first read. Never null.
+     * @since 2.0.0
+     */
+    public Set<String> getMacroInputs()
+    {
+        return Collections.unmodifiableSet( macroInputs );
     }
 
     /**
@@ -186,7 +219,92 @@ public abstract class AbstractParser
     public void parse( String string, Sink sink, String reference )
         throws ParseException
     {
-        parse( new StringReader( string ), sink, reference );
+        parse( new ContentReader( string ), sink, reference );
+    }
+
+    /**
+     * Reads the whole source. The content of a {@link ContentReader} is returned as is, any other source is copied.
+     *
+     * @param source the source to read.
+     * @return the content of the source that was not read yet.
+     * @throws IOException if the source cannot be read.
+     * @since 2.0.0
+     */
+    protected static String readContent( Reader source )
+        throws IOException
+    {
+        if ( source instanceof ContentReader )
+        {
+            return ( (ContentReader) source ).readRemaining();
+        }
+
+        StringWriter contentWriter = new StringWriter();
+        IOUtil.copy( source, contentWriter );
+        return contentWriter.toString();
+    }
+
+    /**
+     * Wraps the source of a document, so that the document can be parsed as it is read while its macros can still
+     * get the whole source from {@link #sourceContent()}. Only the start of the source is kept in memory, the rest
+     * of a large document goes to a temporary file, and the whole source is only put together if a macro asks for
+     * it. A {@link ContentReader} already holds the whole source and is not wrapped. Nothing is captured if no
+     * macro can run, i.e. while parsing a second time or without a {@link MacroManager}.
+     * Unless parsing a second time, this starts a new document and forgets the {@link #getMacroInputs() inputs}
+     * of the previous one. Call {@link #releaseSource()} once the document is parsed.
+     *
+     * @param source the source of the document.
+     * @return the Reader to parse the document from.
+     * @since 2.0.0
+     */
+    protected Reader captureSource( Reader source )
+    {
+        if ( !isSecondParsing() )
+        {
+            macroInputs.clear();
+        }
+
+        if ( source instanceof ContentReader || isSecondParsing() || getMacroManager() == null )
+        {
+            capturedSource = source;
+            return source;
+        }
+
+        capturedSource = new CapturingReader( source );
+        return capturedSource;
+    }
+
+    /**
+     * Gives the whole source of the document being parsed, for a {@link MacroRequest}.
+     *
+     * @return the supplier of the source captured by {@link #captureSource(Reader)}, which supplies
+     * <code>null</code> if no source was captured.
+     * @since 2.0.0
+     */
+    protected Supplier<String> sourceContent()
+    {
+        if ( capturedSource instanceof ContentReader )
+        {
+            return ( (ContentReader) capturedSource )::getContent;
+        }
+        if ( capturedSource instanceof CapturingReader )
+        {
+            return ( (CapturingReader) capturedSource )::getContent;
+        }
+        return () -> null;
+    }
+
+    /**
+     * Forgets the source captured by {@link #captureSource(Reader)}, and deletes its temporary file if any.
+     *
+     * @since 2.0.0
+     */
+    protected void releaseSource()
+    {
+        if ( capturedSource instanceof CapturingReader )
+        {
+            ( (CapturingReader) capturedSource ).release();
+        }
+        capturedSource = null;
     }
 
     /** {@inheritDoc} */
@@ -197,6 +315,39 @@ public abstract class AbstractParser
         parse( source, sink, null );
     }
 
+    /**
+     * Wraps the Sink of a document, so that its macros can write content that depends on the whole document,
+     * like a table of contents, without parsing it a second time, see {@link DeferringSink}. Such content is
+     * written by {@link #resolveDeferred(Sink)}, once the document has been parsed. Nothing is wrapped if no
+     * macro can run, i.e. while parsing a second time or without a {@link MacroManager}.
+     *
+     * @param sink the Sink of the document.
+     * @return the Sink to send the events of the document to.
+     * @since 2.0.0
+     */
+    protected Sink deferringSink( Sink sink )
+    {
+        if ( isSecondParsing() || getMacroManager() == null || sink instanceof DeferringSink )
+        {
+            return sink;
+        }
+        return new DeferringSink( sink );
+    }
+
+    /**
+     * Writes the content deferred by the macros of a document, see {@link #deferringSink(Sink)}.
+     *
+     * @param sink the Sink returned by {@link #deferringSink(Sink)}.
+     * @since 2.0.0
+     */
+    protected static void resolveDeferred( Sink sink )
+    {
+        if ( sink instanceof DeferringSink )
+        {
+            ( (DeferringSink) sink ).resolve();
+        }
+    }
+
     /**
      * Set <code>secondParsing</code> to true, if we need a second parsing.
      *
@@ -247,7 +398,7 @@ public abstract class AbstractParser
      * @return the current Doxia version as a String
      * @since 1.2
      */
-    protected static String doxiaVersion()
+    public static String doxiaVersion()
     {
         return DOXIA_VERSION;
     }
@@ -19,7 +19,6 @@ package org.apache.maven.doxia.parser;
  * under the License.
  */
 
-import java.io.BufferedReader;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileOutputStream;
@@ -27,12 +26,12 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
-import java.io.StringReader;
 import java.net.URL;
-import java.util.Hashtable;
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -40,6 +39,8 @@ import org.apache.maven.doxia.macro.MacroExecutionException;
 import org.apache.maven.doxia.markup.XmlMarkup;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
+import org.apache.maven.doxia.sink.impl.Xhtml5BaseSink;
+import org.apache.maven.doxia.sink.impl.XhtmlBaseSink;
 import org.apache.maven.doxia.util.HtmlTools;
 import org.apache.maven.doxia.util.XmlValidator;
 
@@ -82,6 +83,9 @@ public abstract class AbstractXmlParser
     private static final Pattern PATTERN_ENTITY_2 =
         Pattern.compile( ENTITY_START + "(\\s)+([^>|^\\s]+)(\\s)+\"(\\s)*(&(#x?[0-9a-fA-F]{1,5};)*)(\\s)*\"(\\s)*>" );
 
+    /** The entities parsed from the content of {@link CachedFileEntityResolver#ENTITY_CACHE}, by system ID. */
+    private static final Map<String, Map<String, String>> DTD_ENTITIES = new ConcurrentHashMap<>();
+
     private boolean ignorableWhitespace;
 
     private boolean collapsibleWhitespace;
@@ -98,30 +102,28 @@ public abstract class AbstractXmlParser
     {
         init();
 
+        // 1 validate while parsing if validation is required
+        ValidatingReader validatingReader = null;
         Reader src = source;
-
-        // 1 first parsing if validation is required
         if ( isValidate() )
         {
-            String content;
-            try
+            validatingReader = source instanceof ContentReader ? null : ValidatingReader.start( source );
+            if ( validatingReader != null )
             {
-                content = IOUtil.toString( new BufferedReader( src ) );
+                src = validatingReader;
             }
-            catch ( IOException e )
+            else
             {
-                throw new ParseException( "Error reading the model", e );
+                // the source is in memory, or no validator thread is free: validate it before parsing it
+                src = validate( source );
             }
-
-            new XmlValidator( ).validate( content );
-
-            src = new StringReader( content );
         }
 
-        // 2 second parsing to process
+        // 2 parsing to process
         try
         {
-            XmlPullParser parser = new MXParser();
+            EntityReplacementTable defaultEntities = getDefaultEntities();
+            XmlPullParser parser = defaultEntities != null ? defaultEntities.newXmlPullParser() : new MXParser();
 
             parser.setInput( src );
 
@@ -129,22 +131,116 @@ public abstract class AbstractXmlParser
             // Note: do it after input is set, otherwise values are reset
             initXmlParser( parser );
 
-            parseXml( parser, sink );
+            Sink documentSink = deferringSink( sink );
+
+            parseXml( parser, documentSink );
+
+            // an invalid document fails before the content deferred by its macros reaches the sink
+            checkValidation( validatingReader );
+
+            resolveDeferred( documentSink );
         }
         catch ( XmlPullParserException ex )
         {
+            checkValidation( validatingReader );
+
             throw new ParseException( "Error parsing the model", ex, ex.getLineNumber(),
                                       ex.getColumnNumber() );
         }
         catch ( MacroExecutionException ex )
         {
+            checkValidation( validatingReader );
+
             throw new ParseException( "Macro execution failed", ex );
         }
+        finally
+        {
+            if ( validatingReader != null )
+            {
+                // no-op unless the validation is still running, i.e. the sink or a macro failed
+                validatingReader.abandon();
+            }
+        }
 
         setSecondParsing( false );
         init();
     }
 
+    /**
+     * Validates the whole source in the current thread.
+     *
+     * @param source the source to validate.
+     * @return the Reader to parse the validated source from.
+     * @throws ParseException if the content is not valid, or could not be read.
+     */
+    private static Reader validate( Reader source )
+        throws ParseException
+    {
+        try
+        {
+            ContentReader content = source instanceof ContentReader ? (ContentReader) source
+                            : new ContentReader( readContent( source ) );
+
+            content.mark( 0 );
+            new XmlValidator().validate( content );
+            content.reset();
+
+            return content;
+        }
+        catch ( IOException e )
+        {
+            throw new ParseException( "Error reading the model", e );
+        }
+    }
+
+    /**
+     * Switches the table mode of an XHTML sink, see {@link XhtmlBaseSink#setStreamingTables(boolean)}.
+     *
+     * @param sink the sink to configure, any other sink is left as is.
+     * @param streaming true to write tables directly to the output.
+     * @return true if the mode of the sink was changed.
+     */
+    static boolean setStreamingTables( Sink sink, boolean streaming )
+    {
+        if ( sink instanceof XhtmlBaseSink && ( (XhtmlBaseSink) sink ).isStreamingTables() != streaming )
+        {
+            ( (XhtmlBaseSink) sink ).setStreamingTables( streaming );
+            return true;
+        }
+        if ( sink instanceof Xhtml5BaseSink && ( (Xhtml5BaseSink) sink ).isStreamingTables() != streaming )
+        {
+            ( (Xhtml5BaseSink) sink ).setStreamingTables( streaming );
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Waits for the validation of the content being parsed, if any. It is also called when the parsing failed, so that
+     * an invalid document is reported as such, as when it was validated before being parsed.
+     *
+     * @param validatingReader the reader validating the content being parsed, may be null.
+     * @throws ParseException if the content is not valid.
+     */
+    private static void checkValidation( ValidatingReader validatingReader )
+        throws ParseException
+    {
+        if ( validatingReader != null )
+        {
+            validatingReader.finish();
+        }
+    }
+
+    /**
+     * @return the entities resolved in every document without additional DTD, or <code>null</code> if there are none
+     * besides the predefined XML entities.
+     * @since 2.0.0
+     */
+    EntityReplacementTable getDefaultEntities()
+    {
+        return null;
+    }
+
     /**
      * Initializes the parser with custom entities or other options.
      *
@@ -253,9 +349,9 @@ public abstract class AbstractXmlParser
             {
                 addLocalEntities( parser, parser.getText() );
 
-                for ( byte[] res : CachedFileEntityResolver.ENTITY_CACHE.values() )
+                for ( String systemId : CachedFileEntityResolver.ENTITY_CACHE.keySet() )
                 {
-                    addDTDEntities( parser, new String( res ) );
+                    addEntities( parser, getDTDEntities( systemId ) );
                 }
             }
 
@@ -575,27 +671,26 @@ public abstract class AbstractXmlParser
     // ----------------------------------------------------------------------
 
     /**
-     * Add an entity given by <code>entityName</code> and <code>entityValue</code> to {@link #entities}.
-     * <br>
-     * By default, we exclude the default XML entities: &#38;amp;, &#38;lt;, &#38;gt;, &#38;quot; and &#38;apos;.
+     * Add the entities given as name and value pairs to the parser and to {@link #entities}.
      *
      * @param parser not null
-     * @param entityName not null
-     * @param entityValue not null
+     * @param entityMap not null, as returned by {@link #parseEntities(String)}
      * @throws XmlPullParserException if any
      * @see XmlPullParser#defineEntityReplacementText(String, String)
      */
-    private void addEntity( XmlPullParser parser, String entityName, String entityValue )
+    private void addEntities( XmlPullParser parser, Map<String, String> entityMap )
         throws XmlPullParserException
     {
-        if ( entityName.endsWith( "amp" ) || entityName.endsWith( "lt" ) || entityName.endsWith( "gt" )
-            || entityName.endsWith( "quot" ) || entityName.endsWith( "apos" ) )
+        if ( entityMap.isEmpty() )
         {
             return;
         }
 
-        parser.defineEntityReplacementText( entityName, entityValue );
-        getLocalEntities().put( entityName, entityValue );
+        for ( Map.Entry<String, String> entity : entityMap.entrySet() )
+        {
+            parser.defineEntityReplacementText( entity.getKey(), entity.getValue() );
+        }
+        getLocalEntities().putAll( entityMap );
     }
 
     /**
@@ -614,21 +709,21 @@ public abstract class AbstractXmlParser
     private void addLocalEntities( XmlPullParser parser, String text )
         throws XmlPullParserException
     {
-        int entitiesCount = StringUtils.countMatches( text, ENTITY_START );
-        if ( entitiesCount > 0 )
+        if ( text.contains( ENTITY_START ) )
         {
             // text should be foo [...]
             int start = text.indexOf( '[' );
             int end = text.lastIndexOf( ']' );
             if ( start != -1 && end != -1 )
             {
-                addDTDEntities( parser, text.substring( start + 1, end ) );
+                addEntities( parser, parseEntities( text.substring( start + 1, end ) ) );
             }
         }
     }
 
     /**
-     * Handle entities defined in external doctypes as the following:
+     * Returns the entities defined in an external doctype already fetched by {@link CachedFileEntityResolver},
+     * as the following:
      * <pre>
      * &lt;!DOCTYPE foo [
      *   &lt;!-- These are the entity sets for ISO Latin 1 characters for the XHTML --&gt;
@@ -637,54 +732,67 @@ public abstract class AbstractXmlParser
      *   %HTMLlat1;
      * ]&gt;
      * </pre>
+     * The cached content is parsed only once per system ID.
+     *
+     * @param systemId a key of {@link CachedFileEntityResolver#ENTITY_CACHE}
+     * @return the entities defined in the cached content, not null
+     */
+    private static Map<String, String> getDTDEntities( String systemId )
+    {
+        Map<String, String> entityMap = DTD_ENTITIES.get( systemId );
+
+        if ( entityMap == null )
+        {
+            byte[] res = CachedFileEntityResolver.ENTITY_CACHE.get( systemId );
+            entityMap = res == null ? Collections.<String, String>emptyMap() : parseEntities( new String( res ) );
+            DTD_ENTITIES.put( systemId, entityMap );
+        }
+
+        return entityMap;
+    }
+
+    /**
+     * Parses the entity declarations with an HTML or a Unicode entity as value, e.g.
+     * <code>&lt;!ENTITY bar "&#38;#x160;"&gt;</code>.
+     * <br>
+     * By default, we exclude the default XML entities: &#38;amp;, &#38;lt;, &#38;gt;, &#38;quot; and &#38;apos;.
      *
-     * @param parser not null
      * @param text not null
-     * @throws XmlPullParserException if any
+     * @return the entity values by entity name, in declaration order, not null
      */
-    private void addDTDEntities( XmlPullParser parser, String text )
-        throws XmlPullParserException
+    static Map<String, String> parseEntities( String text )
     {
-        int entitiesCount = StringUtils.countMatches( text, ENTITY_START );
-        if ( entitiesCount > 0 )
+        int start = text.indexOf( ENTITY_START );
+        if ( start < 0 )
         {
-            final String txt = StringUtils.replace( text, ENTITY_START, "\n" + ENTITY_START );
-            try ( BufferedReader reader = new BufferedReader( new StringReader( txt ) ) )
-            {
-                String line;
-                String tmpLine = "";
-                Matcher matcher;
-                while ( ( line = reader.readLine() ) != null )
-                {
-                    tmpLine += "\n" + line;
-                    matcher = PATTERN_ENTITY_1.matcher( tmpLine );
-                    if ( matcher.find() && matcher.groupCount() == 7 )
-                    {
-                        String entityName = matcher.group( 2 );
-                        String entityValue = matcher.group( 5 );
+            return Collections.emptyMap();
+        }
 
-                        addEntity( parser, entityName, entityValue );
-                        tmpLine = "";
-                    }
-                    else
-                    {
-                        matcher = PATTERN_ENTITY_2.matcher( tmpLine );
-                        if ( matcher.find() && matcher.groupCount() == 8 )
-                        {
-                            String entityName = matcher.group( 2 );
-                            String entityValue = matcher.group( 5 );
+        Map<String, String> entityMap = new LinkedHashMap<>();
+        Matcher matcher1 = PATTERN_ENTITY_1.matcher( text );
+        Matcher matcher2 = PATTERN_ENTITY_2.matcher( text );
 
-                            addEntity( parser, entityName, entityValue );
-                            tmpLine = "";
-                        }
-                    }
+        for ( ; start >= 0; start = text.indexOf( ENTITY_START, start + ENTITY_START.length() ) )
+        {
+            Matcher matcher = matcher1.region( start, text.length() );
+            if ( !matcher.lookingAt() )
+            {
+                matcher = matcher2.region( start, text.length() );
+                if ( !matcher.lookingAt() )
+                {
+                    continue;
                 }
             }
-            catch ( IOException e )
+
+            String entityName = matcher.group( 2 );
+            if ( !( entityName.endsWith( "amp" ) || entityName.endsWith( "lt" ) || entityName.endsWith( "gt" )
+                || entityName.endsWith( "quot" ) || entityName.endsWith( "apos" ) ) )
             {
-                // nop
+                entityMap.put( entityName, matcher.group( 5 ) );
             }
         }
+
+        return Collections.unmodifiableMap( entityMap );
     }
 
     /**
@@ -695,7 +803,7 @@ public abstract class AbstractXmlParser
         implements EntityResolver
     {
         /** Map with systemId as key and the content of systemId as byte[]. */
-        protected static final Map<String, byte[]> ENTITY_CACHE = new Hashtable<>();
+        protected static final Map<String, byte[]> ENTITY_CACHE = new ConcurrentHashMap<>();
 
         /** {@inheritDoc} */
         public InputSource resolveEntity( String publicId, String systemId )
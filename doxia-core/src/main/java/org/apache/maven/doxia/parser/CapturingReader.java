@@ -0,0 +1,293 @@
+package org.apache.maven.doxia.parser;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A Reader that keeps what it reads, so that the whole source of a document can be given to a macro although
+ * the document is parsed as it is read. Sources of up to {@link #SPILL_THRESHOLD} characters are kept in memory,
+ * in chunks that are never copied to grow. Larger sources are written to a temporary file as they are read, as
+ * UTF-16 chars, so that the source comes back unchanged, even with unpaired surrogates. The threshold can be set
+ * with the <code>doxia.capture.threshold</code> system property. The source is only read to its end and turned
+ * into a String when {@link #getContent()} is called, and the rest of the document is then parsed from that
+ * String.
+ *
+ * @since 2.0.0
+ */
+class CapturingReader
+    extends Reader
+{
+    /** The system property giving the number of characters kept in memory before they are spilled. */
+    static final String THRESHOLD_PROPERTY = "doxia.capture.threshold";
+
+    /** The default number of characters kept in memory before they are moved to a temporary file. */
+    static final int SPILL_THRESHOLD = 1024 * 1024;
+
+    /** The size of the chunks the characters are kept in. */
+    private static final int CHUNK_SIZE = 8192;
+
+    private final Reader source;
+
+    private final int threshold;
+
+    /** The chunks of the characters kept in memory, the last one being partly filled. */
+    private List<char[]> chunks = new ArrayList<>();
+
+    /** The number of characters kept in memory. */
+    private int captured;
+
+    private Path spillFile;
+
+    private FileChannel spill;
+
+    /** The whole source, once a macro asked for it. */
+    private String content;
+
+    /** The number of characters given to the parser. */
+    private int delivered;
+
+    CapturingReader( Reader source )
+    {
+        this( source, Integer.getInteger( THRESHOLD_PROPERTY, SPILL_THRESHOLD ) );
+    }
+
+    /**
+     * @param source the source to capture.
+     * @param threshold the number of characters kept in memory before they are moved to a temporary file.
+     */
+    CapturingReader( Reader source, int threshold )
+    {
+        this.source = source;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public int read( char[] cbuf, int off, int len )
+        throws IOException
+    {
+        if ( content != null )
+        {
+            if ( delivered >= content.length() )
+            {
+                return len == 0 ? 0 : -1;
+            }
+
+            int n = Math.min( len, content.length() - delivered );
+            content.getChars( delivered, delivered + n, cbuf, off );
+            delivered += n;
+            return n;
+        }
+
+        int n = source.read( cbuf, off, len );
+        if ( n > 0 )
+        {
+            capture( cbuf, off, n );
+            delivered += n;
+        }
+        return n;
+    }
+
+    /**
+     * Returns the whole source. The part not parsed yet is read to its end first.
+     *
+     * @return the whole source.
+     * @throws UncheckedIOException if the source cannot be read, or the temporary file cannot be written or read.
+     */
+    String getContent()
+    {
+        if ( content == null )
+        {
+            if ( chunks == null && spill == null )
+            {
+                throw new IllegalStateException( "The source is no longer available" );
+            }
+
+            try
+            {
+                char[] buffer = new char[CHUNK_SIZE];
+                int n;
+                while ( ( n = source.read( buffer ) ) > 0 )
+                {
+                    capture( buffer, 0, n );
+                }
+
+                content = spill != null ? readSpill() : new String( toChars( captured ) );
+            }
+            catch ( IOException e )
+            {
+                throw new UncheckedIOException( "Error reading the input source", e );
+            }
+            finally
+            {
+                release();
+            }
+        }
+
+        return content;
+    }
+
+    /**
+     * @return the number of characters read and kept in memory, the others being in the temporary file.
+     */
+    int getCapturedInMemory()
+    {
+        return chunks == null ? 0 : captured;
+    }
+
+    /**
+     * @return true if the characters read were moved to a temporary file.
+     */
+    boolean isSpilled()
+    {
+        return spill != null;
+    }
+
+    private void capture( char[] cbuf, int off, int len )
+        throws IOException
+    {
+        if ( spill == null && captured + len > threshold )
+        {
+            spillFile = Files.createTempFile( "doxia-source", ".tmp" );
+            spill = FileChannel.open( spillFile, StandardOpenOption.WRITE, StandardOpenOption.READ );
+            write( toChars( captured ), 0, captured );
+            chunks = null;
+        }
+
+        if ( spill != null )
+        {
+            write( cbuf, off, len );
+            return;
+        }
+
+        int copied = 0;
+        while ( copied < len )
+        {
+            int used = captured % CHUNK_SIZE;
+            if ( used == 0 )
+            {
+                chunks.add( new char[CHUNK_SIZE] );
+            }
+            int n = Math.min( len - copied, CHUNK_SIZE - used );
+            System.arraycopy( cbuf, off + copied, chunks.get( chunks.size() - 1 ), used, n );
+            copied += n;
+            captured += n;
+        }
+    }
+
+    /**
+     * @param length the number of characters kept in memory.
+     * @return the characters kept in memory.
+     */
+    private char[] toChars( int length )
+    {
+        char[] chars = new char[length];
+        for ( int i = 0, off = 0; off < length; i++, off += CHUNK_SIZE )
+        {
+            System.arraycopy( chunks.get( i ), 0, chars, off, Math.min( CHUNK_SIZE, length - off ) );
+        }
+        return chars;
+    }
+
+    /** Appends chars to the temporary file as they are, two bytes each. */
+    private void write( char[] cbuf, int off, int len )
+        throws IOException
+    {
+        ByteBuffer bytes = ByteBuffer.allocate( 2 * len );
+        bytes.asCharBuffer().put( cbuf, off, len );
+        while ( bytes.hasRemaining() )
+        {
+            spill.write( bytes );
+        }
+    }
+
+    private String readSpill()
+        throws IOException
+    {
+        long size = spill.size();
+        if ( size > Integer.MAX_VALUE )
+        {
+            throw new IOException( "The source is too large: " + size / 2 + " characters" );
+        }
+
+        ByteBuffer bytes = ByteBuffer.allocate( (int) size );
+        spill.position( 0 );
+        while ( bytes.hasRemaining() && spill.read( bytes ) >= 0 )
+        {
+            // until the whole file is read
+        }
+        bytes.flip();
+
+        char[] chars = new char[bytes.remaining() / 2];
+        bytes.asCharBuffer().get( chars );
+        return new String( chars );
+    }
+
+    /**
+     * Forgets what was captured, and deletes the temporary file if any.
+     */
+    void release()
+    {
+        chunks = null;
+
+        if ( spill != null )
+        {
+            try
+            {
+                spill.close();
+            }
+            catch ( IOException e )
+            {
+                // nothing more to write
+            }
+            spill = null;
+        }
+
+        if ( spillFile != null )
+        {
+            try
+            {
+                Files.deleteIfExists( spillFile );
+            }
+            catch ( IOException e )
+            {
+                spillFile.toFile().deleteOnExit();
+            }
+            spillFile = null;
+        }
+    }
+
+    @Override
+    public void close()
+        throws IOException
+    {
+        release();
+        source.close();
+    }
+}
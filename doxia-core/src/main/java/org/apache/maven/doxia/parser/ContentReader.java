@@ -0,0 +1,226 @@
+package org.apache.maven.doxia.parser;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UnsupportedEncodingException;
+import java.nio.Buffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A Reader over the whole content of a document, already in memory. Parsers that need the content as a String,
+ * e.g. to give it to macros, take it with {@link AbstractParser#readContent(Reader)} instead of copying it
+ * through a buffer.
+ *
+ * @since 2.0.0
+ */
+public class ContentReader
+    extends Reader
+{
+    /** Files up to this size are read at once, larger ones are memory-mapped. */
+    static final int MAPPING_THRESHOLD = 64 * 1024;
+
+    /** The content: a String, or the CharBuffer decoded from a memory-mapped file. */
+    private final CharSequence content;
+
+    /** The content as a String, only created from a CharBuffer if the whole content is asked for. */
+    private String string;
+
+    private int next;
+
+    private int mark;
+
+    /**
+     * Creates a reader over the given content.
+     *
+     * @param content the content of the document, not null.
+     */
+    public ContentReader( String content )
+    {
+        if ( content == null )
+        {
+            throw new NullPointerException( "content" );
+        }
+        this.content = content;
+        this.string = content;
+    }
+
+    private ContentReader( CharBuffer content )
+    {
+        this.content = content;
+    }
+
+    /**
+     * Decodes a whole file once. Small files are decoded straight into a String. Large files are memory-mapped
+     * and decoded from the mapping into a CharBuffer, so that their bytes are never copied to the heap, and the
+     * parsers read from that CharBuffer: a String of the whole content is only created if a macro or a parser
+     * asks for it. Malformed input is replaced, as an {@link java.io.InputStreamReader} does.
+     *
+     * @param file the file to read, not null.
+     * @param encoding the encoding of the file, not null.
+     * @return a reader over the content of the file.
+     * @throws IOException if the file cannot be read, is larger than 2 GB, or if the encoding is not supported.
+     */
+    public static ContentReader open( File file, String encoding )
+        throws IOException
+    {
+        Charset charset;
+        try
+        {
+            charset = Charset.forName( encoding );
+        }
+        catch ( IllegalCharsetNameException | UnsupportedCharsetException e )
+        {
+            UnsupportedEncodingException unsupported = new UnsupportedEncodingException( encoding );
+            unsupported.initCause( e );
+            throw unsupported;
+        }
+
+        try ( FileChannel channel = FileChannel.open( file.toPath(), StandardOpenOption.READ ) )
+        {
+            long size = channel.size();
+            if ( size > Integer.MAX_VALUE )
+            {
+                throw new IOException( "File too large to be parsed: " + file );
+            }
+
+            if ( size <= MAPPING_THRESHOLD )
+            {
+                return new ContentReader( new String( Files.readAllBytes( file.toPath() ), charset ) );
+            }
+
+            return new ContentReader( charset.newDecoder()
+                .onMalformedInput( CodingErrorAction.REPLACE )
+                .onUnmappableCharacter( CodingErrorAction.REPLACE )
+                .decode( channel.map( FileChannel.MapMode.READ_ONLY, 0, size ) ) );
+        }
+    }
+
+    /**
+     * @return the whole content, whatever was read.
+     */
+    String getContent()
+    {
+        if ( string == null )
+        {
+            string = content.toString();
+        }
+        return string;
+    }
+
+    /**
+     * Returns the content that has not been read yet, and skips it. Nothing is copied if nothing was read from a
+     * String.
+     *
+     * @return the rest of the content.
+     */
+    String readRemaining()
+    {
+        String remaining = next == 0 ? getContent() : content.subSequence( next, content.length() ).toString();
+        next = content.length();
+        return remaining;
+    }
+
+    @Override
+    public int read()
+    {
+        return next < content.length() ? content.charAt( next++ ) : -1;
+    }
+
+    @Override
+    public int read( char[] cbuf, int off, int len )
+    {
+        if ( off < 0 || len < 0 || len > cbuf.length - off )
+        {
+            throw new IndexOutOfBoundsException();
+        }
+        if ( len == 0 )
+        {
+            return 0;
+        }
+        if ( next >= content.length() )
+        {
+            return -1;
+        }
+
+        int n = Math.min( len, content.length() - next );
+        if ( string != null )
+        {
+            string.getChars( next, next + n, cbuf, off );
+        }
+        else
+        {
+            // the CharBuffer is only ever read in bulk here, its position is left at 0 for charAt()
+            CharBuffer buffer = (CharBuffer) content;
+            ( (Buffer) buffer ).position( next );
+            buffer.get( cbuf, off, n );
+            ( (Buffer) buffer ).position( 0 );
+        }
+        next += n;
+        return n;
+    }
+
+    @Override
+    public long skip( long n )
+    {
+        int skipped = (int) Math.min( Math.max( n, 0 ), content.length() - next );
+        next += skipped;
+        return skipped;
+    }
+
+    @Override
+    public boolean ready()
+    {
+        return true;
+    }
+
+    @Override
+    public boolean markSupported()
+    {
+        return true;
+    }
+
+    @Override
+    public void mark( int readAheadLimit )
+    {
+        mark = next;
+    }
+
+    @Override
+    public void reset()
+    {
+        next = mark;
+    }
+
+    @Override
+    public void close()
+    {
+        // nothing to release, the content is kept for the parser
+    }
+}
@@ -0,0 +1,202 @@
+package org.apache.maven.doxia.parser;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+
+import org.codehaus.plexus.util.xml.pull.MXParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParser;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+/**
+ * An immutable, hash indexed table of entity replacement texts, built once and shared by all the parsers.
+ * <p>
+ * <code>MXParser.defineEntityReplacementText()</code> appends every entity to arrays which are scanned linearly
+ * when an entity reference is resolved, and which have to be filled again for every document. The pull parsers
+ * created by {@link #newXmlPullParser()} resolve the entities of this table instead, with one hash lookup over the
+ * characters of the entity reference and without any per-document setup.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+final class EntityReplacementTable
+{
+    private final char[][] names;
+
+    private final String[] replacements;
+
+    private final char[][] replacementChars;
+
+    /** <code>names.length - 1</code>, names.length being a power of two. */
+    private final int mask;
+
+    /**
+     * @param entities the entity name and replacement text pairs. A later definition of a name overrides the
+     * earlier ones.
+     */
+    EntityReplacementTable( String[][] entities )
+    {
+        int capacity = Integer.highestOneBit( Math.max( 1, entities.length ) * 4 );
+        names = new char[capacity][];
+        replacements = new String[capacity];
+        replacementChars = new char[capacity][];
+        mask = capacity - 1;
+
+        for ( String[] entity : entities )
+        {
+            char[] name = entity[0].toCharArray();
+            int i = indexOf( name, 0, name.length );
+            if ( i < 0 )
+            {
+                i = -i - 1;
+            }
+            names[i] = name;
+            replacements[i] = entity[1];
+            replacementChars[i] = entity[1].toCharArray();
+        }
+    }
+
+    /**
+     * @return the slot of the given name if it is in the table, otherwise <code>-(free slot) - 1</code>.
+     */
+    private int indexOf( char[] buf, int off, int len )
+    {
+        int hash = 0;
+        for ( int i = off; i < off + len; i++ )
+        {
+            hash = 31 * hash + buf[i];
+        }
+
+        // linear probing, the table is never more than half full
+        for ( int i = ( hash ^ ( hash >>> 16 ) ) & mask;; i = ( i + 1 ) & mask )
+        {
+            char[] name = names[i];
+
+            if ( name == null )
+            {
+                return -i - 1;
+            }
+
+            if ( name.length == len && regionEquals( name, buf, off ) )
+            {
+                return i;
+            }
+        }
+    }
+
+    private static boolean regionEquals( char[] name, char[] buf, int off )
+    {
+        for ( int i = 0; i < name.length; i++ )
+        {
+            if ( name[i] != buf[off + i] )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param name an entity name.
+     * @return its replacement text, or <code>null</code> if it is not in the table.
+     */
+    String get( String name )
+    {
+        char[] chars = name.toCharArray();
+        int i = indexOf( chars, 0, chars.length );
+        return i < 0 ? null : replacements[i];
+    }
+
+    /**
+     * @return a new pull parser resolving the entities of this table, in addition to the predefined XML entities and
+     * to the ones defined with <code>defineEntityReplacementText()</code>, which take precedence.
+     */
+    XmlPullParser newXmlPullParser()
+    {
+        return new TableMXParser();
+    }
+
+    /**
+     * A pull parser falling back to this table for the entities it did not get defined.
+     */
+    private class TableMXParser
+        extends MXParser
+    {
+        @Override
+        protected char[] lookuEntityReplacement( int entityNameLen )
+            throws XmlPullParserException, IOException
+        {
+            char[] replacement = super.lookuEntityReplacement( entityNameLen );
+
+            if ( replacement == null )
+            {
+                int i = indexOf( buf, posStart, entityNameLen );
+                if ( i >= 0 )
+                {
+                    if ( tokenize )
+                    {
+                        text = replacements[i];
+                    }
+                    replacement = replacementChars[i];
+                }
+            }
+
+            return replacement;
+        }
+
+        /**
+         * {@inheritDoc}
+         *
+         * A replacement text made of a single entity reference, e.g. <code>&amp;nbsp;</code>, is resolved against this
+         * table too.
+         */
+        @Override
+        public void defineEntityReplacementText( String entityName, String replacementText )
+            throws XmlPullParserException
+        {
+            String replacement = replacementText;
+
+            if ( replacement.length() > 2 && replacement.charAt( 0 ) == '&' && replacement.charAt( 1 ) != '#'
+                && replacement.endsWith( ";" ) )
+            {
+                String name = replacement.substring( 1, replacement.length() - 1 );
+                String tableReplacement = get( name );
+                if ( tableReplacement != null && !isDefined( name ) )
+                {
+                    replacement = tableReplacement;
+                }
+            }
+
+            super.defineEntityReplacementText( entityName, replacement );
+        }
+
+        private boolean isDefined( String name )
+        {
+            for ( int i = 0; i < entityEnd; i++ )
+            {
+                if ( name.equals( entityName[i] ) )
+                {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+}
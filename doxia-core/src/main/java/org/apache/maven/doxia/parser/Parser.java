@@ -21,12 +21,22 @@ package org.apache.maven.doxia.parser;
 
 import org.apache.maven.doxia.sink.Sink;
 
+import java.io.File;
+import java.io.IOException;
 import java.io.Reader;
 
 /**
  * A Parser is responsible for parsing any document in a supported front-end
  * format, and emitting the standard Doxia events, which can then be consumed
  * by any Doxia Sink.
+ * <p>
+ * Parsers keep the state of the document being parsed, so an instance must not be used by several threads at once.
+ * Parser components are therefore not singletons: {@link org.apache.maven.doxia.Doxia#getParser(String)}
+ * and {@link org.apache.maven.doxia.parser.manager.ParserManager#getParser(String)} return a new instance
+ * on each call, and concurrent calls to {@link org.apache.maven.doxia.Doxia#parse(Reader, String, Sink)} are safe
+ * as long as the macros of the documents are: macros are singletons executed by all the parsers, see
+ * {@link org.apache.maven.doxia.macro.Macro}.
+ * </p>
  *
  * @author <a href="mailto:jason@maven.org">Jason van Zyl</a>
  * @since 1.0
@@ -66,6 +76,35 @@ public interface Parser
     void parse( Reader source, Sink sink, String reference )
         throws ParseException;
 
+    /**
+     * Parses the given file and emits Doxia events into the given sink. The file is decoded once, from a memory
+     * mapping if it is large, and parsers that keep the whole document share that content with their macros
+     * instead of copying it.
+     *
+     * @param source not null file of the source document.
+     * @param encoding not null encoding of the file.
+     * @param sink A sink that consumes the Doxia events.
+     * @param reference the reference, may be null.
+     * @throws org.apache.maven.doxia.parser.ParseException if the file could not be read or the model could not
+     * be parsed.
+     * @since 2.0.0
+     */
+    default void parse( File source, String encoding, Sink sink, String reference )
+        throws ParseException
+    {
+        Reader reader;
+        try
+        {
+            reader = ContentReader.open( source, encoding );
+        }
+        catch ( IOException e )
+        {
+            throw new ParseException( "Error reading the input source " + source, e );
+        }
+
+        parse( reader, sink, reference );
+    }
+
     /**
      * The parser type value could be {@link #UNKNOWN_TYPE}, {@link #TXT_TYPE} or
      * {@link #XML_TYPE}.
@@ -0,0 +1,372 @@
+package org.apache.maven.doxia.parser;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.maven.doxia.util.XmlValidator;
+
+/**
+ * A reader which validates the XML content while it is being read, so that a document is validated and parsed
+ * in one pass over its source.
+ * <p>
+ * Every chunk read from the source is copied into a bounded buffer, from which an {@link XmlValidator} reads
+ * in a separate thread: at most {@link #BUFFER_SIZE} characters of the document are held in memory at any time
+ * on top of what the consumer of this reader holds. When the validator runs behind, reading blocks until it
+ * caught up. The validators run on a shared pool of at most {@link #MAX_VALIDATORS} daemon threads, see
+ * {@link #start(Reader)}.
+ * </p>
+ * <p>
+ * As soon as the validation failed, further reads fail. Call {@link #finish()} once the content has been
+ * consumed to wait for the validation result, or {@link #abandon()} to give it up.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+class ValidatingReader
+    extends FilterReader
+{
+    /** The maximum number of characters buffered for the validator. */
+    static final int BUFFER_SIZE = 16 * 1024;
+
+    /** The maximum number of documents validated at the same time. */
+    static final int MAX_VALIDATORS = Runtime.getRuntime().availableProcessors();
+
+    /** Runs the validators, on threads created when needed and kept for a minute. Never queues a validator. */
+    private static final ThreadPoolExecutor VALIDATORS =
+        new ThreadPoolExecutor( 0, MAX_VALIDATORS, 60L, TimeUnit.SECONDS, new SynchronousQueue<Runnable>(), r ->
+        {
+            Thread thread = new Thread( r, "doxia-xml-validator" );
+            thread.setDaemon( true );
+            return thread;
+        } );
+
+    private final Pipe pipe = new Pipe();
+
+    /** The validation failure, if any. Guarded by the pipe. */
+    private ParseException failure;
+
+    /** <code>true</code> once the validator is done. Guarded by the pipe. */
+    private boolean validated;
+
+    /**
+     * @param source the XML content to read and validate, not null.
+     */
+    private ValidatingReader( Reader source )
+    {
+        super( source );
+    }
+
+    /**
+     * Starts validating the given source on a thread of the shared pool. As the parsing of a document may wait
+     * for its validator, no validator is ever queued: if every thread of the pool is busy, nothing is started.
+     *
+     * @param source the XML content to read and validate, not null.
+     * @return the reader validating the source, or <code>null</code> if no validator thread is free, in which case
+     * the source is left as it is.
+     */
+    static ValidatingReader start( Reader source )
+    {
+        ValidatingReader reader = new ValidatingReader( source );
+        try
+        {
+            VALIDATORS.execute( reader::validate );
+            return reader;
+        }
+        catch ( RejectedExecutionException e )
+        {
+            return null;
+        }
+    }
+
+    private void validate()
+    {
+        ParseException result = null;
+        try
+        {
+            new XmlValidator().validate( pipe );
+        }
+        catch ( ParseException | RuntimeException e )
+        {
+            result = e instanceof ParseException ? (ParseException) e
+                            : new ParseException( "Error validating the model", e );
+        }
+        finally
+        {
+            synchronized ( pipe )
+            {
+                failure = result;
+                validated = true;
+                pipe.abandoned = true;
+                pipe.notifyAll();
+            }
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read()
+        throws IOException
+    {
+        char[] c = new char[1];
+        return read( c, 0, 1 ) == -1 ? -1 : c[0];
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public int read( char[] cbuf, int off, int len )
+        throws IOException
+    {
+        int n = super.read( cbuf, off, len );
+
+        if ( n == -1 )
+        {
+            pipe.end();
+        }
+        else
+        {
+            pipe.feed( cbuf, off, n );
+        }
+
+        return n;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public long skip( long n )
+        throws IOException
+    {
+        throw new IOException( "skip() not supported" );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public boolean markSupported()
+    {
+        return false;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void mark( int readAheadLimit )
+        throws IOException
+    {
+        throw new IOException( "mark() not supported" );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void reset()
+        throws IOException
+    {
+        throw new IOException( "reset() not supported" );
+    }
+
+    /**
+     * @return the validation failure if the validation already failed, <code>null</code> otherwise.
+     */
+    ParseException getFailure()
+    {
+        synchronized ( pipe )
+        {
+            return failure;
+        }
+    }
+
+    /**
+     * Feeds what is left of the source to the validator and waits for the validation result.
+     *
+     * @throws ParseException if the content is not valid, could not be read, or if the current thread was
+     * interrupted while waiting.
+     */
+    void finish()
+        throws ParseException
+    {
+        try
+        {
+            char[] buffer = new char[BUFFER_SIZE];
+            while ( read( buffer, 0, buffer.length ) != -1 )
+            {
+                // feed the validator
+            }
+
+            synchronized ( pipe )
+            {
+                while ( !validated )
+                {
+                    pipe.wait();
+                }
+            }
+        }
+        catch ( IOException e )
+        {
+            ParseException validationFailure = getFailure();
+            throw validationFailure != null ? validationFailure : new ParseException( "Error reading the model", e );
+        }
+        catch ( InterruptedException e )
+        {
+            Thread.currentThread().interrupt();
+            throw new ParseException( "Interrupted while validating the model", e );
+        }
+
+        ParseException validationFailure = getFailure();
+        if ( validationFailure != null )
+        {
+            throw validationFailure;
+        }
+    }
+
+    /**
+     * Abandons the validation if it is still running. The source is left open.
+     */
+    void abandon()
+    {
+        synchronized ( pipe )
+        {
+            pipe.abandoned = true;
+            pipe.notifyAll();
+        }
+    }
+
+    /**
+     * The bounded buffer between the thread reading the content and the validator.
+     */
+    private class Pipe
+        extends Reader
+    {
+        private final char[] buffer = new char[BUFFER_SIZE];
+
+        /** The index of the next character to read. */
+        private int head;
+
+        /** The number of buffered characters. */
+        private int count;
+
+        /** <code>true</code> once the end of the source has been fed. */
+        private boolean ended;
+
+        /** <code>true</code> once either side gave up: nothing is buffered anymore. */
+        private boolean abandoned;
+
+        /**
+         * Called by the reading thread.
+         */
+        private synchronized void feed( char[] cbuf, int off, int len )
+            throws IOException
+        {
+            int fed = 0;
+            while ( fed < len )
+            {
+                while ( count == buffer.length && !abandoned )
+                {
+                    await();
+                }
+
+                if ( abandoned )
+                {
+                    break;
+                }
+
+                int tail = ( head + count ) % buffer.length;
+                int n = Math.min( len - fed, Math.min( buffer.length - count, buffer.length - tail ) );
+                System.arraycopy( cbuf, off + fed, buffer, tail, n );
+                count += n;
+                fed += n;
+                notifyAll();
+            }
+
+            if ( failure != null )
+            {
+                throw new IOException( "Validation failed", failure );
+            }
+        }
+
+        /**
+         * Called by the reading thread.
+         */
+        private synchronized void end()
+        {
+            ended = true;
+            notifyAll();
+        }
+
+        /**
+         * Called by the validator.
+         */
+        @Override
+        public synchronized int read( char[] cbuf, int off, int len )
+            throws IOException
+        {
+            if ( len == 0 )
+            {
+                return 0;
+            }
+
+            while ( count == 0 && !ended && !abandoned )
+            {
+                await();
+            }
+
+            if ( abandoned )
+            {
+                throw new IOException( "Validation abandoned" );
+            }
+
+            if ( count == 0 )
+            {
+                return -1;
+            }
+
+            int n = Math.min( len, Math.min( count, buffer.length - head ) );
+            System.arraycopy( buffer, head, cbuf, off, n );
+            head = ( head + n ) % buffer.length;
+            count -= n;
+            notifyAll();
+
+            return n;
+        }
+
+        private void await()
+            throws IOException
+        {
+            try
+            {
+                wait();
+            }
+            catch ( InterruptedException e )
+            {
+                Thread.currentThread().interrupt();
+                throw new IOException( "Interrupted while validating the model", e );
+            }
+        }
+
+        @Override
+        public void close()
+        {
+            // the pipe outlives the parsing of the validator
+        }
+    }
+}
@@ -83,17 +83,37 @@ public class Xhtml5BaseParser
     {
         init();
 
+        boolean streamingTables = isTableCaptionFirst() && setStreamingTables( sink, true );
         try
         {
             super.parse( source, sink, reference );
         }
         finally
         {
+            if ( streamingTables )
+            {
+                setStreamingTables( sink, false );
+            }
             setSecondParsing( false );
             init();
         }
     }
 
+    /**
+     * Tells if the caption of a table is always received right after {@link Sink#tableRows(int[], boolean)}.
+     * If so, an XHTML sink does not need to buffer the tables of the parsed document, and is switched to streaming
+     * tables for the parse.
+     * The caption of an HTML table is its first child, but only a validated document is known to follow its
+     * grammar: without validation, a caption may come after the rows and is moved to the top by a buffering sink.
+     *
+     * @return {@link #isValidate()}, unless overridden by a parser that may send a caption after the rows.
+     * @since 2.0.0
+     */
+    protected boolean isTableCaptionFirst()
+    {
+        return isValidate();
+    }
+
     /**
      * {@inheritDoc}
      *
@@ -139,299 +159,238 @@ public class Xhtml5BaseParser
 
         SinkEventAttributeSet attribs = getAttributesFromParser( parser );
 
-        if ( parser.getName().equals( HtmlMarkup.ARTICLE.toString() ) )
-        {
-            sink.article( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.NAV.toString() ) )
-        {
-            sink.navigation( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.ASIDE.toString() ) )
-        {
-            sink.sidebar( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SECTION.toString() ) )
-        {
-            handleSectionStart( sink, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H2.toString() ) )
-        {
-            handleHeadingStart( sink, Sink.SECTION_LEVEL_1, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H3.toString() ) )
-        {
-            handleHeadingStart( sink, Sink.SECTION_LEVEL_2, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H4.toString() ) )
-        {
-            handleHeadingStart( sink, Sink.SECTION_LEVEL_3, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H5.toString() ) )
-        {
-            handleHeadingStart( sink, Sink.SECTION_LEVEL_4, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H6.toString() ) )
-        {
-            handleHeadingStart( sink, Sink.SECTION_LEVEL_5, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.HEADER.toString() ) )
-        {
-            sink.header( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.MAIN.toString() ) )
-        {
-            sink.content( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.FOOTER.toString() ) )
-        {
-            sink.footer( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.EM.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.EMPHASIS );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.STRONG.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.STRONG );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SMALL.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.SMALL );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.S.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.LINE_THROUGH );
-            sink.inline( attribs );
-            /* deprecated line-through support */
-        }
-        else if ( parser.getName().equals( HtmlMarkup.CITE.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.CITATION );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.Q.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.QUOTE );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DFN.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.DEFINITION );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.ABBR.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.ABBREVIATION );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.I.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.ITALIC );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.B.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.BOLD );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.CODE.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.CODE );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.VAR.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.VARIABLE );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SAMP.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.SAMPLE );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.KBD.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.KEYBOARD );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SUP.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.SUPERSCRIPT );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SUB.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.SUBSCRIPT );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.U.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.ANNOTATION );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.MARK.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.HIGHLIGHT );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RUBY.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RB.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY_BASE );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RT.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY_TEXT );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RTC.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY_TEXT_CONTAINER );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RP.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY_PARANTHESES );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.BDI.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.BIDIRECTIONAL_ISOLATION );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.BDO.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.BIDIRECTIONAL_OVERRIDE );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SPAN.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.PHRASE );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.INS.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.INSERT );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DEL.toString() ) )
-        {
-            attribs.addAttributes( SinkEventAttributeSet.Semantics.DELETE );
-            sink.inline( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.P.toString() ) )
-        {
-            handlePStart( sink, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DIV.toString() ) )
-        {
-            handleDivStart( parser, attribs, sink );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.PRE.toString() ) )
-        {
-            handlePreStart( attribs, sink );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.UL.toString() ) )
-        {
-            sink.list( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.OL.toString() ) )
-        {
-            handleOLStart( parser, sink, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.LI.toString() ) )
-        {
-            handleLIStart( sink, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DL.toString() ) )
-        {
-            sink.definitionList( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DT.toString() ) )
-        {
-            if ( hasDefinitionListItem )
-            {
-                // close previous listItem
-                sink.definitionListItem_();
-            }
-            sink.definitionListItem( attribs );
-            hasDefinitionListItem = true;
-            sink.definedTerm( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DD.toString() ) )
-        {
-            if ( !hasDefinitionListItem )
-            {
+        switch ( parser.getName() )
+        {
+            case "article":
+                sink.article( attribs );
+                break;
+            case "nav":
+                sink.navigation( attribs );
+                break;
+            case "aside":
+                sink.sidebar( attribs );
+                break;
+            case "section":
+                handleSectionStart( sink, attribs );
+                break;
+            case "h2":
+                handleHeadingStart( sink, Sink.SECTION_LEVEL_1, attribs );
+                break;
+            case "h3":
+                handleHeadingStart( sink, Sink.SECTION_LEVEL_2, attribs );
+                break;
+            case "h4":
+                handleHeadingStart( sink, Sink.SECTION_LEVEL_3, attribs );
+                break;
+            case "h5":
+                handleHeadingStart( sink, Sink.SECTION_LEVEL_4, attribs );
+                break;
+            case "h6":
+                handleHeadingStart( sink, Sink.SECTION_LEVEL_5, attribs );
+                break;
+            case "header":
+                sink.header( attribs );
+                break;
+            case "main":
+                sink.content( attribs );
+                break;
+            case "footer":
+                sink.footer( attribs );
+                break;
+            case "em":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.EMPHASIS );
+                sink.inline( attribs );
+                break;
+            case "strong":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.STRONG );
+                sink.inline( attribs );
+                break;
+            case "small":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.SMALL );
+                sink.inline( attribs );
+                break;
+            case "s":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.LINE_THROUGH );
+                sink.inline( attribs );
+                /* deprecated line-through support */
+                break;
+            case "cite":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.CITATION );
+                sink.inline( attribs );
+                break;
+            case "q":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.QUOTE );
+                sink.inline( attribs );
+                break;
+            case "dfn":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.DEFINITION );
+                sink.inline( attribs );
+                break;
+            case "abbr":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.ABBREVIATION );
+                sink.inline( attribs );
+                break;
+            case "i":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.ITALIC );
+                sink.inline( attribs );
+                break;
+            case "b":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.BOLD );
+                sink.inline( attribs );
+                break;
+            case "code":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.CODE );
+                sink.inline( attribs );
+                break;
+            case "var":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.VARIABLE );
+                sink.inline( attribs );
+                break;
+            case "samp":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.SAMPLE );
+                sink.inline( attribs );
+                break;
+            case "kbd":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.KEYBOARD );
+                sink.inline( attribs );
+                break;
+            case "sup":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.SUPERSCRIPT );
+                sink.inline( attribs );
+                break;
+            case "sub":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.SUBSCRIPT );
+                sink.inline( attribs );
+                break;
+            case "u":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.ANNOTATION );
+                sink.inline( attribs );
+                break;
+            case "mark":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.HIGHLIGHT );
+                sink.inline( attribs );
+                break;
+            case "ruby":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY );
+                sink.inline( attribs );
+                break;
+            case "rb":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY_BASE );
+                sink.inline( attribs );
+                break;
+            case "rt":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY_TEXT );
+                sink.inline( attribs );
+                break;
+            case "rtc":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY_TEXT_CONTAINER );
+                sink.inline( attribs );
+                break;
+            case "rp":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.RUBY_PARANTHESES );
+                sink.inline( attribs );
+                break;
+            case "bdi":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.BIDIRECTIONAL_ISOLATION );
+                sink.inline( attribs );
+                break;
+            case "bdo":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.BIDIRECTIONAL_OVERRIDE );
+                sink.inline( attribs );
+                break;
+            case "span":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.PHRASE );
+                sink.inline( attribs );
+                break;
+            case "ins":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.INSERT );
+                sink.inline( attribs );
+                break;
+            case "del":
+                attribs.addAttributes( SinkEventAttributeSet.Semantics.DELETE );
+                sink.inline( attribs );
+                break;
+            case "p":
+                handlePStart( sink, attribs );
+                break;
+            case "div":
+                handleDivStart( parser, attribs, sink );
+                break;
+            case "pre":
+                handlePreStart( attribs, sink );
+                break;
+            case "ul":
+                sink.list( attribs );
+                break;
+            case "ol":
+                handleOLStart( parser, sink, attribs );
+                break;
+            case "li":
+                handleLIStart( sink, attribs );
+                break;
+            case "dl":
+                sink.definitionList( attribs );
+                break;
+            case "dt":
+                if ( hasDefinitionListItem )
+                {
+                    // close previous listItem
+                    sink.definitionListItem_();
+                }
                 sink.definitionListItem( attribs );
-            }
-            sink.definition( attribs );
-        }
-        else if ( ( parser.getName().equals( HtmlMarkup.FIGURE.toString() ) ) )
-        {
-            sink.figure( attribs );
-        }
-        else if ( ( parser.getName().equals( HtmlMarkup.FIGCAPTION.toString() ) ) )
-        {
-            sink.figureCaption( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.A.toString() ) )
-        {
-            handleAStart( parser, sink, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.TABLE.toString() ) )
-        {
-            handleTableStart( sink, attribs, parser );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.TR.toString() ) )
-        {
-            sink.tableRow( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.TH.toString() ) )
-        {
-            sink.tableHeaderCell( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.TD.toString() ) )
-        {
-            sink.tableCell( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.CAPTION.toString() ) )
-        {
-            sink.tableCaption( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.BR.toString() ) )
-        {
-            sink.lineBreak( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.WBR.toString() ) )
-        {
-            sink.lineBreakOpportunity( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.HR.toString() ) )
-        {
-            sink.horizontalRule( attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.IMG.toString() ) )
-        {
-            handleImgStart( parser, sink, attribs );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SCRIPT.toString() )
-            || parser.getName().equals( HtmlMarkup.STYLE.toString() ) )
-        {
-            handleUnknown( parser, sink, TAG_TYPE_START );
-            scriptBlock = true;
-        }
-        else
-        {
-            visited = false;
+                hasDefinitionListItem = true;
+                sink.definedTerm( attribs );
+                break;
+            case "dd":
+                if ( !hasDefinitionListItem )
+                {
+                    sink.definitionListItem( attribs );
+                }
+                sink.definition( attribs );
+                break;
+            case "figure":
+                sink.figure( attribs );
+                break;
+            case "figcaption":
+                sink.figureCaption( attribs );
+                break;
+            case "a":
+                handleAStart( parser, sink, attribs );
+                break;
+            case "table":
+                handleTableStart( sink, attribs, parser );
+                break;
+            case "tr":
+                sink.tableRow( attribs );
+                break;
+            case "th":
+                sink.tableHeaderCell( attribs );
+                break;
+            case "td":
+                sink.tableCell( attribs );
+                break;
+            case "caption":
+                sink.tableCaption( attribs );
+                break;
+            case "br":
+                sink.lineBreak( attribs );
+                break;
+            case "wbr":
+                sink.lineBreakOpportunity( attribs );
+                break;
+            case "hr":
+                sink.horizontalRule( attribs );
+                break;
+            case "img":
+                handleImgStart( parser, sink, attribs );
+                break;
+            case "script":
+            case "style":
+                handleUnknown( parser, sink, TAG_TYPE_START );
+                scriptBlock = true;
+                break;
+            default:
+                visited = false;
         }
 
         return visited;
@@ -453,262 +412,151 @@ public class Xhtml5BaseParser
     {
         boolean visited = true;
 
-        if ( parser.getName().equals( HtmlMarkup.P.toString() ) )
-        {
-            sink.paragraph_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DIV.toString() ) )
-        {
-            handleDivEnd( sink );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.PRE.toString() ) )
-        {
-            verbatim_();
-
-            sink.verbatim_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.UL.toString() ) )
-        {
-            sink.list_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.OL.toString() ) )
-        {
-            sink.numberedList_();
-            orderedListDepth--;
-        }
-        else if ( parser.getName().equals( HtmlMarkup.LI.toString() ) )
-        {
-            handleListItemEnd( sink );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DL.toString() ) )
-        {
-            if ( hasDefinitionListItem )
-            {
+        switch ( parser.getName() )
+        {
+            case "p":
+                sink.paragraph_();
+                break;
+            case "div":
+                handleDivEnd( sink );
+                break;
+            case "pre":
+                verbatim_();
+
+                sink.verbatim_();
+                break;
+            case "ul":
+                sink.list_();
+                break;
+            case "ol":
+                sink.numberedList_();
+                orderedListDepth--;
+                break;
+            case "li":
+                handleListItemEnd( sink );
+                break;
+            case "dl":
+                if ( hasDefinitionListItem )
+                {
+                    sink.definitionListItem_();
+                    hasDefinitionListItem = false;
+                }
+                sink.definitionList_();
+                break;
+            case "dt":
+                sink.definedTerm_();
+                break;
+            case "dd":
+                sink.definition_();
                 sink.definitionListItem_();
                 hasDefinitionListItem = false;
-            }
-            sink.definitionList_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DT.toString() ) )
-        {
-            sink.definedTerm_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DD.toString() ) )
-        {
-            sink.definition_();
-            sink.definitionListItem_();
-            hasDefinitionListItem = false;
-        }
-        else if ( ( parser.getName().equals( HtmlMarkup.FIGURE.toString() ) ) )
-        {
-            sink.figure_();
-        }
-        else if ( ( parser.getName().equals( HtmlMarkup.FIGCAPTION.toString() ) ) )
-        {
-            sink.figureCaption_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.A.toString() ) )
-        {
-            handleAEnd( sink );
-        }
-
-        else if ( parser.getName().equals( HtmlMarkup.EM.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.STRONG.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SMALL.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.S.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.CITE.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.Q.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DFN.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.ABBR.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.I.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.B.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.CODE.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.VAR.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SAMP.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.KBD.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SUP.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SUB.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.U.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.MARK.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RUBY.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RB.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RT.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RTC.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.RP.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.BDI.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.BDO.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SPAN.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.INS.toString() ) )
-        {
-            sink.inline_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.DEL.toString() ) )
-        {
-            sink.inline_();
-        }
-
-        // ----------------------------------------------------------------------
-        // Tables
-        // ----------------------------------------------------------------------
-
-        else if ( parser.getName().equals( HtmlMarkup.TABLE.toString() ) )
-        {
-            sink.tableRows_();
-
-            sink.table_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.TR.toString() ) )
-        {
-            sink.tableRow_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.TH.toString() ) )
-        {
-            sink.tableHeaderCell_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.TD.toString() ) )
-        {
-            sink.tableCell_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.CAPTION.toString() ) )
-        {
-            sink.tableCaption_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.ARTICLE.toString() ) )
-        {
-            sink.article_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.NAV.toString() ) )
-        {
-            sink.navigation_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.ASIDE.toString() ) )
-        {
-            sink.sidebar_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SECTION.toString() ) )
-        {
-            handleSectionEnd( sink );
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H2.toString() ) )
-        {
-            sink.sectionTitle1_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H3.toString() ) )
-        {
-            sink.sectionTitle2_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H4.toString() ) )
-        {
-            sink.sectionTitle3_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H5.toString() ) )
-        {
-            sink.sectionTitle4_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.H6.toString() ) )
-        {
-            sink.sectionTitle5_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.HEADER.toString() ) )
-        {
-            sink.header_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.MAIN.toString() ) )
-        {
-            sink.content_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.FOOTER.toString() ) )
-        {
-            sink.footer_();
-        }
-        else if ( parser.getName().equals( HtmlMarkup.SCRIPT.toString() )
-            || parser.getName().equals( HtmlMarkup.STYLE.toString() ) )
-        {
-            handleUnknown( parser, sink, TAG_TYPE_END );
-
-            scriptBlock = false;
-        }
-        else
-        {
-            visited = false;
+                break;
+            case "figure":
+                sink.figure_();
+                break;
+            case "figcaption":
+                sink.figureCaption_();
+                break;
+            case "a":
+                handleAEnd( sink );
+                break;
+
+            case "em":
+            case "strong":
+            case "small":
+            case "s":
+            case "cite":
+            case "q":
+            case "dfn":
+            case "abbr":
+            case "i":
+            case "b":
+            case "code":
+            case "var":
+            case "samp":
+            case "kbd":
+            case "sup":
+            case "sub":
+            case "u":
+            case "mark":
+            case "ruby":
+            case "rb":
+            case "rt":
+            case "rtc":
+            case "rp":
+            case "bdi":
+            case "bdo":
+            case "span":
+            case "ins":
+            case "del":
+                sink.inline_();
+                break;
+
+            // ----------------------------------------------------------------------
+            // Tables
+            // ----------------------------------------------------------------------
+
+            case "table":
+                sink.tableRows_();
+
+                sink.table_();
+                break;
+            case "tr":
+                sink.tableRow_();
+                break;
+            case "th":
+                sink.tableHeaderCell_();
+                break;
+            case "td":
+                sink.tableCell_();
+                break;
+            case "caption":
+                sink.tableCaption_();
+                break;
+            case "article":
+                sink.article_();
+                break;
+            case "nav":
+                sink.navigation_();
+                break;
+            case "aside":
+                sink.sidebar_();
+                break;
+            case "section":
+                handleSectionEnd( sink );
+                break;
+            case "h2":
+                sink.sectionTitle1_();
+                break;
+            case "h3":
+                sink.sectionTitle2_();
+                break;
+            case "h4":
+                sink.sectionTitle3_();
+                break;
+            case "h5":
+                sink.sectionTitle4_();
+                break;
+            case "h6":
+                sink.sectionTitle5_();
+                break;
+            case "header":
+                sink.header_();
+                break;
+            case "main":
+                sink.content_();
+                break;
+            case "footer":
+                sink.footer_();
+                break;
+            case "script":
+            case "style":
+                handleUnknown( parser, sink, TAG_TYPE_END );
+
+                scriptBlock = false;
+                break;
+            default:
+                visited = false;
         }
 
         return visited;
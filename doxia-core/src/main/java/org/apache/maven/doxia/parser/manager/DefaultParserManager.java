@@ -21,6 +21,7 @@ package org.apache.maven.doxia.parser.manager;
 
 import javax.inject.Inject;
 import javax.inject.Named;
+import javax.inject.Provider;
 import javax.inject.Singleton;
 
 import org.apache.maven.doxia.parser.Parser;
@@ -29,6 +30,7 @@ import java.util.Map;
 
 /**
  * Simple implementation of the <code>ParserManager</code> interface.
+ * Parsers keep per-document state, so a new parser instance is provided on each lookup.
  *
  * @author <a href="mailto:jason@maven.org">Jason van Zyl</a>
  * @since 1.0
@@ -40,19 +42,19 @@ public class DefaultParserManager
 {
     @SuppressWarnings( "MismatchedQueryAndUpdateOfCollection" )
     @Inject
-    private Map<String, Parser> parsers;
+    private Map<String, Provider<Parser>> parsers;
 
     /** {@inheritDoc} */
     public Parser getParser( String id )
         throws ParserNotFoundException
     {
-        Parser parser = parsers.get( id );
+        Provider<Parser> parser = parsers.get( id );
 
         if ( parser == null )
         {
             throw new ParserNotFoundException( "Cannot find parser with id = " + id );
         }
 
-        return parser;
+        return parser.get();
     }
 }
@@ -32,9 +32,10 @@ public interface ParserManager
 
     /**
      * Returns the parser that corresponds to the given id.
+     * Parsers are not thread-safe: each call returns a new instance, that should not be shared between threads.
      *
      * @param id The identifier.
-     * @return The corresponding parser.
+     * @return A new instance of the corresponding parser.
      * @throws org.apache.maven.doxia.parser.manager.ParserNotFoundException if no parser could be found
      * for the given id.
      */
@@ -76,6 +76,45 @@ public abstract class AbstractSink
         return buffer.toString();
     }
 
+     /**
+      * Copies the given text into the given buffer, replacing all occurrences of
+      * '\n', '\r' and '\r\n' with the system EOL, as {@link #unifyEOLs(String)} does
+      * but without creating any String.
+      *
+      * @param text the text to scan, not null.
+      * @param buffer the buffer to copy to, not null. It must hold at least
+      *      <code>text.length() * EOL.length()</code> characters.
+      * @return the number of characters written to the buffer.
+      * @since 2.0.0
+      */
+     protected static int unifyEOLs( CharSequence text, char[] buffer )
+     {
+        int length = text.length();
+        int count = 0;
+
+        for ( int i = 0; i < length; i++ )
+        {
+            char c = text.charAt( i );
+
+            if ( c == '\r' || c == '\n' )
+            {
+                if ( c == '\r' && ( i + 1 ) < length && text.charAt( i + 1 ) == '\n' )
+                {
+                    i++;
+                }
+
+                EOL.getChars( 0, EOL.length(), buffer, count );
+                count += EOL.length();
+            }
+            else
+            {
+                buffer[count++] = c;
+            }
+        }
+
+        return count;
+     }
+
      /**
       * This is called in {@link #head()} or in {@link #close()}, and can be used
       * to set the sink into a clear state so it can be re-used.
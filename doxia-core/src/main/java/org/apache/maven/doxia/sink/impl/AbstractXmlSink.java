@@ -19,6 +19,9 @@ package org.apache.maven.doxia.sink.impl;
  * under the License.
  */
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
 import java.util.Objects;
 
 import javax.swing.text.MutableAttributeSet;
@@ -43,6 +46,34 @@ public abstract class AbstractXmlSink
 
     private boolean insertNewline = true;
 
+    /** The class declaring the {@link #write(String)} method of every sink class. */
+    private static final ClassValue<Class<?>> WRITE_DECLARING_CLASS = new ClassValue<Class<?>>()
+    {
+        @Override
+        protected Class<?> computeValue( Class<?> type )
+        {
+            for ( Class<?> c = type; c != null; c = c.getSuperclass() )
+            {
+                try
+                {
+                    c.getDeclaredMethod( "write", String.class );
+                    return c;
+                }
+                catch ( NoSuchMethodException e )
+                {
+                    // look in the superclass
+                }
+            }
+            return null;
+        }
+    };
+
+    /** Reused to build every tag, see {@link #writeMarkup(CharSequence)}. */
+    private final StringBuilder tagBuffer = new StringBuilder();
+
+    /** Reused to copy markup to the output, see {@link #writeUnifiedEOLs(CharSequence, Writer)}. */
+    private char[] eolBuffer = new char[128];
+
     /**
      * <p>Setter for the field <code>insertNewline</code>.</p>
      *
@@ -118,7 +149,8 @@ public abstract class AbstractXmlSink
     {
         Objects.requireNonNull( t, "t cannot be null" );
 
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = tagBuffer;
+        sb.setLength( 0 );
 
         if ( insertNewline && t.isBlock() && !firstTag )
         {
@@ -135,7 +167,7 @@ public abstract class AbstractXmlSink
 
         sb.append( t.toString() );
 
-        sb.append( SinkUtils.getAttributeString( att ) );
+        SinkUtils.appendAttributes( sb, att );
 
         if ( isSimpleTag )
         {
@@ -144,7 +176,7 @@ public abstract class AbstractXmlSink
 
         sb.append( GREATER_THAN );
 
-        write( sb.toString() );
+        writeMarkup( sb );
     }
 
     /**
@@ -166,7 +198,8 @@ public abstract class AbstractXmlSink
     {
         Objects.requireNonNull( t, "t cannot be null" );
 
-        StringBuilder sb = new StringBuilder();
+        StringBuilder sb = tagBuffer;
+        sb.setLength( 0 );
         sb.append( LESS_THAN );
         sb.append( SLASH );
 
@@ -178,7 +211,7 @@ public abstract class AbstractXmlSink
         sb.append( t.toString() );
         sb.append( GREATER_THAN );
 
-        write( sb.toString() );
+        writeMarkup( sb );
     }
 
     /**
@@ -210,6 +243,63 @@ public abstract class AbstractXmlSink
         writeStartTag ( t, att, true );
     }
 
+    /**
+     * Writes the markup of a tag to the sink. The given buffer is reused for the next tag, so it must not be
+     * kept once this method returns.
+     * <br>
+     * By default this calls {@link #write(String)}. Sinks which can copy the characters straight into their
+     * output should override it, so that no intermediate String is created for every tag.
+     *
+     * @param markup the markup to write, not null.
+     * @since 2.0.0
+     */
+    protected void writeMarkup( CharSequence markup )
+    {
+        write( markup.toString() );
+    }
+
+    /**
+     * Copies the given markup to the given writer, unifying its EOLs through a reused buffer so that no
+     * intermediate String is created.
+     *
+     * @param markup the markup to write, not null.
+     * @param out the writer to copy to, not null.
+     * @since 2.0.0
+     */
+    protected void writeUnifiedEOLs( CharSequence markup, Writer out )
+    {
+        int capacity = markup.length() * EOL.length();
+        if ( eolBuffer.length < capacity )
+        {
+            eolBuffer = new char[capacity];
+        }
+
+        int length = unifyEOLs( markup, eolBuffer );
+
+        try
+        {
+            out.write( eolBuffer, 0, length );
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * Tells if {@link #write(String)} is overridden by a subclass of the given class. Such a sink expects to
+     * receive all its output through <code>write(String)</code>, so the given class must not write to its output
+     * directly.
+     *
+     * @param type the class whose <code>write(String)</code> writes directly to the output.
+     * @return true if this sink uses the <code>write(String)</code> method of a subclass of the given class.
+     * @since 2.0.0
+     */
+    protected boolean isWriteOverridden( Class<? extends AbstractXmlSink> type )
+    {
+        return WRITE_DECLARING_CLASS.get( getClass() ) != type;
+    }
+
     /**
      * Write a text to the sink.
      *
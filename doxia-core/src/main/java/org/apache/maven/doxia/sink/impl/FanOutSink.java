@@ -0,0 +1,1690 @@
+package org.apache.maven.doxia.sink.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.util.List;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+
+/**
+ * A Sink that sends every event to several Sinks, in the order they were given, for instance to render a page
+ * and index it in one pass. Unlike the proxy of {@link PipelineSink}, each event is a plain method call on every
+ * Sink, without reflection nor boxing of the arguments.
+ *
+ * @since 2.0.0
+ */
+public class FanOutSink
+    implements Sink
+{
+    private final Sink[] sinks;
+
+    /**
+     * Constructs a FanOutSink for the given Sinks.
+     *
+     * @param sinks the Sinks that receive the events, not null.
+     */
+    public FanOutSink( Sink... sinks )
+    {
+        this.sinks = sinks.clone();
+    }
+
+    /**
+     * Constructs a FanOutSink for a given List of Sinks. The List is copied: Sinks added to it later
+     * receive no event.
+     *
+     * @param sinks A List of Sinks, not null.
+     */
+    public FanOutSink( List<Sink> sinks )
+    {
+        this.sinks = sinks.toArray( new Sink[0] );
+    }
+
+    /**
+     * Replaces one of the Sinks, so that it receives the next events instead.
+     *
+     * @param index the position of the Sink, in the order they were given.
+     * @param sink the Sink that receives the next events, not null.
+     */
+    protected void setSink( int index, Sink sink )
+    {
+        sinks[index] = sink;
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void address()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.address();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void address( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.address( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void address_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.address_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void anchor( String name )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.anchor( name );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void anchor( String name, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.anchor( name, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void anchor_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.anchor_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void article()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.article();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void article( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.article( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void article_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.article_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void author()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.author();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void author( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.author( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void author_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.author_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void blockquote()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.blockquote();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void blockquote( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.blockquote( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void blockquote_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.blockquote_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void body()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.body();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void body( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.body( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void body_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.body_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bold()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.bold();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bold_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.bold_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void close()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.close();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void comment( String comment )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.comment( comment );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void content()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.content();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void content( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.content( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void content_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.content_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void data( String value )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.data( value );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void data( String value, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.data( value, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void data_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.data_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void date()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.date();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void date( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.date( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void date_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.date_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definedTerm()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definedTerm();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definedTerm( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definedTerm( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definedTerm_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definedTerm_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definition()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definition();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definition( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definition( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionList()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definitionList();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionList( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definitionList( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionListItem()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definitionListItem();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionListItem( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definitionListItem( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionListItem_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definitionListItem_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionList_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definitionList_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definition_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.definition_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void division()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.division();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void division( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.division( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void division_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.division_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figure()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.figure();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figure( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.figure( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureCaption()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.figureCaption();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureCaption( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.figureCaption( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureCaption_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.figureCaption_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureGraphics( String name )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.figureGraphics( name );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureGraphics( String src, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.figureGraphics( src, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figure_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.figure_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void flush()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.flush();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void footer()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.footer();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void footer( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.footer( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void footer_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.footer_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void head()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.head();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void head( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.head( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void head_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.head_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void header()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.header();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void header( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.header( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void header_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.header_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void horizontalRule()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.horizontalRule();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void horizontalRule( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.horizontalRule( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void inline()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.inline();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void inline( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.inline( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void inline_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.inline_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void italic()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.italic();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void italic_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.italic_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lineBreak()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.lineBreak();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lineBreak( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.lineBreak( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lineBreakOpportunity()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.lineBreakOpportunity();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lineBreakOpportunity( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.lineBreakOpportunity( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void link( String name )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.link( name );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void link( String name, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.link( name, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void link_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.link_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void list()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.list();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void list( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.list( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listItem()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.listItem();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listItem( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.listItem( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listItem_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.listItem_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void list_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.list_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void monospaced()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.monospaced();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void monospaced_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.monospaced_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void navigation()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.navigation();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void navigation( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.navigation( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void navigation_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.navigation_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nonBreakingSpace()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.nonBreakingSpace();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedList( int numbering )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.numberedList( numbering );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedList( int numbering, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.numberedList( numbering, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedListItem()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.numberedListItem();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedListItem( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.numberedListItem( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedListItem_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.numberedListItem_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedList_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.numberedList_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void pageBreak()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.pageBreak();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void paragraph()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.paragraph();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void paragraph( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.paragraph( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void paragraph_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.paragraph_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void rawText( String text )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.rawText( text );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section( int level, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section( level, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section1()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section1();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section1_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section1_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section2()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section2();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section2_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section2_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section3()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section3();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section3_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section3_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section4()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section4();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section4_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section4_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section5()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section5();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section5_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section5_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section6()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section6();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section6_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section6_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle( int level, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle( level, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle1()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle1();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle1_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle1_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle2()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle2();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle2_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle2_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle3()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle3();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle3_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle3_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle4()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle4();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle4_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle4_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle5()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle5();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle5_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle5_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle6()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle6();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle6_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle6_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle_( int level )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sectionTitle_( level );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section_( int level )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.section_( level );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sidebar()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sidebar();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sidebar( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sidebar( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sidebar_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.sidebar_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void table()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.table();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void table( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.table( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCaption()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableCaption();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCaption( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableCaption( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCaption_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableCaption_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCell()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableCell();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCell( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableCell( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCell_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableCell_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableHeaderCell()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableHeaderCell();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableHeaderCell( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableHeaderCell( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableHeaderCell_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableHeaderCell_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRow()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableRow();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRow( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableRow( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRow_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableRow_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRows( int[] justification, boolean grid )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableRows( justification, grid );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRows_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.tableRows_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void table_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.table_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void text( String text )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.text( text );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void text( String text, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.text( text, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void time( String datetime )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.time( datetime );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void time( String datetime, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.time( datetime, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void time_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.time_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void title()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.title();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void title( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.title( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void title_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.title_();
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unknown( String name, Object[] requiredParams, SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.unknown( name, requiredParams, attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void verbatim( SinkEventAttributes attributes )
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.verbatim( attributes );
+        }
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void verbatim_()
+    {
+        for ( Sink sink : sinks )
+        {
+            sink.verbatim_();
+        }
+    }
+}
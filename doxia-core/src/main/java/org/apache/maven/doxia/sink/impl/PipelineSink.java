@@ -22,7 +22,6 @@ package org.apache.maven.doxia.sink.impl;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
-import java.lang.reflect.Proxy;
 
 import java.util.List;
 
@@ -82,15 +81,15 @@ public class PipelineSink
     }
 
     /**
-     * Returns an instance of a PipelineSink as a Sink.
+     * Returns a Sink that invokes every method on the given List of Sinks.
+     * Since 2.0.0, this is a {@link FanOutSink} rather than a reflective proxy: the List is copied, so Sinks
+     * added to it later receive no event.
      *
      * @param pipeline A List of Sinks.
      * @return a {@link org.apache.maven.doxia.sink.Sink} object.
      */
     public static Sink newInstance( List<Sink> pipeline )
     {
-        return (Sink) Proxy.newProxyInstance( PipelineSink.class.getClassLoader(),
-                                              new Class<?>[]{Sink.class},
-                                              new PipelineSink( pipeline ) );
+        return new FanOutSink( pipeline );
     }
 }
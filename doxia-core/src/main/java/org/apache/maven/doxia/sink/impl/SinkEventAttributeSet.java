@@ -19,17 +19,21 @@ package org.apache.maven.doxia.sink.impl;
  * under the License.
  */
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
-import java.util.LinkedHashMap;
+import java.util.HashMap;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 
 import javax.swing.text.AttributeSet;
 
 import org.apache.maven.doxia.sink.SinkEventAttributes;
 
 /**
- * Implementation of MutableAttributeSet using a LinkedHashMap.
+ * Implementation of MutableAttributeSet using parallel arrays of names and values, that keep the insertion order.
+ * Sets are usually small, so names are looked up by a linear scan; larger sets get a hash index.
  *
  * @author ltheussl
  * @since 1.1
@@ -37,6 +41,13 @@ import org.apache.maven.doxia.sink.SinkEventAttributes;
 public class SinkEventAttributeSet
     implements SinkEventAttributes, Cloneable
 {
+    /**
+     * An unmodifiable attribute set containing no attribute.
+     *
+     * @since 2.0.0
+     */
+    public static final SinkEventAttributes EMPTY;
+
     /**
      * An unmodifiable attribute set containing only an underline attribute.
      */
@@ -95,6 +106,8 @@ public class SinkEventAttributeSet
 
     static
     {
+        EMPTY = new SinkEventAttributeSet( 0 ).unmodifiable();
+
         UNDERLINE = new SinkEventAttributeSet( DECORATION, "underline" ).unmodifiable();
         OVERLINE = new SinkEventAttributeSet( DECORATION, "overline" ).unmodifiable();
         LINETHROUGH = new SinkEventAttributeSet( DECORATION, "line-through" ).unmodifiable();
@@ -110,7 +123,31 @@ public class SinkEventAttributeSet
         JUSTIFY = new SinkEventAttributeSet( ALIGN, "justify" ).unmodifiable();
     }
 
-    private Map<String, Object> attribs;
+    /** Above this number of attributes, lookups go through {@link #index} instead of a linear scan. */
+    private static final int LINEAR_SCAN_SIZE = 8;
+
+    private static final String[] NO_NAMES = new String[0];
+
+    private static final Object[] NO_VALUES = new Object[0];
+
+    /** The attribute names, in insertion order. */
+    private String[] names;
+
+    /** The attribute values, at the same positions as their names. */
+    private Object[] values;
+
+    private int size;
+
+    /**
+     * The positions of the names, only for large sets. Kept up to date by the changes of the set, so that a lookup
+     * never modifies it: sets such as the unmodifiable constants are read by several threads.
+     */
+    private Map<String, Integer> index;
+
+    private boolean unmodifiable;
+
+    /** True if names and values are shared with another set, and have to be copied before any change. */
+    private boolean shared;
 
     private AttributeSet resolveParent;
 
@@ -129,7 +166,8 @@ public class SinkEventAttributeSet
      */
     public SinkEventAttributeSet( int size )
     {
-        attribs = new LinkedHashMap<>( size );
+        names = size == 0 ? NO_NAMES : new String[size];
+        values = size == 0 ? NO_VALUES : new Object[size];
     }
 
     /**
@@ -148,11 +186,12 @@ public class SinkEventAttributeSet
             throw new IllegalArgumentException( "Missing attribute!" );
         }
 
-        attribs = new LinkedHashMap<>( n / 2 );
+        names = new String[n / 2];
+        values = new Object[n / 2];
 
         for ( int i = 0; i < n; i += 2 )
         {
-            attribs.put( attributes[i], attributes[i + 1] );
+            put( attributes[i], attributes[i + 1] );
         }
     }
 
@@ -164,7 +203,7 @@ public class SinkEventAttributeSet
      */
     public SinkEventAttributeSet( AttributeSet attributes )
     {
-        attribs = new LinkedHashMap<>( attributes.getAttributeCount() );
+        this( attributes.getAttributeCount() );
 
         Enumeration<?> names = attributes.getAttributeNames();
 
@@ -172,7 +211,7 @@ public class SinkEventAttributeSet
         {
             Object name = names.nextElement();
 
-            attribs.put( name.toString(), attributes.getAttribute( name ) );
+            put( name.toString(), attributes.getAttribute( name ) );
         }
     }
 
@@ -186,11 +225,36 @@ public class SinkEventAttributeSet
      */
     public SinkEventAttributeSet unmodifiable()
     {
-        this.attribs = Collections.unmodifiableMap( attribs );
+        this.unmodifiable = true;
 
         return this;
     }
 
+    /**
+     * Returns a modifiable copy of this AttributeSet that shares its names and values until one of the two sets
+     * is modified, so that copying attributes that end up unchanged costs nothing. The resolve parent is not
+     * copied.
+     *
+     * @return a copy-on-write copy of this AttributeSet.
+     */
+    SinkEventAttributeSet copyOnWrite()
+    {
+        SinkEventAttributeSet copy = new SinkEventAttributeSet( 0 );
+        copy.names = names;
+        copy.values = values;
+        copy.size = size;
+        copy.index = index;
+        copy.shared = true;
+
+        if ( !unmodifiable )
+        {
+            // unmodifiable sets never change their arrays, and may be constants used by several threads
+            shared = true;
+        }
+
+        return copy;
+    }
+
     /**
      * Checks whether the set of attribs is empty.
      *
@@ -198,7 +262,7 @@ public class SinkEventAttributeSet
      */
     public boolean isEmpty()
     {
-        return attribs.isEmpty();
+        return size == 0;
     }
 
     /**
@@ -208,13 +272,13 @@ public class SinkEventAttributeSet
      */
     public int getAttributeCount()
     {
-        return attribs.size();
+        return size;
     }
 
     /** {@inheritDoc} */
     public boolean isDefined( Object attrName )
     {
-        return attribs.containsKey( attrName );
+        return indexOf( attrName ) >= 0;
     }
 
     /** {@inheritDoc} */
@@ -241,13 +305,37 @@ public class SinkEventAttributeSet
      */
     public Enumeration<String> getAttributeNames()
     {
-        return Collections.enumeration( attribs.keySet() );
+        if ( size == 0 )
+        {
+            return Collections.emptyEnumeration();
+        }
+
+        return new Enumeration<String>()
+        {
+            private int next;
+
+            public boolean hasMoreElements()
+            {
+                return next < size;
+            }
+
+            public String nextElement()
+            {
+                if ( next >= size )
+                {
+                    throw new NoSuchElementException();
+                }
+
+                return names[next++];
+            }
+        };
     }
 
     /** {@inheritDoc} */
     public Object getAttribute( Object key  )
     {
-        Object value = attribs.get( key  );
+        int i = indexOf( key );
+        Object value = ( i < 0 ) ? null : values[i];
 
         if ( value == null )
         {
@@ -291,7 +379,9 @@ public class SinkEventAttributeSet
      */
     public void addAttribute( Object name, Object value )
     {
-        attribs.put( name.toString(), value );
+        checkModifiable();
+
+        put( name.toString(), value );
     }
 
     /** {@inheritDoc} */
@@ -315,7 +405,23 @@ public class SinkEventAttributeSet
     /** {@inheritDoc} */
     public void removeAttribute( Object name )
     {
-        attribs.remove( name );
+        checkModifiable();
+
+        int i = indexOf( name );
+
+        if ( i >= 0 )
+        {
+            unshare();
+
+            int moved = size - i - 1;
+            System.arraycopy( names, i + 1, names, i, moved );
+            System.arraycopy( values, i + 1, values, i, moved );
+
+            size--;
+            names[size] = null;
+            values[size] = null;
+            reindex();
+        }
     }
 
     /** {@inheritDoc} */
@@ -340,7 +446,21 @@ public class SinkEventAttributeSet
         }
         else if ( attributes == this )
         {
-            attribs.clear();
+            checkModifiable();
+
+            if ( shared )
+            {
+                names = NO_NAMES;
+                values = NO_VALUES;
+                shared = false;
+            }
+            else
+            {
+                Arrays.fill( names, 0, size, null );
+                Arrays.fill( values, 0, size, null );
+            }
+            size = 0;
+            index = null;
         }
         else
         {
@@ -379,8 +499,11 @@ public class SinkEventAttributeSet
     @Override
     public Object clone()
     {
-        SinkEventAttributeSet attr = new SinkEventAttributeSet( attribs.size() );
-        attr.attribs = new LinkedHashMap<>( attribs );
+        SinkEventAttributeSet attr = new SinkEventAttributeSet( 0 );
+        attr.names = Arrays.copyOf( names, size );
+        attr.values = Arrays.copyOf( values, size );
+        attr.size = size;
+        attr.index = ( index == null ) ? null : new HashMap<>( index );
 
         if ( resolveParent != null )
         {
@@ -396,7 +519,14 @@ public class SinkEventAttributeSet
     {
         final int parentHash = ( resolveParent == null ? 0 : resolveParent.hashCode() );
 
-        return attribs.hashCode() + parentHash;
+        // same as the hashCode of a Map holding the attributes
+        int hash = 0;
+        for ( int i = 0; i < size; i++ )
+        {
+            hash += names[i].hashCode() ^ Objects.hashCode( values[i] );
+        }
+
+        return hash + parentHash;
     }
 
     /** {@inheritDoc} */
@@ -434,6 +564,104 @@ public class SinkEventAttributeSet
         return s.toString();
     }
 
+    /**
+     * @return the position of the given name, or -1 if it is not defined.
+     */
+    private int indexOf( Object name )
+    {
+        if ( index != null )
+        {
+            Integer i = index.get( name );
+            return ( i == null ) ? -1 : i;
+        }
+
+        for ( int i = 0; i < size; i++ )
+        {
+            if ( names[i] == name || names[i].equals( name ) )
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Sets the value of the given name, keeping its position if it is already defined.
+     */
+    private void put( String name, Object value )
+    {
+        unshare();
+
+        int i = indexOf( name );
+
+        if ( i >= 0 )
+        {
+            values[i] = value;
+            return;
+        }
+
+        if ( size == names.length )
+        {
+            int capacity = Math.max( 4, size * 2 );
+            names = Arrays.copyOf( names, capacity );
+            values = Arrays.copyOf( values, capacity );
+        }
+
+        names[size] = name;
+        values[size] = value;
+
+        if ( index != null )
+        {
+            index.put( name, size );
+        }
+
+        size++;
+
+        if ( size == LINEAR_SCAN_SIZE + 1 )
+        {
+            reindex();
+        }
+    }
+
+    /**
+     * Builds the index of the names if the set is large, or drops it.
+     */
+    private void reindex()
+    {
+        if ( size > LINEAR_SCAN_SIZE )
+        {
+            index = new HashMap<>( size * 2 );
+            for ( int i = 0; i < size; i++ )
+            {
+                index.put( names[i], i );
+            }
+        }
+        else
+        {
+            index = null;
+        }
+    }
+
+    private void unshare()
+    {
+        if ( shared )
+        {
+            names = names.clone();
+            values = values.clone();
+            index = ( index == null ) ? null : new HashMap<>( index );
+            shared = false;
+        }
+    }
+
+    private void checkModifiable()
+    {
+        if ( unmodifiable )
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     /**
      * Attribute sets for the semantic attribute.
      */
@@ -0,0 +1,592 @@
+package org.apache.maven.doxia.sink.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+
+/**
+ * The binary format written by {@link SinkEventRecorder} and read by {@link SinkEventPlayer}.
+ * <p>
+ * A recording starts with the four bytes <code>DXEV</code> and the format version. Then every event is written
+ * as its opcode followed by its arguments, and the recording ends with the opcode {@link #END}:
+ * </p>
+ * <ul>
+ * <li>opcodes, lengths and counts are unsigned varints: 7 bits per byte, low bits first, the high bit set on
+ * every byte but the last. The opcodes of the most frequent events are below 128, so they take one byte,</li>
+ * <li><code>int</code> arguments are zigzag encoded varints and <code>boolean</code> arguments are 0 or 1,</li>
+ * <li>a String is a reference into a string table that both sides build as they go: 0 is <code>null</code>,
+ * 1 is followed by the length and the UTF-8 bytes of a new String, and <code>n</code> &gt; 1 is the entry
+ * <code>n - 2</code> of the table. New Strings of at most {@link #MAX_SHARED_LENGTH} chars are added to the table,
+ * longer ones, which are mostly text, are not. A String takes at most {@link #MAX_STRING_LENGTH} bytes,</li>
+ * <li>an <code>int[]</code> is its length plus one, 0 being <code>null</code>, followed by the elements,</li>
+ * <li>attributes are their count plus one, 0 being <code>null</code>, followed by the name and value
+ * of each attribute. Arrays and attributes have at most {@link #MAX_COUNT} elements,</li>
+ * <li>a value, i.e. an attribute value or a parameter of
+ * {@link Sink#unknown(String, Object[], SinkEventAttributes) unknown()}, is a type tag followed by the value.
+ * Values of other types are written as their String representation.</li>
+ * </ul>
+ *
+ * @since 2.0.0
+ */
+final class SinkEventFormat
+{
+    /** The first bytes of every recording. */
+    static final byte[] MAGIC = { 'D', 'X', 'E', 'V' };
+
+    /** The version of the format, written after the magic bytes. */
+    static final int VERSION = 1;
+
+    /** The longest String that is added to the string table. */
+    static final int MAX_SHARED_LENGTH = 64;
+
+    /** The largest length of the UTF-8 bytes of a String. */
+    static final int MAX_STRING_LENGTH = 256 * 1024 * 1024;
+
+    /** The largest count of attributes, or length of an array. */
+    static final int MAX_COUNT = 64 * 1024;
+
+    /** A String reference to <code>null</code>. */
+    static final int STRING_NULL = 0;
+
+    /** A String reference followed by a new String. */
+    static final int STRING_NEW = 1;
+
+    /** The String reference to the first entry of the string table. */
+    static final int STRING_TABLE = 2;
+
+    /** A null value. */
+    static final int VALUE_NULL = 0;
+
+    /** A String value. */
+    static final int VALUE_STRING = 1;
+
+    /** An Integer value. */
+    static final int VALUE_INTEGER = 2;
+
+    /** A Boolean value. */
+    static final int VALUE_BOOLEAN = 3;
+
+    /** An AttributeSet value, e.g. the value of the style attribute. */
+    static final int VALUE_ATTRIBUTES = 4;
+
+    /** An int[] value. */
+    static final int VALUE_INT_ARRAY = 5;
+
+    /** An Object[] value. */
+    static final int VALUE_ARRAY = 6;
+
+    /** The end of the recording. */
+    static final int END = 0;
+
+    /** {@link Sink#text(String)}. */
+    static final int TEXT = 1;
+
+    /** {@link Sink#text(String, SinkEventAttributes)}. */
+    static final int TEXT_ATTRIBUTES = 2;
+
+    /** {@link Sink#rawText(String)}. */
+    static final int RAW_TEXT = 3;
+
+    /** {@link Sink#paragraph()}. */
+    static final int PARAGRAPH = 4;
+
+    /** {@link Sink#paragraph(SinkEventAttributes)}. */
+    static final int PARAGRAPH_ATTRIBUTES = 5;
+
+    /** {@link Sink#paragraph_()}. */
+    static final int PARAGRAPH_END = 6;
+
+    /** {@link Sink#link(String)}. */
+    static final int LINK = 7;
+
+    /** {@link Sink#link(String, SinkEventAttributes)}. */
+    static final int LINK_ATTRIBUTES = 8;
+
+    /** {@link Sink#link_()}. */
+    static final int LINK_END = 9;
+
+    /** {@link Sink#inline()}. */
+    static final int INLINE = 10;
+
+    /** {@link Sink#inline(SinkEventAttributes)}. */
+    static final int INLINE_ATTRIBUTES = 11;
+
+    /** {@link Sink#inline_()}. */
+    static final int INLINE_END = 12;
+
+    /** {@link Sink#bold()}. */
+    static final int BOLD = 13;
+
+    /** {@link Sink#bold_()}. */
+    static final int BOLD_END = 14;
+
+    /** {@link Sink#italic()}. */
+    static final int ITALIC = 15;
+
+    /** {@link Sink#italic_()}. */
+    static final int ITALIC_END = 16;
+
+    /** {@link Sink#monospaced()}. */
+    static final int MONOSPACED = 17;
+
+    /** {@link Sink#monospaced_()}. */
+    static final int MONOSPACED_END = 18;
+
+    /** {@link Sink#lineBreak()}. */
+    static final int LINE_BREAK = 19;
+
+    /** {@link Sink#lineBreak(SinkEventAttributes)}. */
+    static final int LINE_BREAK_ATTRIBUTES = 20;
+
+    /** {@link Sink#nonBreakingSpace()}. */
+    static final int NON_BREAKING_SPACE = 21;
+
+    /** {@link Sink#tableRow()}. */
+    static final int TABLE_ROW = 22;
+
+    /** {@link Sink#tableRow(SinkEventAttributes)}. */
+    static final int TABLE_ROW_ATTRIBUTES = 23;
+
+    /** {@link Sink#tableRow_()}. */
+    static final int TABLE_ROW_END = 24;
+
+    /** {@link Sink#tableCell()}. */
+    static final int TABLE_CELL = 25;
+
+    /** {@link Sink#tableCell(SinkEventAttributes)}. */
+    static final int TABLE_CELL_ATTRIBUTES = 26;
+
+    /** {@link Sink#tableCell_()}. */
+    static final int TABLE_CELL_END = 27;
+
+    /** {@link Sink#tableHeaderCell()}. */
+    static final int TABLE_HEADER_CELL = 28;
+
+    /** {@link Sink#tableHeaderCell(SinkEventAttributes)}. */
+    static final int TABLE_HEADER_CELL_ATTRIBUTES = 29;
+
+    /** {@link Sink#tableHeaderCell_()}. */
+    static final int TABLE_HEADER_CELL_END = 30;
+
+    /** {@link Sink#listItem()}. */
+    static final int LIST_ITEM = 31;
+
+    /** {@link Sink#listItem(SinkEventAttributes)}. */
+    static final int LIST_ITEM_ATTRIBUTES = 32;
+
+    /** {@link Sink#listItem_()}. */
+    static final int LIST_ITEM_END = 33;
+
+    /** {@link Sink#numberedListItem()}. */
+    static final int NUMBERED_LIST_ITEM = 34;
+
+    /** {@link Sink#numberedListItem(SinkEventAttributes)}. */
+    static final int NUMBERED_LIST_ITEM_ATTRIBUTES = 35;
+
+    /** {@link Sink#numberedListItem_()}. */
+    static final int NUMBERED_LIST_ITEM_END = 36;
+
+    /** {@link Sink#definedTerm()}. */
+    static final int DEFINED_TERM = 37;
+
+    /** {@link Sink#definedTerm(SinkEventAttributes)}. */
+    static final int DEFINED_TERM_ATTRIBUTES = 38;
+
+    /** {@link Sink#definedTerm_()}. */
+    static final int DEFINED_TERM_END = 39;
+
+    /** {@link Sink#definition()}. */
+    static final int DEFINITION = 40;
+
+    /** {@link Sink#definition(SinkEventAttributes)}. */
+    static final int DEFINITION_ATTRIBUTES = 41;
+
+    /** {@link Sink#definition_()}. */
+    static final int DEFINITION_END = 42;
+
+    /** {@link Sink#definitionListItem()}. */
+    static final int DEFINITION_LIST_ITEM = 43;
+
+    /** {@link Sink#definitionListItem(SinkEventAttributes)}. */
+    static final int DEFINITION_LIST_ITEM_ATTRIBUTES = 44;
+
+    /** {@link Sink#definitionListItem_()}. */
+    static final int DEFINITION_LIST_ITEM_END = 45;
+
+    /** {@link Sink#anchor(String)}. */
+    static final int ANCHOR = 46;
+
+    /** {@link Sink#anchor(String, SinkEventAttributes)}. */
+    static final int ANCHOR_ATTRIBUTES = 47;
+
+    /** {@link Sink#anchor_()}. */
+    static final int ANCHOR_END = 48;
+
+    /** {@link Sink#verbatim(SinkEventAttributes)}. */
+    static final int VERBATIM = 49;
+
+    /** {@link Sink#verbatim_()}. */
+    static final int VERBATIM_END = 50;
+
+    /** {@link Sink#section(int, SinkEventAttributes)}. */
+    static final int SECTION = 51;
+
+    /** {@link Sink#section_(int)}. */
+    static final int SECTION_END = 52;
+
+    /** {@link Sink#sectionTitle(int, SinkEventAttributes)}. */
+    static final int SECTION_TITLE_ATTRIBUTES = 53;
+
+    /** {@link Sink#sectionTitle_(int)}. */
+    static final int SECTION_TITLE_END_LEVEL = 54;
+
+    /** {@link Sink#figureGraphics(String)}. */
+    static final int FIGURE_GRAPHICS = 55;
+
+    /** {@link Sink#figureGraphics(String, SinkEventAttributes)}. */
+    static final int FIGURE_GRAPHICS_ATTRIBUTES = 56;
+
+    /** {@link Sink#unknown(String, Object[], SinkEventAttributes)}. */
+    static final int UNKNOWN = 57;
+
+    /** {@link Sink#comment(String)}. */
+    static final int COMMENT = 58;
+
+    /** {@link Sink#address()}. */
+    static final int ADDRESS = 59;
+
+    /** {@link Sink#address(SinkEventAttributes)}. */
+    static final int ADDRESS_ATTRIBUTES = 60;
+
+    /** {@link Sink#address_()}. */
+    static final int ADDRESS_END = 61;
+
+    /** {@link Sink#article()}. */
+    static final int ARTICLE = 62;
+
+    /** {@link Sink#article(SinkEventAttributes)}. */
+    static final int ARTICLE_ATTRIBUTES = 63;
+
+    /** {@link Sink#article_()}. */
+    static final int ARTICLE_END = 64;
+
+    /** {@link Sink#author()}. */
+    static final int AUTHOR = 65;
+
+    /** {@link Sink#author(SinkEventAttributes)}. */
+    static final int AUTHOR_ATTRIBUTES = 66;
+
+    /** {@link Sink#author_()}. */
+    static final int AUTHOR_END = 67;
+
+    /** {@link Sink#blockquote()}. */
+    static final int BLOCKQUOTE = 68;
+
+    /** {@link Sink#blockquote(SinkEventAttributes)}. */
+    static final int BLOCKQUOTE_ATTRIBUTES = 69;
+
+    /** {@link Sink#blockquote_()}. */
+    static final int BLOCKQUOTE_END = 70;
+
+    /** {@link Sink#body()}. */
+    static final int BODY = 71;
+
+    /** {@link Sink#body(SinkEventAttributes)}. */
+    static final int BODY_ATTRIBUTES = 72;
+
+    /** {@link Sink#body_()}. */
+    static final int BODY_END = 73;
+
+    /**
+     * {@link Sink#close()}, reserved: {@link SinkEventRecorder#close()} ends the recording with {@link #END}
+     * instead, and the Sink that plays the recording is not closed.
+     */
+    static final int CLOSE = 74;
+
+    /** {@link Sink#content()}. */
+    static final int CONTENT = 75;
+
+    /** {@link Sink#content(SinkEventAttributes)}. */
+    static final int CONTENT_ATTRIBUTES = 76;
+
+    /** {@link Sink#content_()}. */
+    static final int CONTENT_END = 77;
+
+    /** {@link Sink#data(String)}. */
+    static final int DATA = 78;
+
+    /** {@link Sink#data(String, SinkEventAttributes)}. */
+    static final int DATA_ATTRIBUTES = 79;
+
+    /** {@link Sink#data_()}. */
+    static final int DATA_END = 80;
+
+    /** {@link Sink#date()}. */
+    static final int DATE = 81;
+
+    /** {@link Sink#date(SinkEventAttributes)}. */
+    static final int DATE_ATTRIBUTES = 82;
+
+    /** {@link Sink#date_()}. */
+    static final int DATE_END = 83;
+
+    /** {@link Sink#definitionList()}. */
+    static final int DEFINITION_LIST = 84;
+
+    /** {@link Sink#definitionList(SinkEventAttributes)}. */
+    static final int DEFINITION_LIST_ATTRIBUTES = 85;
+
+    /** {@link Sink#definitionList_()}. */
+    static final int DEFINITION_LIST_END = 86;
+
+    /** {@link Sink#division()}. */
+    static final int DIVISION = 87;
+
+    /** {@link Sink#division(SinkEventAttributes)}. */
+    static final int DIVISION_ATTRIBUTES = 88;
+
+    /** {@link Sink#division_()}. */
+    static final int DIVISION_END = 89;
+
+    /** {@link Sink#figure()}. */
+    static final int FIGURE = 90;
+
+    /** {@link Sink#figure(SinkEventAttributes)}. */
+    static final int FIGURE_ATTRIBUTES = 91;
+
+    /** {@link Sink#figure_()}. */
+    static final int FIGURE_END = 92;
+
+    /** {@link Sink#figureCaption()}. */
+    static final int FIGURE_CAPTION = 93;
+
+    /** {@link Sink#figureCaption(SinkEventAttributes)}. */
+    static final int FIGURE_CAPTION_ATTRIBUTES = 94;
+
+    /** {@link Sink#figureCaption_()}. */
+    static final int FIGURE_CAPTION_END = 95;
+
+    /** {@link Sink#flush()}. */
+    static final int FLUSH = 96;
+
+    /** {@link Sink#footer()}. */
+    static final int FOOTER = 97;
+
+    /** {@link Sink#footer(SinkEventAttributes)}. */
+    static final int FOOTER_ATTRIBUTES = 98;
+
+    /** {@link Sink#footer_()}. */
+    static final int FOOTER_END = 99;
+
+    /** {@link Sink#head()}. */
+    static final int HEAD = 100;
+
+    /** {@link Sink#head(SinkEventAttributes)}. */
+    static final int HEAD_ATTRIBUTES = 101;
+
+    /** {@link Sink#head_()}. */
+    static final int HEAD_END = 102;
+
+    /** {@link Sink#header()}. */
+    static final int HEADER = 103;
+
+    /** {@link Sink#header(SinkEventAttributes)}. */
+    static final int HEADER_ATTRIBUTES = 104;
+
+    /** {@link Sink#header_()}. */
+    static final int HEADER_END = 105;
+
+    /** {@link Sink#horizontalRule()}. */
+    static final int HORIZONTAL_RULE = 106;
+
+    /** {@link Sink#horizontalRule(SinkEventAttributes)}. */
+    static final int HORIZONTAL_RULE_ATTRIBUTES = 107;
+
+    /** {@link Sink#lineBreakOpportunity()}. */
+    static final int LINE_BREAK_OPPORTUNITY = 108;
+
+    /** {@link Sink#lineBreakOpportunity(SinkEventAttributes)}. */
+    static final int LINE_BREAK_OPPORTUNITY_ATTRIBUTES = 109;
+
+    /** {@link Sink#list()}. */
+    static final int LIST = 110;
+
+    /** {@link Sink#list(SinkEventAttributes)}. */
+    static final int LIST_ATTRIBUTES = 111;
+
+    /** {@link Sink#list_()}. */
+    static final int LIST_END = 112;
+
+    /** {@link Sink#navigation()}. */
+    static final int NAVIGATION = 113;
+
+    /** {@link Sink#navigation(SinkEventAttributes)}. */
+    static final int NAVIGATION_ATTRIBUTES = 114;
+
+    /** {@link Sink#navigation_()}. */
+    static final int NAVIGATION_END = 115;
+
+    /** {@link Sink#numberedList(int)}. */
+    static final int NUMBERED_LIST = 116;
+
+    /** {@link Sink#numberedList(int, SinkEventAttributes)}. */
+    static final int NUMBERED_LIST_ATTRIBUTES = 117;
+
+    /** {@link Sink#numberedList_()}. */
+    static final int NUMBERED_LIST_END = 118;
+
+    /** {@link Sink#pageBreak()}. */
+    static final int PAGE_BREAK = 119;
+
+    /** {@link Sink#section1()}. */
+    static final int SECTION1 = 120;
+
+    /** {@link Sink#section1_()}. */
+    static final int SECTION1_END = 121;
+
+    /** {@link Sink#section2()}. */
+    static final int SECTION2 = 122;
+
+    /** {@link Sink#section2_()}. */
+    static final int SECTION2_END = 123;
+
+    /** {@link Sink#section3()}. */
+    static final int SECTION3 = 124;
+
+    /** {@link Sink#section3_()}. */
+    static final int SECTION3_END = 125;
+
+    /** {@link Sink#section4()}. */
+    static final int SECTION4 = 126;
+
+    /** {@link Sink#section4_()}. */
+    static final int SECTION4_END = 127;
+
+    /** {@link Sink#section5()}. */
+    static final int SECTION5 = 128;
+
+    /** {@link Sink#section5_()}. */
+    static final int SECTION5_END = 129;
+
+    /** {@link Sink#section6()}. */
+    static final int SECTION6 = 130;
+
+    /** {@link Sink#section6_()}. */
+    static final int SECTION6_END = 131;
+
+    /** {@link Sink#sectionTitle()}. */
+    static final int SECTION_TITLE = 132;
+
+    /** {@link Sink#sectionTitle1()}. */
+    static final int SECTION_TITLE1 = 133;
+
+    /** {@link Sink#sectionTitle1_()}. */
+    static final int SECTION_TITLE1_END = 134;
+
+    /** {@link Sink#sectionTitle2()}. */
+    static final int SECTION_TITLE2 = 135;
+
+    /** {@link Sink#sectionTitle2_()}. */
+    static final int SECTION_TITLE2_END = 136;
+
+    /** {@link Sink#sectionTitle3()}. */
+    static final int SECTION_TITLE3 = 137;
+
+    /** {@link Sink#sectionTitle3_()}. */
+    static final int SECTION_TITLE3_END = 138;
+
+    /** {@link Sink#sectionTitle4()}. */
+    static final int SECTION_TITLE4 = 139;
+
+    /** {@link Sink#sectionTitle4_()}. */
+    static final int SECTION_TITLE4_END = 140;
+
+    /** {@link Sink#sectionTitle5()}. */
+    static final int SECTION_TITLE5 = 141;
+
+    /** {@link Sink#sectionTitle5_()}. */
+    static final int SECTION_TITLE5_END = 142;
+
+    /** {@link Sink#sectionTitle6()}. */
+    static final int SECTION_TITLE6 = 143;
+
+    /** {@link Sink#sectionTitle6_()}. */
+    static final int SECTION_TITLE6_END = 144;
+
+    /** {@link Sink#sectionTitle_()}. */
+    static final int SECTION_TITLE_END = 145;
+
+    /** {@link Sink#sidebar()}. */
+    static final int SIDEBAR = 146;
+
+    /** {@link Sink#sidebar(SinkEventAttributes)}. */
+    static final int SIDEBAR_ATTRIBUTES = 147;
+
+    /** {@link Sink#sidebar_()}. */
+    static final int SIDEBAR_END = 148;
+
+    /** {@link Sink#table()}. */
+    static final int TABLE = 149;
+
+    /** {@link Sink#table(SinkEventAttributes)}. */
+    static final int TABLE_ATTRIBUTES = 150;
+
+    /** {@link Sink#table_()}. */
+    static final int TABLE_END = 151;
+
+    /** {@link Sink#tableCaption()}. */
+    static final int TABLE_CAPTION = 152;
+
+    /** {@link Sink#tableCaption(SinkEventAttributes)}. */
+    static final int TABLE_CAPTION_ATTRIBUTES = 153;
+
+    /** {@link Sink#tableCaption_()}. */
+    static final int TABLE_CAPTION_END = 154;
+
+    /** {@link Sink#tableRows(int[], boolean)}. */
+    static final int TABLE_ROWS = 155;
+
+    /** {@link Sink#tableRows_()}. */
+    static final int TABLE_ROWS_END = 156;
+
+    /** {@link Sink#time(String)}. */
+    static final int TIME = 157;
+
+    /** {@link Sink#time(String, SinkEventAttributes)}. */
+    static final int TIME_ATTRIBUTES = 158;
+
+    /** {@link Sink#time_()}. */
+    static final int TIME_END = 159;
+
+    /** {@link Sink#title()}. */
+    static final int TITLE = 160;
+
+    /** {@link Sink#title(SinkEventAttributes)}. */
+    static final int TITLE_ATTRIBUTES = 161;
+
+    /** {@link Sink#title_()}. */
+    static final int TITLE_END = 162;
+
+    private SinkEventFormat()
+    {
+        // constants only
+    }
+}
@@ -0,0 +1,774 @@
+package org.apache.maven.doxia.sink.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.doxia.sink.Sink;
+
+/**
+ * Replays a recording made by a {@link SinkEventRecorder} into a Sink, event by event, as the parser that
+ * produced it would have sent them. The Sink is not closed at the end, and only flushed if the recording contains
+ * {@link Sink#flush()} events: that is up to the caller, as after a parse.
+ * <p>
+ * Attributes are replayed as new {@link SinkEventAttributeSet}s, so the Sink may modify them.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public class SinkEventPlayer
+{
+    /** The size of the first buffer of a String, which grows up to the length of the String. */
+    private static final int STRING_CHUNK = 8192;
+
+    private final InputStream in;
+
+    private final List<String> strings = new ArrayList<>();
+
+    private boolean played;
+
+    /**
+     * Constructs a SinkEventPlayer that reads a recording from the given stream.
+     *
+     * @param in the stream to read the recording from, not null. It is not closed.
+     */
+    public SinkEventPlayer( InputStream in )
+    {
+        this.in = new BufferedInputStream( in );
+    }
+
+    /**
+     * Replays the whole recording into the given Sink. A recording can only be played once, by a given
+     * SinkEventPlayer.
+     *
+     * @param sink the Sink that receives the events, not null.
+     * @throws java.io.IOException if the recording could not be read, or is not a complete recording
+     * of the supported version.
+     */
+    public void play( Sink sink )
+        throws IOException
+    {
+        if ( played )
+        {
+            throw new IllegalStateException( "The recording has already been played" );
+        }
+        played = true;
+
+        readHeader();
+
+        while ( true )
+        {
+            int opcode = readVarint();
+            switch ( opcode )
+            {
+                case SinkEventFormat.END:
+                    return;
+                case SinkEventFormat.TEXT:
+                    sink.text( readString() );
+                    break;
+                case SinkEventFormat.TEXT_ATTRIBUTES:
+                    sink.text( readString(), readAttributes() );
+                    break;
+                case SinkEventFormat.RAW_TEXT:
+                    sink.rawText( readString() );
+                    break;
+                case SinkEventFormat.PARAGRAPH:
+                    sink.paragraph();
+                    break;
+                case SinkEventFormat.PARAGRAPH_ATTRIBUTES:
+                    sink.paragraph( readAttributes() );
+                    break;
+                case SinkEventFormat.PARAGRAPH_END:
+                    sink.paragraph_();
+                    break;
+                case SinkEventFormat.LINK:
+                    sink.link( readString() );
+                    break;
+                case SinkEventFormat.LINK_ATTRIBUTES:
+                    sink.link( readString(), readAttributes() );
+                    break;
+                case SinkEventFormat.LINK_END:
+                    sink.link_();
+                    break;
+                case SinkEventFormat.INLINE:
+                    sink.inline();
+                    break;
+                case SinkEventFormat.INLINE_ATTRIBUTES:
+                    sink.inline( readAttributes() );
+                    break;
+                case SinkEventFormat.INLINE_END:
+                    sink.inline_();
+                    break;
+                case SinkEventFormat.BOLD:
+                    sink.bold();
+                    break;
+                case SinkEventFormat.BOLD_END:
+                    sink.bold_();
+                    break;
+                case SinkEventFormat.ITALIC:
+                    sink.italic();
+                    break;
+                case SinkEventFormat.ITALIC_END:
+                    sink.italic_();
+                    break;
+                case SinkEventFormat.MONOSPACED:
+                    sink.monospaced();
+                    break;
+                case SinkEventFormat.MONOSPACED_END:
+                    sink.monospaced_();
+                    break;
+                case SinkEventFormat.LINE_BREAK:
+                    sink.lineBreak();
+                    break;
+                case SinkEventFormat.LINE_BREAK_ATTRIBUTES:
+                    sink.lineBreak( readAttributes() );
+                    break;
+                case SinkEventFormat.NON_BREAKING_SPACE:
+                    sink.nonBreakingSpace();
+                    break;
+                case SinkEventFormat.TABLE_ROW:
+                    sink.tableRow();
+                    break;
+                case SinkEventFormat.TABLE_ROW_ATTRIBUTES:
+                    sink.tableRow( readAttributes() );
+                    break;
+                case SinkEventFormat.TABLE_ROW_END:
+                    sink.tableRow_();
+                    break;
+                case SinkEventFormat.TABLE_CELL:
+                    sink.tableCell();
+                    break;
+                case SinkEventFormat.TABLE_CELL_ATTRIBUTES:
+                    sink.tableCell( readAttributes() );
+                    break;
+                case SinkEventFormat.TABLE_CELL_END:
+                    sink.tableCell_();
+                    break;
+                case SinkEventFormat.TABLE_HEADER_CELL:
+                    sink.tableHeaderCell();
+                    break;
+                case SinkEventFormat.TABLE_HEADER_CELL_ATTRIBUTES:
+                    sink.tableHeaderCell( readAttributes() );
+                    break;
+                case SinkEventFormat.TABLE_HEADER_CELL_END:
+                    sink.tableHeaderCell_();
+                    break;
+                case SinkEventFormat.LIST_ITEM:
+                    sink.listItem();
+                    break;
+                case SinkEventFormat.LIST_ITEM_ATTRIBUTES:
+                    sink.listItem( readAttributes() );
+                    break;
+                case SinkEventFormat.LIST_ITEM_END:
+                    sink.listItem_();
+                    break;
+                case SinkEventFormat.NUMBERED_LIST_ITEM:
+                    sink.numberedListItem();
+                    break;
+                case SinkEventFormat.NUMBERED_LIST_ITEM_ATTRIBUTES:
+                    sink.numberedListItem( readAttributes() );
+                    break;
+                case SinkEventFormat.NUMBERED_LIST_ITEM_END:
+                    sink.numberedListItem_();
+                    break;
+                case SinkEventFormat.DEFINED_TERM:
+                    sink.definedTerm();
+                    break;
+                case SinkEventFormat.DEFINED_TERM_ATTRIBUTES:
+                    sink.definedTerm( readAttributes() );
+                    break;
+                case SinkEventFormat.DEFINED_TERM_END:
+                    sink.definedTerm_();
+                    break;
+                case SinkEventFormat.DEFINITION:
+                    sink.definition();
+                    break;
+                case SinkEventFormat.DEFINITION_ATTRIBUTES:
+                    sink.definition( readAttributes() );
+                    break;
+                case SinkEventFormat.DEFINITION_END:
+                    sink.definition_();
+                    break;
+                case SinkEventFormat.DEFINITION_LIST_ITEM:
+                    sink.definitionListItem();
+                    break;
+                case SinkEventFormat.DEFINITION_LIST_ITEM_ATTRIBUTES:
+                    sink.definitionListItem( readAttributes() );
+                    break;
+                case SinkEventFormat.DEFINITION_LIST_ITEM_END:
+                    sink.definitionListItem_();
+                    break;
+                case SinkEventFormat.ANCHOR:
+                    sink.anchor( readString() );
+                    break;
+                case SinkEventFormat.ANCHOR_ATTRIBUTES:
+                    sink.anchor( readString(), readAttributes() );
+                    break;
+                case SinkEventFormat.ANCHOR_END:
+                    sink.anchor_();
+                    break;
+                case SinkEventFormat.VERBATIM:
+                    sink.verbatim( readAttributes() );
+                    break;
+                case SinkEventFormat.VERBATIM_END:
+                    sink.verbatim_();
+                    break;
+                case SinkEventFormat.SECTION:
+                    sink.section( readInt(), readAttributes() );
+                    break;
+                case SinkEventFormat.SECTION_END:
+                    sink.section_( readInt() );
+                    break;
+                case SinkEventFormat.SECTION_TITLE_ATTRIBUTES:
+                    sink.sectionTitle( readInt(), readAttributes() );
+                    break;
+                case SinkEventFormat.SECTION_TITLE_END_LEVEL:
+                    sink.sectionTitle_( readInt() );
+                    break;
+                case SinkEventFormat.FIGURE_GRAPHICS:
+                    sink.figureGraphics( readString() );
+                    break;
+                case SinkEventFormat.FIGURE_GRAPHICS_ATTRIBUTES:
+                    sink.figureGraphics( readString(), readAttributes() );
+                    break;
+                case SinkEventFormat.UNKNOWN:
+                    sink.unknown( readString(), readValues(), readAttributes() );
+                    break;
+                case SinkEventFormat.COMMENT:
+                    sink.comment( readString() );
+                    break;
+                case SinkEventFormat.ADDRESS:
+                    sink.address();
+                    break;
+                case SinkEventFormat.ADDRESS_ATTRIBUTES:
+                    sink.address( readAttributes() );
+                    break;
+                case SinkEventFormat.ADDRESS_END:
+                    sink.address_();
+                    break;
+                case SinkEventFormat.ARTICLE:
+                    sink.article();
+                    break;
+                case SinkEventFormat.ARTICLE_ATTRIBUTES:
+                    sink.article( readAttributes() );
+                    break;
+                case SinkEventFormat.ARTICLE_END:
+                    sink.article_();
+                    break;
+                case SinkEventFormat.AUTHOR:
+                    sink.author();
+                    break;
+                case SinkEventFormat.AUTHOR_ATTRIBUTES:
+                    sink.author( readAttributes() );
+                    break;
+                case SinkEventFormat.AUTHOR_END:
+                    sink.author_();
+                    break;
+                case SinkEventFormat.BLOCKQUOTE:
+                    sink.blockquote();
+                    break;
+                case SinkEventFormat.BLOCKQUOTE_ATTRIBUTES:
+                    sink.blockquote( readAttributes() );
+                    break;
+                case SinkEventFormat.BLOCKQUOTE_END:
+                    sink.blockquote_();
+                    break;
+                case SinkEventFormat.BODY:
+                    sink.body();
+                    break;
+                case SinkEventFormat.BODY_ATTRIBUTES:
+                    sink.body( readAttributes() );
+                    break;
+                case SinkEventFormat.BODY_END:
+                    sink.body_();
+                    break;
+                case SinkEventFormat.CONTENT:
+                    sink.content();
+                    break;
+                case SinkEventFormat.CONTENT_ATTRIBUTES:
+                    sink.content( readAttributes() );
+                    break;
+                case SinkEventFormat.CONTENT_END:
+                    sink.content_();
+                    break;
+                case SinkEventFormat.DATA:
+                    sink.data( readString() );
+                    break;
+                case SinkEventFormat.DATA_ATTRIBUTES:
+                    sink.data( readString(), readAttributes() );
+                    break;
+                case SinkEventFormat.DATA_END:
+                    sink.data_();
+                    break;
+                case SinkEventFormat.DATE:
+                    sink.date();
+                    break;
+                case SinkEventFormat.DATE_ATTRIBUTES:
+                    sink.date( readAttributes() );
+                    break;
+                case SinkEventFormat.DATE_END:
+                    sink.date_();
+                    break;
+                case SinkEventFormat.DEFINITION_LIST:
+                    sink.definitionList();
+                    break;
+                case SinkEventFormat.DEFINITION_LIST_ATTRIBUTES:
+                    sink.definitionList( readAttributes() );
+                    break;
+                case SinkEventFormat.DEFINITION_LIST_END:
+                    sink.definitionList_();
+                    break;
+                case SinkEventFormat.DIVISION:
+                    sink.division();
+                    break;
+                case SinkEventFormat.DIVISION_ATTRIBUTES:
+                    sink.division( readAttributes() );
+                    break;
+                case SinkEventFormat.DIVISION_END:
+                    sink.division_();
+                    break;
+                case SinkEventFormat.FIGURE:
+                    sink.figure();
+                    break;
+                case SinkEventFormat.FIGURE_ATTRIBUTES:
+                    sink.figure( readAttributes() );
+                    break;
+                case SinkEventFormat.FIGURE_END:
+                    sink.figure_();
+                    break;
+                case SinkEventFormat.FIGURE_CAPTION:
+                    sink.figureCaption();
+                    break;
+                case SinkEventFormat.FIGURE_CAPTION_ATTRIBUTES:
+                    sink.figureCaption( readAttributes() );
+                    break;
+                case SinkEventFormat.FIGURE_CAPTION_END:
+                    sink.figureCaption_();
+                    break;
+                case SinkEventFormat.FLUSH:
+                    sink.flush();
+                    break;
+                case SinkEventFormat.FOOTER:
+                    sink.footer();
+                    break;
+                case SinkEventFormat.FOOTER_ATTRIBUTES:
+                    sink.footer( readAttributes() );
+                    break;
+                case SinkEventFormat.FOOTER_END:
+                    sink.footer_();
+                    break;
+                case SinkEventFormat.HEAD:
+                    sink.head();
+                    break;
+                case SinkEventFormat.HEAD_ATTRIBUTES:
+                    sink.head( readAttributes() );
+                    break;
+                case SinkEventFormat.HEAD_END:
+                    sink.head_();
+                    break;
+                case SinkEventFormat.HEADER:
+                    sink.header();
+                    break;
+                case SinkEventFormat.HEADER_ATTRIBUTES:
+                    sink.header( readAttributes() );
+                    break;
+                case SinkEventFormat.HEADER_END:
+                    sink.header_();
+                    break;
+                case SinkEventFormat.HORIZONTAL_RULE:
+                    sink.horizontalRule();
+                    break;
+                case SinkEventFormat.HORIZONTAL_RULE_ATTRIBUTES:
+                    sink.horizontalRule( readAttributes() );
+                    break;
+                case SinkEventFormat.LINE_BREAK_OPPORTUNITY:
+                    sink.lineBreakOpportunity();
+                    break;
+                case SinkEventFormat.LINE_BREAK_OPPORTUNITY_ATTRIBUTES:
+                    sink.lineBreakOpportunity( readAttributes() );
+                    break;
+                case SinkEventFormat.LIST:
+                    sink.list();
+                    break;
+                case SinkEventFormat.LIST_ATTRIBUTES:
+                    sink.list( readAttributes() );
+                    break;
+                case SinkEventFormat.LIST_END:
+                    sink.list_();
+                    break;
+                case SinkEventFormat.NAVIGATION:
+                    sink.navigation();
+                    break;
+                case SinkEventFormat.NAVIGATION_ATTRIBUTES:
+                    sink.navigation( readAttributes() );
+                    break;
+                case SinkEventFormat.NAVIGATION_END:
+                    sink.navigation_();
+                    break;
+                case SinkEventFormat.NUMBERED_LIST:
+                    sink.numberedList( readInt() );
+                    break;
+                case SinkEventFormat.NUMBERED_LIST_ATTRIBUTES:
+                    sink.numberedList( readInt(), readAttributes() );
+                    break;
+                case SinkEventFormat.NUMBERED_LIST_END:
+                    sink.numberedList_();
+                    break;
+                case SinkEventFormat.PAGE_BREAK:
+                    sink.pageBreak();
+                    break;
+                case SinkEventFormat.SECTION1:
+                    sink.section1();
+                    break;
+                case SinkEventFormat.SECTION1_END:
+                    sink.section1_();
+                    break;
+                case SinkEventFormat.SECTION2:
+                    sink.section2();
+                    break;
+                case SinkEventFormat.SECTION2_END:
+                    sink.section2_();
+                    break;
+                case SinkEventFormat.SECTION3:
+                    sink.section3();
+                    break;
+                case SinkEventFormat.SECTION3_END:
+                    sink.section3_();
+                    break;
+                case SinkEventFormat.SECTION4:
+                    sink.section4();
+                    break;
+                case SinkEventFormat.SECTION4_END:
+                    sink.section4_();
+                    break;
+                case SinkEventFormat.SECTION5:
+                    sink.section5();
+                    break;
+                case SinkEventFormat.SECTION5_END:
+                    sink.section5_();
+                    break;
+                case SinkEventFormat.SECTION6:
+                    sink.section6();
+                    break;
+                case SinkEventFormat.SECTION6_END:
+                    sink.section6_();
+                    break;
+                case SinkEventFormat.SECTION_TITLE:
+                    sink.sectionTitle();
+                    break;
+                case SinkEventFormat.SECTION_TITLE1:
+                    sink.sectionTitle1();
+                    break;
+                case SinkEventFormat.SECTION_TITLE1_END:
+                    sink.sectionTitle1_();
+                    break;
+                case SinkEventFormat.SECTION_TITLE2:
+                    sink.sectionTitle2();
+                    break;
+                case SinkEventFormat.SECTION_TITLE2_END:
+                    sink.sectionTitle2_();
+                    break;
+                case SinkEventFormat.SECTION_TITLE3:
+                    sink.sectionTitle3();
+                    break;
+                case SinkEventFormat.SECTION_TITLE3_END:
+                    sink.sectionTitle3_();
+                    break;
+                case SinkEventFormat.SECTION_TITLE4:
+                    sink.sectionTitle4();
+                    break;
+                case SinkEventFormat.SECTION_TITLE4_END:
+                    sink.sectionTitle4_();
+                    break;
+                case SinkEventFormat.SECTION_TITLE5:
+                    sink.sectionTitle5();
+                    break;
+                case SinkEventFormat.SECTION_TITLE5_END:
+                    sink.sectionTitle5_();
+                    break;
+                case SinkEventFormat.SECTION_TITLE6:
+                    sink.sectionTitle6();
+                    break;
+                case SinkEventFormat.SECTION_TITLE6_END:
+                    sink.sectionTitle6_();
+                    break;
+                case SinkEventFormat.SECTION_TITLE_END:
+                    sink.sectionTitle_();
+                    break;
+                case SinkEventFormat.SIDEBAR:
+                    sink.sidebar();
+                    break;
+                case SinkEventFormat.SIDEBAR_ATTRIBUTES:
+                    sink.sidebar( readAttributes() );
+                    break;
+                case SinkEventFormat.SIDEBAR_END:
+                    sink.sidebar_();
+                    break;
+                case SinkEventFormat.TABLE:
+                    sink.table();
+                    break;
+                case SinkEventFormat.TABLE_ATTRIBUTES:
+                    sink.table( readAttributes() );
+                    break;
+                case SinkEventFormat.TABLE_END:
+                    sink.table_();
+                    break;
+                case SinkEventFormat.TABLE_CAPTION:
+                    sink.tableCaption();
+                    break;
+                case SinkEventFormat.TABLE_CAPTION_ATTRIBUTES:
+                    sink.tableCaption( readAttributes() );
+                    break;
+                case SinkEventFormat.TABLE_CAPTION_END:
+                    sink.tableCaption_();
+                    break;
+                case SinkEventFormat.TABLE_ROWS:
+                    sink.tableRows( readInts(), readBoolean() );
+                    break;
+                case SinkEventFormat.TABLE_ROWS_END:
+                    sink.tableRows_();
+                    break;
+                case SinkEventFormat.TIME:
+                    sink.time( readString() );
+                    break;
+                case SinkEventFormat.TIME_ATTRIBUTES:
+                    sink.time( readString(), readAttributes() );
+                    break;
+                case SinkEventFormat.TIME_END:
+                    sink.time_();
+                    break;
+                case SinkEventFormat.TITLE:
+                    sink.title();
+                    break;
+                case SinkEventFormat.TITLE_ATTRIBUTES:
+                    sink.title( readAttributes() );
+                    break;
+                case SinkEventFormat.TITLE_END:
+                    sink.title_();
+                    break;
+                default:
+                    throw new IOException( "Unknown event opcode: " + opcode );
+            }
+        }
+    }
+
+    private void readHeader()
+        throws IOException
+    {
+        for ( byte b : SinkEventFormat.MAGIC )
+        {
+            if ( in.read() != b )
+            {
+                throw new IOException( "Not a recording of Sink events" );
+            }
+        }
+
+        int version = readVarint();
+        if ( version != SinkEventFormat.VERSION )
+        {
+            throw new IOException( "Unsupported recording version: " + version );
+        }
+    }
+
+    private String readString()
+        throws IOException
+    {
+        int reference = readVarint();
+        if ( reference == SinkEventFormat.STRING_NULL )
+        {
+            return null;
+        }
+
+        if ( reference != SinkEventFormat.STRING_NEW )
+        {
+            int index = reference - SinkEventFormat.STRING_TABLE;
+            if ( index < 0 || index >= strings.size() )
+            {
+                throw new IOException( "Unknown string reference: " + reference );
+            }
+            return strings.get( index );
+        }
+
+        int length = readVarint();
+        if ( length < 0 || length > SinkEventFormat.MAX_STRING_LENGTH )
+        {
+            throw new IOException( "Invalid String length: " + ( length & 0xFFFFFFFFL ) );
+        }
+
+        // grown as the bytes are read, so that a corrupt length fails on the end of the recording
+        byte[] bytes = new byte[Math.min( length, STRING_CHUNK )];
+        int offset = 0;
+        while ( offset < length )
+        {
+            if ( offset == bytes.length )
+            {
+                bytes = Arrays.copyOf( bytes, (int) Math.min( length, 2L * bytes.length ) );
+            }
+            int count = in.read( bytes, offset, bytes.length - offset );
+            if ( count < 0 )
+            {
+                throw new EOFException( "Truncated recording" );
+            }
+            offset += count;
+        }
+
+        String value = new String( bytes, StandardCharsets.UTF_8 );
+        if ( value.length() <= SinkEventFormat.MAX_SHARED_LENGTH )
+        {
+            strings.add( value );
+        }
+        return value;
+    }
+
+    private SinkEventAttributeSet readAttributes()
+        throws IOException
+    {
+        int count = readCount();
+        if ( count < 0 )
+        {
+            return null;
+        }
+
+        SinkEventAttributeSet attributes = new SinkEventAttributeSet( count );
+        for ( int i = 0; i < count; i++ )
+        {
+            String name = readString();
+            attributes.addAttribute( name, readValue() );
+        }
+        return attributes;
+    }
+
+    /**
+     * Reads the count of attributes or the length of an array, written plus one.
+     *
+     * @return the count, or -1 for <code>null</code>.
+     * @throws IOException if the count is out of bounds, or could not be read.
+     */
+    private int readCount()
+        throws IOException
+    {
+        int value = readVarint();
+        if ( value < 0 || value > SinkEventFormat.MAX_COUNT + 1 )
+        {
+            throw new IOException( "Invalid count: " + ( ( value & 0xFFFFFFFFL ) - 1 ) );
+        }
+        return value - 1;
+    }
+
+    private int readInt()
+        throws IOException
+    {
+        int value = readVarint();
+        return ( value >>> 1 ) ^ -( value & 1 );
+    }
+
+    private int[] readInts()
+        throws IOException
+    {
+        int length = readCount();
+        if ( length < 0 )
+        {
+            return null;
+        }
+
+        int[] values = new int[length];
+        for ( int i = 0; i < length; i++ )
+        {
+            values[i] = readInt();
+        }
+        return values;
+    }
+
+    private boolean readBoolean()
+        throws IOException
+    {
+        return readVarint() != 0;
+    }
+
+    private Object[] readValues()
+        throws IOException
+    {
+        int length = readCount();
+        if ( length < 0 )
+        {
+            return null;
+        }
+
+        Object[] values = new Object[length];
+        for ( int i = 0; i < length; i++ )
+        {
+            values[i] = readValue();
+        }
+        return values;
+    }
+
+    private Object readValue()
+        throws IOException
+    {
+        int type = readVarint();
+        switch ( type )
+        {
+            case SinkEventFormat.VALUE_NULL:
+                return null;
+            case SinkEventFormat.VALUE_STRING:
+                return readString();
+            case SinkEventFormat.VALUE_INTEGER:
+                return readInt();
+            case SinkEventFormat.VALUE_BOOLEAN:
+                return readBoolean();
+            case SinkEventFormat.VALUE_ATTRIBUTES:
+                return readAttributes();
+            case SinkEventFormat.VALUE_INT_ARRAY:
+                return readInts();
+            case SinkEventFormat.VALUE_ARRAY:
+                return readValues();
+            default:
+                throw new IOException( "Unknown value type: " + type );
+        }
+    }
+
+    private int readVarint()
+        throws IOException
+    {
+        int value = 0;
+        for ( int shift = 0; shift < 32; shift += 7 )
+        {
+            int b = in.read();
+            if ( b < 0 )
+            {
+                throw new EOFException( "Truncated recording" );
+            }
+
+            value |= ( b & 0x7F ) << shift;
+            if ( ( b & 0x80 ) == 0 )
+            {
+                return value;
+            }
+        }
+        throw new IOException( "Malformed varint" );
+    }
+}
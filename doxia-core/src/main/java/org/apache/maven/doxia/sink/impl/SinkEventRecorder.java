@@ -0,0 +1,1477 @@
+package org.apache.maven.doxia.sink.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.swing.text.AttributeSet;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+
+/**
+ * A Sink that records the events it receives into a compact binary form, so that they can be replayed later
+ * into any Sink by a {@link SinkEventPlayer}, without parsing the document again. The format is described in
+ * <code>SinkEventFormat</code>.
+ * <p>
+ * The recording is complete once the Sink is closed, which also closes the underlying stream.
+ * An IOException while writing is rethrown as an {@link UncheckedIOException}.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+public class SinkEventRecorder
+    implements Sink
+{
+    /** The size above which the recorded events are written to the underlying stream. */
+    private static final int BUFFER_SIZE = 8192;
+
+    private final OutputStream out;
+
+    private final ByteArrayOutputStream buffer = new ByteArrayOutputStream( BUFFER_SIZE + 1024 );
+
+    private final Map<String, Integer> strings = new HashMap<>();
+
+    private boolean closed;
+
+    /**
+     * Constructs a SinkEventRecorder that writes to the given stream.
+     *
+     * @param out the stream to write the recording to, not null.
+     */
+    public SinkEventRecorder( OutputStream out )
+    {
+        this.out = out;
+        buffer.write( SinkEventFormat.MAGIC, 0, SinkEventFormat.MAGIC.length );
+        writeVarint( SinkEventFormat.VERSION );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void address()
+    {
+        writeOpcode( SinkEventFormat.ADDRESS );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void address( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.ADDRESS_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void address_()
+    {
+        writeOpcode( SinkEventFormat.ADDRESS_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void anchor( String name )
+    {
+        writeOpcode( SinkEventFormat.ANCHOR );
+        writeString( name );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void anchor( String name, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.ANCHOR_ATTRIBUTES );
+        writeString( name );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void anchor_()
+    {
+        writeOpcode( SinkEventFormat.ANCHOR_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void article()
+    {
+        writeOpcode( SinkEventFormat.ARTICLE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void article( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.ARTICLE_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void article_()
+    {
+        writeOpcode( SinkEventFormat.ARTICLE_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void author()
+    {
+        writeOpcode( SinkEventFormat.AUTHOR );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void author( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.AUTHOR_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void author_()
+    {
+        writeOpcode( SinkEventFormat.AUTHOR_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void blockquote()
+    {
+        writeOpcode( SinkEventFormat.BLOCKQUOTE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void blockquote( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.BLOCKQUOTE_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void blockquote_()
+    {
+        writeOpcode( SinkEventFormat.BLOCKQUOTE_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void body()
+    {
+        writeOpcode( SinkEventFormat.BODY );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void body( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.BODY_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void body_()
+    {
+        writeOpcode( SinkEventFormat.BODY_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bold()
+    {
+        writeOpcode( SinkEventFormat.BOLD );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void bold_()
+    {
+        writeOpcode( SinkEventFormat.BOLD_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void comment( String comment )
+    {
+        writeOpcode( SinkEventFormat.COMMENT );
+        writeString( comment );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void content()
+    {
+        writeOpcode( SinkEventFormat.CONTENT );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void content( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.CONTENT_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void content_()
+    {
+        writeOpcode( SinkEventFormat.CONTENT_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void data( String value )
+    {
+        writeOpcode( SinkEventFormat.DATA );
+        writeString( value );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void data( String value, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.DATA_ATTRIBUTES );
+        writeString( value );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void data_()
+    {
+        writeOpcode( SinkEventFormat.DATA_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void date()
+    {
+        writeOpcode( SinkEventFormat.DATE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void date( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.DATE_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void date_()
+    {
+        writeOpcode( SinkEventFormat.DATE_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definedTerm()
+    {
+        writeOpcode( SinkEventFormat.DEFINED_TERM );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definedTerm( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.DEFINED_TERM_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definedTerm_()
+    {
+        writeOpcode( SinkEventFormat.DEFINED_TERM_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definition()
+    {
+        writeOpcode( SinkEventFormat.DEFINITION );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definition( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.DEFINITION_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definition_()
+    {
+        writeOpcode( SinkEventFormat.DEFINITION_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionList()
+    {
+        writeOpcode( SinkEventFormat.DEFINITION_LIST );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionList( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.DEFINITION_LIST_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionList_()
+    {
+        writeOpcode( SinkEventFormat.DEFINITION_LIST_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionListItem()
+    {
+        writeOpcode( SinkEventFormat.DEFINITION_LIST_ITEM );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionListItem( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.DEFINITION_LIST_ITEM_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void definitionListItem_()
+    {
+        writeOpcode( SinkEventFormat.DEFINITION_LIST_ITEM_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void division()
+    {
+        writeOpcode( SinkEventFormat.DIVISION );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void division( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.DIVISION_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void division_()
+    {
+        writeOpcode( SinkEventFormat.DIVISION_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figure()
+    {
+        writeOpcode( SinkEventFormat.FIGURE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figure( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.FIGURE_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figure_()
+    {
+        writeOpcode( SinkEventFormat.FIGURE_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureCaption()
+    {
+        writeOpcode( SinkEventFormat.FIGURE_CAPTION );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureCaption( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.FIGURE_CAPTION_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureCaption_()
+    {
+        writeOpcode( SinkEventFormat.FIGURE_CAPTION_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureGraphics( String name )
+    {
+        writeOpcode( SinkEventFormat.FIGURE_GRAPHICS );
+        writeString( name );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void figureGraphics( String src, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.FIGURE_GRAPHICS_ATTRIBUTES );
+        writeString( src );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void footer()
+    {
+        writeOpcode( SinkEventFormat.FOOTER );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void footer( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.FOOTER_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void footer_()
+    {
+        writeOpcode( SinkEventFormat.FOOTER_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void head()
+    {
+        writeOpcode( SinkEventFormat.HEAD );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void head( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.HEAD_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void head_()
+    {
+        writeOpcode( SinkEventFormat.HEAD_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void header()
+    {
+        writeOpcode( SinkEventFormat.HEADER );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void header( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.HEADER_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void header_()
+    {
+        writeOpcode( SinkEventFormat.HEADER_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void horizontalRule()
+    {
+        writeOpcode( SinkEventFormat.HORIZONTAL_RULE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void horizontalRule( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.HORIZONTAL_RULE_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void inline()
+    {
+        writeOpcode( SinkEventFormat.INLINE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void inline( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.INLINE_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void inline_()
+    {
+        writeOpcode( SinkEventFormat.INLINE_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void italic()
+    {
+        writeOpcode( SinkEventFormat.ITALIC );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void italic_()
+    {
+        writeOpcode( SinkEventFormat.ITALIC_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lineBreak()
+    {
+        writeOpcode( SinkEventFormat.LINE_BREAK );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lineBreak( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.LINE_BREAK_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lineBreakOpportunity()
+    {
+        writeOpcode( SinkEventFormat.LINE_BREAK_OPPORTUNITY );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void lineBreakOpportunity( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.LINE_BREAK_OPPORTUNITY_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void link( String name )
+    {
+        writeOpcode( SinkEventFormat.LINK );
+        writeString( name );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void link( String name, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.LINK_ATTRIBUTES );
+        writeString( name );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void link_()
+    {
+        writeOpcode( SinkEventFormat.LINK_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void list()
+    {
+        writeOpcode( SinkEventFormat.LIST );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void list( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.LIST_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void list_()
+    {
+        writeOpcode( SinkEventFormat.LIST_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listItem()
+    {
+        writeOpcode( SinkEventFormat.LIST_ITEM );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listItem( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.LIST_ITEM_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void listItem_()
+    {
+        writeOpcode( SinkEventFormat.LIST_ITEM_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void monospaced()
+    {
+        writeOpcode( SinkEventFormat.MONOSPACED );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void monospaced_()
+    {
+        writeOpcode( SinkEventFormat.MONOSPACED_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void navigation()
+    {
+        writeOpcode( SinkEventFormat.NAVIGATION );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void navigation( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.NAVIGATION_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void navigation_()
+    {
+        writeOpcode( SinkEventFormat.NAVIGATION_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void nonBreakingSpace()
+    {
+        writeOpcode( SinkEventFormat.NON_BREAKING_SPACE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedList( int numbering )
+    {
+        writeOpcode( SinkEventFormat.NUMBERED_LIST );
+        writeInt( numbering );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedList( int numbering, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.NUMBERED_LIST_ATTRIBUTES );
+        writeInt( numbering );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedList_()
+    {
+        writeOpcode( SinkEventFormat.NUMBERED_LIST_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedListItem()
+    {
+        writeOpcode( SinkEventFormat.NUMBERED_LIST_ITEM );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedListItem( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.NUMBERED_LIST_ITEM_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void numberedListItem_()
+    {
+        writeOpcode( SinkEventFormat.NUMBERED_LIST_ITEM_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void pageBreak()
+    {
+        writeOpcode( SinkEventFormat.PAGE_BREAK );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void paragraph()
+    {
+        writeOpcode( SinkEventFormat.PARAGRAPH );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void paragraph( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.PARAGRAPH_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void paragraph_()
+    {
+        writeOpcode( SinkEventFormat.PARAGRAPH_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void rawText( String text )
+    {
+        writeOpcode( SinkEventFormat.RAW_TEXT );
+        writeString( text );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section( int level, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.SECTION );
+        writeInt( level );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section1()
+    {
+        writeOpcode( SinkEventFormat.SECTION1 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section1_()
+    {
+        writeOpcode( SinkEventFormat.SECTION1_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section2()
+    {
+        writeOpcode( SinkEventFormat.SECTION2 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section2_()
+    {
+        writeOpcode( SinkEventFormat.SECTION2_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section3()
+    {
+        writeOpcode( SinkEventFormat.SECTION3 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section3_()
+    {
+        writeOpcode( SinkEventFormat.SECTION3_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section4()
+    {
+        writeOpcode( SinkEventFormat.SECTION4 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section4_()
+    {
+        writeOpcode( SinkEventFormat.SECTION4_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section5()
+    {
+        writeOpcode( SinkEventFormat.SECTION5 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section5_()
+    {
+        writeOpcode( SinkEventFormat.SECTION5_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section6()
+    {
+        writeOpcode( SinkEventFormat.SECTION6 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section6_()
+    {
+        writeOpcode( SinkEventFormat.SECTION6_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void section_( int level )
+    {
+        writeOpcode( SinkEventFormat.SECTION_END );
+        writeInt( level );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle( int level, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE_ATTRIBUTES );
+        writeInt( level );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle1()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE1 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle1_()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE1_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle2()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE2 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle2_()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE2_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle3()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE3 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle3_()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE3_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle4()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE4 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle4_()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE4_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle5()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE5 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle5_()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE5_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle6()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE6 );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle6_()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE6_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle_()
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sectionTitle_( int level )
+    {
+        writeOpcode( SinkEventFormat.SECTION_TITLE_END_LEVEL );
+        writeInt( level );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sidebar()
+    {
+        writeOpcode( SinkEventFormat.SIDEBAR );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sidebar( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.SIDEBAR_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void sidebar_()
+    {
+        writeOpcode( SinkEventFormat.SIDEBAR_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void table()
+    {
+        writeOpcode( SinkEventFormat.TABLE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void table( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.TABLE_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void table_()
+    {
+        writeOpcode( SinkEventFormat.TABLE_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCaption()
+    {
+        writeOpcode( SinkEventFormat.TABLE_CAPTION );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCaption( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.TABLE_CAPTION_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCaption_()
+    {
+        writeOpcode( SinkEventFormat.TABLE_CAPTION_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCell()
+    {
+        writeOpcode( SinkEventFormat.TABLE_CELL );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCell( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.TABLE_CELL_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableCell_()
+    {
+        writeOpcode( SinkEventFormat.TABLE_CELL_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableHeaderCell()
+    {
+        writeOpcode( SinkEventFormat.TABLE_HEADER_CELL );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableHeaderCell( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.TABLE_HEADER_CELL_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableHeaderCell_()
+    {
+        writeOpcode( SinkEventFormat.TABLE_HEADER_CELL_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRow()
+    {
+        writeOpcode( SinkEventFormat.TABLE_ROW );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRow( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.TABLE_ROW_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRow_()
+    {
+        writeOpcode( SinkEventFormat.TABLE_ROW_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRows( int[] justification, boolean grid )
+    {
+        writeOpcode( SinkEventFormat.TABLE_ROWS );
+        writeInts( justification );
+        writeBoolean( grid );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void tableRows_()
+    {
+        writeOpcode( SinkEventFormat.TABLE_ROWS_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void text( String text )
+    {
+        writeOpcode( SinkEventFormat.TEXT );
+        writeString( text );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void text( String text, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.TEXT_ATTRIBUTES );
+        writeString( text );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void time( String datetime )
+    {
+        writeOpcode( SinkEventFormat.TIME );
+        writeString( datetime );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void time( String datetime, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.TIME_ATTRIBUTES );
+        writeString( datetime );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void time_()
+    {
+        writeOpcode( SinkEventFormat.TIME_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void title()
+    {
+        writeOpcode( SinkEventFormat.TITLE );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void title( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.TITLE_ATTRIBUTES );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void title_()
+    {
+        writeOpcode( SinkEventFormat.TITLE_END );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void unknown( String name, Object[] requiredParams, SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.UNKNOWN );
+        writeString( name );
+        writeValues( requiredParams );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void verbatim( SinkEventAttributes attributes )
+    {
+        writeOpcode( SinkEventFormat.VERBATIM );
+        writeAttributes( attributes );
+    }
+
+    /** {@inheritDoc} */
+    @Override
+    public void verbatim_()
+    {
+        writeOpcode( SinkEventFormat.VERBATIM_END );
+    }
+
+    /**
+     * Records the event and flushes the recording written so far to the underlying stream.
+     */
+    @Override
+    public void flush()
+    {
+        writeOpcode( SinkEventFormat.FLUSH );
+        drain();
+        try
+        {
+            out.flush();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    /**
+     * Ends the recording and closes the underlying stream. Further calls have no effect.
+     */
+    @Override
+    public void close()
+    {
+        if ( closed )
+        {
+            return;
+        }
+        closed = true;
+
+        writeVarint( SinkEventFormat.END );
+        drain();
+        try
+        {
+            out.close();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private void writeOpcode( int opcode )
+    {
+        if ( closed )
+        {
+            throw new IllegalStateException( "The recording is closed" );
+        }
+
+        if ( buffer.size() >= BUFFER_SIZE )
+        {
+            drain();
+        }
+
+        writeVarint( opcode );
+    }
+
+    private void drain()
+    {
+        try
+        {
+            buffer.writeTo( out );
+            buffer.reset();
+        }
+        catch ( IOException e )
+        {
+            throw new UncheckedIOException( e );
+        }
+    }
+
+    private void writeString( String value )
+    {
+        if ( value == null )
+        {
+            writeVarint( SinkEventFormat.STRING_NULL );
+            return;
+        }
+
+        Integer index = strings.get( value );
+        if ( index != null )
+        {
+            writeVarint( SinkEventFormat.STRING_TABLE + index );
+            return;
+        }
+
+        if ( value.length() <= SinkEventFormat.MAX_SHARED_LENGTH )
+        {
+            strings.put( value, strings.size() );
+        }
+
+        byte[] bytes = value.getBytes( StandardCharsets.UTF_8 );
+        if ( bytes.length > SinkEventFormat.MAX_STRING_LENGTH )
+        {
+            throw new IllegalArgumentException( "String too long to be recorded: " + bytes.length + " bytes" );
+        }
+        writeVarint( SinkEventFormat.STRING_NEW );
+        writeVarint( bytes.length );
+        buffer.write( bytes, 0, bytes.length );
+    }
+
+    private void writeAttributes( AttributeSet attributes )
+    {
+        if ( attributes == null )
+        {
+            writeVarint( 0 );
+            return;
+        }
+
+        writeCount( attributes.getAttributeCount() );
+
+        Enumeration<?> names = attributes.getAttributeNames();
+        while ( names.hasMoreElements() )
+        {
+            Object name = names.nextElement();
+            writeString( name.toString() );
+            writeValue( attributes.getAttribute( name ) );
+        }
+    }
+
+    private void writeCount( int count )
+    {
+        if ( count > SinkEventFormat.MAX_COUNT )
+        {
+            throw new IllegalArgumentException( "Too many elements to be recorded: " + count );
+        }
+        writeVarint( count + 1 );
+    }
+
+    private void writeInt( int value )
+    {
+        writeVarint( ( value << 1 ) ^ ( value >> 31 ) );
+    }
+
+    private void writeInts( int[] values )
+    {
+        if ( values == null )
+        {
+            writeVarint( 0 );
+            return;
+        }
+
+        writeCount( values.length );
+        for ( int value : values )
+        {
+            writeInt( value );
+        }
+    }
+
+    private void writeBoolean( boolean value )
+    {
+        writeVarint( value ? 1 : 0 );
+    }
+
+    private void writeValues( Object[] values )
+    {
+        if ( values == null )
+        {
+            writeVarint( 0 );
+            return;
+        }
+
+        writeCount( values.length );
+        for ( Object value : values )
+        {
+            writeValue( value );
+        }
+    }
+
+    private void writeValue( Object value )
+    {
+        if ( value == null )
+        {
+            writeVarint( SinkEventFormat.VALUE_NULL );
+        }
+        else if ( value instanceof Integer )
+        {
+            writeVarint( SinkEventFormat.VALUE_INTEGER );
+            writeInt( (Integer) value );
+        }
+        else if ( value instanceof Boolean )
+        {
+            writeVarint( SinkEventFormat.VALUE_BOOLEAN );
+            writeBoolean( (Boolean) value );
+        }
+        else if ( value instanceof AttributeSet )
+        {
+            writeVarint( SinkEventFormat.VALUE_ATTRIBUTES );
+            writeAttributes( (AttributeSet) value );
+        }
+        else if ( value instanceof int[] )
+        {
+            writeVarint( SinkEventFormat.VALUE_INT_ARRAY );
+            writeInts( (int[]) value );
+        }
+        else if ( value instanceof Object[] )
+        {
+            writeVarint( SinkEventFormat.VALUE_ARRAY );
+            writeValues( (Object[]) value );
+        }
+        else
+        {
+            writeVarint( SinkEventFormat.VALUE_STRING );
+            writeString( value.toString() );
+        }
+    }
+
+    private void writeVarint( int value )
+    {
+        int v = value;
+        while ( ( v & ~0x7F ) != 0 )
+        {
+            buffer.write( ( v & 0x7F ) | 0x80 );
+            v >>>= 7;
+        }
+        buffer.write( v );
+    }
+}
@@ -184,7 +184,25 @@ public class SinkUtils
             return "";
         }
 
-        StringBuilder sb = new StringBuilder();
+        return appendAttributes( new StringBuilder(), att ).toString();
+    }
+
+    /**
+     * Appends an AttributeSet to the given buffer, in the form ' name1="value1" name2="value2" ...',
+     * exactly as {@link #getAttributeString(AttributeSet)} would return it, but without creating
+     * any intermediate String.
+     *
+     * @param sb the buffer to append to, not null.
+     * @param att The AttributeSet. May be null, in which case nothing is appended.
+     * @return the given buffer.
+     * @since 2.0.0
+     */
+    public static StringBuilder appendAttributes( StringBuilder sb, AttributeSet att )
+    {
+        if ( att == null )
+        {
+            return sb;
+        }
 
         Enumeration<?> names = att.getAttributeNames();
 
@@ -199,8 +217,9 @@ public class SinkUtils
                 if ( SinkEventAttributes.STYLE.equals( key.toString() ) )
                 {
                     sb.append( Markup.SPACE ).append( key.toString() ).append( Markup.EQUAL )
-                        .append( Markup.QUOTE ).append( asCssString( (AttributeSet) value ) )
                         .append( Markup.QUOTE );
+                    appendCssString( sb, (AttributeSet) value );
+                    sb.append( Markup.QUOTE );
                 }
             }
             else
@@ -210,13 +229,11 @@ public class SinkUtils
             }
         }
 
-        return sb.toString();
+        return sb;
     }
 
-    private static String asCssString( AttributeSet att )
+    private static void appendCssString( StringBuilder sb, AttributeSet att )
     {
-        StringBuilder sb = new StringBuilder();
-
         Enumeration<?> names = att.getAttributeNames();
 
         while ( names.hasMoreElements() )
@@ -236,13 +253,13 @@ public class SinkUtils
                 }
             }
         }
-
-        return sb.toString();
     }
 
     /**
      * Filters the given AttributeSet.
      * Removes all attributes whose name (key) is not contained in the sorted array valids.
+     * If a SinkEventAttributeSet has nothing to remove, the result shares its attributes until either of
+     * them is modified, so nothing is copied.
      *
      * @param attributes The AttributeSet to filter. The String values of Attribute names
      * are compared to the elements of the valids array.
@@ -263,6 +280,11 @@ public class SinkUtils
             return new SinkEventAttributeSet( 0 );
         }
 
+        if ( attributes instanceof SinkEventAttributeSet && containsOnly( attributes, valids ) )
+        {
+            return ( (SinkEventAttributeSet) attributes ).copyOnWrite();
+        }
+
         MutableAttributeSet atts = new SinkEventAttributeSet( attributes.getAttributeCount() );
 
         Enumeration<?> names = attributes.getAttributeNames();
@@ -279,4 +301,19 @@ public class SinkUtils
 
         return atts;
     }
+
+    private static boolean containsOnly( AttributeSet attributes, String[] valids )
+    {
+        Enumeration<?> names = attributes.getAttributeNames();
+
+        while ( names.hasMoreElements() )
+        {
+            if ( Arrays.binarySearch( valids, names.nextElement().toString() ) < 0 )
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
 }
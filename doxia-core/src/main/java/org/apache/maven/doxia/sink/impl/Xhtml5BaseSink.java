@@ -19,16 +19,18 @@ package org.apache.maven.doxia.sink.impl;
  * under the License.
  */
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
 import java.util.ArrayList;
 import java.util.EmptyStackException;
 import java.util.Enumeration;
-import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
 import java.util.Stack;
 
@@ -43,7 +45,6 @@ import org.apache.maven.doxia.sink.SinkEventAttributes;
 import org.apache.maven.doxia.util.DoxiaUtils;
 import org.apache.maven.doxia.util.HtmlTools;
 
-import org.codehaus.plexus.util.StringUtils;
 import org.codehaus.plexus.util.xml.PrettyPrintXMLWriter;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -57,6 +58,14 @@ public class Xhtml5BaseSink
 {
     private static final Logger LOGGER = LoggerFactory.getLogger( Xhtml5BaseSink.class );
 
+    /** The class attribute of even table rows. */
+    private static final SinkEventAttributeSet EVEN_TABLE_ROW =
+        new SinkEventAttributeSet( SinkEventAttributes.CLASS, "a" ).unmodifiable();
+
+    /** The class attribute of odd table rows. */
+    private static final SinkEventAttributeSet ODD_TABLE_ROW =
+        new SinkEventAttributeSet( SinkEventAttributes.CLASS, "b" ).unmodifiable();
+
     // ----------------------------------------------------------------------
     // Instance fields
     // ----------------------------------------------------------------------
@@ -64,6 +73,12 @@ public class Xhtml5BaseSink
     /** The PrintWriter to write the result. */
     private final PrintWriter writer;
 
+    /** The encoder of the output charset, to escape only the characters it can't encode. May be null. */
+    private final CharsetEncoder encoder;
+
+    /** True if a subclass overrides {@link #write(String)}, which must then receive all the output. */
+    private final boolean writeOverridden;
+
     /** Used to collect text events mainly for the head events. */
     private StringBuffer textBuffer = new StringBuffer();
 
@@ -94,9 +109,16 @@ public class Xhtml5BaseSink
     /** Used to style successive table rows differently. */
     private boolean evenTableRow = true;
 
-    /** The stack of StringWriter to write the table result temporary, so we could play with the output DOXIA-177. */
+    /** The stack of StringWriter to write the table result temporary, so we could play with the output DOXIA-177.
+     * Nested tables share the StringWriter of their enclosing table, a streamed table has a null one. */
     private final LinkedList<StringWriter> tableContentWriterStack;
 
+    /** The stack of offsets where the content of every table starts in its StringWriter. */
+    private final LinkedList<Integer> tableContentOffsetStack;
+
+    /** If true, tables are written directly to the output instead of being buffered until table_(). */
+    private boolean streamingTables;
+
     private final LinkedList<StringWriter> tableCaptionWriterStack;
 
     private final LinkedList<PrettyPrintXMLWriter> tableCaptionXMLWriterStack;
@@ -132,13 +154,31 @@ public class Xhtml5BaseSink
      * @param out The writer to write the result.
      */
     public Xhtml5BaseSink( Writer out )
+    {
+        this( out, null );
+    }
+
+    /**
+     * Constructor, initialize the PrintWriter and tells which encoding is used by the given writer.
+     * Non-ascii characters of the text that can be encoded in this encoding are written as is, only the
+     * others are written as numeric character references.
+     *
+     * @param out The writer to write the result.
+     * @param encoding The character encoding used by the writer, may be null in which case all non-ascii
+     * characters are written as numeric character references.
+     * @since 2.0.0
+     */
+    public Xhtml5BaseSink( Writer out, String encoding )
     {
         this.writer = new PrintWriter( out );
+        this.encoder = newEncoder( encoding );
+        this.writeOverridden = isWriteOverridden( Xhtml5BaseSink.class );
 
         this.cellJustifStack = new LinkedList<>();
         this.isCellJustifStack = new LinkedList<>();
         this.cellCountStack = new LinkedList<>();
         this.tableContentWriterStack = new LinkedList<>();
+        this.tableContentOffsetStack = new LinkedList<>();
         this.tableCaptionWriterStack = new LinkedList<>();
         this.tableCaptionXMLWriterStack = new LinkedList<>();
         this.tableCaptionStack = new LinkedList<>();
@@ -150,6 +190,31 @@ public class Xhtml5BaseSink
     // Accessor methods
     // ----------------------------------------------------------------------
 
+    /**
+     * Sets the table rendering mode.
+     * By default, a table is buffered until {@link #table_()} so that a caption received after its rows can be
+     * moved right after the table start tag (DOXIA-177). In streaming mode, the rows are written directly to the
+     * output and a caption is written where it is received: use it when tables have no caption or get it right
+     * after {@link #tableRows(int[], boolean)}. The XHTML and XHTML5 parsers switch it on while they parse a
+     * validated document, see {@link org.apache.maven.doxia.parser.XhtmlBaseParser#isTableCaptionFirst()}.
+     *
+     * @param streamingTables true to write tables directly to the output.
+     * @since 2.0.0
+     */
+    public void setStreamingTables( boolean streamingTables )
+    {
+        this.streamingTables = streamingTables;
+    }
+
+    /**
+     * @return true if tables are written directly to the output.
+     * @since 2.0.0
+     */
+    public boolean isStreamingTables()
+    {
+        return streamingTables;
+    }
+
     /**
      * To use mainly when playing with the head events.
      *
@@ -253,6 +318,7 @@ public class Xhtml5BaseSink
         this.isCellJustifStack.clear();
         this.cellCountStack.clear();
         this.tableContentWriterStack.clear();
+        this.tableContentOffsetStack.clear();
         this.tableCaptionWriterStack.clear();
         this.tableCaptionXMLWriterStack.clear();
         this.tableCaptionStack.clear();
@@ -1382,7 +1448,18 @@ public class Xhtml5BaseSink
     @Override
     public void table( SinkEventAttributes attributes )
     {
-        this.tableContentWriterStack.addLast( new StringWriter() );
+        if ( !this.tableContentWriterStack.isEmpty() && this.tableContentWriterStack.getLast() != null )
+        {
+            // nested in a buffered table: write into the same buffer
+            StringWriter sw = this.tableContentWriterStack.getLast();
+            this.tableContentWriterStack.addLast( sw );
+            this.tableContentOffsetStack.addLast( sw.getBuffer().length() );
+        }
+        else
+        {
+            this.tableContentWriterStack.addLast( streamingTables ? null : new StringWriter() );
+            this.tableContentOffsetStack.addLast( 0 );
+        }
         this.tableRows = false;
 
         if ( paragraphFlag )
@@ -1427,27 +1504,28 @@ public class Xhtml5BaseSink
             return;
         }
 
-        String tableContent = this.tableContentWriterStack.removeLast().toString();
+        StringWriter tableContentWriter = this.tableContentWriterStack.removeLast();
+        int offset = this.tableContentOffsetStack.removeLast();
 
-        String tableCaption = null;
-        if ( !this.tableCaptionStack.isEmpty() && this.tableCaptionStack.getLast() != null )
+        if ( tableContentWriter == null )
         {
-            tableCaption = this.tableCaptionStack.removeLast();
+            // streamed: the rows and the caption have already been written
+            return;
         }
 
-        if ( tableCaption != null )
+        StringBuffer tableContent = tableContentWriter.getBuffer();
+
+        if ( !this.tableCaptionStack.isEmpty() && this.tableCaptionStack.getLast() != null )
         {
             // DOXIA-177
-            StringBuilder sb = new StringBuilder();
-            sb.append( tableContent, 0, tableContent.indexOf( Markup.GREATER_THAN ) + 1 );
-            sb.append( tableCaption );
-            sb.append( tableContent.substring( tableContent.indexOf( Markup.GREATER_THAN ) + 1 ) );
-
-            write( sb.toString() );
+            int index = tableContent.indexOf( String.valueOf( Markup.GREATER_THAN ), offset );
+            tableContent.insert( index < 0 ? offset : index + 1, this.tableCaptionStack.removeLast() );
         }
-        else
+
+        if ( this.tableContentWriterStack.isEmpty() || this.tableContentWriterStack.getLast() != tableContentWriter )
         {
-            write( tableContent );
+            // outermost buffered table
+            write( tableContent.toString() );
         }
     }
 
@@ -1532,20 +1610,15 @@ public class Xhtml5BaseSink
     @Override
     public void tableRow( SinkEventAttributes attributes )
     {
-        MutableAttributeSet att = new SinkEventAttributeSet();
+        MutableAttributeSet att = evenTableRow ? EVEN_TABLE_ROW : ODD_TABLE_ROW;
 
-        if ( evenTableRow )
-        {
-            att.addAttribute( Attribute.CLASS, "a" );
-        }
-        else
+        if ( attributes != null )
         {
-            att.addAttribute( Attribute.CLASS, "b" );
+            att = new SinkEventAttributeSet( att );
+            att.addAttributes( SinkUtils.filterAttributes(
+                    attributes, SinkUtils.SINK_TR_ATTRIBUTES  ) );
         }
 
-        att.addAttributes( SinkUtils.filterAttributes(
-                attributes, SinkUtils.SINK_TR_ATTRIBUTES  ) );
-
         writeStartTag( HtmlMarkup.TR, att );
 
         evenTableRow = !evenTableRow;
@@ -1611,17 +1684,14 @@ public class Xhtml5BaseSink
             int cellCount = getCellCount();
             if ( cellCount < getCellJustif().length )
             {
-                Map<Integer, MutableAttributeSet> hash = new HashMap<>();
-                hash.put( Sink.JUSTIFY_CENTER, SinkEventAttributeSet.CENTER );
-                hash.put( Sink.JUSTIFY_LEFT, SinkEventAttributeSet.LEFT );
-                hash.put( Sink.JUSTIFY_RIGHT, SinkEventAttributeSet.RIGHT );
-                MutableAttributeSet atts = hash.get( getCellJustif()[cellCount] );
+                MutableAttributeSet atts = getJustifyAttributes( getCellJustif()[cellCount] );
 
                 if ( attributes == null )
                 {
-                    attributes = new SinkEventAttributeSet();
+                    // the shared constant is filtered below into a copy
+                    attributes = atts;
                 }
-                if ( atts != null )
+                else if ( atts != null )
                 {
                     attributes.addAttributes( atts );
                 }
@@ -1639,6 +1709,25 @@ public class Xhtml5BaseSink
         }
     }
 
+    /**
+     * @param justification a justification constant of {@link Sink}.
+     * @return the shared unmodifiable attributes of this justification, or null if it is unknown.
+     */
+    private static MutableAttributeSet getJustifyAttributes( int justification )
+    {
+        switch ( justification )
+        {
+            case Sink.JUSTIFY_CENTER:
+                return SinkEventAttributeSet.CENTER;
+            case Sink.JUSTIFY_LEFT:
+                return SinkEventAttributeSet.LEFT;
+            case Sink.JUSTIFY_RIGHT:
+                return SinkEventAttributeSet.RIGHT;
+            default:
+                return null;
+        }
+    }
+
     /** {@inheritDoc} */
     @Override
     public void tableCell_()
@@ -1691,9 +1780,12 @@ public class Xhtml5BaseSink
     @Override
     public void tableCaption( SinkEventAttributes attributes )
     {
-        StringWriter sw = new StringWriter();
-        this.tableCaptionWriterStack.addLast( sw );
-        this.tableCaptionXMLWriterStack.addLast( new PrettyPrintXMLWriter( sw ) );
+        if ( !isTableStreamed() )
+        {
+            StringWriter sw = new StringWriter();
+            this.tableCaptionWriterStack.addLast( sw );
+            this.tableCaptionXMLWriterStack.addLast( new PrettyPrintXMLWriter( sw ) );
+        }
 
         // TODO: tableCaption should be written before tableRows (DOXIA-177)
         MutableAttributeSet atts = SinkUtils.filterAttributes(
@@ -1711,13 +1803,22 @@ public class Xhtml5BaseSink
     {
         writeEndTag( HtmlMarkup.CAPTION );
 
-        if ( !this.tableCaptionXMLWriterStack.isEmpty() && this.tableCaptionXMLWriterStack.getLast() != null )
+        if ( !isTableStreamed() && !this.tableCaptionXMLWriterStack.isEmpty()
+            && this.tableCaptionXMLWriterStack.getLast() != null )
         {
             this.tableCaptionStack.addLast( this.tableCaptionWriterStack.removeLast().toString() );
             this.tableCaptionXMLWriterStack.removeLast();
         }
     }
 
+    /**
+     * @return true if the current table is written directly to the output.
+     */
+    private boolean isTableStreamed()
+    {
+        return !this.tableContentWriterStack.isEmpty() && this.tableContentWriterStack.getLast() == null;
+    }
+
     /**
      * {@inheritDoc}
      * @see javax.swing.text.html.HTML.Tag#A
@@ -1867,8 +1968,14 @@ public class Xhtml5BaseSink
     {
         if ( attributes.containsAttribute( SinkEventAttributes.SEMANTICS, semantic ) )
         {
-            SinkEventAttributes attributesNoSemantics = ( SinkEventAttributes ) attributes.copyAttributes();
-            attributesNoSemantics.removeAttribute( SinkEventAttributes.SEMANTICS );
+            SinkEventAttributes attributesNoSemantics = null;
+
+            // usually one of the shared Semantics constants, with nothing else to write
+            if ( attributes.getAttributeCount() > 1 || !attributes.isDefined( SinkEventAttributes.SEMANTICS ) )
+            {
+                attributesNoSemantics = ( SinkEventAttributes ) attributes.copyAttributes();
+                attributesNoSemantics.removeAttribute( SinkEventAttributes.SEMANTICS );
+            }
             writeStartTag( tag, attributesNoSemantics );
             tags.add( 0, tag );
         }
@@ -2273,9 +2380,7 @@ public class Xhtml5BaseSink
     protected void content( String text )
     {
         // small hack due to DOXIA-314
-        String txt = escapeHTML( text );
-        txt = StringUtils.replace( txt, "&amp;#", "&#" );
-        write( txt );
+        writeEscaped( text, true );
     }
 
     /**
@@ -2285,7 +2390,55 @@ public class Xhtml5BaseSink
      */
     protected void verbatimContent( String text )
     {
-        write( escapeHTML( text ) );
+        writeEscaped( text, false );
+    }
+
+    private static CharsetEncoder newEncoder( String encoding )
+    {
+        if ( encoding == null )
+        {
+            return null;
+        }
+
+        try
+        {
+            Charset charset = Charset.forName( encoding );
+            return charset.canEncode() ? charset.newEncoder() : null;
+        }
+        catch ( IllegalArgumentException e )
+        {
+            // unknown charset: keep escaping all non-ascii characters
+            return null;
+        }
+    }
+
+    /**
+     * Escapes the given text, unifies its EOLs and writes it to the output in a single pass.
+     *
+     * @param text The text to write.
+     * @param keepCharacterReferences <code>true</code> to keep numeric character references unescaped.
+     * @see HtmlTools#writeEscapedHTML(String, boolean, boolean, String, CharsetEncoder, Writer)
+     */
+    private void writeEscaped( String text, boolean keepCharacterReferences )
+    {
+        boolean throughWrite = writeOverridden || inCaption();
+
+        Writer out = throughWrite ? new StringWriter() : out();
+
+        try
+        {
+            HtmlTools.writeEscapedHTML( text, false, keepCharacterReferences, EOL, encoder, out );
+        }
+        catch ( IOException e )
+        {
+            // PrintWriter and StringWriter don't throw any IOException
+            throw new UncheckedIOException( e );
+        }
+
+        if ( throughWrite )
+        {
+            write( out.toString() );
+        }
     }
 
     /**
@@ -2329,6 +2482,40 @@ public class Xhtml5BaseSink
         }
     }
 
+    /** {@inheritDoc} */
+    @Override
+    protected void writeMarkup( CharSequence markup )
+    {
+        if ( writeOverridden || inCaption() )
+        {
+            write( markup.toString() );
+        }
+        else
+        {
+            writeUnifiedEOLs( markup, out() );
+        }
+    }
+
+    /**
+     * @return true if the output goes to a table caption.
+     */
+    private boolean inCaption()
+    {
+        return !this.tableCaptionXMLWriterStack.isEmpty() && this.tableCaptionXMLWriterStack.getLast() != null;
+    }
+
+    /**
+     * @return the buffer of the current table if any, the output otherwise.
+     */
+    private Writer out()
+    {
+        if ( !this.tableContentWriterStack.isEmpty() && this.tableContentWriterStack.getLast() != null )
+        {
+            return this.tableContentWriterStack.getLast();
+        }
+        return writer;
+    }
+
     /** {@inheritDoc} */
     @Override
     protected void writeStartTag( Tag t, MutableAttributeSet att, boolean isSimpleTag )
@@ -19,8 +19,6 @@ package org.apache.maven.doxia.util;
  * under the License.
  */
 
-import java.awt.image.BufferedImage;
-
 import java.io.File;
 import java.io.IOException;
 
@@ -34,8 +32,6 @@ import java.text.SimpleDateFormat;
 import java.util.Date;
 import java.util.Locale;
 
-import javax.imageio.ImageIO;
-
 import javax.swing.text.MutableAttributeSet;
 
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
@@ -355,9 +351,10 @@ public class DoxiaUtils
     /**
      * Determine width and height of an image. If successful, the returned SinkEventAttributes
      * contain width and height attribute keys whose values are the width and height of the image (as a String).
+     * Only the header of the image is read, and the dimensions of local files are cached until the file changes.
      *
      * @param logo a String containing either a URL or a path to an image file. Not null.
-     * @return a set of SinkEventAttributes, or null if no ImageReader was found to read the image.
+     * @return a set of SinkEventAttributes, or null if the format of the image is not supported.
      *
      * @throws java.io.IOException if an error occurs during reading.
      * @throws NullPointerException if logo is null.
@@ -367,25 +364,25 @@ public class DoxiaUtils
     public static MutableAttributeSet getImageAttributes( final String logo )
             throws IOException
     {
-        BufferedImage img;
+        int[] dimensions;
 
         if ( isExternalLink( logo ) )
         {
-            img = ImageIO.read( new URL( logo ) );
+            dimensions = ImageDimensions.read( new URL( logo ) );
         }
         else
         {
-            img = ImageIO.read( new File( logo ) );
+            dimensions = ImageDimensions.read( new File( logo ) );
         }
 
-        if ( img == null )
+        if ( dimensions == null )
         {
             return null;
         }
 
         MutableAttributeSet atts = new SinkEventAttributeSet();
-        atts.addAttribute( SinkEventAttributeSet.WIDTH, Integer.toString( img.getWidth() ) );
-        atts.addAttribute( SinkEventAttributeSet.HEIGHT, Integer.toString( img.getHeight() ) );
+        atts.addAttribute( SinkEventAttributeSet.WIDTH, Integer.toString( dimensions[0] ) );
+        atts.addAttribute( SinkEventAttributeSet.HEIGHT, Integer.toString( dimensions[1] ) );
         // add other attributes?
 
         return atts;
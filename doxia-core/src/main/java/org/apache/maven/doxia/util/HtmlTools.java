@@ -19,6 +19,9 @@ package org.apache.maven.doxia.util;
  * under the License.
  */
 
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.CharsetEncoder;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -198,6 +201,162 @@ public class HtmlTools
         return buffer.toString();
     }
 
+    /**
+     * Escapes special HTML characters in a String as {@link #escapeHTML(String, boolean)} does, and writes the
+     * result to the given writer in the same pass, without creating any intermediate String. In addition:
+     * <ul>
+     * <li>if <code>keepCharacterReferences</code> is true, a <code>&amp;</code> followed by <code>#</code>
+     * is written as is, so that numeric character references already in the text are kept (see DOXIA-314);</li>
+     * <li><code>'\n'</code>, <code>'\r'</code> and <code>'\r\n'</code> are written as the given EOL.</li>
+     * </ul>
+     *
+     * @param text The String to escape, may be null in which case nothing is written.
+     * @param xmlMode <code>true</code> to replace also ' to &#38;apos, <code>false</code> to replace non-ascii
+     * characters by numeric characters references.
+     * @param keepCharacterReferences <code>true</code> to keep numeric character references unescaped.
+     * @param eol the line separator to write for every line break of the text, not null.
+     * @param out the writer to write to, not null.
+     * @throws IOException if the writer fails.
+     * @since 2.0.0
+     */
+    public static void writeEscapedHTML( String text, boolean xmlMode, boolean keepCharacterReferences, String eol,
+                                         Writer out )
+        throws IOException
+    {
+        writeEscapedHTML( text, xmlMode, keepCharacterReferences, eol, null, out );
+    }
+
+    /**
+     * Escapes special HTML characters in a String as
+     * {@link #writeEscapedHTML(String, boolean, boolean, String, Writer)} does, except that in non xml mode,
+     * non-ascii characters that the given encoder can encode are written as is: only the characters the output
+     * charset cannot represent are replaced by numeric character references.
+     *
+     * @param text The String to escape, may be null in which case nothing is written.
+     * @param xmlMode <code>true</code> to replace also ' to &#38;apos, <code>false</code> to replace non-ascii
+     * characters that can't be encoded by numeric characters references.
+     * @param keepCharacterReferences <code>true</code> to keep numeric character references unescaped.
+     * @param eol the line separator to write for every line break of the text, not null.
+     * @param encoder the encoder of the output charset, may be null in which case all non-ascii characters are
+     * replaced. Not thread-safe, so it should not be shared between threads.
+     * @param out the writer to write to, not null.
+     * @throws IOException if the writer fails.
+     * @since 2.0.0
+     */
+    public static void writeEscapedHTML( String text, boolean xmlMode, boolean keepCharacterReferences, String eol,
+                                         CharsetEncoder encoder, Writer out )
+        throws IOException
+    {
+        if ( text == null )
+        {
+            return;
+        }
+
+        int length = text.length();
+        // the first character not written yet
+        int start = 0;
+
+        for ( int i = 0; i < length; ++i )
+        {
+            char c = text.charAt( i );
+            String replacement = null;
+
+            switch ( c )
+            {
+                case '<':
+                    replacement = "&lt;";
+                    break;
+                case '>':
+                    replacement = "&gt;";
+                    break;
+                case '&':
+                    if ( !keepCharacterReferences || i + 1 == length || text.charAt( i + 1 ) != '#' )
+                    {
+                        replacement = "&amp;";
+                    }
+                    break;
+                case '\"':
+                    replacement = "&quot;";
+                    break;
+                case '\r':
+                case '\n':
+                    replacement = eol;
+                    break;
+                case '\'':
+                    if ( xmlMode )
+                    {
+                        replacement = "&apos;";
+                    }
+                    break;
+                default:
+                    if ( !xmlMode && c > ASCII && encoder != null && canEncode( encoder, text, i ) )
+                    {
+                        // kept in the run of unchanged characters
+                        if ( isHighSurrogate( c ) && i + 1 < length )
+                        {
+                            ++i;
+                        }
+                    }
+                    else if ( !xmlMode && c > ASCII )
+                    {
+                        out.write( text, start, i - start );
+                        out.write( "&#x" );
+                        if ( isHighSurrogate( c ) )
+                        {
+                            writeHex( toCodePoint( c, text.charAt( ++i ) ), out );
+                        }
+                        else
+                        {
+                            writeHex( c, out );
+                        }
+                        out.write( ';' );
+                        start = i + 1;
+                    }
+            }
+
+            if ( replacement != null )
+            {
+                out.write( text, start, i - start );
+                out.write( replacement );
+
+                if ( c == '\r' && i + 1 < length && text.charAt( i + 1 ) == '\n' )
+                {
+                    ++i;
+                }
+                start = i + 1;
+            }
+        }
+
+        out.write( text, start, length - start );
+    }
+
+    /**
+     * Tells if the character at the given index, or the surrogate pair starting there, can be encoded.
+     */
+    private static boolean canEncode( CharsetEncoder encoder, String text, int index )
+    {
+        char c = text.charAt( index );
+
+        if ( isHighSurrogate( c ) && index + 1 < text.length() )
+        {
+            return encoder.canEncode( text.subSequence( index, index + 2 ) );
+        }
+
+        return encoder.canEncode( c );
+    }
+
+    /**
+     * Writes the given positive value as lower case hexadecimal digits, as {@link Integer#toHexString(int)}.
+     */
+    private static void writeHex( int value, Writer out )
+        throws IOException
+    {
+        for ( int shift = ( 31 - Integer.numberOfLeadingZeros( value ) ) & ~3; shift >= 0; shift -= 4 )
+        {
+            out.write( Character.forDigit( ( value >> shift ) & 0xF, 16 ) );
+        }
+    }
+
     /**
      * Unescapes HTML entities in a string in non xml mode.
      *
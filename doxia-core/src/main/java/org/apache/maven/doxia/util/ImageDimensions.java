@@ -0,0 +1,373 @@
+package org.apache.maven.doxia.util;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.net.URL;
+
+import java.nio.charset.StandardCharsets;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+/**
+ * Reads the width and height of an image from its header, without decoding its pixels.
+ * PNG, GIF, JPEG and SVG headers are read directly, any other format through the {@link ImageReader}
+ * that ImageIO finds for it. The dimensions of local files are kept in a bounded cache, keyed by path,
+ * last modification time and size, so an image referenced by many pages is only read once.
+ *
+ * @since 2.0.0
+ */
+final class ImageDimensions
+{
+    /** The maximum number of files whose dimensions are cached. */
+    static final int MAX_CACHED_FILES = 256;
+
+    /** The number of bytes looked at to recognize a format, and to find the root element of an SVG image. */
+    private static final int HEADER_LENGTH = 4096;
+
+    private static final byte[] PNG_SIGNATURE = { (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1A, '\n' };
+
+    private static final Pattern SVG_ROOT = Pattern.compile( "<svg\\b[^>]*>" );
+
+    private static final Pattern SVG_LENGTH =
+        Pattern.compile( "\\s(width|height)\\s*=\\s*([\"'])\\s*(\\d+(?:\\.\\d+)?)\\s*(?:px)?\\s*\\2" );
+
+    private static final Map<String, CachedDimensions> CACHE =
+        new LinkedHashMap<String, CachedDimensions>( 16, 0.75f, true )
+        {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry( Map.Entry<String, CachedDimensions> eldest )
+            {
+                return size() > MAX_CACHED_FILES;
+            }
+        };
+
+    private ImageDimensions()
+    {
+        // utility class
+    }
+
+    /**
+     * Reads the dimensions of an image file, or returns them from the cache if the file has the same
+     * last modification time and size as when they were read.
+     *
+     * @param file the image file, not null.
+     * @return the width and height of the image, or null if its format is not recognized.
+     * @throws IOException if the file cannot be read.
+     */
+    static int[] read( File file )
+        throws IOException
+    {
+        if ( !file.canRead() )
+        {
+            throw new IOException( "Can't read input file: " + file );
+        }
+
+        String path = file.getAbsolutePath();
+        long lastModified = file.lastModified();
+        long length = file.length();
+
+        synchronized ( CACHE )
+        {
+            CachedDimensions cached = CACHE.get( path );
+            if ( cached != null && cached.lastModified == lastModified && cached.length == length )
+            {
+                return cached.dimensions;
+            }
+        }
+
+        int[] dimensions;
+        try ( InputStream in = new BufferedInputStream( new FileInputStream( file ), HEADER_LENGTH ) )
+        {
+            dimensions = read( in );
+        }
+
+        synchronized ( CACHE )
+        {
+            CACHE.put( path, new CachedDimensions( lastModified, length, dimensions ) );
+        }
+
+        return dimensions;
+    }
+
+    /**
+     * Reads the dimensions of a remote image. These are not cached.
+     *
+     * @param url the URL of the image, not null.
+     * @return the width and height of the image, or null if its format is not recognized.
+     * @throws IOException if the image cannot be read.
+     */
+    static int[] read( URL url )
+        throws IOException
+    {
+        try ( InputStream in = new BufferedInputStream( url.openStream(), HEADER_LENGTH ) )
+        {
+            return read( in );
+        }
+    }
+
+    /**
+     * Forgets all cached dimensions.
+     */
+    static void clearCache()
+    {
+        synchronized ( CACHE )
+        {
+            CACHE.clear();
+        }
+    }
+
+    private static int[] read( InputStream in )
+        throws IOException
+    {
+        in.mark( HEADER_LENGTH );
+        byte[] header = new byte[HEADER_LENGTH];
+        int length = readFully( in, header );
+        in.reset();
+
+        if ( startsWith( header, length, PNG_SIGNATURE ) )
+        {
+            // the IHDR chunk always comes first: length, type, then width and height
+            return length < 24 ? null : new int[] { int32( header, 16 ), int32( header, 20 ) };
+        }
+        if ( length >= 10 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8' )
+        {
+            // logical screen width and height, little endian
+            return new int[] { uint16le( header, 6 ), uint16le( header, 8 ) };
+        }
+        if ( length >= 2 && ( header[0] & 0xFF ) == 0xFF && ( header[1] & 0xFF ) == 0xD8 )
+        {
+            // the segments before the frame header may be larger than the header, e.g. Exif thumbnails
+            return readJpeg( in );
+        }
+
+        int[] svg = readSvg( header, length );
+        if ( svg != null )
+        {
+            return svg;
+        }
+
+        return readWithImageReader( in );
+    }
+
+    private static int[] readJpeg( InputStream in )
+        throws IOException
+    {
+        skip( in, 2 );
+
+        while ( true )
+        {
+            int marker = in.read();
+            if ( marker != 0xFF )
+            {
+                return null;
+            }
+            while ( marker == 0xFF )
+            {
+                marker = in.read();
+            }
+            if ( marker < 0 || marker == 0xD9 || marker == 0xDA )
+            {
+                // end of image or start of scan without any frame header
+                return null;
+            }
+            if ( marker == 0x01 || ( marker >= 0xD0 && marker <= 0xD8 ) )
+            {
+                // stand-alone markers
+                continue;
+            }
+
+            int segmentLength = uint16( in );
+            if ( marker >= 0xC0 && marker <= 0xCF && marker != 0xC4 && marker != 0xC8 && marker != 0xCC )
+            {
+                // start of frame: precision, height, width
+                skip( in, 1 );
+                int height = uint16( in );
+                int width = uint16( in );
+                return new int[] { width, height };
+            }
+            skip( in, segmentLength - 2 );
+        }
+    }
+
+    private static int[] readSvg( byte[] header, int length )
+    {
+        String text = new String( header, 0, length, StandardCharsets.UTF_8 );
+        Matcher root = SVG_ROOT.matcher( text );
+        if ( !root.find() )
+        {
+            return null;
+        }
+
+        int width = -1;
+        int height = -1;
+        Matcher attribute = SVG_LENGTH.matcher( root.group() );
+        while ( attribute.find() )
+        {
+            int value = (int) Math.round( Double.parseDouble( attribute.group( 3 ) ) );
+            if ( "width".equals( attribute.group( 1 ) ) )
+            {
+                width = value;
+            }
+            else
+            {
+                height = value;
+            }
+        }
+
+        // relative lengths, percentages or a missing size depend on where the image is shown
+        return width < 0 || height < 0 ? null : new int[] { width, height };
+    }
+
+    private static int[] readWithImageReader( InputStream in )
+        throws IOException
+    {
+        try ( ImageInputStream iis = ImageIO.createImageInputStream( in ) )
+        {
+            if ( iis == null )
+            {
+                return null;
+            }
+
+            Iterator<ImageReader> readers = ImageIO.getImageReaders( iis );
+            if ( !readers.hasNext() )
+            {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+            try
+            {
+                reader.setInput( iis, true, true );
+                return new int[] { reader.getWidth( 0 ), reader.getHeight( 0 ) };
+            }
+            finally
+            {
+                reader.dispose();
+            }
+        }
+    }
+
+    private static int readFully( InputStream in, byte[] buffer )
+        throws IOException
+    {
+        int length = 0;
+        while ( length < buffer.length )
+        {
+            int read = in.read( buffer, length, buffer.length - length );
+            if ( read < 0 )
+            {
+                break;
+            }
+            length += read;
+        }
+        return length;
+    }
+
+    private static void skip( InputStream in, long n )
+        throws IOException
+    {
+        long remaining = n;
+        while ( remaining > 0 )
+        {
+            long skipped = in.skip( remaining );
+            if ( skipped <= 0 )
+            {
+                if ( in.read() < 0 )
+                {
+                    throw new EOFException( "Truncated image" );
+                }
+                skipped = 1;
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static int uint16( InputStream in )
+        throws IOException
+    {
+        int high = in.read();
+        int low = in.read();
+        if ( ( high | low ) < 0 )
+        {
+            throw new EOFException( "Truncated image" );
+        }
+        return ( high << 8 ) | low;
+    }
+
+    private static boolean startsWith( byte[] header, int length, byte[] prefix )
+    {
+        if ( length < prefix.length )
+        {
+            return false;
+        }
+        for ( int i = 0; i < prefix.length; i++ )
+        {
+            if ( header[i] != prefix[i] )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int int32( byte[] b, int offset )
+    {
+        return ( ( b[offset] & 0xFF ) << 24 ) | ( ( b[offset + 1] & 0xFF ) << 16 ) | ( ( b[offset + 2] & 0xFF ) << 8 )
+            | ( b[offset + 3] & 0xFF );
+    }
+
+    private static int uint16le( byte[] b, int offset )
+    {
+        return ( b[offset] & 0xFF ) | ( ( b[offset + 1] & 0xFF ) << 8 );
+    }
+
+    private static final class CachedDimensions
+    {
+        private final long lastModified;
+
+        private final long length;
+
+        private final int[] dimensions;
+
+        CachedDimensions( long lastModified, long length, int[] dimensions )
+        {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.dimensions = dimensions;
+        }
+    }
+}
@@ -20,27 +20,49 @@ package org.apache.maven.doxia.util;
  */
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
 import java.io.StringReader;
-
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 import javax.xml.XMLConstants;
+import javax.xml.parsers.ParserConfigurationException;
+import javax.xml.parsers.SAXParserFactory;
+import javax.xml.transform.Source;
+import javax.xml.transform.stream.StreamSource;
+import javax.xml.validation.Schema;
+import javax.xml.validation.SchemaFactory;
+import javax.xml.validation.ValidatorHandler;
 
 import org.apache.maven.doxia.markup.XmlMarkup;
 import org.apache.maven.doxia.parser.AbstractXmlParser.CachedFileEntityResolver;
 import org.apache.maven.doxia.parser.ParseException;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.ls.LSInput;
+import org.w3c.dom.ls.LSResourceResolver;
+import org.xml.sax.Attributes;
 import org.xml.sax.InputSource;
+import org.xml.sax.Locator;
 import org.xml.sax.SAXException;
 import org.xml.sax.SAXParseException;
 import org.xml.sax.XMLReader;
-import org.xml.sax.helpers.DefaultHandler;
-import org.xml.sax.helpers.XMLReaderFactory;
+import org.xml.sax.ext.DefaultHandler2;
 
 /**
  * A class to validate xml documents.
+ * <p>
+ * Documents with a doctype are validated against their DTD. Documents referring to XML Schemas with
+ * <code>xsi:schemaLocation</code> or <code>xsi:noNamespaceSchemaLocation</code> are validated against these
+ * schemas, which are compiled once per JVM and shared by all the instances of this class.
+ * </p>
  *
  * @since 1.1.3
  */
@@ -48,14 +70,20 @@ public class XmlValidator
 {
     private static final Logger LOGGER = LoggerFactory.getLogger( XmlValidator.class );
 
-    /**
-     * Doctype pattern i.e. ".*<!DOCTYPE([^>]*)>.*"
-     * see <a href="http://www.w3.org/TR/REC-xml/#NT-doctypedecl">http://www.w3.org/TR/REC-xml/#NT-doctypedecl</a>.
-     */
-    private static final Pattern PATTERN_DOCTYPE = Pattern.compile( ".*" + XmlMarkup.DOCTYPE_START + "([^>]*)>.*" );
+    /** The schema used when a document declares neither a doctype nor any XML Schema. */
+    private static final String NO_SCHEMA = "";
+
+    /** Compiled XML Schemas, with the schema locations declared by the documents as key. */
+    private static final Map<String, Schema> SCHEMA_CACHE = new ConcurrentHashMap<>();
 
-    /** Tag pattern as defined in http://www.w3.org/TR/REC-xml/#NT-Name */
-    private static final Pattern PATTERN_TAG = Pattern.compile( ".*<([A-Za-z][A-Za-z0-9:_.-]*)([^>]*)>.*" );
+    /** Looked up once: finding the implementation scans the class path. Guarded by itself. */
+    private static final SAXParserFactory SAX_PARSER_FACTORY = SAXParserFactory.newInstance();
+
+    static
+    {
+        SAX_PARSER_FACTORY.setNamespaceAware( true );
+        SAX_PARSER_FACTORY.setValidating( true );
+    }
 
     /** lazy xmlReader to validate xml content*/
     private XMLReader xmlReader;
@@ -71,29 +99,149 @@ public class XmlValidator
     {
         try
         {
-            // 1 if there's a doctype
-            boolean hasDoctype = false;
-            Matcher matcher = PATTERN_DOCTYPE.matcher( content );
-            if ( matcher.find() )
+            XMLReader reader = getXmlReader();
+            ( (MessagesErrorHandler) reader.getErrorHandler() ).setHasDtdAndXsd( hasDtdAndXsd( content ) );
+            reader.parse( new InputSource( new StringReader( content ) ) );
+        }
+        catch ( IOException | SAXException e )
+        {
+            throw new ParseException( "Error validating the model", e );
+        }
+    }
+
+    /**
+     * Scans the prolog of an XML content, up to the end of the root start tag, for a doctype and for a reference to
+     * the XML Schema instance namespace in the root start tag.
+     * See <a href="http://www.w3.org/TR/REC-xml/#NT-prolog">http://www.w3.org/TR/REC-xml/#NT-prolog</a>.
+     *
+     * @param content a not null xml content.
+     * @return <code>true</code> if the content has a doctype and its root start tag refers to the XML Schema instance
+     * namespace.
+     */
+    static boolean hasDtdAndXsd( String content )
+    {
+        boolean hasDoctype = false;
+        int length = content.length();
+        int i = content.indexOf( '<' );
+
+        while ( i != -1 && i + 1 < length )
+        {
+            char c = content.charAt( i + 1 );
+
+            if ( c == '?' )
+            {
+                // XML declaration or processing instruction
+                i = skipPast( content, "?>", i + 2 );
+            }
+            else if ( content.startsWith( "<!--", i ) )
+            {
+                i = skipPast( content, "-->", i + 4 );
+            }
+            else if ( content.startsWith( XmlMarkup.DOCTYPE_START, i ) )
             {
                 hasDoctype = true;
+                i = skipMarkup( content, i + XmlMarkup.DOCTYPE_START.length() );
             }
+            else if ( Character.isLetter( c ) || c == '_' || c == ':' )
+            {
+                if ( !hasDoctype )
+                {
+                    return false;
+                }
 
-            // 2 check for an xmlns instance
-            boolean hasXsd = false;
-            matcher = PATTERN_TAG.matcher( content );
-            if ( matcher.find() )
+                int end = skipMarkup( content, i + 1 );
+                return end != -1 && content.substring( i, end ).contains( XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI );
+            }
+            else
             {
-                String value = matcher.group( 2 );
+                i++;
+            }
+
+            i = i == -1 ? -1 : content.indexOf( '<', i );
+        }
+
+        return false;
+    }
+
+    /**
+     * @return the index following the end of the markup starting before <code>from</code>, i.e. its closing
+     * <code>&gt;</code> outside of quotes and of an internal subset, or -1.
+     */
+    private static int skipMarkup( String content, int from )
+    {
+        char quote = 0;
+        int subsetDepth = 0;
 
-                if ( value.contains( XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI ) )
+        for ( int i = from; i < content.length(); i++ )
+        {
+            char c = content.charAt( i );
+
+            if ( quote != 0 )
+            {
+                if ( c == quote )
                 {
-                    hasXsd = true;
+                    quote = 0;
                 }
             }
+            else if ( c == '"' || c == '\'' )
+            {
+                quote = c;
+            }
+            else if ( c == '[' )
+            {
+                subsetDepth++;
+            }
+            else if ( c == ']' )
+            {
+                subsetDepth--;
+            }
+            else if ( c == '<' && content.startsWith( "<!--", i ) )
+            {
+                // comments in the internal subset may hold quotes
+                i = skipPast( content, "-->", i + 4 ) - 1;
+                if ( i < 0 )
+                {
+                    return -1;
+                }
+            }
+            else if ( c == '>' && subsetDepth <= 0 )
+            {
+                return i + 1;
+            }
+        }
 
-            // 3 validate content
-            getXmlReader( hasXsd && hasDoctype ).parse( new InputSource( new StringReader( content ) ) );
+        return -1;
+    }
+
+    /**
+     * @return the index following the first occurrence of <code>s</code> from <code>from</code>, or -1.
+     */
+    private static int skipPast( String content, String s, int from )
+    {
+        int i = content.indexOf( s, from );
+        return i == -1 ? -1 : i + s.length();
+    }
+
+    /**
+     * Validate an XML content with SAX, reading it as a stream.
+     * <p>
+     * Unlike {@link #validate(String)}, the content is never held in memory as a whole. Whether the document
+     * declares both a doctype and an XML Schema instance is found out from the SAX events of the prolog and of
+     * the root element, instead of by matching patterns against the whole content.
+     * </p>
+     *
+     * @param source a not null reader of the xml content. It is read until its end but not closed.
+     * @throws ParseException if the content is not valid, or could not be read.
+     * @since 2.0.0
+     */
+    public void validate( Reader source )
+        throws ParseException
+    {
+        try
+        {
+            XMLReader reader = getXmlReader();
+            ( (MessagesErrorHandler) reader.getErrorHandler() ).detectDtdAndXsd();
+            reader.parse( new InputSource( source ) );
         }
         catch ( IOException | SAXException e )
         {
@@ -102,34 +250,124 @@ public class XmlValidator
     }
 
     /**
-     * @param hasDtdAndXsd to flag the <code>ErrorHandler</code>.
      * @return an xmlReader instance.
      * @throws SAXException if any
      */
-    private XMLReader getXmlReader( boolean hasDtdAndXsd )
+    private XMLReader getXmlReader()
         throws SAXException
     {
         if ( xmlReader == null )
         {
             MessagesErrorHandler errorHandler = new MessagesErrorHandler( );
 
-            xmlReader = XMLReaderFactory.createXMLReader();
-            xmlReader.setFeature( "http://xml.org/sax/features/validation", true );
-            xmlReader.setFeature( "http://apache.org/xml/features/validation/schema", true );
+            SchemaValidationHandler schemaHandler = new SchemaValidationHandler( errorHandler );
+
+            // the reader only validates against DTDs, schemas are handled by schemaHandler
+            xmlReader = newXmlReader();
+            xmlReader.setFeature( "http://apache.org/xml/features/validation/dynamic", true );
             xmlReader.setErrorHandler( errorHandler );
+            xmlReader.setContentHandler( schemaHandler );
+            xmlReader.setProperty( "http://xml.org/sax/properties/lexical-handler", schemaHandler );
             xmlReader.setEntityResolver( new CachedFileEntityResolver() );
         }
 
-        ( (MessagesErrorHandler) xmlReader.getErrorHandler() ).setHasDtdAndXsd( hasDtdAndXsd );
-
         return xmlReader;
     }
 
+    /**
+     * @return a new validating and namespace aware xmlReader.
+     * @throws SAXException if any
+     */
+    private static XMLReader newXmlReader()
+        throws SAXException
+    {
+        synchronized ( SAX_PARSER_FACTORY )
+        {
+            try
+            {
+                return SAX_PARSER_FACTORY.newSAXParser().getXMLReader();
+            }
+            catch ( ParserConfigurationException e )
+            {
+                throw new SAXException( e.getMessage(), e );
+            }
+        }
+    }
+
+    /**
+     * @param locations the schema locations declared by a document: the value of its
+     * <code>xsi:schemaLocation</code> attribute, followed by the one of its <code>xsi:noNamespaceSchemaLocation</code>
+     * attribute, or {@link #NO_SCHEMA}.
+     * @return the compiled schema, shared by all the documents declaring the same schema locations.
+     * @throws SAXException if a schema could not be loaded or compiled.
+     */
+    static Schema getSchema( String locations )
+        throws SAXException
+    {
+        Schema schema = SCHEMA_CACHE.get( locations );
+
+        if ( schema == null )
+        {
+            SchemaFactory factory = SchemaFactory.newInstance( XMLConstants.W3C_XML_SCHEMA_NS_URI );
+            CachedFileEntityResolver entityResolver = new CachedFileEntityResolver();
+            factory.setResourceResolver( new CachedResourceResolver( entityResolver ) );
+
+            if ( NO_SCHEMA.equals( locations ) )
+            {
+                // reports the missing declarations as a validating XMLReader does
+                schema = factory.newSchema();
+            }
+            else
+            {
+                // schemaLocation holds namespace and location pairs
+                String[] tokens = locations.trim().split( "\\s+" );
+                List<Source> sources = new ArrayList<>();
+                for ( int i = tokens.length % 2; i + 1 < tokens.length; i += 2 )
+                {
+                    sources.add( toSource( entityResolver, tokens[i + 1] ) );
+                }
+                if ( tokens.length % 2 == 1 )
+                {
+                    sources.add( toSource( entityResolver, tokens[0] ) );
+                }
+
+                schema = factory.newSchema( sources.toArray( new Source[0] ) );
+            }
+
+            Schema cached = SCHEMA_CACHE.putIfAbsent( locations, schema );
+            if ( cached != null )
+            {
+                schema = cached;
+            }
+        }
+
+        return schema;
+    }
+
+    private static Source toSource( CachedFileEntityResolver entityResolver, String systemId )
+        throws SAXException
+    {
+        try
+        {
+            InputSource inputSource = entityResolver.resolveEntity( null, systemId );
+            return new StreamSource( inputSource.getByteStream(), systemId );
+        }
+        catch ( IOException e )
+        {
+            throw new SAXException( "Could not load the XML Schema: " + systemId, e );
+        }
+    }
+
     /**
      * Convenience class to beautify <code>SAXParseException</code> messages.
+     * <p>
+     * When the document is validated as a stream, it also finds out whether the document has both a doctype and an
+     * XML Schema instance: the "element must be declared" errors reported before the root element is known are held
+     * back until then.
+     * </p>
      */
     private static class MessagesErrorHandler
-        extends DefaultHandler
+        extends DefaultHandler2
     {
         private static final int TYPE_UNKNOWN = 0;
 
@@ -147,6 +385,16 @@ public class XmlValidator
 
         private boolean hasDtdAndXsd;
 
+        /** <code>false</code> while hasDtdAndXsd is still to be found out from the SAX events. */
+        private boolean detected;
+
+        private boolean hasDoctype;
+
+        private boolean hasXsd;
+
+        /** The first "element must be declared" error held back while hasDtdAndXsd is not known yet. */
+        private SAXParseException pendingError;
+
         private MessagesErrorHandler( )
         {
         }
@@ -157,6 +405,79 @@ public class XmlValidator
         protected void setHasDtdAndXsd( boolean hasDtdAndXsd )
         {
             this.hasDtdAndXsd = hasDtdAndXsd;
+            this.detected = true;
+        }
+
+        /**
+         * Finds out hasDtdAndXsd from the SAX events of the next document.
+         */
+        protected void detectDtdAndXsd()
+        {
+            this.hasDtdAndXsd = false;
+            this.detected = false;
+            this.hasDoctype = false;
+            this.hasXsd = false;
+            this.pendingError = null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void startDTD( String name, String publicId, String systemId )
+        {
+            hasDoctype = true;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void startPrefixMapping( String prefix, String uri )
+        {
+            if ( XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI.equals( uri ) )
+            {
+                hasXsd = true;
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void startElement( String uri, String localName, String qName, Attributes attributes )
+            throws SAXException
+        {
+            if ( detected )
+            {
+                return;
+            }
+
+            for ( int i = 0; i < attributes.getLength() && !hasXsd; i++ )
+            {
+                hasXsd = attributes.getValue( i ).contains( XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI );
+            }
+
+            setHasDtdAndXsd( hasDoctype && hasXsd );
+
+            if ( !hasDtdAndXsd )
+            {
+                processPendingError();
+            }
+            pendingError = null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void endDocument()
+            throws SAXException
+        {
+            processPendingError();
+        }
+
+        private void processPendingError()
+            throws SAXException
+        {
+            if ( pendingError != null )
+            {
+                SAXParseException e = pendingError;
+                pendingError = null;
+                processException( TYPE_ERROR, e );
+            }
         }
 
         /** {@inheritDoc} */
@@ -175,7 +496,7 @@ public class XmlValidator
             // Workaround for Xerces complaints when an XML with XSD needs also a <!DOCTYPE []> to specify entities
             // like &nbsp;
             // See http://xsd.stylusstudio.com/2001Nov/post08021.htm
-            if ( !hasDtdAndXsd )
+            if ( detected && !hasDtdAndXsd )
             {
                 processException( TYPE_ERROR, e );
                 return;
@@ -186,6 +507,10 @@ public class XmlValidator
             {
                 processException( TYPE_ERROR, e );
             }
+            else if ( !detected && pendingError == null )
+            {
+                pendingError = e;
+            }
         }
 
         /** {@inheritDoc} */
@@ -244,4 +569,377 @@ public class XmlValidator
             }
         }
     }
+
+    /**
+     * Validates the document against the XML Schemas it declares, if any, by forwarding the SAX events to a
+     * <code>ValidatorHandler</code> of the cached compiled schemas. It also tells the error handler about the doctype
+     * and the root element.
+     */
+    private static class SchemaValidationHandler
+        extends DefaultHandler2
+    {
+        private final MessagesErrorHandler errorHandler;
+
+        private Locator locator;
+
+        private boolean hasDoctype;
+
+        /** The namespace mappings of the root element, seen before the root element itself. */
+        private final List<String[]> rootPrefixMappings = new ArrayList<>();
+
+        private boolean rootSeen;
+
+        /** The handler validating against the XML Schemas, null if there are none. */
+        private ValidatorHandler validatorHandler;
+
+        private SchemaValidationHandler( MessagesErrorHandler errorHandler )
+        {
+            this.errorHandler = errorHandler;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void setDocumentLocator( Locator locator )
+        {
+            this.locator = locator;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void startDocument()
+        {
+            hasDoctype = false;
+            rootPrefixMappings.clear();
+            rootSeen = false;
+            validatorHandler = null;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void startDTD( String name, String publicId, String systemId )
+        {
+            hasDoctype = true;
+            errorHandler.startDTD( name, publicId, systemId );
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void startPrefixMapping( String prefix, String uri )
+            throws SAXException
+        {
+            if ( !rootSeen )
+            {
+                rootPrefixMappings.add( new String[] { prefix, uri } );
+                errorHandler.startPrefixMapping( prefix, uri );
+            }
+            else if ( validatorHandler != null )
+            {
+                validatorHandler.startPrefixMapping( prefix, uri );
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void endPrefixMapping( String prefix )
+            throws SAXException
+        {
+            if ( validatorHandler != null )
+            {
+                validatorHandler.endPrefixMapping( prefix );
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void startElement( String uri, String localName, String qName, Attributes attributes )
+            throws SAXException
+        {
+            if ( !rootSeen )
+            {
+                rootSeen = true;
+                errorHandler.startElement( uri, localName, qName, attributes );
+                startSchemaValidation( attributes );
+            }
+
+            if ( validatorHandler != null )
+            {
+                validatorHandler.startElement( uri, localName, qName, attributes );
+            }
+        }
+
+        private void startSchemaValidation( Attributes attributes )
+            throws SAXException
+        {
+            String xsi = XMLConstants.W3C_XML_SCHEMA_INSTANCE_NS_URI;
+            String schemaLocation = attributes.getValue( xsi, "schemaLocation" );
+            String noNamespaceSchemaLocation = attributes.getValue( xsi, "noNamespaceSchemaLocation" );
+
+            String locations;
+            if ( schemaLocation != null || noNamespaceSchemaLocation != null )
+            {
+                locations = ( noNamespaceSchemaLocation != null ? noNamespaceSchemaLocation : "" ) + " "
+                    + ( schemaLocation != null ? schemaLocation : "" );
+            }
+            else if ( !hasDoctype )
+            {
+                locations = NO_SCHEMA;
+            }
+            else
+            {
+                // validated against the DTD only
+                return;
+            }
+
+            validatorHandler = getSchema( locations ).newValidatorHandler();
+            validatorHandler.setErrorHandler( errorHandler );
+            validatorHandler.setResourceResolver( new CachedResourceResolver( new CachedFileEntityResolver() ) );
+            if ( locator != null )
+            {
+                validatorHandler.setDocumentLocator( locator );
+            }
+
+            validatorHandler.startDocument();
+            for ( String[] mapping : rootPrefixMappings )
+            {
+                validatorHandler.startPrefixMapping( mapping[0], mapping[1] );
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void endElement( String uri, String localName, String qName )
+            throws SAXException
+        {
+            if ( validatorHandler != null )
+            {
+                validatorHandler.endElement( uri, localName, qName );
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void characters( char[] ch, int start, int length )
+            throws SAXException
+        {
+            if ( validatorHandler != null )
+            {
+                validatorHandler.characters( ch, start, length );
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void ignorableWhitespace( char[] ch, int start, int length )
+            throws SAXException
+        {
+            if ( validatorHandler != null )
+            {
+                validatorHandler.ignorableWhitespace( ch, start, length );
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void processingInstruction( String target, String data )
+            throws SAXException
+        {
+            if ( validatorHandler != null )
+            {
+                validatorHandler.processingInstruction( target, data );
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void skippedEntity( String name )
+            throws SAXException
+        {
+            if ( validatorHandler != null )
+            {
+                validatorHandler.skippedEntity( name );
+            }
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public void endDocument()
+            throws SAXException
+        {
+            if ( validatorHandler != null )
+            {
+                validatorHandler.endDocument();
+                validatorHandler = null;
+            }
+
+            errorHandler.endDocument();
+        }
+    }
+
+    /**
+     * Resolves the resources imported or included by XML Schemas with a {@link CachedFileEntityResolver}.
+     */
+    private static class CachedResourceResolver
+        implements LSResourceResolver
+    {
+        private final CachedFileEntityResolver entityResolver;
+
+        private CachedResourceResolver( CachedFileEntityResolver entityResolver )
+        {
+            this.entityResolver = entityResolver;
+        }
+
+        /** {@inheritDoc} */
+        @Override
+        public LSInput resolveResource( String type, String namespaceURI, String publicId, String systemId,
+                                        String baseURI )
+        {
+            if ( systemId == null )
+            {
+                return null;
+            }
+
+            String resolved = systemId;
+            try
+            {
+                if ( baseURI != null )
+                {
+                    resolved = new URI( baseURI ).resolve( systemId ).toString();
+                }
+            }
+            catch ( IllegalArgumentException | URISyntaxException e )
+            {
+                // use systemId as is
+            }
+
+            try
+            {
+                InputSource inputSource = entityResolver.resolveEntity( publicId, resolved );
+                return new ByteStreamInput( inputSource.getByteStream(), publicId, resolved, baseURI );
+            }
+            catch ( IOException | SAXException e )
+            {
+                // let the schema factory report it
+                return null;
+            }
+        }
+    }
+
+    /**
+     * An <code>LSInput</code> for a byte stream.
+     */
+    private static class ByteStreamInput
+        implements LSInput
+    {
+        private InputStream byteStream;
+
+        private String publicId;
+
+        private String systemId;
+
+        private String baseURI;
+
+        private ByteStreamInput( InputStream byteStream, String publicId, String systemId, String baseURI )
+        {
+            this.byteStream = byteStream;
+            this.publicId = publicId;
+            this.systemId = systemId;
+            this.baseURI = baseURI;
+        }
+
+        @Override
+        public Reader getCharacterStream()
+        {
+            return null;
+        }
+
+        @Override
+        public void setCharacterStream( Reader characterStream )
+        {
+            // not supported
+        }
+
+        @Override
+        public InputStream getByteStream()
+        {
+            return byteStream;
+        }
+
+        @Override
+        public void setByteStream( InputStream byteStream )
+        {
+            this.byteStream = byteStream;
+        }
+
+        @Override
+        public String getStringData()
+        {
+            return null;
+        }
+
+        @Override
+        public void setStringData( String stringData )
+        {
+            // not supported
+        }
+
+        @Override
+        public String getSystemId()
+        {
+            return systemId;
+        }
+
+        @Override
+        public void setSystemId( String systemId )
+        {
+            this.systemId = systemId;
+        }
+
+        @Override
+        public String getPublicId()
+        {
+            return publicId;
+        }
+
+        @Override
+        public void setPublicId( String publicId )
+        {
+            this.publicId = publicId;
+        }
+
+        @Override
+        public String getBaseURI()
+        {
+            return baseURI;
+        }
+
+        @Override
+        public void setBaseURI( String baseURI )
+        {
+            this.baseURI = baseURI;
+        }
+
+        @Override
+        public String getEncoding()
+        {
+            return null;
+        }
+
+        @Override
+        public void setEncoding( String encoding )
+        {
+            // not supported
+        }
+
+        @Override
+        public boolean getCertifiedText()
+        {
+            return false;
+        }
+
+        @Override
+        public void setCertifiedText( boolean certifiedText )
+        {
+            // not supported
+        }
+    }
 }
@@ -21,13 +21,27 @@ package org.apache.maven.doxia;
 
 import javax.inject.Inject;
 
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RejectedExecutionException;
+
 import org.apache.maven.doxia.parser.manager.ParserNotFoundException;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.TextSink;
 import org.codehaus.plexus.testing.PlexusTest;
 import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
 @PlexusTest
@@ -54,4 +68,143 @@ public class DefaultDoxiaTest
         assertEquals( "Cannot find parser with id = " + parserId, e.getMessage() );
     }
 
+    @Test
+    public void testBatchParsing()
+        throws Exception
+    {
+        List<BatchJob> jobs = new ArrayList<>();
+        for ( int i = 0; i < 12; i++ )
+        {
+            jobs.add( new StringBatchJob( "doc" + i, i % 4 == 3 ? "a-parser" : "plain-text", "text " + i ) );
+        }
+
+        List<Integer> notified = new ArrayList<>();
+        ForkJoinPool executor = new ForkJoinPool( 4 );
+        BatchResult result;
+        try
+        {
+            result = doxia.parse( jobs, executor, 2, ( index, job, failure ) -> notified.add( index ) );
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+
+        assertEquals( 12, result.getJobCount() );
+        assertFalse( result.isSuccessful() );
+        assertEquals( 3, result.getFailureCount() );
+        for ( int i = 0; i < 12; i++ )
+        {
+            assertEquals( i, notified.get( i ).intValue() );
+
+            StringBatchJob job = (StringBatchJob) jobs.get( i );
+            if ( i % 4 == 3 )
+            {
+                assertTrue( result.getFailure( i ) instanceof ParserNotFoundException );
+            }
+            else
+            {
+                assertNull( result.getFailure( i ) );
+                assertTrue( job.output.toString().contains( "text " + i ), job.output.toString() );
+            }
+        }
+    }
+
+    @Test
+    public void testBatchFailuresOfEqualJobs()
+        throws Exception
+    {
+        BatchJob failing = new StringBatchJob( "doc", "a-parser", "text" );
+        List<BatchJob> jobs = Arrays.asList( failing, new StringBatchJob( "doc", "plain-text", "text" ), failing );
+
+        BatchResult result = doxia.parse( jobs, Runnable::run, 1, null );
+
+        assertEquals( 2, result.getFailureCount() );
+        assertTrue( result.getFailure( 0 ) instanceof ParserNotFoundException );
+        assertNull( result.getFailure( 1 ) );
+        assertTrue( result.getFailure( 2 ) instanceof ParserNotFoundException );
+    }
+
+    @Test
+    public void testBatchWithFailingListenerAndExecutor()
+        throws Exception
+    {
+        List<BatchJob> jobs = new ArrayList<>();
+        for ( int i = 0; i < 3; i++ )
+        {
+            jobs.add( new StringBatchJob( "doc" + i, "plain-text", "text" ) );
+        }
+
+        List<Integer> notified = new ArrayList<>();
+        BatchResult result = doxia.parse( jobs, command ->
+        {
+            throw new RejectedExecutionException( "rejected" );
+        }, 1, ( index, job, failure ) ->
+        {
+            notified.add( index );
+            throw new IllegalStateException( "listener failed" );
+        } );
+
+        assertEquals( Arrays.asList( 0, 1, 2 ), notified );
+        assertEquals( 3, result.getFailureCount() );
+        for ( Exception failure : result.getFailures() )
+        {
+            assertTrue( failure instanceof RejectedExecutionException );
+        }
+    }
+
+    private static class StringBatchJob
+        implements BatchJob
+    {
+        private final String reference;
+
+        private final String parserId;
+
+        private final String source;
+
+        private final StringWriter output = new StringWriter();
+
+        StringBatchJob( String reference, String parserId, String source )
+        {
+            this.reference = reference;
+            this.parserId = parserId;
+            this.source = source;
+        }
+
+        @Override
+        public String getReference()
+        {
+            return reference;
+        }
+
+        @Override
+        public String getParserId()
+        {
+            return parserId;
+        }
+
+        @Override
+        public Reader openSource()
+        {
+            return new StringReader( source );
+        }
+
+        @Override
+        public Sink createSink()
+        {
+            return new TextSink( output );
+        }
+
+        @Override
+        public boolean equals( Object o )
+        {
+            return o instanceof StringBatchJob && reference.equals( ( (StringBatchJob) o ).reference );
+        }
+
+        @Override
+        public int hashCode()
+        {
+            return reference.hashCode();
+        }
+    }
 }
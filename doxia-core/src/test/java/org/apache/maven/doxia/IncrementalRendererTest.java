@@ -0,0 +1,317 @@
+package org.apache.maven.doxia;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+
+import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.impl.SinkAdapter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test IncrementalRenderer.
+ */
+public class IncrementalRendererTest
+{
+    @TempDir
+    Path dir;
+
+    private final Map<String, String> sources = new LinkedHashMap<>();
+
+    private final Map<String, Set<String>> macroInputs = new HashMap<>();
+
+    private final List<String> parsed = new ArrayList<>();
+
+    /** Run while a document is rendered, after its source was opened. */
+    private Callable<?> whileRendering;
+
+    private IncrementalRenderer renderer;
+
+    @BeforeEach
+    public void setUp()
+    {
+        renderer = new IncrementalRenderer( new RenderingDoxia(), dir.resolve( "index.properties" ).toFile() );
+        sources.put( "a.apt", "A" );
+        sources.put( "b.apt", "B" );
+    }
+
+    @Test
+    public void testUnchangedDocumentsSkipped()
+        throws Exception
+    {
+        IncrementalResult result = render( "apt" );
+        assertEquals( Arrays.asList( "a.apt", "b.apt" ), parsed );
+        assertEquals( 2, result.getRendered().size() );
+
+        parsed.clear();
+        result = render( "apt" );
+        assertEquals( Collections.emptyList(), parsed );
+        assertEquals( 2, result.getSkipped().size() );
+        assertTrue( result.getRendered().isEmpty() );
+    }
+
+    @Test
+    public void testChangedSourceRendered()
+        throws Exception
+    {
+        render( "apt" );
+
+        sources.put( "b.apt", "B, changed" );
+        parsed.clear();
+        IncrementalResult result = render( "apt" );
+
+        assertEquals( Collections.singletonList( "b.apt" ), parsed );
+        assertEquals( "b.apt", result.getRendered().get( 0 ).getReference() );
+        assertEquals( "a.apt", result.getSkipped().get( 0 ).getReference() );
+
+        parsed.clear();
+        render( "xdoc" );
+        assertEquals( Arrays.asList( "a.apt", "b.apt" ), parsed );
+    }
+
+    @Test
+    public void testChangedMacroInputRendered()
+        throws Exception
+    {
+        File snippet = dir.resolve( "snippet.java" ).toFile();
+        Files.write( snippet.toPath(), "// snippet".getBytes( StandardCharsets.UTF_8 ) );
+        macroInputs.put( "a.apt", Collections.singleton( snippet.toURI().toURL().toExternalForm() ) );
+        macroInputs.put( "b.apt", Collections.singleton( "https://maven.apache.org/snippet.java" ) );
+
+        render( "apt" );
+        parsed.clear();
+        render( "apt" );
+        // an input is checked once it was hashed before a rendering
+        assertEquals( Arrays.asList( "a.apt", "b.apt" ), parsed );
+
+        parsed.clear();
+        render( "apt" );
+        // remote inputs cannot be checked
+        assertEquals( Collections.singletonList( "b.apt" ), parsed );
+
+        Files.write( snippet.toPath(), "// changed snippet".getBytes( StandardCharsets.UTF_8 ) );
+        parsed.clear();
+        render( "apt" );
+        assertEquals( Arrays.asList( "a.apt", "b.apt" ), parsed );
+
+        Files.delete( snippet.toPath() );
+        parsed.clear();
+        render( "apt" );
+        assertEquals( Arrays.asList( "a.apt", "b.apt" ), parsed );
+    }
+
+    @Test
+    public void testMacroInputChangedWhileRendering()
+        throws Exception
+    {
+        File snippet = dir.resolve( "snippet.java" ).toFile();
+        Files.write( snippet.toPath(), "// snippet".getBytes( StandardCharsets.UTF_8 ) );
+        macroInputs.put( "a.apt", Collections.singleton( snippet.toURI().toURL().toExternalForm() ) );
+        render( "apt" );
+        render( "apt" );
+
+        // changed after the macro read it, before the rendering completed
+        sources.put( "a.apt", "A, changed" );
+        whileRendering = () -> Files.write( snippet.toPath(), "// changed".getBytes( StandardCharsets.UTF_8 ) );
+        render( "apt" );
+        whileRendering = null;
+
+        parsed.clear();
+        render( "apt" );
+        assertEquals( Collections.singletonList( "a.apt" ), parsed );
+
+        parsed.clear();
+        render( "apt" );
+        assertEquals( Collections.emptyList(), parsed );
+    }
+
+    @Test
+    public void testFailedAndRemovedDocuments()
+        throws Exception
+    {
+        sources.put( "c.apt", null );
+        IncrementalResult result = render( "apt" );
+        assertEquals( "c.apt", result.getFailures().keySet().iterator().next().getReference() );
+
+        sources.put( "c.apt", "C" );
+        sources.remove( "a.apt" );
+        parsed.clear();
+        result = render( "apt" );
+
+        assertEquals( Collections.singletonList( "c.apt" ), parsed );
+        assertEquals( Collections.singleton( "a.apt" ), result.getRemovedReferences() );
+        assertTrue( result.isSuccessful() );
+    }
+
+    @Test
+    public void testUniqueReferences()
+    {
+        List<BatchJob> jobs = Arrays.asList( new SourceJob( "a.apt", "apt" ), new SourceJob( "a.apt", "apt" ) );
+
+        assertThrows( IllegalArgumentException.class, () -> renderer.render( jobs, Runnable::run, 1, null ) );
+    }
+
+    private IncrementalResult render( String parserId )
+        throws IOException, InterruptedException
+    {
+        List<BatchJob> jobs = new ArrayList<>();
+        for ( String reference : sources.keySet() )
+        {
+            jobs.add( new SourceJob( reference, parserId ) );
+        }
+
+        List<String> notified = new ArrayList<>();
+        IncrementalResult result = renderer.render( jobs, Runnable::run, 1,
+            ( index, job, failure ) -> notified.add( index + " " + job.getReference() ) );
+
+        List<String> expected = new ArrayList<>();
+        for ( int i = 0; i < jobs.size(); i++ )
+        {
+            if ( !result.getSkipped().contains( jobs.get( i ) ) )
+            {
+                expected.add( i + " " + jobs.get( i ).getReference() );
+            }
+        }
+        assertEquals( expected, notified );
+
+        return result;
+    }
+
+    private class SourceJob
+        implements BatchJob
+    {
+        private final String reference;
+
+        private final String parserId;
+
+        SourceJob( String reference, String parserId )
+        {
+            this.reference = reference;
+            this.parserId = parserId;
+        }
+
+        @Override
+        public String getReference()
+        {
+            return reference;
+        }
+
+        @Override
+        public String getParserId()
+        {
+            return parserId;
+        }
+
+        @Override
+        public Reader openSource()
+            throws IOException
+        {
+            String source = sources.get( reference );
+            if ( source == null )
+            {
+                throw new IOException( reference + " cannot be read" );
+            }
+            return new StringReader( source );
+        }
+
+        @Override
+        public Sink createSink()
+        {
+            return new SinkAdapter();
+        }
+    }
+
+    /**
+     * Renders the jobs one after the other, and reports the macro inputs of the test.
+     */
+    private class RenderingDoxia
+        implements Doxia
+    {
+        @Override
+        public void parse( Reader source, String parserId, Sink sink )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void parse( Reader source, String parserId, Sink sink, String reference )
+        {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public BatchResult parse( List<BatchJob> jobs, Executor executor, int maxConcurrency,
+                                  BatchListener listener )
+        {
+            List<Exception> failures = new ArrayList<>();
+            for ( int i = 0; i < jobs.size(); i++ )
+            {
+                BatchJob job = jobs.get( i );
+                Exception failure = null;
+                try ( Reader source = job.openSource() )
+                {
+                    parsed.add( job.getReference() );
+                    if ( whileRendering != null )
+                    {
+                        whileRendering.call();
+                    }
+                    job.createSink().close();
+                    job.rendered( macroInputs.getOrDefault( job.getReference(), Collections.emptySet() ) );
+                }
+                catch ( Exception e )
+                {
+                    failure = e;
+                }
+                failures.add( failure );
+                listener.jobCompleted( i, job, failure );
+            }
+            return new BatchResult( failures );
+        }
+
+        @Override
+        public Parser getParser( String parserId )
+        {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package org.apache.maven.doxia;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import javax.inject.Named;
+
+import java.io.IOException;
+import java.io.Reader;
+
+import org.apache.maven.doxia.parser.AbstractTextParser;
+import org.apache.maven.doxia.parser.ParseException;
+import org.apache.maven.doxia.sink.Sink;
+
+/**
+ * A parser for the tests, which sends its whole source as a single text event.
+ */
+@Named( "plain-text" )
+public class PlainTextParser
+    extends AbstractTextParser
+{
+    @Override
+    public void parse( Reader source, Sink sink, String reference )
+        throws ParseException
+    {
+        try
+        {
+            sink.text( readContent( source ) );
+        }
+        catch ( IOException e )
+        {
+            throw new ParseException( e, reference, -1, -1 );
+        }
+    }
+}
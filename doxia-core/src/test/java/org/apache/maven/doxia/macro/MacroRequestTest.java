@@ -0,0 +1,61 @@
+package org.apache.maven.doxia.macro;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.maven.doxia.parser.XhtmlBaseParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the source content of a <code>MacroRequest</code>.
+ */
+public class MacroRequestTest
+{
+    @Test
+    public void testLazySourceContent()
+    {
+        AtomicInteger reads = new AtomicInteger();
+        Map<String, Object> parameters = new HashMap<>();
+        parameters.put( "paramName", "paramValue" );
+
+        MacroRequest request = new MacroRequest( new XhtmlBaseParser(), () ->
+        {
+            reads.incrementAndGet();
+            return "Some content";
+        }, parameters, new File( "." ) );
+
+        assertTrue( request.getParameters().containsKey( "sourceContent" ) );
+        assertEquals( 3, request.getParameters().keySet().size() );
+        assertEquals( 0, reads.get() );
+
+        assertEquals( "paramValue", request.getParameter( "paramName" ) );
+        assertEquals( "Some content", request.getParameter( "sourceContent" ) );
+        assertEquals( "Some content", request.getParameters().get( "sourceContent" ) );
+        assertEquals( "Some content", request.getSourceContent() );
+        assertEquals( 3, reads.get() );
+    }
+}
@@ -0,0 +1,142 @@
+package org.apache.maven.doxia.macro.snippet;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the snippet cache.
+ */
+public class SnippetCacheTest
+{
+    private static final long NEVER = Long.MAX_VALUE;
+
+    @Test
+    public void testEviction()
+        throws IOException
+    {
+        URL url = new URL( "http://maven.apache.org/snippet.txt" );
+        long[] stamp = SnippetCache.stamp( url );
+        SnippetCache cache = new SnippetCache( 10 );
+
+        cache.put( "a", stamp, "1234" );
+        cache.put( "b", stamp, "1234" );
+        assertEquals( "1234", cache.get( "a", url, NEVER ) );
+
+        // "b" is the least recently used
+        cache.put( "c", stamp, "1234" );
+        assertEquals( 2, cache.size() );
+        assertEquals( 10, cache.getWeight() );
+        assertNull( cache.get( "b", url, NEVER ) );
+        assertEquals( "1234", cache.get( "a", url, NEVER ) );
+        assertEquals( "1234", cache.get( "c", url, NEVER ) );
+
+        // too heavy to be cached at all
+        cache.put( "d", stamp, "1234567890" );
+        assertNull( cache.get( "d", url, NEVER ) );
+        assertEquals( 2, cache.size() );
+
+        assertEquals( 3, cache.getHitCount() );
+        assertEquals( 2, cache.getMissCount() );
+        assertEquals( 1, cache.getEvictionCount() );
+
+        cache.clear();
+        assertEquals( 0, cache.size() );
+        assertEquals( 0, cache.getWeight() );
+
+        assertThrows( IllegalArgumentException.class, () -> new SnippetCache( 0 ) );
+    }
+
+    @Test
+    public void testTimeout()
+        throws IOException
+    {
+        URL url = new URL( "http://maven.apache.org/snippet.txt" );
+        SnippetCache cache = new SnippetCache( SnippetCache.DEFAULT_MAX_WEIGHT );
+
+        cache.put( "a", SnippetCache.stamp( url ), "snippet" );
+        assertEquals( "snippet", cache.get( "a", url, NEVER ) );
+        assertNull( cache.get( "a", url, 0 ) );
+        assertNull( cache.get( "a", url, NEVER ) );
+        assertEquals( 0, cache.size() );
+    }
+
+    @Test
+    public void testChangedFile( @TempDir File dir )
+        throws IOException
+    {
+        File file = new File( dir, "snippet.txt" );
+        Files.write( file.toPath(), "first".getBytes( StandardCharsets.UTF_8 ) );
+        URL url = file.toURI().toURL();
+        SnippetCache cache = new SnippetCache( SnippetCache.DEFAULT_MAX_WEIGHT );
+
+        cache.put( "a", SnippetCache.stamp( url ), "first" );
+        assertEquals( "first", cache.get( "a", url, NEVER ) );
+
+        long lastModified = file.lastModified();
+        Files.write( file.toPath(), "second".getBytes( StandardCharsets.UTF_8 ) );
+        assertTrue( file.setLastModified( lastModified ) );
+        // same time, different size
+        assertNull( cache.get( "a", url, NEVER ) );
+
+        cache.put( "a", SnippetCache.stamp( url ), "second" );
+        Files.write( file.toPath(), "third!".getBytes( StandardCharsets.UTF_8 ) );
+        assertTrue( file.setLastModified( lastModified + 10000 ) );
+        // same size, different time
+        assertNull( cache.get( "a", url, NEVER ) );
+
+        assertEquals( 1, cache.getHitCount() );
+        assertEquals( 2, cache.getMissCount() );
+    }
+
+    @Test
+    public void testIndex()
+        throws IOException
+    {
+        URL url = new URL( "http://maven.apache.org/snippet.txt" );
+        long[] stamp = SnippetCache.stamp( url );
+        SnippetCache cache = new SnippetCache( SnippetCache.DEFAULT_MAX_WEIGHT );
+        SnippetIndex index = new SnippetIndex( url, Arrays.asList( "SNIPPET START a", "snippet", "SNIPPET END a" ) );
+
+        cache.put( url.toString(), stamp, "whole source" );
+        assertNull( cache.getIndex( url, NEVER ) );
+
+        cache.putIndex( url, stamp, index );
+        assertSame( index, cache.getIndex( url, NEVER ) );
+        assertEquals( "whole source", cache.get( url.toString(), url, NEVER ) );
+        assertEquals( 2, cache.size() );
+        assertEquals( 2 * url.toString().length() + "whole source".length() + index.getWeight(), cache.getWeight() );
+        assertEquals( "snippet" + System.lineSeparator(), index.getSnippet( "a" ).toString() );
+    }
+}
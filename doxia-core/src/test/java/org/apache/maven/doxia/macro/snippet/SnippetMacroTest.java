@@ -20,6 +20,9 @@ package org.apache.maven.doxia.macro.snippet;
  */
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
@@ -33,6 +36,7 @@ import org.codehaus.plexus.PlexusTestCase;
 import org.codehaus.plexus.testing.PlexusTest;
 import org.hamcrest.CoreMatchers;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.codehaus.plexus.testing.PlexusExtension.getBasedir;
 import static org.hamcrest.MatcherAssert.assertThat;
@@ -49,6 +53,8 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 @PlexusTest
 public class SnippetMacroTest
 {
+    private static final String EOL = System.getProperty( "line.separator" );
+
     /**
      * Test of execute method, of class SnippetMacro.
      *
@@ -158,6 +164,34 @@ public class SnippetMacroTest
         assertThat( snippet, CoreMatchers.containsString( "Error during retrieving content" ) );
     }
 
+    @Test
+    public void testChangedFileIsReadAgain( @TempDir File dir )
+        throws IOException, MacroExecutionException
+    {
+        File file = new File( dir, "changing.txt" );
+        Files.write( file.toPath(), "old content".getBytes( StandardCharsets.UTF_8 ) );
+
+        Map<String, Object> macroParameters = new HashMap<>();
+        macroParameters.put( "file", file.getAbsolutePath() );
+
+        SnippetCache cache = SnippetMacro.getCache();
+        long hits = cache.getHitCount();
+
+        assertEquals( "old content" + EOL, snippetText( macroParameters ) );
+        assertEquals( "old content" + EOL, snippetText( macroParameters ) );
+        assertEquals( hits + 1, cache.getHitCount() );
+
+        Files.write( file.toPath(), "new content!".getBytes( StandardCharsets.UTF_8 ) );
+
+        assertEquals( "new content!" + EOL, snippetText( macroParameters ) );
+    }
+
+    private String snippetText( Map<String, Object> macroParameters )
+        throws MacroExecutionException
+    {
+        return (String) executeSnippetMacro( macroParameters ).getEventList().get( 1 ).getArgs()[0];
+    }
+
     private SinkEventTestingSink executeSnippetMacro( Map<String, Object> macroParameters )
         throws MacroExecutionException
     {
@@ -19,9 +19,18 @@ package org.apache.maven.doxia.macro.snippet;
  * under the License.
  */
 
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 public class SnippetReaderTest
@@ -43,4 +52,51 @@ public class SnippetReaderTest
         assertFalse( SnippetReader.isDemarcator( snippetId, what, "SNIPPET START id_first" ) );
         
     }
+
+    @Test
+    public void testReadIndex()
+        throws IOException
+    {
+        URL url = new File( "src/test/resources/macro/snippet/testSnippet.txt" ).toURI().toURL();
+        SnippetReader reader = new SnippetReader( url, "UTF-8" );
+        SnippetIndex index = reader.readIndex();
+
+        for ( String id : new String[] { null, "", "firstId", "secondId", "thirdId" } )
+        {
+            assertEquals( reader.readSnippet( id ).toString(), index.getSnippet( id ).toString(), id );
+        }
+
+        IOException e = assertThrows( IOException.class, () -> index.getSnippet( "first" ) );
+        assertEquals( "Failed to find START of snippet first in file at URL: " + url, e.getMessage() );
+    }
+
+    @Test
+    public void testReadIndexDemarcators( @TempDir File dir )
+        throws IOException
+    {
+        File file = new File( dir, "Demarcators.java" );
+        Files.write( file.toPath(), ( "// SNIPPET END early\n"
+            + "    // START SNIPPET: repeated\n"
+            + "    one();\n"
+            + "    // START SNIPPET: repeated\n"
+            + "    two();\n"
+            + "    // END SNIPPET: repeated\n"
+            + "    three();\n"
+            + "    // END SNIPPET: repeated\n"
+            + "// SNIPPET START early\n"
+            + "// SNIPPET START unterminated\n" ).getBytes( StandardCharsets.UTF_8 ) );
+        SnippetReader reader = new SnippetReader( file.toURI().toURL() );
+        SnippetIndex index = reader.readIndex();
+
+        assertEquals( reader.readSnippet( "repeated" ).toString(), index.getSnippet( "repeated" ).toString() );
+        assertEquals( "one();" + System.lineSeparator() + "two();" + System.lineSeparator(),
+                      index.getSnippet( "repeated" ).toString() );
+
+        for ( String id : new String[] { "early", "unterminated", "missing" } )
+        {
+            IOException expected = assertThrows( IOException.class, () -> reader.readSnippet( id ) );
+            IOException actual = assertThrows( IOException.class, () -> index.getSnippet( id ) );
+            assertEquals( expected.getMessage(), actual.getMessage() );
+        }
+    }
 }
@@ -26,6 +26,7 @@ import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
+import org.apache.maven.doxia.index.DeferringSink;
 import org.apache.maven.doxia.macro.MacroExecutionException;
 import org.apache.maven.doxia.macro.MacroRequest;
 import org.apache.maven.doxia.parser.XhtmlBaseParser;
@@ -169,4 +170,45 @@ public class TocMacroTest
         assertTrue( out.toString().contains( "<a href=\"#h22\">h22</a>" ) );
         assertTrue( out.toString().contains( "<a href=\"#h3\">h3</a>" ) );
     }
+
+    /**
+     * A TOC written into a DeferringSink lists the sections of the whole document, without parsing it again.
+     *
+     * @throws MacroExecutionException if a macro fails during testing.
+     */
+    @Test
+    public void testDeferredToc()
+        throws MacroExecutionException
+    {
+        StringWriter out = new StringWriter();
+        DeferringSink sink = new DeferringSink( new XhtmlBaseSink( out ) );
+
+        section( sink, "Introduction" );
+
+        // no source content: the document cannot be parsed again
+        MacroRequest request = new MacroRequest( null, new XhtmlBaseParser(), new HashMap<>(), new File( "" ) );
+        new TocMacro().execute( sink, request );
+
+        section( sink, "Usage" );
+        section( sink, "Reference" );
+        sink.resolve();
+
+        String html = out.toString();
+        int toc = html.indexOf( "<a href=\"#Introduction\">Introduction</a>" );
+        assertTrue( toc > html.indexOf( "<h2>Introduction</h2>" ) );
+        assertTrue( toc < html.indexOf( "<a href=\"#Usage\">Usage</a>" ) );
+        assertTrue( html.indexOf( "<a href=\"#Reference\">Reference</a>" ) < html.indexOf( "<h2>Usage</h2>" ) );
+    }
+
+    private static void section( DeferringSink sink, String title )
+    {
+        sink.section1();
+        sink.sectionTitle1();
+        sink.text( title );
+        sink.sectionTitle1_();
+        sink.paragraph();
+        sink.text( "About " + title );
+        sink.paragraph_();
+        sink.section1_();
+    }
 }
@@ -0,0 +1,157 @@
+package org.apache.maven.doxia.parser;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the capture of a source being parsed with <code>CapturingReader</code>.
+ */
+public class CapturingReaderTest
+{
+    @Test
+    public void testContentDuringRead()
+        throws IOException
+    {
+        CapturingReader reader = new CapturingReader( new StringReader( "Some content" ) );
+
+        char[] start = new char[5];
+        assertEquals( 5, reader.read( start ) );
+        assertEquals( "Some ", new String( start ) );
+
+        assertEquals( "Some content", reader.getContent() );
+        assertEquals( "content", AbstractParser.readContent( reader ) );
+        assertEquals( -1, reader.read() );
+        assertEquals( "Some content", reader.getContent() );
+    }
+
+    @Test
+    public void testContentAfterRead()
+        throws IOException
+    {
+        CapturingReader reader = new CapturingReader( new StringReader( "Some content" ) );
+
+        assertEquals( "Some content", AbstractParser.readContent( reader ) );
+        assertEquals( "Some content", reader.getContent() );
+    }
+
+    @Test
+    public void testLargeContent()
+        throws IOException
+    {
+        int threshold = 8192;
+        StringBuilder sb = new StringBuilder();
+        while ( sb.length() <= threshold * 2 )
+        {
+            // with unpaired surrogates, which no charset would keep
+            sb.append( "Line " ).append( sb.length() ).append( " é€\uD800 \uDC00\n" );
+        }
+        String content = sb.toString();
+
+        CapturingReader reader = new CapturingReader( new StringReader( content ), threshold );
+
+        char[] start = new char[threshold + 10];
+        int n = 0;
+        while ( n < start.length )
+        {
+            n += reader.read( start, n, start.length - n );
+        }
+        assertTrue( reader.isSpilled() );
+
+        assertEquals( content, reader.getContent() );
+        assertEquals( content.substring( n ), AbstractParser.readContent( reader ) );
+    }
+
+    @Test
+    public void testMediumContentInMemory()
+        throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        while ( sb.length() <= 200 * 1024 )
+        {
+            sb.append( "Line " ).append( sb.length() ).append( '\n' );
+        }
+        String content = sb.toString();
+
+        CapturingReader reader = new CapturingReader( new StringReader( content ) );
+
+        assertEquals( content, AbstractParser.readContent( reader ) );
+        assertEquals( content.length(), reader.getCapturedInMemory() );
+        assertFalse( reader.isSpilled() );
+        assertEquals( content, reader.getContent() );
+    }
+
+    @Test
+    public void testReleasedContent()
+        throws IOException
+    {
+        CapturingReader reader = new CapturingReader( new StringReader( "Some content" ) );
+
+        reader.read( new char[5] );
+        reader.close();
+
+        assertThrows( IllegalStateException.class, reader::getContent );
+    }
+
+    @Test
+    public void testNoCopyWithoutMacro()
+        throws IOException
+    {
+        StringBuilder sb = new StringBuilder();
+        int threshold = 8192;
+        while ( sb.length() <= threshold * 10 )
+        {
+            sb.append( "Line " ).append( sb.length() ).append( '\n' );
+        }
+
+        CapturingReader reader = new CapturingReader( new StringReader( sb.toString() ), threshold );
+
+        char[] buffer = new char[1000];
+        while ( reader.read( buffer ) >= 0 )
+        {
+            assertTrue( reader.getCapturedInMemory() <= threshold );
+        }
+
+        reader.close();
+        assertEquals( 0, reader.getCapturedInMemory() );
+    }
+
+    @Test
+    public void testNoCaptureWithoutMacroManager()
+    {
+        XhtmlBaseParser parser = new XhtmlBaseParser();
+        Reader source = new StringReader( "Some content" );
+
+        assertSame( source, parser.captureSource( source ) );
+        assertNull( parser.sourceContent().get() );
+        parser.releaseSource();
+    }
+}
@@ -0,0 +1,148 @@
+package org.apache.maven.doxia.parser;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.UnsupportedEncodingException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.maven.doxia.sink.impl.SinkEventTestingSink;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test the reading of whole documents with <code>ContentReader</code>.
+ */
+public class ContentReaderTest
+{
+    @Test
+    public void testReadContent()
+        throws IOException
+    {
+        String content = "Some content";
+
+        assertSame( content, AbstractParser.readContent( new ContentReader( content ) ) );
+        assertEquals( content, AbstractParser.readContent( new StringReader( content ) ) );
+
+        ContentReader reader = new ContentReader( content );
+        char[] start = new char[5];
+        assertEquals( 5, reader.read( start ) );
+        assertEquals( "Some ", new String( start ) );
+        assertEquals( "content", AbstractParser.readContent( reader ) );
+        assertEquals( -1, reader.read() );
+        assertEquals( "", AbstractParser.readContent( reader ) );
+    }
+
+    @Test
+    public void testMarkAndSkip()
+        throws IOException
+    {
+        Reader reader = new ContentReader( "abcdef" );
+
+        assertEquals( 2, reader.skip( 2 ) );
+        reader.mark( 0 );
+        assertEquals( 'c', reader.read() );
+        assertEquals( 3, reader.skip( 10 ) );
+        assertEquals( -1, reader.read() );
+        reader.reset();
+        assertEquals( 'c', reader.read() );
+    }
+
+    @Test
+    public void testOpen( @TempDir File dir )
+        throws IOException
+    {
+        StringBuilder large = new StringBuilder();
+        while ( large.length() <= ContentReader.MAPPING_THRESHOLD )
+        {
+            large.append( "Grüße aus dem Dokument\n" );
+        }
+
+        for ( String content : new String[] { "", "Grüße", large.toString() } )
+        {
+            File file = new File( dir, "document.txt" );
+            Files.write( file.toPath(), content.getBytes( StandardCharsets.UTF_8 ) );
+            assertEquals( content, AbstractParser.readContent( ContentReader.open( file, "UTF-8" ) ) );
+
+            Files.write( file.toPath(), content.getBytes( StandardCharsets.ISO_8859_1 ) );
+            assertEquals( content, AbstractParser.readContent( ContentReader.open( file, "ISO-8859-1" ) ) );
+        }
+
+        File malformed = new File( dir, "malformed.txt" );
+        Files.write( malformed.toPath(), new byte[] { 'a', (byte) 0xFF, 'b' } );
+        assertEquals( "a�b", AbstractParser.readContent( ContentReader.open( malformed, "UTF-8" ) ) );
+
+        assertThrows( IOException.class, () -> ContentReader.open( new File( dir, "missing.txt" ), "UTF-8" ) );
+        assertThrows( UnsupportedEncodingException.class, () -> ContentReader.open( malformed, "no-such-encoding" ) );
+        assertThrows( UnsupportedEncodingException.class, () -> ContentReader.open( malformed, "not a name" ) );
+    }
+
+    @Test
+    public void testReadMappedFile( @TempDir File dir )
+        throws IOException
+    {
+        StringBuilder large = new StringBuilder();
+        while ( large.length() <= ContentReader.MAPPING_THRESHOLD )
+        {
+            large.append( "Grüße aus dem Dokument\n" );
+        }
+        File file = new File( dir, "document.txt" );
+        Files.write( file.toPath(), large.toString().getBytes( StandardCharsets.UTF_8 ) );
+
+        ContentReader reader = ContentReader.open( file, "UTF-8" );
+        char[] buffer = new char[10];
+        assertEquals( 10, reader.read( buffer, 0, 10 ) );
+        assertEquals( "Grüße aus ", new String( buffer ) );
+        reader.mark( 0 );
+        assertEquals( 'd', reader.read() );
+        reader.reset();
+        assertEquals( large.substring( 10 ), reader.readRemaining() );
+        assertEquals( large.toString(), reader.getContent() );
+    }
+
+    @Test
+    public void testParseFile( @TempDir File dir )
+        throws IOException, ParseException
+    {
+        File file = new File( dir, "document.html" );
+        Files.write( file.toPath(), "<p>Grüße</p>".getBytes( StandardCharsets.UTF_8 ) );
+
+        SinkEventTestingSink sink = new SinkEventTestingSink();
+        new XhtmlBaseParser().parse( file, "UTF-8", sink, file.getName() );
+        assertEquals( "Grüße", sink.getEventList().get( 1 ).getArgs()[0] );
+
+        ParseException e = assertThrows( ParseException.class, () -> new XhtmlBaseParser()
+            .parse( new File( dir, "missing.html" ), "UTF-8", new SinkEventTestingSink(), null ) );
+        assertTrue( e.getMessage().contains( "missing.html" ) );
+
+        e = assertThrows( ParseException.class, () -> new XhtmlBaseParser()
+            .parse( file, "no-such-encoding", new SinkEventTestingSink(), null ) );
+        assertTrue( e.getCause() instanceof UnsupportedEncodingException );
+    }
+}
@@ -19,11 +19,17 @@ package org.apache.maven.doxia.parser;
  * under the License.
  */
 
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
 
+import org.apache.maven.doxia.sink.SinkEventAttributes;
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.doxia.sink.impl.SinkEventElement;
 import org.apache.maven.doxia.sink.impl.SinkEventTestingSink;
+import org.apache.maven.doxia.sink.impl.Xhtml5BaseSink;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -724,6 +730,95 @@ public class Xhtml5BaseParserTest
         assertEquals( "table_", it.next().getName() );
     }
 
+    /** A grammar where the caption of a table comes first, as in the XHTML grammars. */
+    private static final String TABLE_DTD = "<!DOCTYPE table [" + XhtmlBaseParser.EOL
+        + "<!ELEMENT table (caption?, tr+)>" + XhtmlBaseParser.EOL
+        + "<!ATTLIST table border CDATA #IMPLIED>" + XhtmlBaseParser.EOL
+        + "<!ELEMENT caption (#PCDATA)>" + XhtmlBaseParser.EOL
+        + "<!ELEMENT tr (th|td)+>" + XhtmlBaseParser.EOL
+        + "<!ELEMENT th (#PCDATA)>" + XhtmlBaseParser.EOL
+        + "<!ELEMENT td (#PCDATA|table)*>" + XhtmlBaseParser.EOL
+        + "]>" + XhtmlBaseParser.EOL;
+
+    /**
+     * The parser streams the tables of a validated document into an XHTML sink, as its captions come first,
+     * with the same output.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testStreamingTables()
+        throws Exception
+    {
+        String text = TABLE_DTD + "<table border=\"1\"><caption>Caption</caption><tr><th>Header</th></tr>"
+            + "<tr><td><table><caption>Nested</caption><tr><td>cell</td></tr></table></td></tr></table>";
+
+        parser.setValidate( true );
+
+        List<Boolean> streaming = new ArrayList<>();
+        StringWriter streamed = new StringWriter();
+        Xhtml5BaseSink streamingSink = new Xhtml5BaseSink( streamed )
+        {
+            @Override
+            public void tableRow( SinkEventAttributes attributes )
+            {
+                streaming.add( isStreamingTables() );
+                super.tableRow( attributes );
+            }
+        };
+        parser.parse( text, streamingSink );
+
+        assertEquals( Arrays.asList( true, true, true ), streaming );
+        assertFalse( streamingSink.isStreamingTables() );
+
+        StringWriter buffered = new StringWriter();
+        parser.parse( text, new Xhtml5BaseSink( buffered )
+        {
+            @Override
+            public void setStreamingTables( boolean streamingTables )
+            {
+                // keeps buffering
+            }
+        } );
+
+        assertEquals( buffered.toString(), streamed.toString() );
+    }
+
+    /**
+     * Without validation, a caption may come after the rows: the tables are buffered and a late caption is
+     * still moved right after the table start tag (DOXIA-177). A validated document cannot have a late caption.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testLateCaption()
+        throws Exception
+    {
+        String text = "<table><tr><td>cell</td></tr><caption>Caption</caption></table>";
+
+        List<Boolean> streaming = new ArrayList<>();
+        StringWriter out = new StringWriter();
+        parser.parse( text, new Xhtml5BaseSink( out )
+        {
+            @Override
+            public void tableRow( SinkEventAttributes attributes )
+            {
+                streaming.add( isStreamingTables() );
+                super.tableRow( attributes );
+            }
+        } );
+
+        assertEquals( Arrays.asList( false ), streaming );
+        String html = out.toString();
+        assertTrue( html.indexOf( "<caption>Caption</caption>" ) < html.indexOf( "<tr" ), html );
+
+        parser.setValidate( true );
+
+        ParseException e = assertThrows( ParseException.class,
+                                         () -> parser.parse( TABLE_DTD + text, new Xhtml5BaseSink( new StringWriter() ) ) );
+        assertEquals( "Error validating the model", e.getMessage() );
+    }
+
     @Test
     public void testFigure()
         throws Exception
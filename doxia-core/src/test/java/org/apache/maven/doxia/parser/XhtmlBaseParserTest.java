@@ -19,11 +19,21 @@ package org.apache.maven.doxia.parser;
  * under the License.
  */
 
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 
+import org.apache.maven.doxia.index.DeferringSink;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.doxia.sink.impl.SinkEventElement;
 import org.apache.maven.doxia.sink.impl.SinkEventTestingSink;
+import org.apache.maven.doxia.sink.impl.XhtmlBaseSink;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -377,6 +387,139 @@ public class XhtmlBaseParserTest
         assertEquals( "inline_", event.getName() );
     }
 
+    /** @throws Exception  */
+    @Test
+    public void testHtmlEntities()
+        throws Exception
+    {
+        // a local entity overrides an HTML entity, and may refer to one
+        final String text = "<!DOCTYPE test [<!ENTITY euro \"&#x45;\"><!ENTITY e \"&eacute;\">]>"
+            + "<p>&nbsp;&eacute;&euro;&diams;&Omega;&e;&amp;</p>";
+
+        parser.parse( text, sink );
+
+        Iterator<SinkEventElement> it = sink.getEventList().iterator();
+
+        assertEquals( "paragraph", it.next().getName() );
+        assertEquals( "nonBreakingSpace", it.next().getName() );
+        for ( String expected : new String[] { "\u00e9", "E", "\u2666", "\u03a9", "\u00e9", "&" } )
+        {
+            SinkEventElement textEvt = it.next();
+            assertEquals( "text", textEvt.getName() );
+            assertEquals( expected, textEvt.getArgs()[0] );
+        }
+        assertEquals( "paragraph_", it.next().getName() );
+        assertFalse( it.hasNext() );
+    }
+
+    /** Entity declarations of a DTD. */
+    @Test
+    public void testParseEntities()
+    {
+        String dtd = "<!-- comment -->\n"
+            + "<!ENTITY % HTMLlat1 PUBLIC \"-//W3C//ENTITIES Latin 1 for XHTML//EN\"\n"
+            + "       \"http://www.w3.org/TR/xhtml1/DTD/xhtml-lat1.ent\">\n"
+            + "%HTMLlat1;\n"
+            + "<!ENTITY nbsp   \"&#160;\"> <!-- no-break space -->\n"
+            + "<!ENTITY amp    \"&#38;#38;\">\n"
+            + "<!ENTITY literal \"text\">\n"
+            + "<!ENTITY\n  foo\n  \"&nbsp;\"\n>"
+            + "<!ENTITY bar \"&#x160;\">";
+
+        Map<String, String> entities = AbstractXmlParser.parseEntities( dtd );
+
+        assertEquals( "[nbsp, foo, bar]", entities.keySet().toString() );
+        assertEquals( "&#160;", entities.get( "nbsp" ) );
+        assertEquals( "&nbsp;", entities.get( "foo" ) );
+        assertEquals( "&#x160;", entities.get( "bar" ) );
+        assertTrue( AbstractXmlParser.parseEntities( "<!ELEMENT p (#PCDATA)>" ).isEmpty() );
+    }
+
+    /** @throws Exception  */
+    @Test
+    public void testValidatingParse()
+        throws Exception
+    {
+        StringBuilder sb = new StringBuilder();
+        sb.append( "<!DOCTYPE body [" ).append( XhtmlBaseParser.EOL );
+        sb.append( "<!ELEMENT body (p*)>" ).append( XhtmlBaseParser.EOL );
+        sb.append( "<!ELEMENT p (#PCDATA)>" ).append( XhtmlBaseParser.EOL );
+        sb.append( "]>" ).append( XhtmlBaseParser.EOL );
+        sb.append( "<body>" );
+        // larger than what is buffered for the validator
+        int paragraphs = ValidatingReader.BUFFER_SIZE / 10;
+        for ( int i = 0; i < paragraphs; i++ )
+        {
+            sb.append( "<p>text</p>" );
+        }
+
+        parser.setValidate( true );
+
+        // validated in the parsing thread, the source being in memory
+        parser.parse( sb + "</body>", sink );
+
+        assertEquals( 3 * paragraphs, sink.getEventList().size() );
+        assertEquals( "paragraph_", sink.getEventList().get( 3 * paragraphs - 1 ).getName() );
+
+        ParseException e = assertThrows( ParseException.class,
+                                         () -> parser.parse( sb + "<b>invalid</b></body>", sink ) );
+        assertEquals( "Error validating the model", e.getMessage() );
+
+        e = assertThrows( ParseException.class, () -> parser.parse( sb + "<p>not well-formed</body>", sink ) );
+        assertEquals( "Error validating the model", e.getMessage() );
+
+        // validated while being parsed
+        sink.reset();
+        parser.parse( new StringReader( sb + "</body>" ), sink );
+
+        assertEquals( 3 * paragraphs, sink.getEventList().size() );
+        assertEquals( "paragraph_", sink.getEventList().get( 3 * paragraphs - 1 ).getName() );
+
+        e = assertThrows( ParseException.class,
+                          () -> parser.parse( new StringReader( sb + "<b>invalid</b></body>" ), sink ) );
+        assertEquals( "Error validating the model", e.getMessage() );
+
+        e = assertThrows( ParseException.class,
+                          () -> parser.parse( new StringReader( sb + "<p>not well-formed</body>" ), sink ) );
+        assertEquals( "Error validating the model", e.getMessage() );
+    }
+
+    /**
+     * The content deferred by a macro is not written for an invalid document.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testValidatingParseWithDeferredContent()
+        throws Exception
+    {
+        String dtd = "<!DOCTYPE body [<!ELEMENT body (p*)><!ELEMENT p (#PCDATA)>]>";
+        XhtmlBaseParser deferringParser = new XhtmlBaseParser()
+        {
+            @Override
+            protected Sink deferringSink( Sink sink )
+            {
+                // as a toc macro at the start of the document
+                DeferringSink deferringSink = new DeferringSink( sink );
+                deferringSink.defer( ( target, index ) -> target.rawText( "toc" ) );
+                return deferringSink;
+            }
+        };
+        deferringParser.setValidate( true );
+
+        deferringParser.parse( new StringReader( dtd + "<body><p>valid</p></body>" ), sink );
+
+        assertEquals( "rawText", sink.getEventList().get( 0 ).getName() );
+        assertEquals( "valid", sink.getEventList().get( 2 ).getArgs()[0] );
+
+        sink.reset();
+        ParseException e = assertThrows( ParseException.class, () -> deferringParser
+            .parse( new StringReader( dtd + "<body><p>valid</p><b>invalid</b></body>" ), sink ) );
+
+        assertEquals( "Error validating the model", e.getMessage() );
+        assertTrue( sink.getEventList().isEmpty() );
+    }
+
     /** @throws Exception  */
     @Test
     public void testEntities()
@@ -648,6 +791,95 @@ public class XhtmlBaseParserTest
         assertEquals( "table_", it.next().getName() );
     }
 
+    /** A grammar where the caption of a table comes first, as in the XHTML grammars. */
+    private static final String TABLE_DTD = "<!DOCTYPE table [" + XhtmlBaseParser.EOL
+        + "<!ELEMENT table (caption?, tr+)>" + XhtmlBaseParser.EOL
+        + "<!ATTLIST table border CDATA #IMPLIED>" + XhtmlBaseParser.EOL
+        + "<!ELEMENT caption (#PCDATA)>" + XhtmlBaseParser.EOL
+        + "<!ELEMENT tr (th|td)+>" + XhtmlBaseParser.EOL
+        + "<!ELEMENT th (#PCDATA)>" + XhtmlBaseParser.EOL
+        + "<!ELEMENT td (#PCDATA|table)*>" + XhtmlBaseParser.EOL
+        + "]>" + XhtmlBaseParser.EOL;
+
+    /**
+     * The parser streams the tables of a validated document into an XHTML sink, as its captions come first,
+     * with the same output.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testStreamingTables()
+        throws Exception
+    {
+        String text = TABLE_DTD + "<table border=\"1\"><caption>Caption</caption><tr><th>Header</th></tr>"
+            + "<tr><td><table><caption>Nested</caption><tr><td>cell</td></tr></table></td></tr></table>";
+
+        parser.setValidate( true );
+
+        List<Boolean> streaming = new ArrayList<>();
+        StringWriter streamed = new StringWriter();
+        XhtmlBaseSink streamingSink = new XhtmlBaseSink( streamed )
+        {
+            @Override
+            public void tableRow( SinkEventAttributes attributes )
+            {
+                streaming.add( isStreamingTables() );
+                super.tableRow( attributes );
+            }
+        };
+        parser.parse( text, streamingSink );
+
+        assertEquals( Arrays.asList( true, true, true ), streaming );
+        assertFalse( streamingSink.isStreamingTables() );
+
+        StringWriter buffered = new StringWriter();
+        parser.parse( text, new XhtmlBaseSink( buffered )
+        {
+            @Override
+            public void setStreamingTables( boolean streamingTables )
+            {
+                // keeps buffering
+            }
+        } );
+
+        assertEquals( buffered.toString(), streamed.toString() );
+    }
+
+    /**
+     * Without validation, a caption may come after the rows: the tables are buffered and a late caption is
+     * still moved right after the table start tag (DOXIA-177). A validated document cannot have a late caption.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testLateCaption()
+        throws Exception
+    {
+        String text = "<table><tr><td>cell</td></tr><caption>Caption</caption></table>";
+
+        List<Boolean> streaming = new ArrayList<>();
+        StringWriter out = new StringWriter();
+        parser.parse( text, new XhtmlBaseSink( out )
+        {
+            @Override
+            public void tableRow( SinkEventAttributes attributes )
+            {
+                streaming.add( isStreamingTables() );
+                super.tableRow( attributes );
+            }
+        } );
+
+        assertEquals( Arrays.asList( false ), streaming );
+        String html = out.toString();
+        assertTrue( html.indexOf( "<caption>Caption</caption>" ) < html.indexOf( "<tr" ), html );
+
+        parser.setValidate( true );
+
+        ParseException e = assertThrows( ParseException.class,
+                                         () -> parser.parse( TABLE_DTD + text, new XhtmlBaseSink( new StringWriter() ) ) );
+        assertEquals( "Error validating the model", e.getMessage() );
+    }
+
     /** @throws Exception  */
     @Test
     public void testFigure()
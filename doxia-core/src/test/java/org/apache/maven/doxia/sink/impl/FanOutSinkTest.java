@@ -0,0 +1,87 @@
+package org.apache.maven.doxia.sink.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test FanOutSink.
+ */
+public class FanOutSinkTest
+{
+    /**
+     * Every method of Sink has to be forwarded to all the sinks, with its arguments.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testAllMethodsForwarded()
+        throws Exception
+    {
+        List<String> first = new ArrayList<>();
+        List<String> second = new ArrayList<>();
+        Sink sink = new FanOutSink( recordingSink( first ), recordingSink( second ) );
+
+        List<String> expected = new ArrayList<>();
+        for ( Method method : Sink.class.getMethods() )
+        {
+            Object[] args = new Object[method.getParameterCount()];
+            Class<?>[] types = method.getParameterTypes();
+            for ( int i = 0; i < args.length; i++ )
+            {
+                args[i] = types[i] == int.class ? i + 1 : ( types[i] == boolean.class ? Boolean.TRUE : null );
+            }
+
+            method.invoke( sink, args );
+            expected.add( describe( method, args ) );
+        }
+
+        assertEquals( expected, first );
+        assertEquals( expected, second );
+    }
+
+    private static Sink recordingSink( List<String> events )
+    {
+        return (Sink) Proxy.newProxyInstance( FanOutSinkTest.class.getClassLoader(), new Class<?>[] { Sink.class },
+            ( proxy, method, args ) ->
+            {
+                events.add( describe( method, args == null ? new Object[0] : args ) );
+                return null;
+            } );
+    }
+
+    private static String describe( Method method, Object[] args )
+    {
+        StringBuilder sb = new StringBuilder( method.getName() ).append( '(' );
+        for ( int i = 0; i < args.length; i++ )
+        {
+            sb.append( method.getParameterTypes()[i].getSimpleName() ).append( '=' ).append( args[i] ).append( ',' );
+        }
+        return sb.append( ')' ).toString();
+    }
+}
@@ -229,6 +229,89 @@ public class SinkEventAttributeSetTest
         sinkEventAttributeSet.removeAttributes( (AttributeSet) null ); // should do nothing
     }
 
+    /**
+     * Test of the insertion order of names, of class SinkEventAttributeSet.
+     */
+    @Test
+    public void testAttributeOrder()
+    {
+        for ( int i = 0; i < 20; i++ )
+        {
+            sinkEventAttributeSet.addAttribute( "key" + i, "value" + i );
+        }
+        sinkEventAttributeSet.addAttribute( "key3", "other" );
+        sinkEventAttributeSet.removeAttribute( "key10" );
+        sinkEventAttributeSet.removeAttribute( "key0" );
+
+        assertEquals( 18, sinkEventAttributeSet.getAttributeCount() );
+        assertEquals( "other", sinkEventAttributeSet.getAttribute( "key3" ) );
+        assertEquals( "value19", sinkEventAttributeSet.getAttribute( "key19" ) );
+        assertFalse( sinkEventAttributeSet.isDefined( "key10" ) );
+
+        Enumeration<String> names = sinkEventAttributeSet.getAttributeNames();
+        assertEquals( "key1", names.nextElement() );
+        assertEquals( "key2", names.nextElement() );
+        assertEquals( "key3", names.nextElement() );
+
+        sinkEventAttributeSet.removeAttributes( sinkEventAttributeSet );
+        assertTrue( sinkEventAttributeSet.isEmpty() );
+        assertFalse( sinkEventAttributeSet.getAttributeNames().hasMoreElements() );
+    }
+
+    /**
+     * Test of the index of large sets, kept up to date by copies that share their names and values.
+     */
+    @Test
+    public void testLargeSetCopies()
+    {
+        for ( int i = 0; i < 20; i++ )
+        {
+            sinkEventAttributeSet.addAttribute( "key" + i, "value" + i );
+        }
+        SinkEventAttributeSet large = sinkEventAttributeSet.unmodifiable();
+
+        SinkEventAttributeSet copy = large.copyOnWrite();
+        copy.removeAttribute( "key0" );
+        copy.addAttribute( "key20", "value20" );
+
+        assertEquals( "value19", copy.getAttribute( "key19" ) );
+        assertEquals( "value20", copy.getAttribute( "key20" ) );
+        assertFalse( copy.isDefined( "key0" ) );
+
+        assertEquals( 20, large.getAttributeCount() );
+        assertEquals( "value0", large.getAttribute( "key0" ) );
+        assertEquals( "value19", large.getAttribute( "key19" ) );
+        assertFalse( large.isDefined( "key20" ) );
+
+        SinkEventAttributeSet clone = (SinkEventAttributeSet) copy.clone();
+        clone.removeAttribute( "key1" );
+
+        assertEquals( "value1", copy.getAttribute( "key1" ) );
+        assertEquals( "value20", clone.getAttribute( "key20" ) );
+        assertFalse( clone.isDefined( "key1" ) );
+
+        for ( int i = 2; i < 13; i++ )
+        {
+            clone.removeAttribute( "key" + i );
+        }
+        assertEquals( 8, clone.getAttributeCount() );
+        assertEquals( "value13", clone.getAttribute( "key13" ) );
+        assertEquals( "value20", clone.getAttribute( "key20" ) );
+    }
+
+    /**
+     * Test of unmodifiable method, of class SinkEventAttributeSet.
+     */
+    @Test
+    public void testUnmodifiable()
+    {
+        assertThrows( UnsupportedOperationException.class,
+                      () -> SinkEventAttributeSet.BOLD.addAttribute( "key", "value" ) );
+        assertThrows( UnsupportedOperationException.class,
+                      () -> SinkEventAttributeSet.BOLD.removeAttribute( SinkEventAttributes.STYLE ) );
+        assertEquals( "bold", SinkEventAttributeSet.BOLD.getAttribute( SinkEventAttributes.STYLE ) );
+    }
+
     /**
      * Test of getResolveParent method, of class SinkEventAttributeSet.
      */
@@ -0,0 +1,237 @@
+package org.apache.maven.doxia.sink.impl;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test SinkEventRecorder and SinkEventPlayer.
+ */
+public class SinkEventRecorderTest
+{
+    /**
+     * Every method of Sink has to be replayed with the arguments it was recorded with.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testAllEventsReplayed()
+        throws Exception
+    {
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        Sink recorder = new SinkEventRecorder( recording );
+        List<String> expected = new ArrayList<>();
+
+        // twice, so that the second time the Strings come from the string table
+        for ( int pass = 0; pass < 2; pass++ )
+        {
+            for ( Method method : Sink.class.getMethods() )
+            {
+                if ( "close".equals( method.getName() ) )
+                {
+                    continue;
+                }
+
+                Object[] args = arguments( method );
+                method.invoke( recorder, args );
+                expected.add( describe( method, args ) );
+            }
+        }
+        recorder.close();
+
+        List<String> events = new ArrayList<>();
+        new SinkEventPlayer( new ByteArrayInputStream( recording.toByteArray() ) ).play( recordingSink( events ) );
+
+        assertEquals( expected, events );
+    }
+
+    /**
+     * A document rendered from its recording has to be the same as the document rendered directly.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testRenderFromRecording()
+        throws Exception
+    {
+        StringWriter direct = new StringWriter();
+        Sink sink = new Xhtml5BaseSink( direct );
+        SinkTestDocument.generate( sink );
+        sink.close();
+
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        Sink recorder = new SinkEventRecorder( recording );
+        SinkTestDocument.generate( recorder );
+        recorder.close();
+
+        StringWriter replayed = new StringWriter();
+        sink = new Xhtml5BaseSink( replayed );
+        new SinkEventPlayer( new ByteArrayInputStream( recording.toByteArray() ) ).play( sink );
+        sink.close();
+
+        assertEquals( direct.toString(), replayed.toString() );
+        assertTrue( recording.size() < direct.toString().length() );
+    }
+
+    /**
+     * Only complete recordings can be played.
+     */
+    @Test
+    public void testInvalidRecording()
+    {
+        Sink sink = new SinkAdapter();
+
+        assertThrows( IOException.class, () ->
+            new SinkEventPlayer( new ByteArrayInputStream( "<html/>".getBytes() ) ).play( sink ) );
+
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        Sink recorder = new SinkEventRecorder( recording );
+        recorder.text( "unfinished" );
+        recorder.flush();
+
+        assertThrows( EOFException.class, () ->
+            new SinkEventPlayer( new ByteArrayInputStream( recording.toByteArray() ) ).play( sink ) );
+    }
+
+    @Test
+    public void testCorruptRecording()
+    {
+        Sink sink = new SinkAdapter();
+        byte[] tooLong = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07 };
+        byte[] negative = { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F };
+
+        assertThrows( IOException.class, () -> play( sink, SinkEventFormat.TEXT, SinkEventFormat.STRING_NEW,
+                                                     tooLong ) );
+        assertThrows( IOException.class, () -> play( sink, SinkEventFormat.TEXT, SinkEventFormat.STRING_NEW,
+                                                     negative ) );
+        assertThrows( IOException.class, () -> play( sink, SinkEventFormat.TEXT, negative ) );
+        assertThrows( IOException.class, () -> play( sink, SinkEventFormat.PARAGRAPH_ATTRIBUTES, tooLong ) );
+        assertThrows( IOException.class, () -> play( sink, SinkEventFormat.PARAGRAPH_ATTRIBUTES, negative ) );
+        assertThrows( IOException.class, () -> play( sink, SinkEventFormat.TABLE_ROWS, tooLong ) );
+        assertThrows( IOException.class, () -> play( sink, SinkEventFormat.UNKNOWN, SinkEventFormat.STRING_NULL,
+                                                     tooLong ) );
+
+        // a length within bounds is not allocated before the bytes are there
+        byte[] large = { (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x40 };
+        assertThrows( EOFException.class, () -> play( sink, SinkEventFormat.TEXT, SinkEventFormat.STRING_NEW,
+                                                      large, (int) 'a' ) );
+    }
+
+    private static void play( Sink sink, Object... content )
+        throws IOException
+    {
+        ByteArrayOutputStream recording = new ByteArrayOutputStream();
+        recording.write( SinkEventFormat.MAGIC );
+        recording.write( SinkEventFormat.VERSION );
+        for ( Object value : content )
+        {
+            if ( value instanceof byte[] )
+            {
+                recording.write( (byte[]) value );
+            }
+            else
+            {
+                // a varint
+                int v = ( (Number) value ).intValue();
+                for ( ; v > 0x7F; v >>>= 7 )
+                {
+                    recording.write( ( v & 0x7F ) | 0x80 );
+                }
+                recording.write( v );
+            }
+        }
+        new SinkEventPlayer( new ByteArrayInputStream( recording.toByteArray() ) ).play( sink );
+    }
+
+    private static Object[] arguments( Method method )
+    {
+        Class<?>[] types = method.getParameterTypes();
+        Object[] args = new Object[types.length];
+        for ( int i = 0; i < args.length; i++ )
+        {
+            if ( types[i] == int.class )
+            {
+                args[i] = i - 1;
+            }
+            else if ( types[i] == boolean.class )
+            {
+                args[i] = Boolean.TRUE;
+            }
+            else if ( types[i] == String.class )
+            {
+                args[i] = method.getName() + " é€😀";
+            }
+            else if ( types[i] == int[].class )
+            {
+                args[i] = new int[] { Sink.JUSTIFY_LEFT, -1, Integer.MAX_VALUE, Integer.MIN_VALUE };
+            }
+            else if ( types[i] == Object[].class )
+            {
+                args[i] = new Object[] { 1, "two", Boolean.FALSE, null, new int[] { 3 } };
+            }
+            else if ( types[i] == SinkEventAttributes.class )
+            {
+                SinkEventAttributeSet attributes = new SinkEventAttributeSet( SinkEventAttributes.ID, method.getName() );
+                attributes.addAttribute( SinkEventAttributes.STYLE, new SinkEventAttributeSet( "color", "red" ) );
+                args[i] = attributes;
+            }
+        }
+        return args;
+    }
+
+    private static Sink recordingSink( List<String> events )
+    {
+        return (Sink) Proxy.newProxyInstance( SinkEventRecorderTest.class.getClassLoader(),
+            new Class<?>[] { Sink.class },
+            ( proxy, method, args ) ->
+            {
+                events.add( describe( method, args == null ? new Object[0] : args ) );
+                return null;
+            } );
+    }
+
+    private static String describe( Method method, Object[] args )
+    {
+        StringBuilder sb = new StringBuilder( method.getName() ).append( '(' );
+        for ( int i = 0; i < args.length; i++ )
+        {
+            sb.append( method.getParameterTypes()[i].getSimpleName() ).append( '=' )
+                .append( Arrays.deepToString( new Object[] { args[i] } ) ).append( ',' );
+        }
+        return sb.append( ')' ).toString();
+    }
+}
@@ -28,6 +28,7 @@ import org.junit.jupiter.api.Test;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 /**
  *
@@ -63,6 +64,25 @@ public class SinkUtilsTest
         assertEquals( expResult, result );
     }
 
+    /**
+     * Test of appendAttributes method, of class SinkUtils.
+     */
+    @Test
+    public void testAppendAttributes()
+    {
+        StringBuilder sb = new StringBuilder( "<a" );
+        assertSame( sb, SinkUtils.appendAttributes( sb, null ) );
+        assertEquals( "<a", sb.toString() );
+
+        AttributeSet style = new SinkEventAttributeSet( "color", "red", "margin-left", "20px" );
+        MutableAttributeSet att = new SinkEventAttributeSet( SinkEventAttributeSet.BOXED );
+        att.addAttribute( SinkEventAttributeSet.STYLE, style );
+
+        SinkUtils.appendAttributes( sb, att );
+        assertEquals( "<a" + SinkUtils.getAttributeString( att ), sb.toString() );
+        assertEquals( "<a decoration=\"boxed\" style=\"color: red; margin-left: 20px\"", sb.toString() );
+    }
+
     /**
      * Test of filterAttributes method, of class SinkUtils.
      */
@@ -86,5 +106,22 @@ public class SinkUtilsTest
 
         result = SinkUtils.filterAttributes( SinkEventAttributeSet.CENTER, SinkUtils.SINK_BASE_ATTRIBUTES );
         assertEquals( 0, result.getAttributeCount() );
+
+        // nothing filtered out: the result is an independent copy
+        result = SinkUtils.filterAttributes( SinkEventAttributeSet.BOLD, SinkUtils.SINK_BASE_ATTRIBUTES );
+        result.addAttribute( SinkEventAttributes.ID, "id" );
+        assertEquals( 2, result.getAttributeCount() );
+        assertEquals( 1, SinkEventAttributeSet.BOLD.getAttributeCount() );
+
+        SinkEventAttributeSet source = new SinkEventAttributeSet( SinkEventAttributes.ID, "id" );
+        result = SinkUtils.filterAttributes( source, SinkUtils.SINK_BASE_ATTRIBUTES );
+        source.addAttribute( SinkEventAttributes.ID, "other" );
+        source.addAttribute( SinkEventAttributes.CLASS, "class" );
+        assertEquals( "id", result.getAttribute( SinkEventAttributes.ID ) );
+        assertEquals( 1, result.getAttributeCount() );
+
+        result.removeAttribute( SinkEventAttributes.ID );
+        assertEquals( "other", source.getAttribute( SinkEventAttributes.ID ) );
+        assertEquals( 2, source.getAttributeCount() );
     }
 }
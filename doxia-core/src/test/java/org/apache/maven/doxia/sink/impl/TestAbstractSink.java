@@ -45,4 +45,19 @@ public class TestAbstractSink
         assertEquals( EOL + "Hello world", AbstractSink.unifyEOLs( EOL_WIN + "Hello world" ) );
     }
 
+    /**
+     * Test of unifyEOLs method with a buffer, of class AbstractSink.
+     */
+    @Test
+    public void testUnifyEOLsToBuffer()
+    {
+        String EOL = AbstractSink.EOL;
+        String text = "\rHello\n world\r\n";
+        char[] buffer = new char[text.length() * EOL.length()];
+
+        int length = AbstractSink.unifyEOLs( new StringBuilder( text ), buffer );
+
+        assertEquals( AbstractSink.unifyEOLs( text ), new String( buffer, 0, length ) );
+        assertEquals( 0, AbstractSink.unifyEOLs( "", buffer ) );
+    }
 }
@@ -1166,6 +1166,44 @@ public class Xhtml5BaseSinkTest
                 writer.toString() );
     }
 
+    /**
+     * Test of table methods in streaming mode, of class Xhtml5BaseSink.
+     */
+    @Test
+    public void testStreamingTable()
+    {
+        try
+        {
+            sink = new Xhtml5BaseSink( writer );
+            sink.setStreamingTables( true );
+
+            sink.table();
+            sink.tableRows( null, false );
+            sink.tableCaption( attributes );
+            sink.text( "caption" );
+            sink.tableCaption_();
+            sink.tableRow();
+            sink.tableCell();
+            sink.text( "cell" );
+            sink.tableCell_();
+            sink.tableRow_();
+            sink.flush();
+
+            // rows are written before the end of the table
+            assertTrue( writer.toString().endsWith( "<td>cell</td></tr>" ) );
+
+            sink.tableRows_();
+            sink.table_();
+        }
+        finally
+        {
+            sink.close();
+        }
+
+        assertEquals( "<table border=\"0\" class=\"bodyTable\"><caption style=\"bold\">caption</caption>" + LS
+                + "<tr class=\"a\">" + LS + "<td>cell</td></tr></table>", writer.toString() );
+    }
+
     /**
      * Test of anchor method, of class Xhtml5BaseSink.
      */
@@ -1372,6 +1410,41 @@ public class Xhtml5BaseSinkTest
         assertEquals( "a text &amp; &#xc6;", writer.toString() );
     }
 
+    /**
+     * Test of text method with an output encoding, of class Xhtml5BaseSink.
+     */
+    @Test
+    public void testTextWithEncoding()
+    {
+        String text = "a text & \u00c6 \u0416 \u4e2d";
+
+        try
+        {
+            sink = new Xhtml5BaseSink( writer, "UTF-8" );
+            sink.text( text );
+        }
+        finally
+        {
+            sink.close();
+        }
+
+        assertEquals( "a text &amp; \u00c6 \u0416 \u4e2d", writer.toString() );
+
+        writer =  new StringWriter();
+
+        try
+        {
+            sink = new Xhtml5BaseSink( writer, "ISO-8859-1" );
+            sink.text( text );
+        }
+        finally
+        {
+            sink.close();
+        }
+
+        assertEquals( "a text &amp; \u00c6 &#x416; &#x4e2d;", writer.toString() );
+    }
+
     /**
      * Test of rawText method, of class Xhtml5BaseSink.
      */
@@ -1520,4 +1593,58 @@ public class Xhtml5BaseSinkTest
 
         assertTrue( result.contains( "&#x2713;" ) );
     }
+
+    /**
+     * Test that a subclass overriding write(String) receives all the output, tags and text.
+     */
+    @Test
+    public void testOverriddenWrite()
+    {
+        StringBuilder written = new StringBuilder();
+        try
+        {
+            sink = new Xhtml5BaseSink( writer )
+            {
+                @Override
+                protected void write( String text )
+                {
+                    written.append( text );
+                }
+            };
+            writeOverriddenWriteEvents( sink );
+        }
+        finally
+        {
+            sink.close();
+        }
+
+        assertEquals( "", writer.toString() );
+
+        StringWriter expected = new StringWriter();
+        Xhtml5BaseSink plainSink = new Xhtml5BaseSink( expected );
+        writeOverriddenWriteEvents( plainSink );
+        plainSink.close();
+
+        assertTrue( written.toString().contains( "<p>a &lt;text&gt;</p>" ) );
+        assertEquals( expected.toString(), written.toString() );
+    }
+
+    private static void writeOverriddenWriteEvents( Sink sink )
+    {
+        sink.paragraph();
+        sink.text( "a <text>" );
+        sink.paragraph_();
+        sink.verbatim( null );
+        sink.text( "line1\nline2" );
+        sink.verbatim_();
+        sink.table();
+        sink.tableRows( null, false );
+        sink.tableRow();
+        sink.tableCell();
+        sink.text( "cell" );
+        sink.tableCell_();
+        sink.tableRow_();
+        sink.tableRows_();
+        sink.table_();
+    }
 }
@@ -19,14 +19,27 @@ package org.apache.maven.doxia.util;
  * under the License.
  */
 
+import java.awt.image.BufferedImage;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
 import java.text.ParseException;
 
 import java.util.Calendar;
 import java.util.Date;
 import java.util.GregorianCalendar;
 
+import javax.imageio.ImageIO;
+import javax.swing.text.MutableAttributeSet;
+
+import org.apache.maven.doxia.sink.SinkEventAttributes;
 import org.codehaus.plexus.testing.PlexusTest;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -228,4 +241,73 @@ public class DoxiaUtilsTest
             assertNotNull( ex );
         }
     }
+
+    /**
+     * Verify the dimensions read from the image headers.
+     *
+     * @throws IOException if an image cannot be written or read.
+     */
+    @Test
+    public void testGetImageAttributes( @TempDir File dir )
+        throws IOException
+    {
+        for ( String format : new String[] { "png", "gif", "jpg", "bmp" } )
+        {
+            File image = writeImage( dir, "image." + format, format, 123, 45 );
+            assertImageSize( image, 123, 45 );
+        }
+
+        File svg = new File( dir, "image.svg" );
+        Files.write( svg.toPath(), ( "<?xml version=\"1.0\"?>\n<!-- a comment -->\n"
+            + "<svg xmlns=\"http://www.w3.org/2000/svg\" width=\"64px\" height='31.6'><rect/></svg>" )
+            .getBytes( StandardCharsets.UTF_8 ) );
+        assertImageSize( svg, 64, 32 );
+
+        Files.write( svg.toPath(), "<svg width=\"100%\" height=\"50\"></svg>".getBytes( StandardCharsets.UTF_8 ) );
+        assertNull( DoxiaUtils.getImageAttributes( svg.getPath() ) );
+
+        File text = new File( dir, "image.txt" );
+        Files.write( text.toPath(), "not an image".getBytes( StandardCharsets.UTF_8 ) );
+        assertNull( DoxiaUtils.getImageAttributes( text.getPath() ) );
+
+        assertThrows( IOException.class,
+                      () -> DoxiaUtils.getImageAttributes( new File( dir, "missing.png" ).getPath() ) );
+    }
+
+    /**
+     * Verify that cached dimensions are read again once the image changes.
+     *
+     * @throws IOException if an image cannot be written or read.
+     */
+    @Test
+    public void testGetImageAttributesCache( @TempDir File dir )
+        throws IOException
+    {
+        File image = writeImage( dir, "logo.png", "png", 20, 10 );
+        assertImageSize( image, 20, 10 );
+        assertImageSize( image, 20, 10 );
+
+        long lastModified = image.lastModified();
+        writeImage( dir, "logo.png", "png", 40, 30 );
+        assertTrue( image.setLastModified( lastModified - 10000 ) );
+        assertImageSize( image, 40, 30 );
+    }
+
+    private static File writeImage( File dir, String name, String format, int width, int height )
+        throws IOException
+    {
+        File file = new File( dir, name );
+        BufferedImage image = new BufferedImage( width, height, BufferedImage.TYPE_INT_RGB );
+        assertTrue( ImageIO.write( image, format, file ), "No writer for " + format );
+        return file;
+    }
+
+    private static void assertImageSize( File image, int width, int height )
+        throws IOException
+    {
+        MutableAttributeSet atts = DoxiaUtils.getImageAttributes( image.getPath() );
+        assertNotNull( atts, image.getName() );
+        assertEquals( Integer.toString( width ), atts.getAttribute( SinkEventAttributes.WIDTH ), image.getName() );
+        assertEquals( Integer.toString( height ), atts.getAttribute( SinkEventAttributes.HEIGHT ), image.getName() );
+    }
 }
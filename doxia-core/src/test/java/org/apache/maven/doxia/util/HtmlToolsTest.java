@@ -19,7 +19,9 @@ package org.apache.maven.doxia.util;
  * under the License.
  */
 
+import java.io.StringWriter;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 
 import org.codehaus.plexus.testing.PlexusTest;
 import org.junit.jupiter.api.Test;
@@ -65,6 +67,47 @@ public class HtmlToolsTest
         assertEquals( HtmlTools.escapeHTML( "\uD835\uDFED", false ), "&#x1d7ed;" );
     }
 
+    /**
+     * Verify the expected results.
+     *
+     * @throws Exception if any
+     */
+    @Test
+    public void testWriteEscapedHTML()
+        throws Exception
+    {
+        String text = "a < b && \"c\" > 'd' &#x159; \u00e4\uD835\uDFED\r\ne\rf\ng&";
+
+        StringWriter out = new StringWriter();
+        HtmlTools.writeEscapedHTML( text, false, false, "\n", out );
+        assertEquals( HtmlTools.escapeHTML( text, false ).replace( "\r\n", "\n" ).replace( '\r', '\n' ),
+                      out.toString() );
+
+        out = new StringWriter();
+        HtmlTools.writeEscapedHTML( text, true, false, "\r\n", out );
+        assertEquals( HtmlTools.escapeHTML( text, true ).replace( "\r\n", "\n" ).replace( '\r', '\n' )
+                      .replace( "\n", "\r\n" ), out.toString() );
+
+        out = new StringWriter();
+        HtmlTools.writeEscapedHTML( text, false, true, "\n", out );
+        assertEquals( "a &lt; b &amp;&amp; &quot;c&quot; &gt; 'd' &#x159; &#xe4;&#x1d7ed;\ne\nf\ng&amp;",
+                      out.toString() );
+
+        out = new StringWriter();
+        HtmlTools.writeEscapedHTML( text, false, true, "\n", StandardCharsets.UTF_8.newEncoder(), out );
+        assertEquals( "a &lt; b &amp;&amp; &quot;c&quot; &gt; 'd' &#x159; \u00e4\uD835\uDFED\ne\nf\ng&amp;",
+                      out.toString() );
+
+        out = new StringWriter();
+        HtmlTools.writeEscapedHTML( text, false, true, "\n", StandardCharsets.ISO_8859_1.newEncoder(), out );
+        assertEquals( "a &lt; b &amp;&amp; &quot;c&quot; &gt; 'd' &#x159; \u00e4&#x1d7ed;\ne\nf\ng&amp;",
+                      out.toString() );
+
+        out = new StringWriter();
+        HtmlTools.writeEscapedHTML( null, false, true, "\n", out );
+        assertEquals( "", out.toString() );
+    }
+
     /**
      * Verify the expected results.
      */
@@ -19,11 +19,19 @@ package org.apache.maven.doxia.util;
  * under the License.
  */
 
+import java.io.StringReader;
+
+import org.apache.maven.doxia.parser.ParseException;
 import org.codehaus.plexus.testing.PlexusTest;
 import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.xml.XmlStreamReader;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 /**
  * Test case for <code>XmlValidator</code>.
  *
@@ -42,4 +50,55 @@ public class XmlValidatorTest
 
         validator.validate( xml );
     }
+
+    @Test
+    public void testValidateReader()
+        throws Exception
+    {
+        String dtd = "<!DOCTYPE body [<!ELEMENT body (p*)><!ELEMENT p (#PCDATA)>]>";
+
+        XmlValidator validator = new XmlValidator( );
+
+        validator.validate( new StringReader( dtd + "<body><p>text</p></body>" ) );
+
+        assertThrows( ParseException.class, () -> validator.validate( new StringReader( dtd + "<body><b/></body>" ) ) );
+        assertThrows( ParseException.class, () -> validator.validate( new StringReader( "<body><p>text</p></body>" ) ) );
+    }
+
+    @Test
+    public void testHasDtdAndXsd()
+    {
+        String xsi = "xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\"";
+
+        assertTrue( XmlValidator.hasDtdAndXsd( "<!DOCTYPE a><a " + xsi + "/>" ) );
+        assertTrue( XmlValidator.hasDtdAndXsd( "<?xml version=\"1.0\"?>\n<!-- <b> -->\n<?pi x?>\n"
+            + "<!DOCTYPE a [\n  <!ENTITY gt2 \">>\">\n  <!-- don't -->\n]>\n<a title=\"1 > 0\"\n  " + xsi + ">" ) );
+
+        assertFalse( XmlValidator.hasDtdAndXsd( "<a " + xsi + "/>" ) );
+        assertFalse( XmlValidator.hasDtdAndXsd( "<!DOCTYPE a><a/>" ) );
+        assertFalse( XmlValidator.hasDtdAndXsd( "<!DOCTYPE a><a><b " + xsi + "/></a>" ) );
+        assertFalse( XmlValidator.hasDtdAndXsd( "<!-- <!DOCTYPE a> --><a " + xsi + "/>" ) );
+        assertFalse( XmlValidator.hasDtdAndXsd( "<!DOCTYPE a [" ) );
+        assertFalse( XmlValidator.hasDtdAndXsd( "" ) );
+    }
+
+    @Test
+    public void testValidateSchema()
+        throws Exception
+    {
+        String location = "file:/xml-validator-test.xsd";
+        String root = "<body xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xsi:noNamespaceSchemaLocation=\""
+            + location + "\">";
+
+        XmlValidator validator = new XmlValidator( );
+
+        validator.validate( root + "<p>text</p></body>" );
+        validator.validate( new StringReader( root + "<p>text</p></body>" ) );
+
+        assertThrows( ParseException.class, () -> validator.validate( root + "<b/></body>" ) );
+        assertThrows( ParseException.class, () -> new XmlValidator( ).validate( new StringReader( root + "<b/></body>" ) ) );
+
+        // compiled once
+        assertSame( XmlValidator.getSchema( location ), XmlValidator.getSchema( location ) );
+    }
 }
@@ -20,7 +20,6 @@ package org.apache.maven.doxia.module.apt;
  */
 
 import javax.inject.Named;
-import javax.inject.Singleton;
 
 import org.apache.maven.doxia.macro.MacroExecutionException;
 import org.apache.maven.doxia.macro.MacroRequest;
@@ -33,18 +32,15 @@ import org.apache.maven.doxia.sink.impl.SinkAdapter;
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.doxia.util.DoxiaUtils;
 
-import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.function.Supplier;
 
 /**
  * The APT parser.
@@ -53,7 +49,6 @@ import java.util.StringTokenizer;
  *
  * @since 1.0
  */
-@Singleton
 @Named( "apt" )
 public class AptParser
     extends AbstractTextParser
@@ -158,7 +153,13 @@ public class AptParser
     /** blockLineNumber. */
     private int blockLineNumber;
 
-    /** sourceContent. */
+    /**
+     * sourceContent.
+     *
+     * @deprecated the document is parsed as it is read, so this is only set once a macro asked for the source,
+     * use {@link MacroRequest#getSourceContent()} instead.
+     */
+    @Deprecated
     protected String sourceContent;
 
     /** the sink to receive the events. */
@@ -200,20 +201,9 @@ public class AptParser
 
         try
         {
-            StringWriter contentWriter = new StringWriter();
-            IOUtil.copy( source, contentWriter );
-            sourceContent = contentWriter.toString();
-        }
-        catch ( IOException e )
-        {
-            throw new AptParseException( e );
-        }
-
-        try
-        {
-            this.source = new AptReaderSource( new StringReader( sourceContent ), reference );
+            this.source = new AptReaderSource( captureSource( source ), reference );
 
-            this.sink = sink;
+            this.sink = deferringSink( sink );
 
             blockFileName = null;
 
@@ -235,6 +225,8 @@ public class AptParser
             traverseHead();
 
             traverseBody();
+
+            resolveDeferred( this.sink );
         }
         catch ( AptParseException ape )
         {
@@ -706,6 +698,7 @@ public class AptParser
     {
         super.init();
 
+        releaseSource();
         this.sourceContent = null;
         this.sink = null;
         this.source = null;
@@ -2852,7 +2845,9 @@ public class AptParser
 
             // getBasedir() does not work in multi-module builds, see DOXIA-373
             // the basedir should be injected from here, see DOXIA-224
-            MacroRequest request = new MacroRequest( sourceContent, new AptParser(), parameters, getBasedir() );
+            Supplier<String> content = sourceContent();
+            MacroRequest request = new MacroRequest( new AptParser(),
+                () -> AptParser.this.sourceContent = content.get(), parameters, getBasedir() );
             try
             {
                 AptParser.this.executeMacro( macroId, request, sink );
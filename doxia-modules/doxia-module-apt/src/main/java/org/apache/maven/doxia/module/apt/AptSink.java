@@ -764,7 +764,7 @@ public class AptSink
 
         for ( int i = 0; i < cellCount; i++ )
         {
-            if ( cellJustif != null )
+            if ( cellJustif != null && i < cellJustif.length )
             {
                 switch ( cellJustif[i] )
                 {
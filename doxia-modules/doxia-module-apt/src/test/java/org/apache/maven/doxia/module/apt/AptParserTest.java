@@ -21,6 +21,7 @@ package org.apache.maven.doxia.module.apt;
 
 import javax.inject.Inject;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringWriter;
@@ -133,6 +134,25 @@ public class AptParserTest
         assertSinkEquals( it, "head", "head_", "body", "verbatim", "text", "verbatim_", "body_" );
     }
 
+    @Test
+    public void testSnippetMacroInputs()
+        throws Exception
+    {
+        parser.parse( "%{snippet|id=myid|file=pom.xml}" + EOL, new SinkEventTestingSink() );
+
+        assertEquals( 1, parser.getMacroInputs().size() );
+        assertTrue( parser.getMacroInputs().iterator().next().endsWith( "/pom.xml" ) );
+
+        parser.parse( "%{snippet|id=myid|file=src/test/resources/test/macro.apt}" + EOL, new SinkEventTestingSink() );
+
+        assertEquals( 1, parser.getMacroInputs().size() );
+        assertTrue( parser.getMacroInputs().iterator().next().endsWith( "/macro.apt" ) );
+
+        parser.parse( "No macro" + EOL, new SinkEventTestingSink() );
+
+        assertTrue( parser.getMacroInputs().isEmpty() );
+    }
+
     @Test
     public void testTocMacro()
         throws Exception
@@ -163,6 +183,23 @@ public class AptParserTest
         }
     }
 
+    @Test
+    public void testParseFile()
+        throws IOException, ParseException
+    {
+        StringWriter fromReader = new StringWriter();
+        try ( Reader reader = getTestReader( "test" ) )
+        {
+            createParser().parse( reader, new AptSink( fromReader ) );
+        }
+
+        StringWriter fromFile = new StringWriter();
+        createParser().parse( new File( getBasedirFile(), "src/test/resources/test.apt" ), "UTF-8",
+                              new AptSink( fromFile ), "test.apt" );
+
+        assertEquals( fromReader.toString(), fromFile.toString() );
+    }
+
     @Test
     public void testBoxedVerbatim()
         throws Exception
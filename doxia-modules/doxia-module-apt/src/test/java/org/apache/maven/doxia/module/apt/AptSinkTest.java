@@ -474,4 +474,41 @@ public class AptSinkTest extends AbstractSinkTest
 
         assertEquals( expected, getSinkContent(), "Wrong justification in table cells" );
     }
+
+    @Test
+    public void testTableCellsWithLessJustificationsThanCells()
+    {
+        final Sink sink = getSink();
+        sink.table();
+        sink.tableRows( new int[] { Sink.JUSTIFY_RIGHT }, false );
+        sink.tableRow();
+        sink.tableCell();
+        sink.text( "a" );
+        sink.tableCell_();
+        sink.tableCell();
+        sink.text( "b" );
+        sink.tableCell_();
+        sink.tableRow_();
+        sink.tableRows_();
+        sink.table_();
+        sink.flush();
+        sink.close();
+
+        String expected = EOL +
+                AptMarkup.TABLE_ROW_START_MARKUP +
+                AptMarkup.TABLE_COL_RIGHT_ALIGNED_MARKUP +
+                AptMarkup.TABLE_COL_CENTERED_ALIGNED_MARKUP +
+                EOL +
+                "a" +
+                AptMarkup.TABLE_CELL_SEPARATOR_MARKUP +
+                "b" +
+                AptMarkup.TABLE_CELL_SEPARATOR_MARKUP +
+                EOL +
+                AptMarkup.TABLE_ROW_START_MARKUP +
+                AptMarkup.TABLE_COL_RIGHT_ALIGNED_MARKUP +
+                AptMarkup.TABLE_COL_CENTERED_ALIGNED_MARKUP +
+                EOL;
+
+        assertEquals( expected, getSinkContent(), "Wrong justification in table cells" );
+    }
 }
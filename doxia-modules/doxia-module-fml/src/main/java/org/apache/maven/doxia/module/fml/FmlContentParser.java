@@ -49,32 +49,33 @@ public class FmlContentParser
     {
         isEmptyElement = parser.isEmptyElementTag();
 
-        if ( parser.getName().equals( QUESTION_TAG.toString() )
-                || parser.getName().equals( TITLE.toString() )
-            || parser.getName().equals( ANSWER_TAG.toString() ) )
+        switch ( parser.getName() )
         {
-            // ignore
-            return;
-        }
-        else if ( parser.getName().equals( SOURCE_TAG.toString() ) )
-        {
-            verbatim();
+            case "question":
+            case "title":
+            case "answer":
+                // ignore
+                return;
+            case "source":
+                verbatim();
 
-            sink.verbatim( SinkEventAttributeSet.BOXED );
-        }
-        else if ( !baseStartTag( parser, sink ) )
-        {
-            if ( isEmptyElement )
-            {
-                handleUnknown( parser, sink, TAG_TYPE_SIMPLE );
-            }
-            else
-            {
-                handleUnknown( parser, sink, TAG_TYPE_START );
-            }
+                sink.verbatim( SinkEventAttributeSet.BOXED );
+                break;
+            default:
+                if ( !baseStartTag( parser, sink ) )
+                {
+                    if ( isEmptyElement )
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_SIMPLE );
+                    }
+                    else
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_START );
+                    }
 
-            LOGGER.warn( "Unrecognized fml tag <{}> at [{}:{}]", parser.getName(),
-                    parser.getLineNumber(), parser.getColumnNumber() );
+                    LOGGER.warn( "Unrecognized fml tag <{}> at [{}:{}]", parser.getName(),
+                            parser.getLineNumber(), parser.getColumnNumber() );
+                }
         }
     }
 
@@ -82,25 +83,26 @@ public class FmlContentParser
     protected void handleEndTag( XmlPullParser parser, Sink sink )
         throws XmlPullParserException, MacroExecutionException
     {
-        if ( parser.getName().equals( QUESTION_TAG.toString() )
-                || parser.getName().equals( TITLE.toString() )
-            || parser.getName().equals( ANSWER_TAG.toString() ) )
+        switch ( parser.getName() )
         {
-            // ignore
-            return;
-        }
-        else if ( parser.getName().equals( SOURCE_TAG.toString() ) )
-        {
-            verbatim_();
+            case "question":
+            case "title":
+            case "answer":
+                // ignore
+                return;
+            case "source":
+                verbatim_();
 
-            sink.verbatim_();
-        }
-        else if ( !baseEndTag( parser, sink ) )
-        {
-            if ( !isEmptyElement )
-            {
-                handleUnknown( parser, sink, TAG_TYPE_END );
-            }
+                sink.verbatim_();
+                break;
+            default:
+                if ( !baseEndTag( parser, sink ) )
+                {
+                    if ( !isEmptyElement )
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_END );
+                    }
+                }
         }
 
         isEmptyElement = false;
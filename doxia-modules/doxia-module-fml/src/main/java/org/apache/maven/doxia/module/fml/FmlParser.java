@@ -19,16 +19,13 @@ package org.apache.maven.doxia.module.fml;
  * under the License.
  */
 
-import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
 import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 
 import javax.inject.Named;
-import javax.inject.Singleton;
 import javax.swing.text.html.HTML.Attribute;
 
 import org.apache.maven.doxia.macro.MacroExecutionException;
@@ -58,7 +55,6 @@ import org.slf4j.LoggerFactory;
  * @author ltheussl
  * @since 1.0
  */
-@Singleton
 @Named( "fml" )
 public class FmlParser
     extends AbstractXmlParser
@@ -78,9 +74,6 @@ public class FmlParser
     /** Used to collect text events. */
     private StringBuilder buffer;
 
-    /** The source content of the input reader. Used to pass into macros. */
-    private String sourceContent;
-
     /** A macro name. */
     private String macroName;
 
@@ -92,39 +85,22 @@ public class FmlParser
         throws ParseException
     {
         this.faqs = null;
-        this.sourceContent = null;
         init();
 
         try
         {
-            StringWriter contentWriter = new StringWriter();
-            IOUtil.copy( source, contentWriter );
-            sourceContent = contentWriter.toString();
-        }
-        catch ( IOException ex )
-        {
-            throw new ParseException( "Error reading the input source", ex );
-        }
-        finally
-        {
-            IOUtil.close( source );
-        }
-
-        try
-        {
-            Reader tmp = new StringReader( sourceContent );
-
             this.faqs = new Faqs();
 
             // this populates faqs
-            super.parse( tmp, sink, reference );
+            super.parse( captureSource( source ), sink, reference );
 
             writeFaqs( sink );
         }
         finally
         {
             this.faqs = null;
-            this.sourceContent = null;
+            releaseSource();
+            IOUtil.close( source );
             setSecondParsing( false );
             init();
         }
@@ -134,117 +110,113 @@ public class FmlParser
     protected void handleStartTag( XmlPullParser parser, Sink sink )
         throws XmlPullParserException, MacroExecutionException
     {
-        if ( parser.getName().equals( FAQS_TAG.toString() ) )
+        switch ( parser.getName() )
         {
-            String title = parser.getAttributeValue( null, "title" );
+            case "faqs":
+                String title = parser.getAttributeValue( null, "title" );
 
-            if ( title != null )
-            {
-                faqs.setTitle( title );
-            }
-
-            String toplink = parser.getAttributeValue( null, "toplink" );
-
-            if ( toplink != null )
-            {
-                if ( toplink.equalsIgnoreCase( "true" ) )
-                {
-                    faqs.setToplink( true );
-                }
-                else
+                if ( title != null )
                 {
-                    faqs.setToplink( false );
+                    faqs.setTitle( title );
                 }
-            }
-        }
-        else if ( parser.getName().equals( PART_TAG.toString() ) )
-        {
-            currentPart = new Part();
 
-            currentPart.setId( parser.getAttributeValue( null, Attribute.ID.toString() ) );
-
-            if ( currentPart.getId() == null )
-            {
-                throw new XmlPullParserException( "id attribute required for <part> at: ("
-                    + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
-            }
-            else if ( !DoxiaUtils.isValidId( currentPart.getId() ) )
-            {
-                String linkAnchor = DoxiaUtils.encodeId( currentPart.getId(), true );
+                String toplink = parser.getAttributeValue( null, "toplink" );
 
-                LOGGER.debug( "Modified invalid link '{}' to '{}'", currentPart.getId(), linkAnchor );
+                if ( toplink != null )
+                {
+                    if ( toplink.equalsIgnoreCase( "true" ) )
+                    {
+                        faqs.setToplink( true );
+                    }
+                    else
+                    {
+                        faqs.setToplink( false );
+                    }
+                }
+                break;
+            case "part":
+                currentPart = new Part();
 
-                currentPart.setId( linkAnchor );
-            }
-        }
-        else if ( parser.getName().equals( TITLE.toString() ) )
-        {
-            buffer = new StringBuilder();
-            buffer.append( LESS_THAN ).append( parser.getName() ).append( GREATER_THAN );
-        }
-        else if ( parser.getName().equals( FAQ_TAG.toString() ) )
-        {
-            currentFaq = new Faq();
+                currentPart.setId( parser.getAttributeValue( null, Attribute.ID.toString() ) );
 
-            currentFaq.setId( parser.getAttributeValue( null, Attribute.ID.toString() ) );
+                if ( currentPart.getId() == null )
+                {
+                    throw new XmlPullParserException( "id attribute required for <part> at: ("
+                        + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
+                }
+                else if ( !DoxiaUtils.isValidId( currentPart.getId() ) )
+                {
+                    String linkAnchor = DoxiaUtils.encodeId( currentPart.getId(), true );
 
-            if ( currentFaq.getId() == null )
-            {
-                throw new XmlPullParserException( "id attribute required for <faq> at: ("
-                    + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
-            }
-            else if ( !DoxiaUtils.isValidId( currentFaq.getId() ) )
-            {
-                String linkAnchor = DoxiaUtils.encodeId( currentFaq.getId(), true );
+                    LOGGER.debug( "Modified invalid link '{}' to '{}'", currentPart.getId(), linkAnchor );
 
-                LOGGER.debug( "Modified invalid link '{}' to '{}'", currentFaq.getId(), linkAnchor );
+                    currentPart.setId( linkAnchor );
+                }
+                break;
+            case "title":
+                buffer = new StringBuilder();
+                buffer.append( LESS_THAN ).append( parser.getName() ).append( GREATER_THAN );
+                break;
+            case "faq":
+                currentFaq = new Faq();
 
-                currentFaq.setId( linkAnchor );
-            }
-        }
-        else if ( parser.getName().equals( QUESTION_TAG.toString() ) )
-        {
-            buffer = new StringBuilder();
-            buffer.append( LESS_THAN ).append( parser.getName() ).append( GREATER_THAN );
-        }
-        else if ( parser.getName().equals( ANSWER_TAG.toString() ) )
-        {
-            buffer = new StringBuilder();
-            buffer.append( LESS_THAN ).append( parser.getName() ).append( GREATER_THAN );
+                currentFaq.setId( parser.getAttributeValue( null, Attribute.ID.toString() ) );
 
-        }
+                if ( currentFaq.getId() == null )
+                {
+                    throw new XmlPullParserException( "id attribute required for <faq> at: ("
+                        + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
+                }
+                else if ( !DoxiaUtils.isValidId( currentFaq.getId() ) )
+                {
+                    String linkAnchor = DoxiaUtils.encodeId( currentFaq.getId(), true );
 
-        // ----------------------------------------------------------------------
-        // Macro
-        // ----------------------------------------------------------------------
+                    LOGGER.debug( "Modified invalid link '{}' to '{}'", currentFaq.getId(), linkAnchor );
 
-        else if ( parser.getName().equals( MACRO_TAG.toString() ) )
-        {
-            handleMacroStart( parser );
-        }
-        else if ( parser.getName().equals( PARAM.toString() ) )
-        {
-            handleParamStart( parser, sink );
-        }
-        else if ( buffer != null )
-        {
-            buffer.append( LESS_THAN ).append( parser.getName() );
+                    currentFaq.setId( linkAnchor );
+                }
+                break;
+            case "question":
+                buffer = new StringBuilder();
+                buffer.append( LESS_THAN ).append( parser.getName() ).append( GREATER_THAN );
+                break;
+            case "answer":
+                buffer = new StringBuilder();
+                buffer.append( LESS_THAN ).append( parser.getName() ).append( GREATER_THAN );
+
+                break;
+
+            // ----------------------------------------------------------------------
+            // Macro
+            // ----------------------------------------------------------------------
+
+            case "macro":
+                handleMacroStart( parser );
+                break;
+            case "param":
+                handleParamStart( parser, sink );
+                break;
+            default:
+                if ( buffer != null )
+                {
+                    buffer.append( LESS_THAN ).append( parser.getName() );
 
-            int count = parser.getAttributeCount();
+                    int count = parser.getAttributeCount();
 
-            for ( int i = 0; i < count; i++ )
-            {
-                buffer.append( SPACE ).append( parser.getAttributeName( i ) );
+                    for ( int i = 0; i < count; i++ )
+                    {
+                        buffer.append( SPACE ).append( parser.getAttributeName( i ) );
 
-                buffer.append( EQUAL ).append( QUOTE );
+                        buffer.append( EQUAL ).append( QUOTE );
 
-                // TODO: why are attribute values HTML-encoded?
-                buffer.append( HtmlTools.escapeHTML( parser.getAttributeValue( i ) ) );
+                        // TODO: why are attribute values HTML-encoded?
+                        buffer.append( HtmlTools.escapeHTML( parser.getAttributeValue( i ) ) );
 
-                buffer.append( QUOTE );
-            }
+                        buffer.append( QUOTE );
+                    }
 
-            buffer.append( GREATER_THAN );
+                    buffer.append( GREATER_THAN );
+                }
         }
     }
 
@@ -252,95 +224,90 @@ public class FmlParser
     protected void handleEndTag( XmlPullParser parser, Sink sink )
         throws XmlPullParserException, MacroExecutionException
     {
-        if ( parser.getName().equals( FAQS_TAG.toString() ) )
-        {
-            // Do nothing
-            return;
-        }
-        else if ( parser.getName().equals( PART_TAG.toString() ) )
-        {
-            faqs.addPart( currentPart );
-
-            currentPart = null;
-        }
-        else if ( parser.getName().equals( FAQ_TAG.toString() ) )
-        {
-            if ( currentPart == null )
-            {
-                throw new XmlPullParserException( "Missing <part>  at: ("
-                    + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
-            }
+        switch ( parser.getName() )
+        {
+            case "faqs":
+                // Do nothing
+                return;
+            case "part":
+                faqs.addPart( currentPart );
+
+                currentPart = null;
+                break;
+            case "faq":
+                if ( currentPart == null )
+                {
+                    throw new XmlPullParserException( "Missing <part>  at: ("
+                        + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
+                }
 
-            currentPart.addFaq( currentFaq );
+                currentPart.addFaq( currentFaq );
 
-            currentFaq = null;
-        }
-        else if ( parser.getName().equals( QUESTION_TAG.toString() ) )
-        {
-            if ( currentFaq == null )
-            {
-                throw new XmlPullParserException( "Missing <faq> at: ("
-                    + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
-            }
+                currentFaq = null;
+                break;
+            case "question":
+                if ( currentFaq == null )
+                {
+                    throw new XmlPullParserException( "Missing <faq> at: ("
+                        + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
+                }
 
-            buffer.append( LESS_THAN ).append( SLASH ).append( parser.getName() ).append( GREATER_THAN );
+                buffer.append( LESS_THAN ).append( SLASH ).append( parser.getName() ).append( GREATER_THAN );
 
-            currentFaq.setQuestion( buffer.toString() );
+                currentFaq.setQuestion( buffer.toString() );
 
-            buffer = null;
-        }
-        else if ( parser.getName().equals( ANSWER_TAG.toString() ) )
-        {
-            if ( currentFaq == null )
-            {
-                throw new XmlPullParserException( "Missing <faq> at: ("
-                    + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
-            }
+                buffer = null;
+                break;
+            case "answer":
+                if ( currentFaq == null )
+                {
+                    throw new XmlPullParserException( "Missing <faq> at: ("
+                        + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
+                }
 
-            buffer.append( LESS_THAN ).append( SLASH ).append( parser.getName() ).append( GREATER_THAN );
+                buffer.append( LESS_THAN ).append( SLASH ).append( parser.getName() ).append( GREATER_THAN );
 
-            currentFaq.setAnswer( buffer.toString() );
+                currentFaq.setAnswer( buffer.toString() );
 
-            buffer = null;
-        }
-        else if ( parser.getName().equals( TITLE.toString() ) )
-        {
-            if ( currentPart == null )
-            {
-                throw new XmlPullParserException( "Missing <part> at: ("
-                    + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
-            }
+                buffer = null;
+                break;
+            case "title":
+                if ( currentPart == null )
+                {
+                    throw new XmlPullParserException( "Missing <part> at: ("
+                        + parser.getLineNumber() + ":" + parser.getColumnNumber() + ")" );
+                }
 
-            buffer.append( LESS_THAN ).append( SLASH ).append( parser.getName() ).append( GREATER_THAN );
+                buffer.append( LESS_THAN ).append( SLASH ).append( parser.getName() ).append( GREATER_THAN );
 
-            currentPart.setTitle( buffer.toString() );
+                currentPart.setTitle( buffer.toString() );
 
-            buffer = null;
-        }
+                buffer = null;
+                break;
 
-        // ----------------------------------------------------------------------
-        // Macro
-        // ----------------------------------------------------------------------
+            // ----------------------------------------------------------------------
+            // Macro
+            // ----------------------------------------------------------------------
 
-        else if ( parser.getName().equals( MACRO_TAG.toString() ) )
-        {
-            handleMacroEnd( buffer );
-        }
-        else if ( parser.getName().equals( PARAM.toString() ) )
-        {
-            if ( !StringUtils.isNotEmpty( macroName ) )
-            {
-                handleUnknown( parser, sink, TAG_TYPE_END );
-            }
-        }
-        else if ( buffer != null )
-        {
-            if ( buffer.length() > 0 && buffer.charAt( buffer.length() - 1 ) == SPACE )
-            {
-                buffer.deleteCharAt( buffer.length() - 1 );
-            }
+            case "macro":
+                handleMacroEnd( buffer );
+                break;
+            case "param":
+                if ( !StringUtils.isNotEmpty( macroName ) )
+                {
+                    handleUnknown( parser, sink, TAG_TYPE_END );
+                }
+                break;
+            default:
+                if ( buffer != null )
+                {
+                    if ( buffer.length() > 0 && buffer.charAt( buffer.length() - 1 ) == SPACE )
+                    {
+                        buffer.deleteCharAt( buffer.length() - 1 );
+                    }
 
-            buffer.append( LESS_THAN ).append( SLASH ).append( parser.getName() ).append( GREATER_THAN );
+                    buffer.append( LESS_THAN ).append( SLASH ).append( parser.getName() ).append( GREATER_THAN );
+                }
         }
     }
 
@@ -473,7 +440,7 @@ public class FmlParser
             if ( StringUtils.isNotEmpty( macroName ) )
             {
                 MacroRequest request =
-                    new MacroRequest( sourceContent, new FmlParser(), macroParameters, getBasedir() );
+                    new MacroRequest( new FmlParser(), sourceContent(), macroParameters, getBasedir() );
 
                 try
                 {
@@ -0,0 +1,678 @@
+package org.apache.maven.doxia.module.markdown;
+
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import com.vladsch.flexmark.ast.AutoLink;
+import com.vladsch.flexmark.ast.BlockQuote;
+import com.vladsch.flexmark.ast.BulletList;
+import com.vladsch.flexmark.ast.BulletListItem;
+import com.vladsch.flexmark.ast.Code;
+import com.vladsch.flexmark.ast.DelimitedLinkNode;
+import com.vladsch.flexmark.ast.Emphasis;
+import com.vladsch.flexmark.ast.FencedCodeBlock;
+import com.vladsch.flexmark.ast.HardLineBreak;
+import com.vladsch.flexmark.ast.Heading;
+import com.vladsch.flexmark.ast.HtmlEntity;
+import com.vladsch.flexmark.ast.Image;
+import com.vladsch.flexmark.ast.ImageRef;
+import com.vladsch.flexmark.ast.IndentedCodeBlock;
+import com.vladsch.flexmark.ast.Link;
+import com.vladsch.flexmark.ast.LinkRef;
+import com.vladsch.flexmark.ast.MailLink;
+import com.vladsch.flexmark.ast.OrderedList;
+import com.vladsch.flexmark.ast.OrderedListItem;
+import com.vladsch.flexmark.ast.Paragraph;
+import com.vladsch.flexmark.ast.ParagraphItemContainer;
+import com.vladsch.flexmark.ast.RefNode;
+import com.vladsch.flexmark.ast.Reference;
+import com.vladsch.flexmark.ast.SoftLineBreak;
+import com.vladsch.flexmark.ast.StrongEmphasis;
+import com.vladsch.flexmark.ast.Text;
+import com.vladsch.flexmark.ast.TextBase;
+import com.vladsch.flexmark.ast.ThematicBreak;
+import com.vladsch.flexmark.ast.util.TextCollectingVisitor;
+import com.vladsch.flexmark.ext.abbreviation.Abbreviation;
+import com.vladsch.flexmark.ext.abbreviation.AbbreviationBlock;
+import com.vladsch.flexmark.ext.definition.DefinitionItem;
+import com.vladsch.flexmark.ext.definition.DefinitionList;
+import com.vladsch.flexmark.ext.definition.DefinitionTerm;
+import com.vladsch.flexmark.ext.escaped.character.EscapedCharacter;
+import com.vladsch.flexmark.ext.gfm.strikethrough.Strikethrough;
+import com.vladsch.flexmark.ext.tables.TableBlock;
+import com.vladsch.flexmark.ext.tables.TableBody;
+import com.vladsch.flexmark.ext.tables.TableCaption;
+import com.vladsch.flexmark.ext.tables.TableCell;
+import com.vladsch.flexmark.ext.tables.TableHead;
+import com.vladsch.flexmark.ext.tables.TableRow;
+import com.vladsch.flexmark.ext.tables.TableSeparator;
+import com.vladsch.flexmark.ext.typographic.TypographicQuotes;
+import com.vladsch.flexmark.ext.typographic.TypographicSmarts;
+import com.vladsch.flexmark.html.HtmlRenderer;
+import com.vladsch.flexmark.html.renderer.LinkType;
+import com.vladsch.flexmark.html.renderer.ResolvedLink;
+import com.vladsch.flexmark.parser.ListOptions;
+import com.vladsch.flexmark.util.ast.Document;
+import com.vladsch.flexmark.util.ast.Node;
+import com.vladsch.flexmark.util.html.Escaping;
+import com.vladsch.flexmark.util.sequence.BasedSequence;
+
+import org.apache.maven.doxia.markup.HtmlMarkup;
+import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
+import org.apache.maven.doxia.util.DoxiaUtils;
+
+/**
+ * Emits Sink events straight from the flexmark AST of a Markdown document.
+ * <p>
+ * The events are the ones {@link MarkdownParser.MarkdownHtmlParser} gets from the HTML rendering of the same
+ * document, without the HTML serialization and the XML parsing in between. The only differences are that
+ * whitespace between blocks is not emitted as text, that consecutive text is emitted as a single event, and that
+ * the items of a bullet list nested in an ordered list are emitted as {@link Sink#listItem()}: the HTML parser
+ * emits {@link Sink#numberedListItem()} for any item inside an ordered list, whatever its own list.
+ * </p>
+ * <p>
+ * Only the nodes produced by the flexmark extensions enabled in {@link MarkdownParser} are known: a document
+ * containing any other node, raw HTML in particular, has to go through the HTML rendering,
+ * see {@link #canRender(Node)}.
+ * </p>
+ *
+ * @since 2.0.0
+ */
+class FlexmarkDoxiaSinkRenderer
+{
+    /** The nodes this renderer knows, matched on their exact class. */
+    private static final Set<Class<? extends Node>> RENDERED_NODES = new HashSet<>( Arrays.asList(
+            Document.class, Paragraph.class, Heading.class, BlockQuote.class, ThematicBreak.class,
+            BulletList.class, BulletListItem.class, OrderedList.class, OrderedListItem.class,
+            FencedCodeBlock.class, IndentedCodeBlock.class, Reference.class,
+            Text.class, TextBase.class, SoftLineBreak.class, HardLineBreak.class, HtmlEntity.class,
+            Emphasis.class, StrongEmphasis.class, Code.class,
+            Link.class, LinkRef.class, AutoLink.class, MailLink.class, Image.class, ImageRef.class,
+            EscapedCharacter.class, TypographicQuotes.class, TypographicSmarts.class, Strikethrough.class,
+            Abbreviation.class, AbbreviationBlock.class,
+            DefinitionList.class, DefinitionTerm.class, DefinitionItem.class,
+            TableBlock.class, TableHead.class, TableSeparator.class, TableBody.class, TableRow.class,
+            TableCell.class, TableCaption.class ) );
+
+    /** Rewrites links to Markdown documents, stateless. */
+    private static final FlexmarkDoxiaLinkResolver LINK_RESOLVER = new FlexmarkDoxiaLinkResolver( null );
+
+    private final Document document;
+
+    private final Sink sink;
+
+    private final ListOptions listOptions;
+
+    private final String softBreak;
+
+    private final String autolinkWwwPrefix;
+
+    private final String languageClassPrefix;
+
+    /** The text not emitted yet. */
+    private final StringBuilder text = new StringBuilder();
+
+    private int sectionLevel;
+
+    private boolean hasDefinitionListItem;
+
+    /**
+     * @param document the Markdown document, accepted by {@link #canRender(Node)}.
+     * @param sink the sink to receive the events.
+     */
+    FlexmarkDoxiaSinkRenderer( Document document, Sink sink )
+    {
+        this.document = document;
+        this.sink = sink;
+        this.listOptions = ListOptions.getFrom( document );
+        this.softBreak = HtmlRenderer.SOFT_BREAK.getFrom( document );
+        this.autolinkWwwPrefix = HtmlRenderer.AUTOLINK_WWW_PREFIX.getFrom( document );
+        this.languageClassPrefix = HtmlRenderer.FENCED_CODE_LANGUAGE_CLASS_PREFIX.getFrom( document );
+    }
+
+    /**
+     * @param document the Markdown document.
+     * @return true if every node of the document is known to this renderer, and every link reference is defined.
+     */
+    static boolean canRender( Node document )
+    {
+        for ( Node node : document.getDescendants() )
+        {
+            if ( !RENDERED_NODES.contains( node.getClass() ) )
+            {
+                return false;
+            }
+            if ( node instanceof RefNode && !( (RefNode) node ).isDefined() )
+            {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Emits the events of the body content of the document, the <code>body</code> event excepted.
+     */
+    void render()
+    {
+        renderChildren( document );
+        flushText();
+        consecutiveSections( 0 );
+    }
+
+    private void renderChildren( Node parent )
+    {
+        for ( Node child = parent.getFirstChild(); child != null; child = child.getNext() )
+        {
+            if ( !renderText( child ) )
+            {
+                flushText();
+
+                if ( !renderBlock( child ) && !renderInline( child ) )
+                {
+                    renderChildren( child );
+                }
+            }
+        }
+        flushText();
+    }
+
+    private void flushText()
+    {
+        if ( text.length() > 0 )
+        {
+            sink.text( text.toString() );
+            text.setLength( 0 );
+        }
+    }
+
+    private boolean renderText( Node node )
+    {
+        if ( node instanceof Text || node instanceof EscapedCharacter )
+        {
+            text.append( node.getChars().unescape() );
+        }
+        else if ( node instanceof TextBase )
+        {
+            for ( Node child = node.getFirstChild(); child != null; child = child.getNext() )
+            {
+                if ( !renderText( child ) )
+                {
+                    flushText();
+                    renderInline( child );
+                }
+            }
+        }
+        else if ( node instanceof SoftLineBreak )
+        {
+            text.append( softBreak );
+        }
+        else if ( node instanceof HtmlEntity )
+        {
+            text.append( Escaping.unescapeString( node.getChars() ) );
+        }
+        else if ( node instanceof TypographicSmarts )
+        {
+            text.append( Escaping.unescapeString( ( (TypographicSmarts) node ).getTypographicText() ) );
+        }
+        else if ( node instanceof TypographicQuotes )
+        {
+            TypographicQuotes quotes = (TypographicQuotes) node;
+            appendTypographic( quotes.getTypographicOpening(), quotes.getOpeningMarker() );
+            renderChildren( node );
+            appendTypographic( quotes.getTypographicClosing(), quotes.getClosingMarker() );
+        }
+        else
+        {
+            return false;
+        }
+        return true;
+    }
+
+    private void appendTypographic( String typographic, BasedSequence marker )
+    {
+        if ( typographic != null && !typographic.isEmpty() )
+        {
+            text.append( Escaping.unescapeString( typographic ) );
+        }
+        else
+        {
+            text.append( marker.unescape() );
+        }
+    }
+
+    private boolean renderBlock( Node node )
+    {
+        if ( node instanceof Paragraph )
+        {
+            renderParagraph( (Paragraph) node );
+        }
+        else if ( node instanceof Heading )
+        {
+            renderHeading( (Heading) node );
+        }
+        else if ( node instanceof BulletList )
+        {
+            sink.list();
+            renderChildren( node );
+            sink.list_();
+        }
+        else if ( node instanceof BulletListItem )
+        {
+            sink.listItem();
+            renderChildren( node );
+            sink.listItem_();
+        }
+        else if ( node instanceof OrderedList )
+        {
+            int start = ( (OrderedList) node ).getStartNumber();
+            sink.numberedList( Sink.NUMBERING_DECIMAL,
+                               start == 1 ? null : new SinkEventAttributeSet( "start", String.valueOf( start ) ) );
+            renderChildren( node );
+            sink.numberedList_();
+        }
+        else if ( node instanceof OrderedListItem )
+        {
+            sink.numberedListItem();
+            renderChildren( node );
+            sink.numberedListItem_();
+        }
+        else if ( node instanceof FencedCodeBlock )
+        {
+            FencedCodeBlock codeBlock = (FencedCodeBlock) node;
+            String language = null;
+            if ( codeBlock.getInfo().isNotNull() && !codeBlock.getInfo().isBlank() )
+            {
+                language = codeBlock.getInfoDelimitedByAny( " " ).unescape();
+            }
+            renderVerbatim( codeBlock.getContentChars().normalizeEOL(), language );
+        }
+        else if ( node instanceof IndentedCodeBlock )
+        {
+            BasedSequence content = ( (IndentedCodeBlock) node ).getContentChars();
+            renderVerbatim( content.trimTailBlankLines().normalizeEndWithEOL(), null );
+        }
+        else if ( node instanceof ThematicBreak )
+        {
+            sink.horizontalRule();
+        }
+        else if ( node instanceof BlockQuote )
+        {
+            renderUnknown( "blockquote", node );
+        }
+        else if ( node instanceof DefinitionList || node instanceof DefinitionTerm || node instanceof DefinitionItem )
+        {
+            renderDefinitionList( node );
+        }
+        else if ( node instanceof TableBlock || node instanceof TableHead || node instanceof TableBody
+            || node instanceof TableSeparator || node instanceof TableRow || node instanceof TableCell
+            || node instanceof TableCaption )
+        {
+            renderTable( node );
+        }
+        else if ( node instanceof Reference || node instanceof AbbreviationBlock )
+        {
+            // definitions, resolved where they are used
+        }
+        else
+        {
+            return false;
+        }
+        return true;
+    }
+
+    private void renderParagraph( Paragraph paragraph )
+    {
+        Node parent = paragraph.getParent();
+        if ( parent instanceof ParagraphItemContainer
+            && ( (ParagraphItemContainer) parent ).isParagraphWrappingDisabled( paragraph, listOptions, document ) )
+        {
+            renderChildren( paragraph );
+        }
+        else
+        {
+            sink.paragraph();
+            renderChildren( paragraph );
+            sink.paragraph_();
+        }
+    }
+
+    /**
+     * HTML has no sections, so like in the Xhtml parser <code>&lt;h2&gt;</code> to <code>&lt;h6&gt;</code> open
+     * sections, and <code>&lt;h1&gt;</code> is an unknown event.
+     */
+    private void renderHeading( Heading heading )
+    {
+        if ( heading.getLevel() == 1 )
+        {
+            renderUnknown( "h1", heading );
+            return;
+        }
+
+        int level = heading.getLevel() - 1;
+        consecutiveSections( level );
+        sink.section( level, null );
+        sink.sectionTitle( level, null );
+        renderChildren( heading );
+        sink.sectionTitle_( level );
+    }
+
+    /**
+     * Opens or closes the sections between the current section level and the given one, see
+     * {@link org.apache.maven.doxia.parser.XhtmlBaseParser#consecutiveSections(int, Sink)}.
+     */
+    private void consecutiveSections( int newLevel )
+    {
+        while ( sectionLevel >= newLevel && sectionLevel > 0 )
+        {
+            sink.section_( sectionLevel );
+            sectionLevel--;
+        }
+
+        while ( sectionLevel < newLevel - 1 )
+        {
+            sectionLevel++;
+            sink.section( sectionLevel, null );
+        }
+
+        sectionLevel = newLevel;
+    }
+
+    /**
+     * The pre elements produced from Markdown are all boxed, see {@link MarkdownParser.MarkdownHtmlParser}.
+     */
+    private void renderVerbatim( String content, String language )
+    {
+        sink.verbatim( SinkEventAttributeSet.BOXED );
+        if ( language == null )
+        {
+            sink.inline( SinkEventAttributeSet.Semantics.CODE );
+        }
+        else
+        {
+            SinkEventAttributeSet attributes =
+                new SinkEventAttributeSet( SinkEventAttributes.CLASS, languageClassPrefix + language );
+            attributes.addAttributes( SinkEventAttributeSet.Semantics.CODE );
+            sink.inline( attributes );
+        }
+        sink.text( content );
+        sink.inline_();
+        sink.verbatim_();
+    }
+
+    private void renderUnknown( String name, Node node )
+    {
+        sink.unknown( name, new Object[] { HtmlMarkup.TAG_TYPE_START }, new SinkEventAttributeSet() );
+        renderChildren( node );
+        sink.unknown( name, new Object[] { HtmlMarkup.TAG_TYPE_END }, null );
+    }
+
+    /**
+     * Mimics the handling of <code>&lt;dl&gt;</code>, <code>&lt;dt&gt;</code> and <code>&lt;dd&gt;</code>
+     * in the Xhtml parser: a term opens a new item, which is closed by the following definition.
+     */
+    private void renderDefinitionList( Node node )
+    {
+        if ( node instanceof DefinitionList )
+        {
+            sink.definitionList();
+            renderChildren( node );
+            if ( hasDefinitionListItem )
+            {
+                sink.definitionListItem_();
+                hasDefinitionListItem = false;
+            }
+            sink.definitionList_();
+        }
+        else if ( node instanceof DefinitionTerm )
+        {
+            if ( hasDefinitionListItem )
+            {
+                sink.definitionListItem_();
+            }
+            sink.definitionListItem();
+            hasDefinitionListItem = true;
+            sink.definedTerm();
+            renderChildren( node );
+            sink.definedTerm_();
+        }
+        else
+        {
+            if ( !hasDefinitionListItem )
+            {
+                sink.definitionListItem();
+            }
+            sink.definition();
+            renderChildren( node );
+            sink.definition_();
+            sink.definitionListItem_();
+            hasDefinitionListItem = false;
+        }
+    }
+
+    private void renderTable( Node node )
+    {
+        if ( node instanceof TableBlock )
+        {
+            sink.table();
+            sink.tableRows( new int[] { Sink.JUSTIFY_LEFT }, false );
+            renderChildren( node );
+            sink.tableRows_();
+            sink.table_();
+        }
+        else if ( node instanceof TableHead )
+        {
+            renderUnknown( "thead", node );
+        }
+        else if ( node instanceof TableBody )
+        {
+            renderUnknown( "tbody", node );
+        }
+        else if ( node instanceof TableRow )
+        {
+            sink.tableRow();
+            renderChildren( node );
+            sink.tableRow_();
+        }
+        else if ( node instanceof TableCell )
+        {
+            TableCell cell = (TableCell) node;
+            SinkEventAttributeSet attributes = new SinkEventAttributeSet();
+            if ( cell.getAlignment() != null )
+            {
+                attributes.addAttribute( SinkEventAttributes.ALIGN,
+                                         cell.getAlignment().name().toLowerCase( Locale.ENGLISH ) );
+            }
+            if ( cell.getSpan() > 1 )
+            {
+                attributes.addAttribute( SinkEventAttributes.COLSPAN, String.valueOf( cell.getSpan() ) );
+            }
+
+            if ( cell.isHeader() )
+            {
+                sink.tableHeaderCell( attributes );
+                renderChildren( node );
+                sink.tableHeaderCell_();
+            }
+            else
+            {
+                sink.tableCell( attributes );
+                renderChildren( node );
+                sink.tableCell_();
+            }
+        }
+        else if ( node instanceof TableCaption )
+        {
+            sink.tableCaption();
+            renderChildren( node );
+            sink.tableCaption_();
+        }
+        // TableSeparator: the alignment row, already applied to the cells
+    }
+
+    private boolean renderInline( Node node )
+    {
+        if ( node instanceof Emphasis )
+        {
+            renderInline( node, SinkEventAttributeSet.Semantics.ITALIC );
+        }
+        else if ( node instanceof StrongEmphasis )
+        {
+            renderInline( node, SinkEventAttributeSet.Semantics.BOLD );
+        }
+        else if ( node instanceof Strikethrough )
+        {
+            renderInline( node, SinkEventAttributeSet.Semantics.LINE_THROUGH );
+        }
+        else if ( node instanceof Code )
+        {
+            sink.inline( SinkEventAttributeSet.Semantics.CODE );
+            sink.text( Escaping.collapseWhitespace( ( (Code) node ).getText(), true ) );
+            sink.inline_();
+        }
+        else if ( node instanceof HardLineBreak )
+        {
+            sink.lineBreak();
+        }
+        else if ( node instanceof Link )
+        {
+            Link link = (Link) node;
+            renderLink( link, link.getUrl(), link.getTitle() );
+        }
+        else if ( node instanceof LinkRef )
+        {
+            Reference reference = ( (LinkRef) node ).getReferenceNode( document );
+            renderLink( node, reference.getUrl(), reference.getTitle() );
+        }
+        else if ( node instanceof AutoLink || node instanceof MailLink )
+        {
+            renderAutoLink( node );
+        }
+        else if ( node instanceof Image )
+        {
+            Image image = (Image) node;
+            renderImage( image, image.getUrl(), image.getTitle() );
+        }
+        else if ( node instanceof ImageRef )
+        {
+            Reference reference = ( (ImageRef) node ).getReferenceNode( document );
+            renderImage( node, reference.getUrl(), reference.getTitle() );
+        }
+        else if ( node instanceof Abbreviation )
+        {
+            Abbreviation abbreviation = (Abbreviation) node;
+            sink.unknown( "abbr", new Object[] { HtmlMarkup.TAG_TYPE_START },
+                          new SinkEventAttributeSet( SinkEventAttributes.TITLE,
+                                                     abbreviation.getAbbreviation().toString() ) );
+            sink.text( abbreviation.getChars().toString() );
+            sink.unknown( "abbr", new Object[] { HtmlMarkup.TAG_TYPE_END }, null );
+        }
+        else
+        {
+            return false;
+        }
+        return true;
+    }
+
+    private void renderInline( Node node, SinkEventAttributes semantics )
+    {
+        sink.inline( semantics );
+        renderChildren( node );
+        sink.inline_();
+    }
+
+    private void renderLink( Node node, BasedSequence url, BasedSequence title )
+    {
+        String href = LINK_RESOLVER.resolveLink( node, null, new ResolvedLink( LinkType.LINK, url.unescape() ) )
+            .getUrl();
+
+        SinkEventAttributeSet attributes = new SinkEventAttributeSet( SinkEventAttributes.HREF, href );
+        if ( title.isNotNull() )
+        {
+            attributes.addAttribute( SinkEventAttributes.TITLE, title.unescape() );
+        }
+
+        sink.link( validLink( href ), attributes );
+        renderChildren( node );
+        sink.link_();
+    }
+
+    private void renderAutoLink( Node node )
+    {
+        String linkText = ( (DelimitedLinkNode) node ).getText().toString();
+
+        String href;
+        if ( node instanceof MailLink )
+        {
+            href = "mailto:" + linkText;
+        }
+        else
+        {
+            href = LINK_RESOLVER.resolveLink( node, null, new ResolvedLink( LinkType.LINK, linkText ) ).getUrl();
+            if ( href.startsWith( "www." ) )
+            {
+                href = autolinkWwwPrefix + href;
+            }
+        }
+
+        sink.link( validLink( href ), new SinkEventAttributeSet( SinkEventAttributes.HREF, href ) );
+        sink.text( linkText );
+        sink.link_();
+    }
+
+    /**
+     * Encodes an invalid anchor in a local link, like in the Xhtml parser.
+     */
+    private static String validLink( String href )
+    {
+        int hashIndex = href.indexOf( '#' );
+        if ( hashIndex != -1 && !DoxiaUtils.isExternalLink( href ) )
+        {
+            String hash = href.substring( hashIndex + 1 );
+
+            if ( !DoxiaUtils.isValidId( hash ) )
+            {
+                return href.substring( 0, hashIndex ) + "#" + DoxiaUtils.encodeId( hash, true );
+            }
+        }
+        return href;
+    }
+
+    private void renderImage( Node node, BasedSequence url, BasedSequence title )
+    {
+        String src = url.unescape();
+
+        SinkEventAttributeSet attributes = new SinkEventAttributeSet( SinkEventAttributes.SRC, src );
+        attributes.addAttribute( SinkEventAttributes.ALT, new TextCollectingVisitor().collectAndGetText( node ) );
+        if ( title.isNotNull() )
+        {
+            attributes.addAttribute( SinkEventAttributes.TITLE, title.unescape() );
+        }
+
+        sink.figureGraphics( src, attributes );
+    }
+}
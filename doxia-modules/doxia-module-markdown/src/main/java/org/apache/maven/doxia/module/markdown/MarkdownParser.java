@@ -21,10 +21,10 @@ package org.apache.maven.doxia.module.markdown;
 
 import javax.inject.Inject;
 import javax.inject.Named;
-import javax.inject.Singleton;
 
 import com.vladsch.flexmark.ast.Heading;
 import com.vladsch.flexmark.ast.HtmlCommentBlock;
+import com.vladsch.flexmark.util.ast.Document;
 import com.vladsch.flexmark.util.ast.Node;
 import com.vladsch.flexmark.ast.util.TextCollectingVisitor;
 import com.vladsch.flexmark.html.HtmlRenderer;
@@ -43,13 +43,18 @@ import org.apache.maven.doxia.module.xhtml.XhtmlParser;
 import org.apache.maven.doxia.parser.AbstractParser;
 import org.apache.maven.doxia.parser.ParseException;
 import org.apache.maven.doxia.sink.Sink;
+import org.apache.maven.doxia.sink.SinkEventAttributes;
+import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.doxia.util.HtmlTools;
-import org.codehaus.plexus.util.IOUtil;
 import org.codehaus.plexus.util.xml.pull.XmlPullParser;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.util.AbstractMap;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -59,7 +64,8 @@ import java.util.regex.Pattern;
  * </p>
  * <p>
  * Defers effective parsing to the <a href="https://github.com/vsch/flexmark-java">flexmark-java library</a>,
- * which generates HTML content then delegates parsing of this content to a slightly modified Doxia Xhtml parser.
+ * whose AST is converted to Sink events by {@link FlexmarkDoxiaSinkRenderer}. Documents containing raw HTML
+ * are rendered to HTML by flexmark instead, which is then parsed by a slightly modified Doxia Xhtml parser.
  * (before 1.8, the <a href="http://pegdown.org">PegDown library</a> was used)
  * </p>
  *
@@ -67,7 +73,6 @@ import java.util.regex.Pattern;
  * @author Julien Nicoulaud
  * @since 1.3
  */
-@Singleton
 @Named( "markdown" )
 public class MarkdownParser
     extends AbstractParser
@@ -118,7 +123,8 @@ public class MarkdownParser
     private static final com.vladsch.flexmark.parser.Parser FLEXMARK_PARSER;
 
     /**
-     * Flexmark's HTML renderer (its output will be re-parsed and converted to Sink events)
+     * Flexmark's HTML renderer, for the documents containing raw HTML
+     * (its output will be re-parsed and converted to Sink events)
      */
     private static final HtmlRenderer FLEXMARK_HTML_RENDERER;
 
@@ -164,11 +170,22 @@ public class MarkdownParser
     {
         try
         {
-            // Markdown to HTML (using flexmark-java library)
-            String html = toHtml( source );
+            List<Map.Entry<String, String>> metadata = new ArrayList<>();
+            Document documentRoot = parseMarkdown( readContent( source ), metadata );
 
-            // then HTML to Sink API
-            parser.parse( html, sink );
+            if ( FlexmarkDoxiaSinkRenderer.canRender( documentRoot ) )
+            {
+                // Markdown AST to Sink API
+                emitHead( metadata, documentRoot, sink );
+                sink.body();
+                new FlexmarkDoxiaSinkRenderer( documentRoot, sink ).render();
+                sink.body_();
+            }
+            else
+            {
+                // the document contains raw HTML: Markdown to HTML, then HTML to Sink API
+                parser.parse( toHtml( metadata, documentRoot ), sink );
+            }
         }
         catch ( IOException e )
         {
@@ -177,79 +194,163 @@ public class MarkdownParser
     }
 
     /**
-     * uses flexmark-java library to parse content and generate HTML output.
+     * Parses the "metadata" section and the Markdown content of a document.
      *
-     * @param source the Markdown source
-     * @return HTML content generated by flexmark-java
-     * @throws IOException passed through
+     * @param text the Markdown source
+     * @param metadata receives the metadata entries, in document order
+     * @return the flexmark AST of the Markdown content
      */
-    String toHtml( Reader source )
-        throws IOException
+    private Document parseMarkdown( String text, List<Map.Entry<String, String>> metadata )
     {
-        // Read the source
-        String text = IOUtil.toString( source );
+        String content = text;
 
-        // Now, build the HTML document
-        StringBuilder html = new StringBuilder( 1000 );
-        html.append( "<html>" );
-        html.append( "<head>" );
-
-        // First, we interpret the "metadata" section of the document and add the corresponding HTML headers
         Matcher metadataMatcher = METADATA_SECTION_PATTERN.matcher( text );
-        boolean haveTitle = false;
         if ( metadataMatcher.find() )
         {
             Matcher entryMatcher = METADATA_ENTRY_PATTERN.matcher( metadataMatcher.group( 0 ) );
             while ( entryMatcher.find() )
             {
-                String key = entryMatcher.group( 1 );
-                String value = entryMatcher.group( 2 );
-                if ( "title".equalsIgnoreCase( key ) )
-                {
-                    haveTitle = true;
-                    html.append( "<title>" );
-                    html.append( HtmlTools.escapeHTML( value, false ) );
-                    html.append( "</title>" );
-                }
-                else
-                {
-                    html.append( "<meta name='" );
-                    html.append( HtmlTools.escapeHTML( key ) );
-                    html.append( "' content='" );
-                    html.append( HtmlTools.escapeHTML( value ) );
-                    html.append( "' />" );
-                }
+                metadata.add( new AbstractMap.SimpleImmutableEntry<>( entryMatcher.group( 1 ),
+                                                                      entryMatcher.group( 2 ) ) );
             }
 
             // Trim the metadata from the source
-            text = text.substring( metadataMatcher.end( 0 ) );
-
+            content = text.substring( metadataMatcher.end( 0 ) );
         }
 
         // Now is the time to parse the Markdown document
         // (after we've trimmed out the metadatas, and before we check for its headings)
-        Node documentRoot = FLEXMARK_PARSER.parse( text );
+        return FLEXMARK_PARSER.parse( content );
+    }
+
+    /**
+     * Special trick: if there is no title specified as a metadata in the header, the first heading is used
+     * as the document title.
+     *
+     * @param documentRoot the Markdown document
+     * @return the text of the first heading if it is the first non-comment node of the document, null otherwise
+     */
+    private static String firstHeadingTitle( Node documentRoot )
+    {
+        // Skip the comment nodes
+        Node firstNode = documentRoot.getFirstChild();
+        while ( firstNode != null && firstNode instanceof HtmlCommentBlock )
+        {
+            firstNode = firstNode.getNext();
+        }
+
+        // If this first non-comment node is a heading, we use it as the document title
+        if ( firstNode != null && firstNode instanceof Heading )
+        {
+            TextCollectingVisitor collectingVisitor = new TextCollectingVisitor();
+            return collectingVisitor.collectAndGetText( firstNode );
+        }
+
+        return null;
+    }
+
+    /**
+     * Emits the head events, as the Xhtml parser does for the head generated by
+     * {@link #toHtml(List, Document)}.
+     */
+    private static void emitHead( List<Map.Entry<String, String>> metadata, Node documentRoot, Sink sink )
+    {
+        sink.head();
 
-        // Special trick: if there is no title specified as a metadata in the header, we will use the first
-        // heading as the document title
-        if ( !haveTitle && documentRoot.hasChildren() )
+        boolean haveTitle = false;
+        for ( Map.Entry<String, String> entry : metadata )
         {
-            // Skip the comment nodes
-            Node firstNode = documentRoot.getFirstChild();
-            while ( firstNode != null && firstNode instanceof HtmlCommentBlock )
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if ( "title".equalsIgnoreCase( key ) )
+            {
+                haveTitle = true;
+                sink.title();
+                sink.text( value );
+                sink.title_();
+            }
+            else if ( "author".equals( key ) )
+            {
+                sink.author();
+                sink.text( value );
+                sink.author_();
+            }
+            else if ( "date".equals( key ) )
             {
-                firstNode = firstNode.getNext();
+                sink.date();
+                sink.text( value );
+                sink.date_();
             }
+            else
+            {
+                SinkEventAttributeSet atts = new SinkEventAttributeSet( SinkEventAttributes.NAME, key );
+                atts.addAttribute( "content", value );
+                sink.unknown( "meta", new Object[] { HtmlMarkup.TAG_TYPE_SIMPLE }, atts );
+            }
+        }
+
+        String headingTitle = haveTitle ? null : firstHeadingTitle( documentRoot );
+        if ( headingTitle != null )
+        {
+            sink.title();
+            sink.text( headingTitle );
+            sink.title_();
+        }
+
+        sink.head_();
+    }
 
-            // If this first non-comment node is a heading, we use it as the document title
-            if ( firstNode != null && firstNode instanceof Heading )
+    /**
+     * uses flexmark-java library to parse content and generate HTML output.
+     *
+     * @param source the Markdown source
+     * @return HTML content generated by flexmark-java
+     * @throws IOException passed through
+     */
+    String toHtml( Reader source )
+        throws IOException
+    {
+        List<Map.Entry<String, String>> metadata = new ArrayList<>();
+        Document documentRoot = parseMarkdown( readContent( source ), metadata );
+        return toHtml( metadata, documentRoot );
+    }
+
+    private String toHtml( List<Map.Entry<String, String>> metadata, Document documentRoot )
+    {
+        // Now, build the HTML document
+        StringBuilder html = new StringBuilder( 1000 );
+        html.append( "<html>" );
+        html.append( "<head>" );
+
+        // First, we interpret the "metadata" section of the document and add the corresponding HTML headers
+        boolean haveTitle = false;
+        for ( Map.Entry<String, String> entry : metadata )
+        {
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if ( "title".equalsIgnoreCase( key ) )
             {
+                haveTitle = true;
                 html.append( "<title>" );
-                TextCollectingVisitor collectingVisitor = new TextCollectingVisitor();
-                String headingText = collectingVisitor.collectAndGetText( firstNode );
-                html.append( HtmlTools.escapeHTML( headingText, false ) );
+                html.append( HtmlTools.escapeHTML( value, false ) );
                 html.append( "</title>" );
             }
+            else
+            {
+                html.append( "<meta name='" );
+                html.append( HtmlTools.escapeHTML( key ) );
+                html.append( "' content='" );
+                html.append( HtmlTools.escapeHTML( value ) );
+                html.append( "' />" );
+            }
+        }
+
+        String headingTitle = haveTitle ? null : firstHeadingTitle( documentRoot );
+        if ( headingTitle != null )
+        {
+            html.append( "<title>" );
+            html.append( HtmlTools.escapeHTML( headingTitle, false ) );
+            html.append( "</title>" );
         }
         html.append( "</head>" );
         html.append( "<body>" );
@@ -292,6 +393,15 @@ public class MarkdownParser
             super.boxed = true;
         }
 
+        /**
+         * Flexmark writes the caption of a table after its body, so the sink has to buffer the table.
+         */
+        @Override
+        protected boolean isTableCaptionFirst()
+        {
+            return false;
+        }
+
         @Override
         protected boolean baseEndTag( XmlPullParser parser, Sink sink )
         {
@@ -23,6 +23,9 @@ import javax.inject.Inject;
 
 import java.io.IOException;
 import java.io.Reader;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
 
@@ -56,6 +59,12 @@ public class MarkdownParserTest
     @Inject
     protected MarkdownParser parser;
 
+    /**
+     * The parser of the HTML rendering of the documents containing raw HTML.
+     */
+    @Inject
+    protected MarkdownParser.MarkdownHtmlParser htmlParser;
+
     /**
      * {@inheritDoc}
      */
@@ -168,7 +177,7 @@ public class MarkdownParserTest
     {
         Iterator<SinkEventElement> it = parseFileToEventTestingSink( "code" ).getEventList().iterator();
 
-        assertSinkEquals( it, "head", "head_", "body", "paragraph", "text", "paragraph_", "text", "verbatim", "inline", "text", "inline_", "verbatim_", "body_" );
+        assertSinkEquals( it, "head", "head_", "body", "paragraph", "text", "paragraph_", "verbatim", "inline", "text", "inline_", "verbatim_", "body_" );
 
         assertFalse( it.hasNext() );
     }
@@ -185,20 +194,20 @@ public class MarkdownParserTest
         List<SinkEventElement> eventList = parseFileToEventTestingSink( "fenced-code-block" ).getEventList();
         Iterator<SinkEventElement> it = eventList.iterator();
 
-        assertSinkEquals( it, "head", "head_", "body", "paragraph", "text", "paragraph_", "text", "verbatim", "inline", "text", "inline_", "verbatim_", "body_" );
+        assertSinkEquals( it, "head", "head_", "body", "paragraph", "text", "paragraph_", "verbatim", "inline", "text", "inline_", "verbatim_", "body_" );
 
         assertFalse( it.hasNext() );
 
         // PRE element must be a "verbatim" Sink event that specifies
         // BOXED = true
-        SinkEventElement pre = eventList.get( 7 );
+        SinkEventElement pre = eventList.get( 6 );
         assertEquals( "verbatim", pre.getName() );
         SinkEventAttributeSet preAtts = (SinkEventAttributeSet) pre.getArgs()[0];
         assertTrue( preAtts.containsAttribute( SinkEventAttributes.DECORATION, "boxed" ) );
 
         // * CODE element must be an "inline" Sink event that specifies:
         // * SEMANTICS = "code" and CLASS = "language-java"
-        SinkEventElement code = eventList.get( 8 );
+        SinkEventElement code = eventList.get( 7 );
         assertEquals( "inline", code.getName() );
         SinkEventAttributeSet codeAtts = (SinkEventAttributeSet) code.getArgs()[0];
         assertTrue( codeAtts.containsAttribute( SinkEventAttributes.SEMANTICS, "code" ) );
@@ -279,8 +288,8 @@ public class MarkdownParserTest
     {
         Iterator<SinkEventElement> it = parseFileToEventTestingSink( "list" ).getEventList().iterator();
 
-        assertSinkEquals( it, "head", "head_", "body", "list", "text", "listItem", "text", "listItem_", "listItem", "text",
-                      "listItem_", "text", "list_", "body_" );
+        assertSinkEquals( it, "head", "head_", "body", "list", "listItem", "text", "listItem_", "listItem", "text",
+                      "listItem_", "list_", "body_" );
 
         assertFalse( it.hasNext() );
     }
@@ -296,8 +305,8 @@ public class MarkdownParserTest
     {
         Iterator<SinkEventElement> it = parseFileToEventTestingSink( "numbered-list" ).getEventList().iterator();
 
-        assertSinkEquals( it, "head", "head_", "body", "numberedList", "text", "numberedListItem", "text", "numberedListItem_",
-                      "numberedListItem", "text", "numberedListItem_", "text", "numberedList_", "body_" );
+        assertSinkEquals( it, "head", "head_", "body", "numberedList", "numberedListItem", "text", "numberedListItem_",
+                      "numberedListItem", "text", "numberedListItem_", "numberedList_", "body_" );
 
         assertFalse( it.hasNext() );
     }
@@ -314,7 +323,7 @@ public class MarkdownParserTest
         List<SinkEventElement> eventList = parseFileToEventTestingSink( "metadata" ).getEventList();
         Iterator<SinkEventElement> it = eventList.iterator();
 
-        assertSinkEquals( it, "head", "title", "text", "text", "text", "title_", "author", "text", "author_", "date", "text", "date_",
+        assertSinkEquals( it, "head", "title", "text", "title_", "author", "text", "author_", "date", "text", "date_",
                       "unknown", "head_", "body", "unknown", "text", "unknown", "paragraph", "text", "paragraph_", "section1",
                       "sectionTitle1", "text", "sectionTitle1_", "paragraph", "text", "paragraph_", "section1_",
                       "body_" );
@@ -322,19 +331,17 @@ public class MarkdownParserTest
         assertFalse( it.hasNext() );
 
         // Title must be "A Title & a Test"
-        assertEquals( "A Title ", eventList.get( 2 ).getArgs()[0]);
-        assertEquals( "&", eventList.get( 3 ).getArgs()[0]);
-        assertEquals( " a 'Test'", eventList.get( 4 ).getArgs()[0]);
+        assertEquals( "A Title & a 'Test'", eventList.get( 2 ).getArgs()[0]);
 
         // Author must be "Somebody <somebody@somewhere.org>"
-        assertEquals( "Somebody 'Nickname' Great <somebody@somewhere.org>", eventList.get( 7 ).getArgs()[0]);
+        assertEquals( "Somebody 'Nickname' Great <somebody@somewhere.org>", eventList.get( 5 ).getArgs()[0]);
 
         // Date must be "2013 © Copyleft"
-        assertEquals( "2013 \u00A9 Copyleft", eventList.get( 10 ).getArgs()[0]);
+        assertEquals( "2013 \u00A9 Copyleft", eventList.get( 8 ).getArgs()[0]);
 
         // * META element must be an "unknown" Sink event that specifies:
         // * name = "keywords" and content = "maven,doxia,markdown"
-        SinkEventElement meta = eventList.get( 12 );
+        SinkEventElement meta = eventList.get( 10 );
         assertEquals( "unknown", meta.getName() );
         assertEquals( "meta", meta.getArgs()[0] );
         SinkEventAttributeSet metaAtts = (SinkEventAttributeSet) meta.getArgs()[2];
@@ -402,6 +409,108 @@ public class MarkdownParserTest
         assertFalse( it.hasNext() );
     }
 
+    /**
+     * Assert the events emitted from the Markdown AST are the ones the HTML rendering gives, when parsing
+     * "direct-rendering.md", except for whitespace between blocks and the split of text.
+     *
+     * @throws Exception if the event list is not correct when parsing the document
+     */
+    @Test
+    public void testDirectRenderingMatchesHtmlRendering()
+        throws Exception
+    {
+        SinkEventTestingSink htmlSink = new SinkEventTestingSink();
+        htmlParser.parse( parseFileToHtml( "direct-rendering" ), htmlSink );
+
+        SinkEventTestingSink sink = parseFileToEventTestingSink( "direct-rendering" );
+        for ( SinkEventElement event : sink.getEventList() )
+        {
+            // no newlines between blocks: the HTML rendering was not used
+            assertFalse( "text".equals( event.getName() ) && "\n".equals( event.getArgs()[0] ) );
+        }
+
+        List<String> expected = normalizedEvents( htmlSink );
+        List<String> actual = normalizedEvents( sink );
+
+        assertTrue( actual.contains( "definitionList" ) );
+        assertTrue( actual.contains( "tableCaption" ) );
+        assertEquals( expected, actual );
+    }
+
+    /**
+     * Assert the items of a bullet list nested in an ordered list are list items when emitted from the Markdown
+     * AST, while the HTML rendering gives numbered list items.
+     *
+     * @throws Exception if the event list is not correct when parsing the document
+     */
+    @Test
+    public void testBulletListInOrderedList()
+        throws Exception
+    {
+        String text = "1. one\n\n    - bullet\n";
+
+        SinkEventTestingSink htmlSink = new SinkEventTestingSink();
+        htmlParser.parse( parser.toHtml( new StringReader( text ) ), htmlSink );
+
+        SinkEventTestingSink sink = new SinkEventTestingSink();
+        parser.parse( new StringReader( text ), sink );
+
+        List<String> expected = normalizedEvents( htmlSink );
+        List<String> actual = normalizedEvents( sink );
+
+        int bullet = expected.indexOf( "text: bullet" );
+        assertEquals( "numberedListItem", expected.get( bullet - 1 ) );
+        assertEquals( "listItem", actual.get( bullet - 1 ) );
+
+        expected.set( bullet - 1, "listItem" );
+        expected.set( bullet + 1, "listItem_" );
+        assertEquals( expected, actual );
+    }
+
+    private static List<String> normalizedEvents( SinkEventTestingSink sink )
+    {
+        List<String> events = new ArrayList<>();
+        StringBuilder text = new StringBuilder();
+        String previous = null;
+        for ( SinkEventElement event : sink.getEventList() )
+        {
+            if ( "text".equals( event.getName() ) )
+            {
+                String content = (String) event.getArgs()[0];
+                if ( text.length() == 0 && "lineBreak".equals( previous ) && content.startsWith( "\n" ) )
+                {
+                    // the HTML renderer writes a newline after <br />
+                    content = content.substring( 1 );
+                }
+                if ( text.length() > 0 || !content.trim().isEmpty() )
+                {
+                    text.append( content );
+                }
+                continue;
+            }
+
+            if ( text.length() > 0 )
+            {
+                events.add( "text: " + text );
+                text.setLength( 0 );
+            }
+
+            StringBuilder description = new StringBuilder( event.getName() );
+            for ( Object arg : event.getArgs() == null ? new Object[0] : event.getArgs() )
+            {
+                String value = arg instanceof Object[] ? Arrays.toString( (Object[]) arg )
+                                : arg instanceof int[] ? Arrays.toString( (int[]) arg ) : String.valueOf( arg );
+                if ( !"null".equals( value ) && !value.isEmpty() )
+                {
+                    description.append( ' ' ).append( value );
+                }
+            }
+            events.add( description.toString() );
+            previous = event.getName();
+        }
+        return events;
+    }
+
     /**
      * Parse the file and return a {@link SinkEventTestingSink}.
      *
@@ -21,13 +21,10 @@ package org.apache.maven.doxia.module.xdoc;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.inject.Named;
-import javax.inject.Singleton;
 import javax.swing.text.html.HTML.Attribute;
 
 import org.apache.maven.doxia.macro.MacroExecutionException;
@@ -51,7 +48,6 @@ import org.slf4j.LoggerFactory;
  * @author <a href="mailto:jason@maven.org">Jason van Zyl</a>
  * @since 1.0
  */
-@Singleton
 @Named( "xdoc" )
 public class XdocParser
     extends XhtmlBaseParser
@@ -59,11 +55,6 @@ public class XdocParser
 {
     private static final Logger LOGGER = LoggerFactory.getLogger( XdocParser.class );
 
-    /**
-     * The source content of the input reader. Used to pass into macros.
-     */
-    private String sourceContent;
-
     /**
      * Empty elements don't write a closing tag.
      */
@@ -93,33 +84,17 @@ public class XdocParser
     public void parse( Reader source, Sink sink, String reference )
         throws ParseException
     {
-        this.sourceContent = null;
-
-        try
-        {
-            StringWriter contentWriter = new StringWriter();
-            IOUtil.copy( source, contentWriter );
-            sourceContent = contentWriter.toString();
-        }
-        catch ( IOException ex )
-        {
-            throw new ParseException( "Error reading the input source", ex );
-        }
-        finally
-        {
-            IOUtil.close( source );
-        }
-
         // leave this at default (false) until everything is properly implemented, see DOXIA-226
         //setIgnorableWhitespace( true );
 
         try
         {
-            super.parse( new StringReader( sourceContent ), sink, reference );
+            super.parse( captureSource( source ), sink, reference );
         }
         finally
         {
-            this.sourceContent = null;
+            releaseSource();
+            IOUtil.close( source );
         }
     }
 
@@ -131,113 +106,103 @@ public class XdocParser
 
         SinkEventAttributeSet attribs = getAttributesFromParser( parser );
 
-        if ( parser.getName().equals( DOCUMENT_TAG.toString() ) )
+        switch ( parser.getName() )
         {
-            //Do nothing
-            return;
-        }
-        else if ( parser.getName().equals( HEAD.toString() ) )
-        {
-            if ( !inHead ) // we might be in head from a <properties> already
-            {
-                this.inHead = true;
-
-                sink.head( attribs );
-            }
-        }
-        else if ( parser.getName().equals( TITLE.toString() ) )
-        {
-            if ( hasTitle )
-            {
-                LOGGER.warn( "<title> was already defined in <properties>, ignored <title> in <head>." );
+            case "document":
+                //Do nothing
+                return;
+            case "head":
+                if ( !inHead ) // we might be in head from a <properties> already
+                {
+                    this.inHead = true;
 
-                try
+                    sink.head( attribs );
+                }
+                break;
+            case "title":
+                if ( hasTitle )
                 {
-                    parser.nextText(); // ignore next text event
+                    LOGGER.warn( "<title> was already defined in <properties>, ignored <title> in <head>." );
+
+                    try
+                    {
+                        parser.nextText(); // ignore next text event
+                    }
+                    catch ( IOException ex )
+                    {
+                        throw new XmlPullParserException( "Failed to parse text", parser, ex );
+                    }
                 }
-                catch ( IOException ex )
+                else
                 {
-                    throw new XmlPullParserException( "Failed to parse text", parser, ex );
+                    sink.title( attribs );
+                }
+                break;
+            case "author":
+                sink.author( attribs );
+                break;
+            case "date":
+                sink.date( attribs );
+                break;
+            case "meta":
+                handleMetaStart( parser, sink, attribs );
+                break;
+            case "body":
+                if ( inHead )
+                {
+                    sink.head_();
+                    this.inHead = false;
                 }
-            }
-            else
-            {
-                sink.title( attribs );
-            }
-        }
-        else if ( parser.getName().equals( AUTHOR_TAG.toString() ) )
-        {
-            sink.author( attribs );
-        }
-        else if ( parser.getName().equals( DATE_TAG.toString() ) )
-        {
-            sink.date( attribs );
-        }
-        else if ( parser.getName().equals( META.toString() ) )
-        {
-            handleMetaStart( parser, sink, attribs );
-        }
-        else if ( parser.getName().equals( BODY.toString() ) )
-        {
-            if ( inHead )
-            {
-                sink.head_();
-                this.inHead = false;
-            }
-
-            sink.body( attribs );
-        }
-        else if ( parser.getName().equals( SECTION_TAG.toString() ) )
-        {
-            handleSectionStart( Sink.SECTION_LEVEL_1, sink, attribs, parser );
-        }
-        else if ( parser.getName().equals( SUBSECTION_TAG.toString() ) )
-        {
-            handleSectionStart( Sink.SECTION_LEVEL_2, sink, attribs, parser );
-        }
-        else if ( parser.getName().equals( SOURCE_TAG.toString() ) )
-        {
-            verbatim();
-
-            attribs.addAttributes( SinkEventAttributeSet.BOXED );
-
-            sink.verbatim( attribs );
-        }
-        else if ( parser.getName().equals( PROPERTIES_TAG.toString() ) )
-        {
-            if ( !inHead ) // we might be in head from a <head> already
-            {
-                this.inHead = true;
-
-                sink.head( attribs );
-            }
-        }
-
-        // ----------------------------------------------------------------------
-        // Macro
-        // ----------------------------------------------------------------------
 
-        else if ( parser.getName().equals( MACRO_TAG.toString() ) )
-        {
-            handleMacroStart( parser );
-        }
-        else if ( parser.getName().equals( PARAM.toString() ) )
-        {
-            handleParamStart( parser, sink );
-        }
-        else if ( !baseStartTag( parser, sink ) )
-        {
-            if ( isEmptyElement )
-            {
-                handleUnknown( parser, sink, TAG_TYPE_SIMPLE );
-            }
-            else
-            {
-                handleUnknown( parser, sink, TAG_TYPE_START );
-            }
+                sink.body( attribs );
+                break;
+            case "section":
+                handleSectionStart( Sink.SECTION_LEVEL_1, sink, attribs, parser );
+                break;
+            case "subsection":
+                handleSectionStart( Sink.SECTION_LEVEL_2, sink, attribs, parser );
+                break;
+            case "source":
+                verbatim();
+
+                attribs.addAttributes( SinkEventAttributeSet.BOXED );
+
+                sink.verbatim( attribs );
+                break;
+            case "properties":
+                if ( !inHead ) // we might be in head from a <head> already
+                {
+                    this.inHead = true;
 
-            LOGGER.warn( "Unrecognized xdoc tag <{}> at [{}:{}]", parser.getName(),
-                    parser.getLineNumber(), parser.getColumnNumber() );
+                    sink.head( attribs );
+                }
+                break;
+
+            // ----------------------------------------------------------------------
+            // Macro
+            // ----------------------------------------------------------------------
+
+            case "macro":
+                handleMacroStart( parser );
+                break;
+            case "param":
+                handleParamStart( parser, sink );
+                break;
+            default:
+                if ( !baseStartTag( parser, sink ) )
+                {
+                    if ( isEmptyElement )
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_SIMPLE );
+                    }
+                    else
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_START );
+                    }
+
+                    LOGGER.warn( "Unrecognized xdoc tag <{}> at [{}:{}]", parser.getName(),
+                            parser.getLineNumber(), parser.getColumnNumber() );
+                }
         }
     }
 
@@ -245,74 +210,65 @@ public class XdocParser
     protected void handleEndTag( XmlPullParser parser, Sink sink )
         throws XmlPullParserException, MacroExecutionException
     {
-        if ( parser.getName().equals( DOCUMENT_TAG.toString() ) )
-        {
-            //Do nothing
-            return;
-        }
-        else if ( parser.getName().equals( HEAD.toString() ) )
-        {
-            //Do nothing, head is closed with BODY start.
-        }
-        else if ( parser.getName().equals( BODY.toString() ) )
-        {
-            consecutiveSections( 0, sink );
-
-            sink.body_();
-        }
-        else if ( parser.getName().equals( TITLE.toString() ) )
-        {
-            if ( !hasTitle )
-            {
-                sink.title_();
-                this.hasTitle = true;
-            }
-        }
-        else if ( parser.getName().equals( AUTHOR_TAG.toString() ) )
-        {
-            sink.author_();
-        }
-        else if ( parser.getName().equals( DATE_TAG.toString() ) )
-        {
-            sink.date_();
-        }
-        else if ( parser.getName().equals( SOURCE_TAG.toString() ) )
-        {
-            verbatim_();
-
-            sink.verbatim_();
-        }
-        else if ( parser.getName().equals( PROPERTIES_TAG.toString() ) )
-        {
-            //Do nothing, head is closed with BODY start.
-        }
-        else if ( parser.getName().equals( MACRO_TAG.toString() ) )
-        {
-            handleMacroEnd( sink );
-        }
-        else if ( parser.getName().equals( PARAM.toString() ) )
-        {
-            if ( !StringUtils.isNotEmpty( macroName ) )
-            {
-                handleUnknown( parser, sink, TAG_TYPE_END );
-            }
-        }
-        else if ( parser.getName().equals( SECTION_TAG.toString() ) )
-        {
-            consecutiveSections( 0, sink );
-
-            sink.section1_();
-        }
-        else if ( parser.getName().equals( SUBSECTION_TAG.toString() ) )
-        {
-            consecutiveSections( Sink.SECTION_LEVEL_1, sink );
-        }
-        else if ( !baseEndTag( parser, sink ) )
-        {
-            if ( !isEmptyElement )
-            {
-                handleUnknown( parser, sink, TAG_TYPE_END );
-            }
+        switch ( parser.getName() )
+        {
+            case "document":
+                //Do nothing
+                return;
+            case "head":
+                //Do nothing, head is closed with BODY start.
+                break;
+            case "body":
+                consecutiveSections( 0, sink );
+
+                sink.body_();
+                break;
+            case "title":
+                if ( !hasTitle )
+                {
+                    sink.title_();
+                    this.hasTitle = true;
+                }
+                break;
+            case "author":
+                sink.author_();
+                break;
+            case "date":
+                sink.date_();
+                break;
+            case "source":
+                verbatim_();
+
+                sink.verbatim_();
+                break;
+            case "properties":
+                //Do nothing, head is closed with BODY start.
+                break;
+            case "macro":
+                handleMacroEnd( sink );
+                break;
+            case "param":
+                if ( !StringUtils.isNotEmpty( macroName ) )
+                {
+                    handleUnknown( parser, sink, TAG_TYPE_END );
+                }
+                break;
+            case "section":
+                consecutiveSections( 0, sink );
+
+                sink.section1_();
+                break;
+            case "subsection":
+                consecutiveSections( Sink.SECTION_LEVEL_1, sink );
+                break;
+            default:
+                if ( !baseEndTag( parser, sink ) )
+                {
+                    if ( !isEmptyElement )
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_END );
+                    }
+                }
         }
 
         isEmptyElement = false;
@@ -375,7 +331,7 @@ public class XdocParser
         if ( !isSecondParsing() && StringUtils.isNotEmpty( macroName ) )
         {
             MacroRequest request =
-                new MacroRequest( sourceContent, new XdocParser(), macroParameters, getBasedir() );
+                new MacroRequest( new XdocParser(), sourceContent(), macroParameters, getBasedir() );
 
             try
             {
@@ -25,14 +25,23 @@ import java.io.File;
 import java.io.FileFilter;
 import java.io.FileReader;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
 import java.io.Writer;
 
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.regex.Pattern;
 
+import org.apache.maven.doxia.Doxia;
 import org.apache.maven.doxia.parser.AbstractParserTest;
 import org.apache.maven.doxia.parser.ParseException;
 import org.apache.maven.doxia.parser.Parser;
+import org.apache.maven.doxia.parser.manager.ParserNotFoundException;
 import org.apache.maven.doxia.sink.Sink;
 import org.apache.maven.doxia.sink.impl.SinkEventAttributeSet;
 import org.apache.maven.doxia.sink.impl.SinkEventElement;
@@ -45,6 +54,7 @@ import static org.codehaus.plexus.testing.PlexusExtension.getBasedir;
 import static org.codehaus.plexus.testing.PlexusExtension.getTestFile;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -60,6 +70,9 @@ public class XdocParserTest
     @Inject
     private XdocParser parser;
 
+    @Inject
+    private Doxia doxia;
+
     @BeforeEach
     protected void setUp()
         throws Exception
@@ -451,4 +464,58 @@ public class XdocParserTest
         assertEquals( "style", styleElm_.getArgs()[0] );
         assertFalse( it.hasNext() );
     }
+
+    /**
+     * Parses documents concurrently, including the snippet and toc macros that are shared by all the parsers.
+     *
+     * @throws Exception if any.
+     */
+    @Test
+    public void testConcurrentParsing()
+        throws Exception
+    {
+        assertNotSame( doxia.getParser( "xdoc" ), doxia.getParser( "xdoc" ) );
+
+        List<String> sources = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for ( String name : new String[] { "test", "macro", "toc" } )
+        {
+            try ( Reader reader = getTestReader( name ) )
+            {
+                String source = IOUtil.toString( reader );
+                sources.add( source );
+                expected.add( parseWithDoxia( source ) );
+            }
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool( 4 );
+        try
+        {
+            List<Future<String>> results = new ArrayList<>();
+            for ( int i = 0; i < 30; i++ )
+            {
+                String source = sources.get( i % sources.size() );
+                results.add( executor.submit( () -> parseWithDoxia( source ) ) );
+            }
+
+            for ( int i = 0; i < results.size(); i++ )
+            {
+                assertEquals( expected.get( i % expected.size() ), results.get( i ).get() );
+            }
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    private String parseWithDoxia( String source )
+        throws ParseException, ParserNotFoundException
+    {
+        StringWriter output = new StringWriter();
+        Sink sink = new XdocSink( output );
+        doxia.parse( new StringReader( source ), "xdoc", sink );
+        sink.close();
+        return output.toString();
+    }
 }
@@ -71,6 +71,7 @@ public class XhtmlSink
 
     /**
      * Constructor, initialize the Writer and tells which encoding is used.
+     * Non-ascii characters that can be encoded in this encoding are written as is.
      *
      * @param writer not null writer to write the result.
      * @param encoding the encoding used, that should be written to the generated HTML content
@@ -78,7 +79,7 @@ public class XhtmlSink
      */
     protected XhtmlSink( Writer writer, String encoding )
     {
-        super( writer );
+        super( writer, encoding );
 
         this.encoding = encoding;
     }
@@ -19,15 +19,11 @@ package org.apache.maven.doxia.module.xhtml5;
  * under the License.
  */
 
-import java.io.IOException;
 import java.io.Reader;
-import java.io.StringReader;
-import java.io.StringWriter;
 import java.util.HashMap;
 import java.util.Map;
 
 import javax.inject.Named;
-import javax.inject.Singleton;
 import javax.swing.text.html.HTML.Attribute;
 
 import org.apache.maven.doxia.macro.MacroExecutionException;
@@ -47,7 +43,6 @@ import org.slf4j.LoggerFactory;
 /**
  * Parse an xhtml model and emit events into a Doxia Sink.
  */
-@Singleton
 @Named( "xhtml5" )
 public class Xhtml5Parser
     extends Xhtml5BaseParser
@@ -61,11 +56,6 @@ public class Xhtml5Parser
     /** Empty elements don't write a closing tag. */
     private boolean isEmptyElement;
 
-    /**
-     * The source content of the input reader. Used to pass into macros.
-     */
-    private String sourceContent;
-
     /** {@inheritDoc} */
     protected void handleStartTag( XmlPullParser parser, Sink sink )
         throws XmlPullParserException, MacroExecutionException
@@ -74,103 +64,98 @@ public class Xhtml5Parser
 
         SinkEventAttributeSet attribs = getAttributesFromParser( parser );
 
-        if ( parser.getName().equals( HTML.toString() ) )
-        {
-            //Do nothing
-            return;
-        }
-        else if ( parser.getName().equals( HEAD.toString() ) )
-        {
-            sink.head( attribs );
-        }
-        else if ( parser.getName().equals( TITLE.toString() ) )
-        {
-            sink.title( attribs );
-        }
-        else if ( parser.getName().equals( META.toString() ) )
-        {
-            String name = parser.getAttributeValue( null, Attribute.NAME.toString() );
-            String content = parser.getAttributeValue( null, Attribute.CONTENT.toString() );
-
-            if ( "author".equals( name ) )
-            {
-                sink.author( null );
-
-                sink.text( content );
-
-                sink.author_();
-            }
-            else if ( "date".equals( name ) )
-            {
-                sink.date( null );
-
-                sink.text( content );
-
-                sink.date_();
-            }
-            else
-            {
-                sink.unknown( "meta", new Object[] { TAG_TYPE_SIMPLE }, attribs );
-            }
-        }
-        /*
-         * The ADDRESS element may be used by authors to supply contact information
-         * for a model or a major part of a model such as a form. This element
-         *  often appears at the beginning or end of a model.
-         */
-        else if ( parser.getName().equals( ADDRESS.toString() ) )
-        {
-            sink.address( attribs );
-        }
-        else if ( parser.getName().equals( BODY.toString() ) )
-        {
-            sink.body( attribs );
-        }
-        else if ( parser.getName().equals( DIV.toString() ) )
-        {
-            String divclass = parser.getAttributeValue( null, Attribute.CLASS.toString() );
-
-            if ( "source".equals( divclass ) )
-            {
-                this.boxed = true;
-            }
-
-            baseStartTag( parser, sink ); // pick up other divs
-        }
-        /*
-         * The PRE element tells visual user agents that the enclosed text is
-         * "preformatted". When handling preformatted text, visual user agents:
-         * - May leave white space intact.
-         * - May render text with a fixed-pitch font.
-         * - May disable automatic word wrap.
-         * - Must not disable bidirectional processing.
-         * Non-visual user agents are not required to respect extra white space
-         * in the content of a PRE element.
-         */
-        else if ( parser.getName().equals( PRE.toString() ) )
-        {
-            if ( boxed )
-            {
-                attribs.addAttributes( SinkEventAttributeSet.BOXED );
-            }
-
-            verbatim();
-
-            sink.verbatim( attribs );
-        }
-        else if ( !baseStartTag( parser, sink ) )
+        switch ( parser.getName() )
         {
-            if ( isEmptyElement )
-            {
-                handleUnknown( parser, sink, TAG_TYPE_SIMPLE );
-            }
-            else
-            {
-                handleUnknown( parser, sink, TAG_TYPE_START );
-            }
-
-            LOGGER.warn( "Unrecognized xhtml5 tag <{}> at [{}:{}]", parser.getName(),
-                    parser.getLineNumber(), parser.getColumnNumber() );
+            case "html":
+                //Do nothing
+                return;
+            case "head":
+                sink.head( attribs );
+                break;
+            case "title":
+                sink.title( attribs );
+                break;
+            case "meta":
+                String name = parser.getAttributeValue( null, Attribute.NAME.toString() );
+                String content = parser.getAttributeValue( null, Attribute.CONTENT.toString() );
+
+                if ( "author".equals( name ) )
+                {
+                    sink.author( null );
+
+                    sink.text( content );
+
+                    sink.author_();
+                }
+                else if ( "date".equals( name ) )
+                {
+                    sink.date( null );
+
+                    sink.text( content );
+
+                    sink.date_();
+                }
+                else
+                {
+                    sink.unknown( "meta", new Object[] { TAG_TYPE_SIMPLE }, attribs );
+                }
+                break;
+            /*
+             * The ADDRESS element may be used by authors to supply contact information
+             * for a model or a major part of a model such as a form. This element
+             *  often appears at the beginning or end of a model.
+             */
+            case "address":
+                sink.address( attribs );
+                break;
+            case "body":
+                sink.body( attribs );
+                break;
+            case "div":
+                String divclass = parser.getAttributeValue( null, Attribute.CLASS.toString() );
+
+                if ( "source".equals( divclass ) )
+                {
+                    this.boxed = true;
+                }
+
+                baseStartTag( parser, sink ); // pick up other divs
+                break;
+            /*
+             * The PRE element tells visual user agents that the enclosed text is
+             * "preformatted". When handling preformatted text, visual user agents:
+             * - May leave white space intact.
+             * - May render text with a fixed-pitch font.
+             * - May disable automatic word wrap.
+             * - Must not disable bidirectional processing.
+             * Non-visual user agents are not required to respect extra white space
+             * in the content of a PRE element.
+             */
+            case "pre":
+                if ( boxed )
+                {
+                    attribs.addAttributes( SinkEventAttributeSet.BOXED );
+                }
+
+                verbatim();
+
+                sink.verbatim( attribs );
+                break;
+            default:
+                if ( !baseStartTag( parser, sink ) )
+                {
+                    if ( isEmptyElement )
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_SIMPLE );
+                    }
+                    else
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_START );
+                    }
+
+                    LOGGER.warn( "Unrecognized xhtml5 tag <{}> at [{}:{}]", parser.getName(),
+                            parser.getLineNumber(), parser.getColumnNumber() );
+                }
         }
     }
 
@@ -178,40 +163,37 @@ public class Xhtml5Parser
     protected void handleEndTag( XmlPullParser parser, Sink sink )
         throws XmlPullParserException, MacroExecutionException
     {
-        if ( parser.getName().equals( HTML.toString() ) )
-        {
-            //Do nothing
-            return;
-        }
-        else if ( parser.getName().equals( HEAD.toString() ) )
-        {
-            sink.head_();
-        }
-        else if ( parser.getName().equals( TITLE.toString() ) )
-        {
-            sink.title_();
-        }
-        else if ( parser.getName().equals( BODY.toString() ) )
-        {
-            consecutiveSections( 0, sink, null );
-
-            sink.body_();
-        }
-        else if ( parser.getName().equals( ADDRESS.toString() ) )
-        {
-            sink.address_();
-        }
-        else if ( parser.getName().equals( DIV.toString() ) )
+        switch ( parser.getName() )
         {
-            this.boxed = false;
-            baseEndTag( parser, sink );
-        }
-        else if ( !baseEndTag( parser, sink ) )
-        {
-            if ( !isEmptyElement )
-            {
-                handleUnknown( parser, sink, TAG_TYPE_END );
-            }
+            case "html":
+                //Do nothing
+                return;
+            case "head":
+                sink.head_();
+                break;
+            case "title":
+                sink.title_();
+                break;
+            case "body":
+                consecutiveSections( 0, sink, null );
+
+                sink.body_();
+                break;
+            case "address":
+                sink.address_();
+                break;
+            case "div":
+                this.boxed = false;
+                baseEndTag( parser, sink );
+                break;
+            default:
+                if ( !baseEndTag( parser, sink ) )
+                {
+                    if ( !isEmptyElement )
+                    {
+                        handleUnknown( parser, sink, TAG_TYPE_END );
+                    }
+                }
         }
 
         isEmptyElement = false;
@@ -257,7 +239,7 @@ public class Xhtml5Parser
             parameters.put( key, value );
         }
 
-        MacroRequest request = new MacroRequest( sourceContent, new Xhtml5Parser(), parameters, getBasedir() );
+        MacroRequest request = new MacroRequest( new Xhtml5Parser(), sourceContent(), parameters, getBasedir() );
 
         try
         {
@@ -332,30 +314,14 @@ public class Xhtml5Parser
     public void parse( Reader source, Sink sink, String reference )
         throws ParseException
     {
-        this.sourceContent = null;
-
         try
         {
-            StringWriter contentWriter = new StringWriter();
-            IOUtil.copy( source, contentWriter );
-            sourceContent = contentWriter.toString();
-        }
-        catch ( IOException ex )
-        {
-            throw new ParseException( "Error reading the input source", ex );
+            super.parse( captureSource( source ), sink, reference );
         }
         finally
         {
+            releaseSource();
             IOUtil.close( source );
         }
-
-        try
-        {
-            super.parse( new StringReader( sourceContent ), sink, reference );
-        }
-        finally
-        {
-            this.sourceContent = null;
-        }
     }
 }
@@ -66,6 +66,7 @@ public class Xhtml5Sink
 
     /**
      * Constructor, initialize the Writer and tells which encoding is used.
+     * Non-ascii characters that can be encoded in this encoding are written as is.
      *
      * @param writer not null writer to write the result.
      * @param encoding the encoding used, that should be written to the generated HTML content
@@ -73,7 +74,7 @@ public class Xhtml5Sink
      */
     protected Xhtml5Sink( Writer writer, String encoding )
     {
-        super( writer );
+        super( writer, encoding );
 
         this.encoding = encoding;
     }